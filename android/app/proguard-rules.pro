@@ -19,3 +19,22 @@
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
 #-renamesourcefileattribute SourceFile
+
+# Release builds are minified (see build.gradle). The bridge finds plugins and
+# their methods by reflection on the annotations, so keep both, along with
+# the names JS calls them by.
+-keep @com.getcapacitor.annotation.CapacitorPlugin public class * {
+    @com.getcapacitor.annotation.PermissionCallback <methods>;
+    @com.getcapacitor.annotation.ActivityCallback <methods>;
+    @com.getcapacitor.PluginMethod public <methods>;
+    public <init>(...);
+}
+-keep public class * extends com.getcapacitor.Plugin
+-keep class com.getcapacitor.** { *; }
+
+# Cordova plugins are instantiated from config.xml class names
+-keep class org.apache.cordova.** { *; }
+-keep public class * extends org.apache.cordova.CordovaPlugin
+
+# Readable stack traces from NativeTrace.warn and crash reports
+-keepattributes SourceFile,LineNumberTable,*Annotation*
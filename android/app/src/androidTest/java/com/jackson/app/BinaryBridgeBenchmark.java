@@ -0,0 +1,89 @@
+package com.jackson.app;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.getcapacitor.JSObject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Native half of a response: plugin-bridge result (JSObject + toString, what
+ * PluginCall.resolve hands to the WebView) vs. BinaryBridge frames, with and
+ * without deflate, for catalog-sized payloads
+ *
+ * Run on a device and read the results from logcat (tag "BinaryBridgeBench"):
+ *   ./gradlew :app:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.jackson.app.BinaryBridgeBenchmark
+ *
+ * The JS half (evaluate + parse vs. ArrayBuffer + decode), and so the whole
+ * round trip, is timed in the app by benchmarkBinaryBridge() in
+ * lib/binaryBridge.ts.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BinaryBridgeBenchmark {
+
+    private static final String TAG = "BinaryBridgeBench";
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+    private static final int[] SIZES = { 16 * 1024, 256 * 1024, 2 * 1024 * 1024 };
+
+    @Test
+    public void encodeResponse() {
+        for (int size : SIZES) {
+            byte[] payload = BinaryBridgeChannel.benchPayload(size);
+            String text = new String(payload, StandardCharsets.UTF_8);
+            String label = (size / 1024) + " KB ";
+
+            long[] wire = new long[1];
+            report(label + "plugin JSON", payload.length, () -> {
+                JSObject result = new JSObject();
+                result.put("data", text);
+                wire[0] = result.toString().length();
+            });
+            Log.i(TAG, String.format("%-32s %10d chars", label + "plugin JSON wire", wire[0]));
+
+            for (boolean deflate : new boolean[] { false, true }) {
+                BinaryBridge bridge = new BinaryBridge(Runnable::run)
+                    .register("bench", (request, response) -> {
+                        response.chunk(payload);
+                        response.end();
+                    });
+                byte[] request = request(deflate);
+                long[] sent = new long[1];
+                String name = label + (deflate ? "binary deflate" : "binary");
+                report(name, payload.length, () -> {
+                    sent[0] = 0;
+                    bridge.onMessage(request, message -> sent[0] += message.length);
+                });
+                Log.i(TAG, String.format("%-32s %10d bytes", name + " wire", sent[0]));
+            }
+        }
+    }
+
+    private static byte[] request(boolean acceptDeflate) {
+        byte[] name = "bench".getBytes(StandardCharsets.UTF_8);
+        byte[] frame = BinaryFrame.encode(BinaryFrame.TYPE_REQUEST, 1, 0,
+            ByteBuffer.allocate(2 + name.length).putShort((short) name.length).put(name).array(), false);
+        frame[2] = (byte) (acceptDeflate ? BinaryFrame.FLAG_ACCEPT_DEFLATE : 0);
+        return frame;
+    }
+
+    private static void report(String label, int bytes, Runnable op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long perOpNanos = (SystemClock.elapsedRealtimeNanos() - start) / ITERATIONS;
+        Log.i(TAG, String.format("%-32s %10.1f µs/op %8.1f MB/s", label, perOpNanos / 1000.0,
+            bytes / (perOpNanos / 1e9) / 1e6));
+    }
+}
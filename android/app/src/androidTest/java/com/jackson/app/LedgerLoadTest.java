@@ -0,0 +1,143 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LedgerDatabase with 100k synthetic transactions: bulk upsert, then windows at
+ * the top, middle and end of the list with and without filters
+ *
+ * Run on a device and read the timings from logcat (tag "LedgerLoad"):
+ *   ./gradlew :app:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.jackson.app.LedgerLoadTest
+ *
+ * Bounds are generous (slow emulators); they catch a lost index, not a few ms.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LedgerLoadTest {
+
+    private static final String TAG = "LedgerLoad";
+    private static final String DB_NAME = "ledger-load-test.db";
+    private static final int ROWS = 100_000;
+    private static final int BATCH = 500;
+    private static final int WINDOW = 50;
+    private static final long START = 1_700_000_000_000L;
+    private static final long MAX_WINDOW_MS = 250;
+
+    private Context context;
+    private LedgerDatabase db;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        db = new LedgerDatabase(context, DB_NAME);
+        db.reset("load-test");
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        List<TransactionLedger.Row> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(row(i));
+            if (batch.size() == BATCH) {
+                db.upsert(batch);
+                batch.clear();
+            }
+        }
+        db.upsert(batch);
+        Log.i(TAG, String.format("%-32s %10.1f µs/row", "upsert " + ROWS, (SystemClock.elapsedRealtimeNanos() - start) / ROWS / 1000.0));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    /** Every 4th row a debit of 3, the rest credits of 10; every 10th a spin reward, every 7th pending */
+    private static TransactionLedger.Row row(int i) {
+        String type = i % 4 == 0 ? "debit" : "credit";
+        long created = START + i * 60_000L;
+        String reference = (i % 10 == 0 ? "SPIN-DC-" : "GAME-") + i;
+        String status = i % 7 == 0 ? "pending" : "completed";
+        int amount = "debit".equals(type) ? 3 : 10;
+        String payload = "{\"_id\":\"t" + i + "\",\"type\":\"" + type + "\",\"amount\":" + amount
+            + ",\"referenceId\":\"" + reference + "\",\"status\":\"" + status + "\"}";
+        return new TransactionLedger.Row("t" + i, TransactionLedger.KIND_TRANSACTION, type, "coins", status,
+            reference, amount, created, created, payload);
+    }
+
+    @Test
+    public void totalsCoverEveryRow() {
+        TransactionLedger.Window window = db.query(new TransactionLedger.Query().window(0, WINDOW));
+        assertEquals(ROWS, window.total);
+        assertEquals(ROWS / 4 * 3, window.debits, 0.001);
+        assertEquals(ROWS / 4 * 3 * 10, window.credits, 0.001);
+        assertEquals(ROWS, db.count(TransactionLedger.KIND_TRANSACTION));
+    }
+
+    @Test
+    public void windowsAnywhereInTheList() {
+        for (int offset : new int[] { 0, ROWS / 2, ROWS - WINDOW }) {
+            TransactionLedger.Query query = new TransactionLedger.Query().window(offset, WINDOW);
+            TransactionLedger.Window window = time("window @" + offset, query);
+            assertEquals(WINDOW, window.rows.size());
+            // Newest first
+            assertEquals("t" + (ROWS - 1 - offset), window.rows.get(0).id);
+        }
+    }
+
+    @Test
+    public void runningTotalsContinueAcrossWindows() {
+        TransactionLedger.Window first = db.query(new TransactionLedger.Query().window(0, WINDOW));
+        TransactionLedger.Window second = db.query(new TransactionLedger.Query().window(WINDOW, WINDOW));
+        double[] firstTotals = first.runningTotals();
+        assertEquals(firstTotals[WINDOW - 1], second.runningBefore, 0.001);
+        assertEquals(firstTotals[WINDOW - 1] + second.rows.get(0).signedAmount, second.runningTotals()[0], 0.001);
+    }
+
+    @Test
+    public void filteredWindows() {
+        TransactionLedger.Window debits = time("type=debit @middle",
+            new TransactionLedger.Query().type("debit").window(ROWS / 8, WINDOW));
+        assertEquals(ROWS / 4, debits.total);
+        for (TransactionLedger.Row row : debits.rows) {
+            assertEquals("debit", row.type);
+        }
+
+        TransactionLedger.Window pending = time("status=pending @0",
+            new TransactionLedger.Query().status("pending").window(0, WINDOW));
+        assertEquals((ROWS + 6) / 7, pending.total);
+
+        TransactionLedger.Window noSpins = time("exclude SPIN-DC- @end",
+            new TransactionLedger.Query().excludeReferencePrefix("SPIN-DC-").window(ROWS * 9 / 10 - WINDOW, WINDOW));
+        assertEquals(ROWS * 9 / 10, noSpins.total);
+        assertEquals(WINDOW, noSpins.rows.size());
+
+        long from = START + 1_000 * 60_000L;
+        TransactionLedger.Window range = time("date range @0",
+            new TransactionLedger.Query().between(from, from + 100 * 60_000L).window(0, WINDOW));
+        assertEquals(100, range.total);
+    }
+
+    private TransactionLedger.Window time(String label, TransactionLedger.Query query) {
+        long start = SystemClock.elapsedRealtimeNanos();
+        TransactionLedger.Window window = db.query(query);
+        long micros = (SystemClock.elapsedRealtimeNanos() - start) / 1000;
+        Log.i(TAG, String.format("%-32s %10.1f µs/op", label, (double) micros));
+        assertTrue(label + " took " + micros + " µs", micros < MAX_WINDOW_MS * 1000);
+        return window;
+    }
+}
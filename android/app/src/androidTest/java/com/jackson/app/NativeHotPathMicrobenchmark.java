@@ -0,0 +1,147 @@
+package com.jackson.app;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.biometric.BiometricPrompt;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.getcapacitor.JSObject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The HotPathBenchmarkTest paths on ART, with androidx.benchmark's time and
+ * allocation count per op
+ *
+ * Run on a device; results are printed per test and written as JSON to
+ * app/build/outputs/connected_android_test_additional_output/:
+ *   ./gradlew :app:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.jackson.app.NativeHotPathMicrobenchmark
+ *
+ * The test APK is debuggable, so compare times between runs of this suite
+ * rather than with release numbers. The allocation budgets that fail the
+ * build live in the JVM suite, which runs with every ./gradlew test.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NativeHotPathMicrobenchmark {
+
+    private static final int WALLET_PAGE_ROWS = 500;
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private String walletPage;
+
+    @Before
+    public void setUp() {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        walletPage = HotPathFixtures.walletPage(WALLET_PAGE_ROWS).toString();
+    }
+
+    @Test
+    public void pluginCallRoundTrip() throws Exception {
+        HotPathFixtures.PluginRoundTrip bridge =
+            new HotPathFixtures.PluginRoundTrip(new HotPathFixtures.BenchPlugin());
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            bridge.call(HotPathFixtures.CALL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void isAvailableResult() {
+        BiometricCapabilities.Capability capability = new BiometricCapabilities.Capability(0, 3, false, 0);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NativeBiometricPlugin.availabilityResult(capability).toString();
+        }
+    }
+
+    @Test
+    public void largeResultSerialize() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            HotPathFixtures.walletPage(WALLET_PAGE_ROWS).toString();
+        }
+    }
+
+    @Test
+    public void largeResultParse() throws Exception {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new JSObject(walletPage);
+        }
+    }
+
+    @Test
+    public void capabilityProbe() {
+        // The real probe: BiometricManager binder call and hardware features
+        BiometricCapabilities capabilities =
+            BiometricCapabilities.getInstance(InstrumentationRegistry.getInstrumentation().getTargetContext());
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            capabilities.invalidate(BiometricCapabilities.REASON_RESUME);
+            state.resumeTiming();
+            capabilities.get();
+        }
+    }
+
+    @Test
+    public void capabilityCacheHit() {
+        BiometricCapabilities capabilities =
+            BiometricCapabilities.getInstance(InstrumentationRegistry.getInstrumentation().getTargetContext());
+        capabilities.get();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            capabilities.get();
+        }
+    }
+
+    @Test
+    public void errorCodeMapping() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NativeBiometricPlugin.mapErrorCode(BiometricPrompt.ERROR_LOCKOUT);
+        }
+    }
+
+    @Test
+    public void keyValueRead() throws Exception {
+        File file = new File(InstrumentationRegistry.getInstrumentation().getTargetContext().getCacheDir(),
+            "kv-microbenchmark.bin");
+        file.delete();
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("authToken", HotPathFixtures.AUTH_TOKEN);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            store.getString("authToken", null);
+        }
+    }
+
+    @Test
+    public void frameRecord() {
+        FrameStats stats = new FrameStats();
+        stats.setRoute("/games");
+        long frame = 0;
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            stats.record(8_000_000 + (frame++ % 20) * 1_000_000, 16_666_667);
+        }
+    }
+
+    @Test
+    public void binaryFrameEncode() {
+        byte[] payload = HotPathFixtures.walletPage(50).toString().getBytes(StandardCharsets.UTF_8);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            BinaryFrame.encode(BinaryFrame.TYPE_CHUNK, 1, 0, payload, false);
+        }
+    }
+}
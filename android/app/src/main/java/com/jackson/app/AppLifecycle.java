@@ -0,0 +1,205 @@
+package com.jackson.app;
+
+import android.content.ComponentCallbacks2;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide memory pressure, visibility and renderer-exit state
+ *
+ * MainActivity feeds it onTrimMemory / onLowMemory, onStart / onStop and
+ * CachingWebViewClient feeds it renderer exits. Trim levels collapse into three
+ * pressures the web layer can act on:
+ * - {@link #PRESSURE_MODERATE}: RUNNING_MODERATE, or BACKGROUND (first on the LRU list)
+ * - {@link #PRESSURE_LOW}: RUNNING_LOW, or MODERATE (middle of the LRU list)
+ * - {@link #PRESSURE_CRITICAL}: RUNNING_CRITICAL, COMPLETE or onLowMemory
+ *
+ * The same pressure repeated within {@link #REPEAT_WINDOW_MS} is not re-announced.
+ *
+ * A crashed or killed renderer is recovered by recreating the activity (the
+ * process and its caches survive). Crashes are recovered at most
+ * {@link #MAX_RECOVERIES} times per {@link #RECOVERY_WINDOW_MS}; past that the
+ * activity finishes instead of looping. OS reclaims are always recovered.
+ */
+public final class AppLifecycle {
+
+    private static final int TRACE_TAG = NativeTrace.tag("♻️ Lifecycle");
+    /** args: trim level, 1 if visible */
+    private static final int EV_PRESSURE = NativeTrace.event("memory pressure");
+    /** args: 1 if visible */
+    private static final int EV_VISIBILITY = NativeTrace.event("visibility changed");
+    /** args: 1 if crashed (else killed), renderer priority at exit, crash recoveries in window */
+    private static final int EV_RENDERER_GONE = NativeTrace.event("renderer gone");
+
+    public static final String PRESSURE_MODERATE = "moderate";
+    public static final String PRESSURE_LOW = "low";
+    public static final String PRESSURE_CRITICAL = "critical";
+
+    /** onLowMemory has no trim level of its own */
+    public static final int LEVEL_LOW_MEMORY = ComponentCallbacks2.TRIM_MEMORY_COMPLETE;
+
+    static final long REPEAT_WINDOW_MS = 10_000;
+    static final int MAX_RECOVERIES = 3;
+    static final long RECOVERY_WINDOW_MS = 5 * 60_000;
+
+    /**
+     * Receives pressure and visibility changes on the main thread
+     */
+    public interface Listener {
+        void onMemoryPressure(String pressure, int level, boolean visible);
+
+        void onVisibilityChanged(boolean visible);
+    }
+
+    /**
+     * Why the previous renderer went away
+     */
+    public static final class RendererExit {
+        public final boolean didCrash;
+        /** WebView.RENDERER_PRIORITY_* the renderer had when it went away */
+        public final int priorityAtExit;
+        public final long atMillis;
+        /** False when the recovery budget was spent and the activity finished */
+        public final boolean recovered;
+
+        RendererExit(boolean didCrash, int priorityAtExit, long atMillis, boolean recovered) {
+            this.didCrash = didCrash;
+            this.priorityAtExit = priorityAtExit;
+            this.atMillis = atMillis;
+            this.recovered = recovered;
+        }
+    }
+
+    private static final AppLifecycle INSTANCE = new AppLifecycle();
+
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ArrayDeque<Long> recoveries = new ArrayDeque<>();
+
+    private volatile boolean visible;
+    private String lastPressure;
+    private long lastPressureAt;
+    private RendererExit pendingExit;
+
+    AppLifecycle() {
+    }
+
+    public static AppLifecycle get() {
+        return INSTANCE;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * @return Pressure for a ComponentCallbacks2 trim level, or null for UI_HIDDEN
+     *         (reported as a visibility change instead) and unknown levels
+     */
+    static String pressureFor(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE) {
+            return PRESSURE_CRITICAL;
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            return PRESSURE_LOW;
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            return PRESSURE_MODERATE;
+        }
+        if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            return null;
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            return PRESSURE_CRITICAL;
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            return PRESSURE_LOW;
+        }
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            return PRESSURE_MODERATE;
+        }
+        return null;
+    }
+
+    /**
+     * @return Pressure announced to listeners, or null when there was nothing new
+     */
+    public String trimMemory(int level, long nowMs) {
+        String pressure = pressureFor(level);
+        if (pressure == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (pressure.equals(lastPressure) && nowMs - lastPressureAt < REPEAT_WINDOW_MS) {
+                return null;
+            }
+            lastPressure = pressure;
+            lastPressureAt = nowMs;
+        }
+        boolean isVisible = visible;
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_PRESSURE, level, isVisible ? 1 : 0);
+        for (Listener listener : listeners) {
+            listener.onMemoryPressure(pressure, level, isVisible);
+        }
+        return pressure;
+    }
+
+    public String lowMemory(long nowMs) {
+        return trimMemory(LEVEL_LOW_MEMORY, nowMs);
+    }
+
+    public void setVisible(boolean nowVisible) {
+        synchronized (this) {
+            if (visible == nowVisible) {
+                return;
+            }
+            visible = nowVisible;
+            // Pressure seen in the other state says nothing about this one
+            lastPressure = null;
+        }
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_VISIBILITY, nowVisible ? 1 : 0);
+        for (Listener listener : listeners) {
+            listener.onVisibilityChanged(nowVisible);
+        }
+    }
+
+    /**
+     * Record a renderer exit
+     *
+     * Only crashes count against the budget: a renderer the OS reclaimed for
+     * memory (didCrash false) is not a loop, so it is always recovered.
+     *
+     * @return True to recover by recreating the activity, false when the crash
+     *         budget is spent and the activity should finish
+     */
+    public synchronized boolean rendererGone(boolean didCrash, int priorityAtExit, long nowMs) {
+        while (!recoveries.isEmpty() && nowMs - recoveries.peekFirst() >= RECOVERY_WINDOW_MS) {
+            recoveries.pollFirst();
+        }
+        boolean recover = !didCrash || recoveries.size() < MAX_RECOVERIES;
+        if (didCrash && recover) {
+            recoveries.addLast(nowMs);
+        }
+        pendingExit = new RendererExit(didCrash, priorityAtExit, nowMs, recover);
+        NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_RENDERER_GONE, didCrash ? 1 : 0, priorityAtExit,
+            recoveries.size());
+        return recover;
+    }
+
+    /**
+     * @return The exit not yet reported to JS, or null; cleared by the call
+     */
+    public synchronized RendererExit takeRendererExit() {
+        RendererExit exit = pendingExit;
+        pendingExit = null;
+        return exit;
+    }
+}
@@ -0,0 +1,75 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * App Lifecycle Plugin for Jackson App
+ *
+ * JS access to {@link AppLifecycle}:
+ * - getState(): { visible }
+ *
+ * Events (notifyListeners):
+ * - "memoryPressure": { pressure, level, visible } - pressure is "moderate", "low"
+ *   or "critical"; level is the raw onTrimMemory level
+ * - "visibilityChange": { visible } from MainActivity onStart / onStop
+ * - "rendererRecovered": { didCrash, priorityAtExit, at } once the page is back
+ *   after the previous renderer crashed or was killed; retained until JS listens
+ *
+ * JS side: lib/appLifecycle.ts
+ */
+@CapacitorPlugin(name = "AppLifecycle")
+public class AppLifecyclePlugin extends Plugin {
+
+    static final String EVENT_PRESSURE = "memoryPressure";
+    static final String EVENT_VISIBILITY = "visibilityChange";
+    static final String EVENT_RENDERER_RECOVERED = "rendererRecovered";
+
+    private final AppLifecycle.Listener listener = new AppLifecycle.Listener() {
+        @Override
+        public void onMemoryPressure(String pressure, int level, boolean visible) {
+            JSObject data = new JSObject();
+            data.put("pressure", pressure);
+            data.put("level", level);
+            data.put("visible", visible);
+            notifyListeners(EVENT_PRESSURE, data);
+        }
+
+        @Override
+        public void onVisibilityChanged(boolean visible) {
+            JSObject data = new JSObject();
+            data.put("visible", visible);
+            notifyListeners(EVENT_VISIBILITY, data);
+        }
+    };
+
+    @Override
+    public void load() {
+        AppLifecycle lifecycle = AppLifecycle.get();
+        lifecycle.addListener(listener);
+        // Loaded with the recreated bridge, so the new page hears about the old renderer
+        AppLifecycle.RendererExit exit = lifecycle.takeRendererExit();
+        if (exit != null && exit.recovered) {
+            JSObject data = new JSObject();
+            data.put("didCrash", exit.didCrash);
+            data.put("priorityAtExit", exit.priorityAtExit);
+            data.put("at", exit.atMillis);
+            notifyListeners(EVENT_RENDERER_RECOVERED, data, true);
+        }
+    }
+
+    @PluginMethod
+    public void getState(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("visible", AppLifecycle.get().isVisible());
+        call.resolve(result);
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        AppLifecycle.get().removeListener(listener);
+    }
+}
@@ -0,0 +1,261 @@
+package com.jackson.app;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request / response channel for payloads too large for the JSON plugin bridge
+ *
+ * Capacitor plugin results are JSON strings: native stringifies, the WebView
+ * evaluates, JS parses an envelope around a body that is often JSON again. Here
+ * a request names a method and carries raw bytes; the handler answers with an
+ * optional JSON meta and any number of body chunks, all as
+ * {@link BinaryFrame}s over an ArrayBuffer message port
+ * ({@link BinaryBridgeChannel}). Responses are sent in messages of about
+ * {@link #CHUNK_BYTES}, so JS can consume a large body while the rest is still
+ * being produced, and a small response is a single message.
+ *
+ * Handlers run on the given executor and may answer from any thread.
+ */
+final class BinaryBridge {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🔀 BinaryBridge");
+    /** args: request id, body bytes */
+    private static final int EV_REQUEST = NativeTrace.event("request");
+    /** args: request id, bytes sent */
+    private static final int EV_RESPONDED = NativeTrace.event("responded");
+    private static final int EV_HANDLER_FAILED = NativeTrace.event("handler failed");
+    /** args: message bytes */
+    private static final int EV_BAD_MESSAGE = NativeTrace.event("bad message");
+
+    /** Target size of one response message, and the largest chunk frame */
+    static final int CHUNK_BYTES = 256 * 1024;
+
+    /** Where encoded messages go; the WebView reply proxy in the app */
+    interface Sink {
+        void send(byte[] message);
+    }
+
+    interface Handler {
+        /**
+         * Answer through response; an exception becomes an ERROR frame unless
+         * the response has already ended
+         */
+        void handle(Request request, Response response) throws Exception;
+    }
+
+    static final class Request {
+        final int id;
+        final String method;
+        final byte[] body;
+
+        Request(int id, String method, byte[] body) {
+            this.id = id;
+            this.method = method;
+            this.body = body;
+        }
+
+        String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Frames of one response, batched into messages of about {@link #CHUNK_BYTES}
+     */
+    final class Response {
+        private final Request request;
+        private final Sink sink;
+        private final boolean deflate;
+        private final List<byte[]> pending = new ArrayList<>();
+        private int pendingBytes;
+        private int sequence;
+        private long sentBytes;
+        private volatile boolean cancelled;
+        private boolean finished;
+
+        Response(Request request, Sink sink, boolean deflate) {
+            this.request = request;
+            this.sink = sink;
+            this.deflate = deflate;
+        }
+
+        /** JS stopped listening; handlers producing many chunks should check this */
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        synchronized void meta(String json) {
+            append(BinaryFrame.TYPE_META, json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        synchronized void chunk(byte[] data) {
+            chunk(data, 0, data.length);
+        }
+
+        synchronized void chunk(byte[] data, int offset, int length) {
+            for (int start = offset; start < offset + length; start += CHUNK_BYTES) {
+                int end = Math.min(offset + length, start + CHUNK_BYTES);
+                byte[] piece = start == 0 && end == data.length ? data : Arrays.copyOfRange(data, start, end);
+                append(BinaryFrame.TYPE_CHUNK, piece);
+            }
+        }
+
+        synchronized void end() {
+            append(BinaryFrame.TYPE_END, new byte[0]);
+            finish();
+        }
+
+        synchronized void error(String message) {
+            if (finished) {
+                return;
+            }
+            // Whatever was batched is moot once the request failed
+            pending.clear();
+            pendingBytes = 0;
+            append(BinaryFrame.TYPE_ERROR, String.valueOf(message).getBytes(StandardCharsets.UTF_8));
+            finish();
+        }
+
+        private void append(int type, byte[] payload) {
+            if (finished || cancelled) {
+                return;
+            }
+            byte[] frame = BinaryFrame.encode(type, request.id, sequence++, payload, deflate);
+            bytesSaved.addAndGet(Math.max(0, payload.length + BinaryFrame.HEADER_BYTES - frame.length));
+            pending.add(frame);
+            pendingBytes += frame.length;
+            if (pendingBytes >= CHUNK_BYTES) {
+                flush();
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            flush();
+            active.remove(request.id, this);
+            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_RESPONDED, request.id, sentBytes);
+        }
+
+        private void flush() {
+            if (pending.isEmpty() || cancelled) {
+                return;
+            }
+            byte[] message = pending.size() == 1 ? pending.get(0) : BinaryFrame.concat(pending);
+            pending.clear();
+            pendingBytes = 0;
+            sentBytes += message.length;
+            bytesSent.addAndGet(message.length);
+            sink.send(message);
+        }
+    }
+
+    private final Executor executor;
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final Map<Integer, Response> active = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    BinaryBridge(Executor executor) {
+        this.executor = executor;
+    }
+
+    BinaryBridge register(String method, Handler handler) {
+        handlers.put(method, handler);
+        return this;
+    }
+
+    /**
+     * One message from JS; replies go to sink
+     */
+    void onMessage(byte[] message, Sink sink) {
+        bytesReceived.addAndGet(message.length);
+        List<BinaryFrame> frames;
+        try {
+            frames = BinaryFrame.decode(message);
+        } catch (IllegalArgumentException e) {
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_BAD_MESSAGE, message.length);
+            return;
+        }
+        for (BinaryFrame frame : frames) {
+            if (frame.type == BinaryFrame.TYPE_CANCEL) {
+                Response response = active.remove(frame.requestId);
+                if (response != null) {
+                    response.cancelled = true;
+                }
+            } else if (frame.type == BinaryFrame.TYPE_REQUEST) {
+                dispatch(frame, sink);
+            }
+        }
+    }
+
+    private void dispatch(BinaryFrame frame, Sink sink) {
+        requests.incrementAndGet();
+        Request request;
+        try {
+            request = parseRequest(frame);
+        } catch (IllegalArgumentException e) {
+            failures.incrementAndGet();
+            new Response(new Request(frame.requestId, "", new byte[0]), sink, false).error(e.getMessage());
+            return;
+        }
+        Response response = new Response(request, sink, frame.has(BinaryFrame.FLAG_ACCEPT_DEFLATE));
+        active.put(request.id, response);
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_REQUEST, request.id, request.body.length);
+
+        Handler handler = handlers.get(request.method);
+        if (handler == null) {
+            failures.incrementAndGet();
+            response.error("Unknown method " + request.method);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                handler.handle(request, response);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                NativeTrace.warn(TRACE_TAG, EV_HANDLER_FAILED, e);
+                response.error(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+        });
+    }
+
+    private static Request parseRequest(BinaryFrame frame) {
+        ByteBuffer payload = ByteBuffer.wrap(frame.payload);
+        if (payload.remaining() < 2) {
+            throw new IllegalArgumentException("Request without a method");
+        }
+        int methodLength = payload.getShort() & 0xffff;
+        if (methodLength > payload.remaining()) {
+            throw new IllegalArgumentException("Method length exceeds request");
+        }
+        String method = new String(frame.payload, 2, methodLength, StandardCharsets.UTF_8);
+        byte[] body = new byte[payload.remaining() - methodLength];
+        System.arraycopy(frame.payload, 2 + methodLength, body, 0, body.length);
+        return new Request(frame.requestId, method, body);
+    }
+
+    /** Counters for BinaryBridgePlugin.getInfo */
+    Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("failures", failures.get());
+        stats.put("active", (long) active.size());
+        stats.put("bytesReceived", bytesReceived.get());
+        stats.put("bytesSent", bytesSent.get());
+        stats.put("bytesSavedByDeflate", bytesSaved.get());
+        return stats;
+    }
+}
@@ -0,0 +1,202 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.webkit.WebView;
+
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebViewCompat;
+import androidx.webkit.WebViewFeature;
+
+import com.getcapacitor.Bridge;
+import com.getcapacitor.JSObject;
+
+import org.json.JSONObject;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Puts {@link BinaryBridge} on the Capacitor WebView as window.JacksonBinaryBridge
+ *
+ * Installed when MainActivity registers BinaryBridgePlugin, whose load() runs
+ * before the bridge's first navigation. The object is injected into
+ * the app's own origin only, survives reloads, and carries ArrayBuffers both
+ * ways (WebViewCompat.addWebMessageListener; its reply proxy is the port back to
+ * the page). On WebView builds without ArrayBuffer messages nothing is installed
+ * and lib/binaryBridge.ts reports the channel unavailable, so JS stays on the
+ * plugin bridge.
+ *
+ * Methods:
+ * - "http": body is { url, method, headers, data, timeout } as JSON; answers
+ *   with meta { status, headers, coalesced, source, timing } and the response
+ *   body as raw bytes, through the same {@link ResponseCache} / {@link HttpGateway}
+ *   path as NativeHttpPlugin.request
+ * - "bench": body is a byte count; answers with that much offer-like JSON, the
+ *   same bytes BinaryBridgePlugin.bench returns through the plugin bridge
+ */
+final class BinaryBridgeChannel {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🔀 BinaryBridge");
+    /** args: 1 if installed, 0 if this WebView lacks ArrayBuffer messages */
+    private static final int EV_INSTALL = NativeTrace.event("install");
+
+    static final String JS_OBJECT = "JacksonBinaryBridge";
+    static final String METHOD_HTTP = "http";
+    static final String METHOD_BENCH = "bench";
+    static final int MAX_BENCH_BYTES = 8 * 1024 * 1024;
+
+    private static volatile BinaryBridge installed;
+    private static WeakReference<WebView> attachedTo;
+    private static byte[] benchPayload;
+    private static int benchPayloadSize = -1;
+
+    private BinaryBridgeChannel() {
+    }
+
+    /**
+     * Call on the main thread once the bridge WebView exists, before it navigates
+     *
+     * @return Whether the page will see window.JacksonBinaryBridge
+     */
+    static boolean install(Bridge bridge) {
+        WebView webView = bridge.getWebView();
+        boolean supported = webView != null
+            && WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_LISTENER)
+            && WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_ARRAY_BUFFER);
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_INSTALL, supported ? 1 : 0);
+        if (!supported) {
+            return false;
+        }
+        if (attachedTo != null && attachedTo.get() == webView) {
+            return true;
+        }
+
+        // One channel per process; a recreated activity brings a new WebView to attach to
+        BinaryBridge binary = installed;
+        if (binary == null) {
+            ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "jackson-binary-bridge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            Context context = bridge.getContext().getApplicationContext();
+            binary = new BinaryBridge(executor)
+                .register(METHOD_HTTP, (request, response) -> http(context, executor, request, response))
+                .register(METHOD_BENCH, (request, response) -> {
+                    response.chunk(benchPayload(Integer.parseInt(request.bodyAsString().trim())));
+                    response.end();
+                });
+        }
+
+        BinaryBridge channel = binary;
+        Handler main = new Handler(Looper.getMainLooper());
+        Uri local = Uri.parse(bridge.getLocalUrl());
+        WebViewCompat.addWebMessageListener(webView, JS_OBJECT,
+            Collections.singleton(local.getScheme() + "://" + local.getAuthority()),
+            (view, message, sourceOrigin, isMainFrame, replyProxy) -> {
+                if (!isMainFrame || message.getType() != WebMessageCompat.TYPE_ARRAY_BUFFER) {
+                    return;
+                }
+                // The reply proxy is main-thread only; the Handler queue keeps frame order
+                channel.onMessage(message.getArrayBuffer(), bytes -> main.post(() -> replyProxy.postMessage(bytes)));
+            });
+        installed = binary;
+        attachedTo = new WeakReference<>(webView);
+        return true;
+    }
+
+    /** Null until {@link #install} succeeded */
+    static BinaryBridge get() {
+        return installed;
+    }
+
+    private static void http(Context context, ExecutorService executor,
+                             BinaryBridge.Request request, BinaryBridge.Response response) throws Exception {
+        JSONObject options = new JSONObject(request.bodyAsString());
+        String url = options.optString("url", "");
+        if (url.isEmpty()) {
+            response.error("url is required");
+            return;
+        }
+        Map<String, String> headers = new HashMap<>();
+        JSONObject headerObject = options.optJSONObject("headers");
+        if (headerObject != null) {
+            Iterator<String> keys = headerObject.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                headers.put(key, headerObject.optString(key));
+            }
+        }
+        HttpGateway.GatewayRequest gatewayRequest = new HttpGateway.GatewayRequest(
+            options.optString("method", "GET"),
+            url,
+            headers,
+            options.has("data") && !options.isNull("data") ? options.optString("data") : null,
+            options.optLong("timeout", 0));
+
+        // Back on the bridge thread so deflating a large body never holds an OkHttp thread
+        ResponseCache.getInstance(context).fetch(gatewayRequest).whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                response.error(cause.getMessage() != null ? cause.getMessage() : "Network request failed");
+                return;
+            }
+            JSObject meta = new JSObject();
+            JSObject resultHeaders = new JSObject();
+            for (Map.Entry<String, String> header : result.headers.entrySet()) {
+                resultHeaders.put(header.getKey(), header.getValue());
+            }
+            meta.put("status", result.status);
+            meta.put("headers", resultHeaders);
+            meta.put("coalesced", result.coalesced);
+            meta.put("source", result.source);
+            meta.put("timing", NativeHttpPlugin.toTiming(result.timing));
+            response.meta(meta.toString());
+            if (!response.isCancelled()) {
+                response.chunk(result.body);
+            }
+            response.end();
+        }, executor);
+    }
+
+    /**
+     * Offer-list-like JSON of at most the given size, built once per size
+     */
+    static synchronized byte[] benchPayload(int bytes) {
+        if (bytes < 2 || bytes > MAX_BENCH_BYTES) {
+            throw new IllegalArgumentException("bench size must be 2.." + MAX_BENCH_BYTES);
+        }
+        if (benchPayloadSize == bytes) {
+            return benchPayload;
+        }
+        StringBuilder json = new StringBuilder(bytes).append('[');
+        StringBuilder item = new StringBuilder(256);
+        for (int i = 0; ; i++) {
+            item.setLength(0);
+            item.append(i > 0 ? "," : "").append("{\"id\":\"offer-").append(i)
+                .append("\",\"title\":\"Tile Match \\\"Deluxe\\\" ").append(i)
+                .append("\",\"amount\":").append(i % 500)
+                .append(",\"besitosRawData\":{\"url\":\"https://example.com/o/").append(i)
+                .append("?src=app&sub=").append(i * 31)
+                .append("\",\"goals\":[{\"text\":\"Reach level 10\",\"points\":120}],\"tags\":[\"casual\",\"puzzle\"]}}");
+            // Whole items only, so the payload stays valid JSON (ASCII: chars are bytes)
+            if (json.length() + item.length() + 1 > bytes) {
+                break;
+            }
+            json.append(item);
+        }
+        byte[] payload = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        benchPayload = payload;
+        benchPayloadSize = bytes;
+        return payload;
+    }
+}
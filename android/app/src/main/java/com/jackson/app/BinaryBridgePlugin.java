@@ -0,0 +1,65 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Binary Bridge Plugin for Jackson App
+ *
+ * Installs {@link BinaryBridgeChannel} on the bridge WebView, and is its
+ * plugin-bridge side:
+ * - getInfo(): { installed, ...counters } of the binary channel
+ * - bench({ bytes }): the channel's "bench" payload as a string result, so
+ *   lib/binaryBridge.ts can time both paths on the same bytes
+ *
+ * JS side: lib/binaryBridge.ts
+ */
+@CapacitorPlugin(name = "BinaryBridge")
+public class BinaryBridgePlugin extends Plugin {
+
+    @Override
+    public void load() {
+        // Plugins load before the bridge navigates, so the first page already sees
+        // window.JacksonBinaryBridge
+        BinaryBridgeChannel.install(getBridge());
+    }
+
+    @PluginMethod
+    public void getInfo(PluginCall call) {
+        BinaryBridge binary = BinaryBridgeChannel.get();
+        JSObject result = new JSObject();
+        result.put("installed", binary != null);
+        if (binary != null) {
+            for (Map.Entry<String, Long> entry : binary.getStats().entrySet()) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        call.resolve(result);
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - bytes: Payload size (required)
+     */
+    @PluginMethod
+    public void bench(PluginCall call) {
+        Integer bytes = call.getInt("bytes");
+        if (bytes == null) {
+            call.reject("bytes is required");
+            return;
+        }
+        try {
+            JSObject result = new JSObject();
+            result.put("data", new String(BinaryBridgeChannel.benchPayload(bytes), StandardCharsets.UTF_8));
+            call.resolve(result);
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jackson.app;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Wire format of {@link BinaryBridge} messages
+ *
+ * A message (one ArrayBuffer) carries one or more frames back to back, each a
+ * 16-byte big-endian header followed by its payload:
+ * <pre>
+ *   0  u8   version ({@link #VERSION})
+ *   1  u8   type (REQUEST, META, CHUNK, END, ERROR, CANCEL)
+ *   2  u8   flags ({@link #FLAG_DEFLATE}, {@link #FLAG_ACCEPT_DEFLATE})
+ *   3  u8   reserved, 0
+ *   4  i32  request id, chosen by JS
+ *   8  i32  sequence number of the frame within its request
+ *  12  i32  payload length
+ *  16  ...  payload
+ * </pre>
+ * A deflated payload is zlib data (DecompressionStream("deflate") on the JS
+ * side); frames are compressed one by one so JS can inflate while later chunks
+ * are still arriving. lib/binaryBridge.ts holds the JS half of this format.
+ */
+final class BinaryFrame {
+
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    /** JS to native: u16 method length, UTF-8 method, request body */
+    static final int TYPE_REQUEST = 1;
+    /** Native to JS: response metadata (UTF-8 JSON), before any chunk */
+    static final int TYPE_META = 2;
+    /** Native to JS: a piece of the response body */
+    static final int TYPE_CHUNK = 3;
+    /** Native to JS: the response is complete */
+    static final int TYPE_END = 4;
+    /** Native to JS: the request failed; payload is a UTF-8 message */
+    static final int TYPE_ERROR = 5;
+    /** JS to native: stop sending this request's response */
+    static final int TYPE_CANCEL = 6;
+
+    /** Payload is deflated */
+    static final int FLAG_DEFLATE = 1;
+    /** On a request: JS can inflate, so large responses may be deflated */
+    static final int FLAG_ACCEPT_DEFLATE = 1 << 1;
+
+    /** Smaller payloads are sent as is; deflate setup costs more than it saves */
+    static final int DEFLATE_MIN_BYTES = 16 * 1024;
+
+    final int type;
+    final int flags;
+    final int requestId;
+    final int sequence;
+    /** Inflated payload */
+    final byte[] payload;
+
+    BinaryFrame(int type, int flags, int requestId, int sequence, byte[] payload) {
+        this.type = type;
+        this.flags = flags;
+        this.requestId = requestId;
+        this.sequence = sequence;
+        this.payload = payload;
+    }
+
+    boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Header plus payload, deflated when allowed and when that makes it smaller
+     */
+    static byte[] encode(int type, int requestId, int sequence, byte[] payload, boolean deflate) {
+        int flags = 0;
+        byte[] body = payload;
+        if (deflate && payload.length >= DEFLATE_MIN_BYTES) {
+            byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                body = deflated;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+        return ByteBuffer.allocate(HEADER_BYTES + body.length)
+            .put((byte) VERSION)
+            .put((byte) type)
+            .put((byte) flags)
+            .put((byte) 0)
+            .putInt(requestId)
+            .putInt(sequence)
+            .putInt(body.length)
+            .put(body)
+            .array();
+    }
+
+    /** Several encoded frames as one message */
+    static byte[] concat(List<byte[]> frames) {
+        int size = 0;
+        for (byte[] frame : frames) {
+            size += frame.length;
+        }
+        ByteBuffer message = ByteBuffer.allocate(size);
+        for (byte[] frame : frames) {
+            message.put(frame);
+        }
+        return message.array();
+    }
+
+    /**
+     * Every frame of a message, payloads inflated
+     *
+     * @throws IllegalArgumentException Unknown version, or a length running past the message
+     */
+    static List<BinaryFrame> decode(byte[] message) {
+        List<BinaryFrame> frames = new ArrayList<>(1);
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < HEADER_BYTES) {
+                throw new IllegalArgumentException("Truncated frame header");
+            }
+            int version = buffer.get() & 0xff;
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported frame version " + version);
+            }
+            int type = buffer.get() & 0xff;
+            int flags = buffer.get() & 0xff;
+            buffer.get();
+            int requestId = buffer.getInt();
+            int sequence = buffer.getInt();
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Frame length " + length + " exceeds message");
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if ((flags & FLAG_DEFLATE) != 0) {
+                payload = inflate(payload);
+            }
+            frames.add(new BinaryFrame(type, flags, requestId, sequence, payload));
+        }
+        return frames;
+    }
+
+    static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated deflate payload");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Bad deflate payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
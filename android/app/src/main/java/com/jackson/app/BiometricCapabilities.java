@@ -0,0 +1,296 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyPermanentlyInvalidatedException;
+import android.security.keystore.KeyProperties;
+
+import androidx.biometric.BiometricManager;
+
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * Cached biometric capability probe for NativeBiometricPlugin
+ *
+ * The login, faceid and face-verification screens all ask isAvailable() several
+ * times per flow. Each answer used to cost a BiometricManager lookup, a
+ * canAuthenticate(BIOMETRIC_STRONG) binder call and three hasSystemFeature
+ * lookups. Here:
+ * - The biometry type (hardware features) is probed once per process; it cannot change
+ * - canAuthenticate is probed once and kept until something invalidates it
+ * - {@link #prefetch(Context)} fills the cache off the main thread during startup
+ *   (and again after each resume), so the first prompt pays no probe latency
+ *
+ * The cache is invalidated when:
+ * - The activity resumes after a pause (the user may have been in Settings)
+ * - A keystore key created with setInvalidatedByBiometricEnrollment(true) has been
+ *   permanently invalidated, i.e. a biometric was added or all were removed
+ * - Build.VERSION.SECURITY_PATCH differs from the one seen on the last run
+ * - A prompt reports an error that means enrollment or hardware state changed
+ */
+public final class BiometricCapabilities {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🔐 BiometricCapabilities");
+    private static final int EV_HIT = NativeTrace.event("capability cache hit");
+    /** args: canAuthenticate status, biometry type, probe ms */
+    private static final int EV_PROBE = NativeTrace.event("capability probe");
+    /** args: invalidation reason */
+    private static final int EV_INVALIDATED = NativeTrace.event("capability cache invalidated");
+    /** args: previous status, new status */
+    private static final int EV_STATUS_CHANGED = NativeTrace.event("biometric status changed");
+    private static final int EV_KEYSTORE_CHECK_FAILED = NativeTrace.event("enrollment key check failed");
+
+    /** Invalidation reasons (trace argument) */
+    static final int REASON_RESUME = 1;
+    static final int REASON_ENROLLMENT_CHANGED = 2;
+    static final int REASON_SECURITY_PATCH = 3;
+    static final int REASON_AUTH_ERROR = 4;
+
+    private static final String ENROLLMENT_KEY_ALIAS = "jackson_biometric_enrollment";
+    private static final String ANDROID_KEYSTORE = "AndroidKeyStore";
+    private static final String SECURITY_PATCH_KEY = "biometric.securityPatch";
+
+    private static BiometricCapabilities instance;
+
+    private final Probe probe;
+    private final ExecutorService prefetchExecutor =
+        Executors.newSingleThreadExecutor(r -> new Thread(r, "BiometricCapabilities"));
+
+    private volatile Capability current;
+    private int biometryType = -1;
+    private int lastStatus = Integer.MIN_VALUE;
+    private int generation;
+    private volatile boolean enrollmentChanged;
+
+    BiometricCapabilities(Probe probe) {
+        this.probe = probe;
+    }
+
+    public static synchronized BiometricCapabilities getInstance(Context context) {
+        if (instance == null) {
+            instance = new BiometricCapabilities(new SystemProbe(context.getApplicationContext()));
+        }
+        return instance;
+    }
+
+    /**
+     * Check the keystore / security patch and fill the cache on a background thread
+     */
+    public static void prefetch(Context context) {
+        Context appContext = context.getApplicationContext();
+        BiometricCapabilities capabilities = getInstance(appContext);
+        capabilities.prefetchExecutor.execute(() -> {
+            capabilities.checkKeystore(appContext);
+            capabilities.get();
+        });
+    }
+
+    /**
+     * Current capability, from memory unless invalidated since the last probe
+     */
+    public Capability get() {
+        Capability cached = current;
+        if (cached != null) {
+            NativeTrace.trace(NativeTrace.VERBOSE, TRACE_TAG, EV_HIT);
+            return cached;
+        }
+        return refresh();
+    }
+
+    /**
+     * Probe under the lock, so a caller arriving during a prefetch waits for its
+     * result instead of probing a second time
+     */
+    private synchronized Capability refresh() {
+        Capability cached = current;
+        if (cached != null) {
+            return cached;
+        }
+        int startGeneration = generation;
+        long start = System.nanoTime();
+        if (biometryType < 0) {
+            biometryType = probe.biometryType();
+        }
+        int status = probe.canAuthenticate();
+        long probeMs = (System.nanoTime() - start) / 1_000_000;
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_PROBE, status, biometryType, probeMs);
+        if (lastStatus != Integer.MIN_VALUE && lastStatus != status) {
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_STATUS_CHANGED, lastStatus, status);
+        }
+        lastStatus = status;
+
+        Capability capability = new Capability(status, biometryType, enrollmentChanged, probeMs);
+        // An invalidate() racing with the probe wins; its caller gets this answer once
+        if (generation == startGeneration) {
+            current = capability;
+        }
+        return capability;
+    }
+
+    /**
+     * Drop the cached status; the next {@link #get()} probes canAuthenticate again
+     *
+     * @param reason One of the REASON_* constants (trace only)
+     */
+    public void invalidate(int reason) {
+        synchronized (this) {
+            generation++;
+            current = null;
+        }
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_INVALIDATED, reason);
+    }
+
+    /**
+     * Record that the enrolled biometrics changed and invalidate
+     */
+    void onEnrollmentChanged() {
+        enrollmentChanged = true;
+        invalidate(REASON_ENROLLMENT_CHANGED);
+    }
+
+    /**
+     * Refresh in the background after the activity comes back to the foreground
+     */
+    public void onResume(Context context) {
+        invalidate(REASON_RESUME);
+        prefetch(context);
+    }
+
+    // ========================================================================
+    // Keystore / security patch
+    // ========================================================================
+
+    private void checkKeystore(Context context) {
+        String patch = Build.VERSION.SECURITY_PATCH;
+        MappedKeyValueStore store = MappedKeyValueStore.getInstance(context);
+        String lastPatch = store.getString(SECURITY_PATCH_KEY, null);
+        if (!patch.equals(lastPatch)) {
+            store.putString(SECURITY_PATCH_KEY, patch);
+            if (lastPatch != null) {
+                invalidate(REASON_SECURITY_PATCH);
+            }
+        }
+        try {
+            if (enrollmentKeyInvalidated()) {
+                onEnrollmentChanged();
+            }
+        } catch (Exception e) {
+            NativeTrace.warn(TRACE_TAG, EV_KEYSTORE_CHECK_FAILED, e);
+        }
+    }
+
+    /**
+     * Keystore invalidates keys created with setInvalidatedByBiometricEnrollment when
+     * a biometric is enrolled or all are removed; Cipher.init reports it without
+     * needing the user to authenticate. Creates the key when it is missing.
+     *
+     * @return true if the key existed and had been invalidated
+     */
+    private static boolean enrollmentKeyInvalidated() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(ANDROID_KEYSTORE);
+        keyStore.load(null);
+        SecretKey key = (SecretKey) keyStore.getKey(ENROLLMENT_KEY_ALIAS, null);
+        if (key == null) {
+            createEnrollmentKey();
+            return false;
+        }
+        try {
+            Cipher.getInstance("AES/GCM/NoPadding").init(Cipher.ENCRYPT_MODE, key);
+            return false;
+        } catch (KeyPermanentlyInvalidatedException e) {
+            keyStore.deleteEntry(ENROLLMENT_KEY_ALIAS);
+            createEnrollmentKey();
+            return true;
+        }
+    }
+
+    private static void createEnrollmentKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, ANDROID_KEYSTORE);
+            generator.init(new KeyGenParameterSpec.Builder(ENROLLMENT_KEY_ALIAS,
+                    KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+                .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                .setUserAuthenticationRequired(true)
+                .setInvalidatedByBiometricEnrollment(true)
+                .build());
+            generator.generateKey();
+        } catch (Exception e) {
+            // No biometric enrolled yet (or no secure lock screen); retried on the next check
+        }
+    }
+
+    // ========================================================================
+    // Probe
+    // ========================================================================
+
+    /**
+     * Source of the raw answers; replaced in tests
+     */
+    interface Probe {
+        /** BiometricManager.canAuthenticate(BIOMETRIC_STRONG) */
+        int canAuthenticate();
+
+        /** 0 = none, 3 = fingerprint, 4 = face, 5 = iris */
+        int biometryType();
+    }
+
+    private static final class SystemProbe implements Probe {
+        private final Context context;
+
+        SystemProbe(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public int canAuthenticate() {
+            return BiometricManager.from(context).canAuthenticate(BiometricManager.Authenticators.BIOMETRIC_STRONG);
+        }
+
+        @Override
+        public int biometryType() {
+            PackageManager packageManager = context.getPackageManager();
+            // Face authentication (Android 10+ / API 29+)
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && packageManager.hasSystemFeature(PackageManager.FEATURE_FACE)) {
+                return 4;
+            }
+            if (packageManager.hasSystemFeature(PackageManager.FEATURE_FINGERPRINT)) {
+                return 3;
+            }
+            // Iris (rare)
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && packageManager.hasSystemFeature(PackageManager.FEATURE_IRIS)) {
+                return 5;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * One probe result
+     */
+    public static final class Capability {
+        /** BiometricManager.canAuthenticate(BIOMETRIC_STRONG) result */
+        public final int status;
+        public final int biometryType;
+        /** Enrolled biometrics changed since the enrollment key was created */
+        public final boolean enrollmentChanged;
+        public final long probeMs;
+
+        Capability(int status, int biometryType, boolean enrollmentChanged, long probeMs) {
+            this.status = status;
+            this.biometryType = biometryType;
+            this.enrollmentChanged = enrollmentChanged;
+            this.probeMs = probeMs;
+        }
+    }
+}
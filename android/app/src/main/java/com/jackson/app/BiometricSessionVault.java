@@ -0,0 +1,236 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyPermanentlyInvalidatedException;
+import android.security.keystore.KeyProperties;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Biometric-bound copy of the session for fast resume
+ *
+ * The session payload (the same {token, user} JSON the web layer stores with
+ * capacitor-native-biometric) is sealed with a fresh AES-GCM key, and that key is
+ * wrapped with the public half of an Android Keystore RSA key pair. The private
+ * half requires BIOMETRIC_STRONG authentication for every use and is invalidated
+ * when biometrics are enrolled or removed, so:
+ * - Sealing needs no prompt (public-key operations are unrestricted), so the
+ *   session can be stored right after a password login
+ * - Opening needs exactly one prompt: NativeBiometricPlugin passes
+ *   {@link #prepareUnlock()}'s cipher to BiometricPrompt as a CryptoObject and
+ *   hands the authenticated cipher back to {@link #open(Cipher)}
+ * - A biometric enrollment change makes the key unusable; the vault is cleared
+ *   and the user signs in with a password once more
+ *
+ * Stored value: base64(int wrappedKeyLength | wrappedKey | iv | ciphertext).
+ */
+public final class BiometricSessionVault {
+
+    private static final String STORE_KEY = "biometric.sessionVault";
+    private static final String KEY_ALIAS = "jackson_biometric_session";
+    private static final String ANDROID_KEYSTORE = "AndroidKeyStore";
+    private static final String WRAP_TRANSFORMATION = "RSA/ECB/OAEPWithSHA-256AndMGF1Padding";
+    private static final String DATA_TRANSFORMATION = "AES/GCM/NoPadding";
+    // Keystore only supports SHA-1 for the OAEP mask generation function, so both
+    // sides spell the parameters out rather than relying on provider defaults
+    private static final OAEPParameterSpec OAEP_SPEC =
+        new OAEPParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA1, PSource.PSpecified.DEFAULT);
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final KeyAccess keys;
+    private final MappedKeyValueStore store;
+    private final SecureRandom random = new SecureRandom();
+
+    BiometricSessionVault(KeyAccess keys, MappedKeyValueStore store) {
+        this.keys = keys;
+        this.store = store;
+    }
+
+    public static BiometricSessionVault from(Context context) {
+        return new BiometricSessionVault(new KeystoreKeyAccess(), MappedKeyValueStore.getInstance(context));
+    }
+
+    public boolean hasSession() {
+        return store.contains(STORE_KEY) && keys.exists();
+    }
+
+    /**
+     * Encrypt and store the session payload (replaces any previous one)
+     */
+    public void seal(String payload) throws GeneralSecurityException {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(256);
+        SecretKey dataKey = generator.generateKey();
+
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher data = Cipher.getInstance(DATA_TRANSFORMATION);
+        data.init(Cipher.ENCRYPT_MODE, dataKey, new GCMParameterSpec(TAG_BITS, iv));
+        byte[] ciphertext = data.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+
+        Cipher wrap = Cipher.getInstance(WRAP_TRANSFORMATION);
+        wrap.init(Cipher.ENCRYPT_MODE, keys.publicKey(), OAEP_SPEC);
+        byte[] wrappedKey = wrap.doFinal(dataKey.getEncoded());
+
+        ByteBuffer out = ByteBuffer.allocate(4 + wrappedKey.length + IV_LENGTH + ciphertext.length);
+        out.putInt(wrappedKey.length).put(wrappedKey).put(iv).put(ciphertext);
+        store.putString(STORE_KEY, Base64.getEncoder().encodeToString(out.array()));
+    }
+
+    /**
+     * Cipher to authenticate through BiometricPrompt.CryptoObject
+     *
+     * @return null if there is no sealed session
+     * @throws KeyPermanentlyInvalidatedException if biometrics changed since sealing;
+     *         the vault has been cleared
+     */
+    public Cipher prepareUnlock() throws GeneralSecurityException {
+        if (!store.contains(STORE_KEY)) {
+            return null;
+        }
+        PrivateKey privateKey = keys.privateKey();
+        if (privateKey == null) {
+            store.remove(STORE_KEY);
+            return null;
+        }
+        Cipher cipher = Cipher.getInstance(WRAP_TRANSFORMATION);
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, privateKey, OAEP_SPEC);
+        } catch (KeyPermanentlyInvalidatedException e) {
+            clear();
+            throw e;
+        }
+        return cipher;
+    }
+
+    /**
+     * Decrypt the session with a cipher BiometricPrompt has authenticated
+     *
+     * @return Session payload, or null if there is no sealed session
+     */
+    public String open(Cipher unlockedCipher) throws GeneralSecurityException {
+        String sealed = store.getString(STORE_KEY, null);
+        if (sealed == null) {
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(sealed));
+        byte[] wrappedKey = new byte[in.getInt()];
+        in.get(wrappedKey);
+        byte[] iv = new byte[IV_LENGTH];
+        in.get(iv);
+        byte[] ciphertext = new byte[in.remaining()];
+        in.get(ciphertext);
+
+        SecretKey dataKey = new SecretKeySpec(unlockedCipher.doFinal(wrappedKey), "AES");
+        Cipher data = Cipher.getInstance(DATA_TRANSFORMATION);
+        data.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(TAG_BITS, iv));
+        return new String(data.doFinal(ciphertext), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Forget the sealed session and delete the key pair
+     */
+    public void clear() {
+        store.remove(STORE_KEY);
+        try {
+            keys.delete();
+        } catch (GeneralSecurityException e) {
+            // Nothing sealed under it any more; a new pair is created on the next seal
+        }
+    }
+
+    // ========================================================================
+    // Keys
+    // ========================================================================
+
+    /**
+     * Where the wrapping key pair lives; replaced in tests
+     */
+    interface KeyAccess {
+        boolean exists();
+
+        /** Public key, creating the pair if needed */
+        PublicKey publicKey() throws GeneralSecurityException;
+
+        /** Private key, or null if there is no pair */
+        PrivateKey privateKey() throws GeneralSecurityException;
+
+        void delete() throws GeneralSecurityException;
+    }
+
+    private static final class KeystoreKeyAccess implements KeyAccess {
+
+        private KeyStore keyStore() throws GeneralSecurityException {
+            KeyStore keyStore = KeyStore.getInstance(ANDROID_KEYSTORE);
+            try {
+                keyStore.load(null);
+            } catch (IOException e) {
+                throw new GeneralSecurityException(e);
+            }
+            return keyStore;
+        }
+
+        @Override
+        public boolean exists() {
+            try {
+                return keyStore().containsAlias(KEY_ALIAS);
+            } catch (GeneralSecurityException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public PublicKey publicKey() throws GeneralSecurityException {
+            KeyStore keyStore = keyStore();
+            if (!keyStore.containsAlias(KEY_ALIAS)) {
+                KeyPairGenerator generator =
+                    KeyPairGenerator.getInstance(KeyProperties.KEY_ALGORITHM_RSA, ANDROID_KEYSTORE);
+                generator.initialize(new KeyGenParameterSpec.Builder(KEY_ALIAS, KeyProperties.PURPOSE_DECRYPT)
+                    .setKeySize(2048)
+                    .setDigests(KeyProperties.DIGEST_SHA256, KeyProperties.DIGEST_SHA1)
+                    .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_RSA_OAEP)
+                    .setUserAuthenticationRequired(true)
+                    .setInvalidatedByBiometricEnrollment(true)
+                    .build());
+                generator.generateKeyPair();
+            }
+            // Keystore public keys carry the decrypt-only purpose; re-encode so the
+            // software provider does the encryption
+            PublicKey keystoreKey = keyStore.getCertificate(KEY_ALIAS).getPublicKey();
+            return KeyFactory.getInstance(keystoreKey.getAlgorithm())
+                .generatePublic(new X509EncodedKeySpec(keystoreKey.getEncoded()));
+        }
+
+        @Override
+        public PrivateKey privateKey() throws GeneralSecurityException {
+            return (PrivateKey) keyStore().getKey(KEY_ALIAS, null);
+        }
+
+        @Override
+        public void delete() throws GeneralSecurityException {
+            keyStore().deleteEntry(KEY_ALIAS);
+        }
+    }
+}
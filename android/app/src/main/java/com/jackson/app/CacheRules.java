@@ -0,0 +1,108 @@
+package com.jackson.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint freshness rules for {@link ResponseCache}
+ *
+ * Rules are matched by path prefix in the order they were added; the first match
+ * wins, so more specific prefixes must be added before broader ones. A path with no
+ * matching rule is never cached.
+ *
+ * - ttlMs: how long a stored response is served without contacting the server
+ *   (a Cache-Control max-age from the server takes precedence)
+ * - maxStaleMs: how long past expiry a response may still be served immediately
+ *   while a background revalidation runs
+ * - evictedByWrites: balances and history that any POST / PUT / PATCH / DELETE to the API
+ *   may change; such entries are dropped as soon as one completes
+ */
+public final class CacheRules {
+
+    private final List<Rule> rules;
+
+    private CacheRules(List<Rule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    /**
+     * Rules for the Jackson API. TTLs follow how quickly each screen's data changes:
+     * balances move with every game event, catalogs and tiers barely move at all.
+     */
+    public static CacheRules defaults() {
+        long staleDay = TimeUnit.HOURS.toMillis(24);
+        return new Builder()
+            // Notifications are per-dismissal state - always go to the network
+            .noCache("/api/profile/notifications")
+            // Claims, spins, purchases and profile edits all move these
+            .addEvictedByWrites("/api/dashboard", TimeUnit.SECONDS.toMillis(60), staleDay)
+            .addEvictedByWrites("/api/wallet-screen", TimeUnit.SECONDS.toMillis(30), staleDay)
+            .addEvictedByWrites("/api/wallet/transactions", TimeUnit.SECONDS.toMillis(30), staleDay)
+            .addEvictedByWrites("/api/vip/status", TimeUnit.MINUTES.toMillis(5), staleDay)
+            .add("/api/vip/tiers", TimeUnit.HOURS.toMillis(1), staleDay)
+            .addEvictedByWrites("/api/xp-tier/progress-bar", TimeUnit.MINUTES.toMillis(5), staleDay)
+            .addEvictedByWrites("/api/profile", TimeUnit.MINUTES.toMillis(5), staleDay)
+            .add("/api/game/discover", TimeUnit.MINUTES.toMillis(10), staleDay)
+            .add("/api/onboarding/options", TimeUnit.HOURS.toMillis(1), staleDay)
+            .build();
+    }
+
+    /**
+     * Find the rule for a request path
+     *
+     * @param path URL path (query string excluded)
+     * @return Matching rule, or null when the path must not be cached
+     */
+    public Rule match(String path) {
+        if (path == null) {
+            return null;
+        }
+        for (Rule rule : rules) {
+            if (path.startsWith(rule.pathPrefix)) {
+                return rule.cacheable ? rule : null;
+            }
+        }
+        return null;
+    }
+
+    public static final class Rule {
+        public final String pathPrefix;
+        public final long ttlMs;
+        public final long maxStaleMs;
+        public final boolean evictedByWrites;
+        final boolean cacheable;
+
+        Rule(String pathPrefix, long ttlMs, long maxStaleMs, boolean evictedByWrites, boolean cacheable) {
+            this.pathPrefix = pathPrefix;
+            this.ttlMs = ttlMs;
+            this.maxStaleMs = maxStaleMs;
+            this.evictedByWrites = evictedByWrites;
+            this.cacheable = cacheable;
+        }
+    }
+
+    public static final class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+
+        public Builder add(String pathPrefix, long ttlMs, long maxStaleMs) {
+            rules.add(new Rule(pathPrefix, ttlMs, maxStaleMs, false, true));
+            return this;
+        }
+
+        public Builder addEvictedByWrites(String pathPrefix, long ttlMs, long maxStaleMs) {
+            rules.add(new Rule(pathPrefix, ttlMs, maxStaleMs, true, true));
+            return this;
+        }
+
+        public Builder noCache(String pathPrefix) {
+            rules.add(new Rule(pathPrefix, 0, 0, false, false));
+            return this;
+        }
+
+        public CacheRules build() {
+            return new CacheRules(rules);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.jackson.app;
+
+import android.app.Activity;
+import android.content.Context;
+import android.net.Uri;
+import android.view.ViewGroup;
+import android.webkit.RenderProcessGoneDetail;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import android.webkit.WebView;
+
+import com.getcapacitor.Bridge;
+import com.getcapacitor.BridgeWebViewClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bridge WebViewClient that answers API GETs from {@link ResponseCache}, images
+ * from {@link ImagePipeline} and bundled JS / CSS / fonts from {@link WebAssetStore}
+ *
+ * shouldInterceptRequest runs on a WebView background thread, so blocking on the
+ * cache (and on the network for a miss) is allowed here. Anything that is not a GET
+ * to the API host with a cache rule, or an image request, falls through to
+ * Capacitor's default handling.
+ *
+ * Also reports the first committed frame to {@link StartupTimeline} and
+ * {@link WebAssets}'s cold-start comparison, and recovers from a crashed or killed
+ * renderer by recreating the activity within the running process.
+ */
+public class CachingWebViewClient extends BridgeWebViewClient {
+
+    static final String API_HOST = "rewardsapi.hireagent.co";
+
+    private static final long NETWORK_WAIT_SECONDS = 30;
+
+    private final Bridge bridge;
+    private final Context context;
+    private final String localHost;
+
+    public CachingWebViewClient(Bridge bridge) {
+        super(bridge);
+        this.bridge = bridge;
+        // The cache itself is resolved lazily on the WebView IO thread, keeping its
+        // disk index load off the main thread
+        this.context = bridge.getContext().getApplicationContext();
+        this.localHost = bridge.getHost() != null ? bridge.getHost() : "localhost";
+    }
+
+    @Override
+    public void onPageCommitVisible(WebView view, String url) {
+        super.onPageCommitVisible(view, url);
+        StartupTimeline timeline = StartupTimeline.get();
+        timeline.mark(StartupTimeline.FIRST_PAINT);
+        Long firstPaint = timeline.sinceProcessStart().get(StartupTimeline.FIRST_PAINT);
+        if (firstPaint != null) {
+            WebAssets.getInstance(context).recordColdStart(firstPaint);
+        }
+    }
+
+    @Override
+    public boolean onRenderProcessGone(WebView view, RenderProcessGoneDetail detail) {
+        boolean recover = AppLifecycle.get().rendererGone(detail.didCrash(), detail.rendererPriorityAtExit(),
+            System.currentTimeMillis());
+        // This WebView is unusable now; detach it before anything else touches it
+        if (view.getParent() instanceof ViewGroup) {
+            ((ViewGroup) view.getParent()).removeView(view);
+        }
+        view.destroy();
+        Activity activity = bridge.getActivity();
+        if (activity != null && !activity.isFinishing()) {
+            // A new bridge and WebView; native caches, outbox and snapshot stay warm.
+            // Past the crash budget, finish rather than loop on a renderer that keeps crashing.
+            activity.runOnUiThread(recover ? activity::recreate : activity::finish);
+        }
+        // Handled: returning false would kill the whole app process
+        return true;
+    }
+
+    @Override
+    public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+        WebResourceResponse cached = interceptApiGet(request);
+        if (cached == null) {
+            cached = interceptImage(request);
+        }
+        if (cached == null) {
+            cached = interceptWebAsset(request);
+        }
+        return cached != null ? cached : super.shouldInterceptRequest(view, request);
+    }
+
+    private WebResourceResponse interceptWebAsset(WebResourceRequest request) {
+        Uri url = request.getUrl();
+        if (!"GET".equalsIgnoreCase(request.getMethod()) || !localHost.equals(url.getHost())) {
+            return null;
+        }
+        WebAssetStore store = WebAssets.getInstance(context).store();
+        if (store == null) {
+            return null;
+        }
+        WebAssetStore.Asset asset;
+        try {
+            asset = store.open(url.getPath(), request.getRequestHeaders().get("If-None-Match"));
+        } catch (IOException e) {
+            return null;
+        }
+        if (asset == null) {
+            return null;
+        }
+        return new WebResourceResponse(asset.mimeType, asset.encoding, asset.status,
+            asset.status == 304 ? "Not Modified" : "OK", asset.headers, asset.body);
+    }
+
+    private WebResourceResponse interceptImage(WebResourceRequest request) {
+        Uri url = request.getUrl();
+        String scheme = url.getScheme();
+        if (!"GET".equalsIgnoreCase(request.getMethod())
+            || !("https".equals(scheme) || "http".equals(scheme))) {
+            return null;
+        }
+
+        boolean local = localHost.equals(url.getHost());
+        String path = url.getPath() != null ? url.getPath() : "";
+        String src;
+        int width = 0;
+        if (local && (path.equals(ImagePipeline.LOCAL_PATH) || path.equals(ImagePipeline.LOCAL_PATH + "/"))) {
+            src = url.getQueryParameter("src");
+            if (src == null || src.isEmpty()) {
+                return null;
+            }
+            try {
+                width = Integer.parseInt(url.getQueryParameter("w"));
+            } catch (NumberFormatException e) {
+                // Screen width
+            }
+        } else if (isImageRequest(request, path, local)) {
+            src = local ? path : url.toString();
+        } else {
+            return null;
+        }
+
+        ImageCache.Image image;
+        try {
+            image = ImagePipeline.getInstance(context).load(src, width);
+        } catch (IOException e) {
+            // The WebView loads the original itself
+            return null;
+        }
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Cache-Control", "max-age=86400");
+        headers.put("Access-Control-Allow-Origin", "*");
+        return new WebResourceResponse(image.mimeType, null, 200, "OK", headers,
+            new ByteArrayInputStream(image.bytes));
+    }
+
+    /**
+     * Image element / CSS image loads. Bundled files are limited to raster formats
+     * worth downsampling; remote SVG and GIF pass through the cache unchanged.
+     */
+    private static boolean isImageRequest(WebResourceRequest request, String path, boolean local) {
+        String accept = request.getRequestHeaders().get("Accept");
+        if (accept == null || !accept.startsWith("image/")) {
+            return false;
+        }
+        if (!local) {
+            return true;
+        }
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".png") || lower.endsWith(".jpg") || lower.endsWith(".jpeg");
+    }
+
+    private WebResourceResponse interceptApiGet(WebResourceRequest request) {
+        Uri url = request.getUrl();
+        if (!"GET".equalsIgnoreCase(request.getMethod()) || !API_HOST.equals(url.getHost())) {
+            return null;
+        }
+
+        ResponseCache cache = ResponseCache.getInstance(context);
+        Map<String, String> requestHeaders = request.getRequestHeaders();
+        HttpGateway.GatewayRequest gatewayRequest =
+            HttpGateway.GatewayRequest.get(url.toString(), requestHeaders);
+        if (!cache.isCacheable(gatewayRequest)) {
+            return null;
+        }
+
+        HttpGateway.GatewayResponse response;
+        try {
+            response = cache.fetch(gatewayRequest).get(NETWORK_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Let the WebView make the request itself and surface its own error
+            return null;
+        }
+
+        String contentType = response.header("Content-Type");
+        String mimeType = "application/json";
+        String encoding = "utf-8";
+        if (contentType != null) {
+            String[] parts = contentType.split(";");
+            mimeType = parts[0].trim();
+            for (int i = 1; i < parts.length; i++) {
+                String part = parts[i].trim();
+                if (part.regionMatches(true, 0, "charset=", 0, 8)) {
+                    encoding = part.substring(8);
+                }
+            }
+        }
+
+        Map<String, String> headers = new HashMap<>(response.headers);
+        headers.remove("content-type");
+        headers.remove("content-length");
+        headers.remove("content-encoding");
+        headers.remove("transfer-encoding");
+        // The response no longer comes from the API origin, so the CORS grant that
+        // the real server would have sent has to be restated for the page origin
+        String origin = requestHeaders.get("Origin");
+        headers.put("Access-Control-Allow-Origin", origin != null ? origin : "*");
+        if (origin != null) {
+            headers.put("Access-Control-Allow-Credentials", "true");
+        }
+        headers.put("Access-Control-Expose-Headers", "ETag, X-Jackson-Cache");
+
+        return new WebResourceResponse(mimeType, encoding, response.status,
+            reasonPhrase(response.status), headers, new ByteArrayInputStream(response.body));
+    }
+
+    private static String reasonPhrase(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 304: return "Not Modified";
+            case 401: return "Unauthorized";
+            case 403: return "Forbidden";
+            case 404: return "Not Found";
+            default: return status >= 500 ? "Server Error" : "OK";
+        }
+    }
+}
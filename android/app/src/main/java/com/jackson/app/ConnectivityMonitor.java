@@ -0,0 +1,140 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Default-network monitor built on ConnectivityManager callbacks
+ *
+ * Tracks the network the app's traffic actually uses - real transport, VPN,
+ * metered, validated, Data Saver and the platform's bandwidth estimate - and
+ * derives a {@link NetworkPolicy} from it. Listeners are told only about changes
+ * that matter (connectivity, transport, VPN, metering, validation or quality
+ * tier), not every bandwidth estimate wobble.
+ *
+ * Registered once for the process; callbacks arrive on ConnectivityManager's
+ * thread.
+ */
+public final class ConnectivityMonitor {
+
+    private static final int TRACE_TAG = NativeTrace.tag("📶 Connectivity");
+    /** args: down kbps, 1 if VPN, 1 if metered */
+    private static final int EV_CHANGED = NativeTrace.event("network changed");
+    private static final int EV_LOST = NativeTrace.event("network lost");
+    private static final int EV_REGISTER_FAILED = NativeTrace.event("callback registration failed");
+
+    /**
+     * Receives significant network changes on the callback thread
+     */
+    public interface Listener {
+        void onNetworkChanged(NetworkPolicy.NetworkStatus status, NetworkPolicy policy);
+    }
+
+    private static ConnectivityMonitor instance;
+
+    private final ConnectivityManager connectivity;
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile NetworkPolicy.NetworkStatus status = NetworkPolicy.NetworkStatus.OFFLINE;
+    private volatile NetworkPolicy policy = NetworkPolicy.forStatus(NetworkPolicy.NetworkStatus.OFFLINE);
+
+    private ConnectivityMonitor(Context context) {
+        connectivity = (ConnectivityManager) context.getApplicationContext()
+            .getSystemService(Context.CONNECTIVITY_SERVICE);
+        NetworkCapabilities current = connectivity.getNetworkCapabilities(connectivity.getActiveNetwork());
+        if (current != null) {
+            status = toStatus(current);
+            policy = NetworkPolicy.forStatus(status);
+        }
+        try {
+            connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+                    update(toStatus(capabilities));
+                }
+
+                @Override
+                public void onLost(Network network) {
+                    NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_LOST);
+                    update(NetworkPolicy.NetworkStatus.OFFLINE);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Too many callbacks registered by the process; the snapshot above still works
+            NativeTrace.warn(TRACE_TAG, EV_REGISTER_FAILED, e);
+        }
+    }
+
+    public static synchronized ConnectivityMonitor getInstance(Context context) {
+        if (instance == null) {
+            instance = new ConnectivityMonitor(context);
+        }
+        return instance;
+    }
+
+    public NetworkPolicy.NetworkStatus getStatus() {
+        return status;
+    }
+
+    public NetworkPolicy getPolicy() {
+        return policy;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void update(NetworkPolicy.NetworkStatus next) {
+        NetworkPolicy.NetworkStatus previous = status;
+        NetworkPolicy nextPolicy = NetworkPolicy.forStatus(next);
+        boolean significant = previous.connected != next.connected
+            || !previous.transport.equals(next.transport)
+            || previous.vpn != next.vpn
+            || previous.metered != next.metered
+            || previous.validated != next.validated
+            || previous.dataSaver != next.dataSaver
+            || !policy.quality.equals(nextPolicy.quality);
+        status = next;
+        policy = nextPolicy;
+        if (!significant) {
+            return;
+        }
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_CHANGED, next.downKbps,
+            next.vpn ? 1 : 0, next.metered ? 1 : 0);
+        for (Listener listener : listeners) {
+            listener.onNetworkChanged(next, nextPolicy);
+        }
+    }
+
+    private NetworkPolicy.NetworkStatus toStatus(NetworkCapabilities capabilities) {
+        String transport;
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            transport = NetworkPolicy.NetworkStatus.TRANSPORT_WIFI;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            transport = NetworkPolicy.NetworkStatus.TRANSPORT_CELLULAR;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+            transport = NetworkPolicy.NetworkStatus.TRANSPORT_ETHERNET;
+        } else {
+            // VPNs that don't declare their underlying network end up here
+            transport = NetworkPolicy.NetworkStatus.TRANSPORT_OTHER;
+        }
+        return new NetworkPolicy.NetworkStatus(
+            capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET),
+            transport,
+            capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN),
+            !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+            capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED),
+            capabilities.getLinkDownstreamBandwidthKbps(),
+            capabilities.getLinkUpstreamBandwidthKbps(),
+            connectivity.getRestrictBackgroundStatus()
+                == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED);
+    }
+}
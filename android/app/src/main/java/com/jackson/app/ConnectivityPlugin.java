@@ -0,0 +1,70 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Connectivity Plugin for Jackson App
+ *
+ * JS access to {@link ConnectivityMonitor}:
+ * - getStatus(): current network (transport, vpn, metered, validated, bandwidth)
+ *   and the recommended {@link NetworkPolicy}
+ *
+ * Events (notifyListeners):
+ * - "networkChange": { status, policy } on significant changes only
+ *
+ * JS side: lib/connectivity.ts
+ */
+@CapacitorPlugin(name = "Connectivity")
+public class ConnectivityPlugin extends Plugin {
+
+    static final String EVENT_CHANGE = "networkChange";
+
+    private final ConnectivityMonitor.Listener listener =
+        (status, policy) -> notifyListeners(EVENT_CHANGE, toJs(status, policy));
+
+    @Override
+    public void load() {
+        ConnectivityMonitor.getInstance(getContext()).addListener(listener);
+    }
+
+    @PluginMethod
+    public void getStatus(PluginCall call) {
+        ConnectivityMonitor monitor = ConnectivityMonitor.getInstance(getContext());
+        call.resolve(toJs(monitor.getStatus(), monitor.getPolicy()));
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        ConnectivityMonitor.getInstance(getContext()).removeListener(listener);
+    }
+
+    private static JSObject toJs(NetworkPolicy.NetworkStatus status, NetworkPolicy policy) {
+        JSObject network = new JSObject();
+        network.put("connected", status.connected);
+        network.put("transport", status.transport);
+        network.put("vpn", status.vpn);
+        network.put("metered", status.metered);
+        network.put("validated", status.validated);
+        network.put("downKbps", status.downKbps);
+        network.put("upKbps", status.upKbps);
+        network.put("dataSaver", status.dataSaver);
+
+        JSObject recommended = new JSObject();
+        recommended.put("quality", policy.quality);
+        recommended.put("timeoutMs", policy.timeoutMs);
+        recommended.put("maxInFlight", policy.maxInFlight);
+        recommended.put("retries", policy.retries);
+        recommended.put("retryBaseMs", policy.retryBaseMs);
+        recommended.put("prefetch", policy.prefetch);
+        recommended.put("imageQuality", policy.imageQuality);
+
+        JSObject result = new JSObject();
+        result.put("status", network);
+        result.put("policy", recommended);
+        return result;
+    }
+}
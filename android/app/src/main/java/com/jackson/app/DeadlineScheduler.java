@@ -0,0 +1,133 @@
+package com.jackson.app;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One wake-up schedule for every countdown on screen
+ *
+ * Each watch is a deadline in server time plus the resolution its display needs
+ * (a seconds countdown, a badge that only shows minutes, or nothing but the
+ * deadline itself). Instead of one timer
+ * per countdown there is a single next wake: the next whole second of server
+ * time while any countdown shows seconds, a deadline, or the moment a minutes
+ * display changes, whichever comes first. Events within {@link #COALESCE_MS} of
+ * each other share one wake - never early, at most that much late - so many
+ * countdowns cost about the same as one.
+ *
+ * Not thread-safe; ServerClockPlugin confines it to its clock thread.
+ */
+final class DeadlineScheduler {
+
+    static final long SECOND_MS = 1_000;
+    static final long MINUTE_MS = 60_000;
+    /** Resolution of a watch that only needs its deadline */
+    static final long DEADLINE_ONLY = 0;
+    /** How late a deadline may fire to share a wake with another */
+    static final long COALESCE_MS = 50;
+
+    private static final class Watch {
+        final long deadline;
+        final long resolutionMs;
+
+        Watch(long deadline, long resolutionMs) {
+            this.deadline = deadline;
+            this.resolutionMs = resolutionMs;
+        }
+    }
+
+    private final Map<String, Watch> watches = new HashMap<>();
+
+    /**
+     * Start (or move) a watch
+     *
+     * @param deadline Server time in epoch ms
+     * @param resolutionMs {@link #SECOND_MS}, {@link #MINUTE_MS} or {@link #DEADLINE_ONLY}
+     */
+    void watch(String id, long deadline, long resolutionMs) {
+        long resolution = resolutionMs <= DEADLINE_ONLY ? DEADLINE_ONLY
+            : resolutionMs <= SECOND_MS ? SECOND_MS : MINUTE_MS;
+        watches.put(id, new Watch(deadline, resolution));
+    }
+
+    /** @return false when the id was not watched */
+    boolean unwatch(String id) {
+        return watches.remove(id) != null;
+    }
+
+    boolean isEmpty() {
+        return watches.isEmpty();
+    }
+
+    int size() {
+        return watches.size();
+    }
+
+    /**
+     * Server time of the next wake after now
+     *
+     * @return Long.MAX_VALUE when nothing is watched
+     */
+    long nextWakeAt(long now) {
+        if (watches.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        long tick = Long.MAX_VALUE;
+        long earliest = Long.MAX_VALUE;
+        for (Watch watch : watches.values()) {
+            if (watch.resolutionMs == SECOND_MS) {
+                tick = Math.floorDiv(now, SECOND_MS) * SECOND_MS + SECOND_MS;
+            }
+            earliest = Math.min(earliest, nextEvent(watch, now));
+        }
+        earliest = Math.min(earliest, tick);
+        // Wake for the earliest event, or for the last one close behind it
+        long wake = earliest;
+        if (tick > wake && tick - earliest <= COALESCE_MS) {
+            wake = tick;
+        }
+        for (Watch watch : watches.values()) {
+            long event = nextEvent(watch, now);
+            if (event > wake && event - earliest <= COALESCE_MS) {
+                wake = event;
+            }
+        }
+        return wake;
+    }
+
+    /**
+     * The deadline itself, or for a minutes display the next time the minutes
+     * left change (second watches are covered by the shared second tick)
+     */
+    private static long nextEvent(Watch watch, long now) {
+        if (watch.deadline <= now) {
+            return now;
+        }
+        if (watch.resolutionMs != MINUTE_MS) {
+            return watch.deadline;
+        }
+        return watch.deadline - Math.floorDiv(watch.deadline - now - 1, MINUTE_MS) * MINUTE_MS;
+    }
+
+    /**
+     * Remove and return the watches whose deadline has passed
+     */
+    List<String> poll(long now) {
+        List<String> expired = null;
+        Iterator<Map.Entry<String, Watch>> it = watches.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Watch> entry = it.next();
+            if (entry.getValue().deadline <= now) {
+                if (expired == null) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(entry.getKey());
+                it.remove();
+            }
+        }
+        return expired != null ? expired : new ArrayList<>();
+    }
+}
@@ -0,0 +1,63 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.Map;
+
+/**
+ * Frame Metrics Plugin for Jackson App
+ *
+ * JS access to {@link FrameMonitor}'s per-route frame statistics:
+ * - setRoute(): attribute the following frames to a route (pathname, or a
+ *   pathname with a "#scene" suffix for modals such as the spin wheel)
+ * - getSnapshot(): { windowMs, route, routes } where routes maps "*" (all
+ *   frames) and each route to frames, janky, frozen, dropped, p50Ms, p90Ms, p99Ms,
+ *   meanMicros and worstMs; reset: true starts a new window
+ * - reset(): start a new window
+ *
+ * JS side: lib/frameMetrics.ts
+ */
+@CapacitorPlugin(name = "FrameMetrics")
+public class FrameMetricsPlugin extends Plugin {
+
+    @PluginMethod
+    public void setRoute(PluginCall call) {
+        FrameMonitor.get().getStats().setRoute(call.getString("route"));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getSnapshot(PluginCall call) {
+        FrameStats stats = FrameMonitor.get().getStats();
+        JSObject routes = new JSObject();
+        long windowMs;
+        synchronized (stats) {
+            for (Map.Entry<String, Map<String, Long>> route : stats.snapshot().entrySet()) {
+                JSObject values = new JSObject();
+                for (Map.Entry<String, Long> value : route.getValue().entrySet()) {
+                    values.put(value.getKey(), value.getValue());
+                }
+                routes.put(route.getKey(), values);
+            }
+            windowMs = stats.windowMs();
+            if (call.getBoolean("reset", false)) {
+                stats.reset();
+            }
+        }
+        JSObject result = new JSObject();
+        result.put("windowMs", windowMs);
+        result.put("route", stats.getRoute());
+        result.put("routes", routes);
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void reset(PluginCall call) {
+        FrameMonitor.get().getStats().reset();
+        call.resolve();
+    }
+}
@@ -0,0 +1,113 @@
+package com.jackson.app;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+/**
+ * Per-frame durations of the activity window, aggregated in {@link FrameStats}
+ *
+ * The WebView draws into the activity's window, so the window's FrameMetrics
+ * cover every frame of the web UI: TOTAL_DURATION from input handling to buffer
+ * swap. Frames are judged against the platform deadline on Android 12+ and
+ * against the display refresh interval before that. The first frame after a
+ * (re)attach is skipped since it includes layout of the whole view tree.
+ *
+ * Metrics are delivered on a background thread; the UI thread only pays for the
+ * platform's own bookkeeping. Reports the platform drops because that thread fell
+ * behind are counted as dropped frames.
+ */
+public final class FrameMonitor {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🎞️ Frames");
+    /** args: frame deadline us */
+    private static final int EV_ATTACHED = NativeTrace.event("attached");
+    /** args: frame ms, deadline us */
+    private static final int EV_FROZEN = NativeTrace.event("frozen frame");
+
+    private static final long DEFAULT_DEADLINE_NANOS = 1_000_000_000L / 60;
+
+    private static final FrameMonitor INSTANCE = new FrameMonitor();
+
+    private final FrameStats stats = new FrameStats();
+    private final Window.OnFrameMetricsAvailableListener listener = this::onFrame;
+    private Handler handler;
+    private Window window;
+    private long refreshDeadlineNanos = DEFAULT_DEADLINE_NANOS;
+
+    private FrameMonitor() {
+    }
+
+    public static FrameMonitor get() {
+        return INSTANCE;
+    }
+
+    public FrameStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Start collecting from an activity's window (replaces any previous one)
+     */
+    public synchronized void attach(Activity activity) {
+        Window target = activity.getWindow();
+        detach(window);
+        if (handler == null) {
+            HandlerThread thread = new HandlerThread("jackson-frames");
+            thread.start();
+            handler = new Handler(thread.getLooper());
+        }
+        float refreshRate = display(activity).getRefreshRate();
+        refreshDeadlineNanos = refreshRate > 1 ? (long) (1_000_000_000L / refreshRate) : DEFAULT_DEADLINE_NANOS;
+        target.addOnFrameMetricsAvailableListener(listener, handler);
+        window = target;
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_ATTACHED, refreshDeadlineNanos / 1_000);
+    }
+
+    /**
+     * Stop collecting from an activity's window, if it is the attached one
+     */
+    public synchronized void detach(Activity activity) {
+        detach(activity.getWindow());
+    }
+
+    private void detach(Window target) {
+        if (window != null && window == target) {
+            try {
+                window.removeOnFrameMetricsAvailableListener(listener);
+            } catch (IllegalArgumentException e) {
+                // Never added (window torn down first)
+            }
+            window = null;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Display display(Activity activity) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            return activity.getDisplay();
+        }
+        return activity.getWindowManager().getDefaultDisplay();
+    }
+
+    private void onFrame(Window source, FrameMetrics metrics, int dropCountSinceLastInvocation) {
+        if (dropCountSinceLastInvocation > 0) {
+            stats.recordDropped(dropCountSinceLastInvocation);
+        }
+        if (metrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) {
+            return;
+        }
+        long duration = metrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        long deadline = Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+            ? metrics.getMetric(FrameMetrics.DEADLINE)
+            : refreshDeadlineNanos;
+        stats.record(duration, deadline);
+        if (duration >= FrameStats.FROZEN_MS * 1_000_000) {
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_FROZEN, duration / 1_000_000, deadline / 1_000);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.jackson.app;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory frame-time aggregation per web route
+ *
+ * Every frame the window draws is recorded against the route JS last reported.
+ * Per route (and across all routes, under {@link #ALL_ROUTES}) it keeps:
+ * - frames, janky frames (over the display's frame deadline) and frozen frames
+ *   (at least {@link #FROZEN_MS}, the Play Console definition)
+ * - a 1 ms histogram up to {@link #MAX_TRACKED_MS} for p50 / p90 / p99, plus the
+ *   worst frame seen
+ *
+ * Recording allocates nothing once a route has been seen. At most
+ * {@link #MAX_ROUTES} routes are tracked; later ones are counted under
+ * {@link #OTHER_ROUTE}.
+ */
+public final class FrameStats {
+
+    public static final String ALL_ROUTES = "*";
+    public static final String OTHER_ROUTE = "(other)";
+    public static final String UNKNOWN_ROUTE = "(unknown)";
+
+    static final long FROZEN_MS = 700;
+    static final int MAX_TRACKED_MS = 1000;
+    static final int MAX_ROUTES = 32;
+
+    /**
+     * Counters for one route
+     */
+    static final class Route {
+        /** Frames per whole millisecond; the last bucket holds everything longer */
+        final int[] histogram = new int[MAX_TRACKED_MS + 1];
+        long frames;
+        long janky;
+        long frozen;
+        /** Frames the platform skipped reporting because the listener fell behind */
+        long dropped;
+        long totalNanos;
+        long worstNanos;
+
+        void record(long durationNanos, long deadlineNanos) {
+            frames++;
+            if (durationNanos > deadlineNanos) {
+                janky++;
+            }
+            long millis = durationNanos / 1_000_000;
+            if (millis >= FROZEN_MS) {
+                frozen++;
+            }
+            histogram[(int) Math.min(millis, MAX_TRACKED_MS)]++;
+            totalNanos += durationNanos;
+            worstNanos = Math.max(worstNanos, durationNanos);
+        }
+
+        /**
+         * @return Upper bound in ms of the bucket holding the given percentile
+         */
+        long percentileMs(int percentile) {
+            if (frames == 0) {
+                return 0;
+            }
+            long rank = (frames * percentile + 99) / 100;
+            long seen = 0;
+            for (int millis = 0; millis < histogram.length; millis++) {
+                seen += histogram[millis];
+                if (seen >= rank) {
+                    return millis + 1;
+                }
+            }
+            return MAX_TRACKED_MS + 1;
+        }
+
+        Map<String, Long> toMap() {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("frames", frames);
+            stats.put("janky", janky);
+            stats.put("frozen", frozen);
+            stats.put("dropped", dropped);
+            stats.put("p50Ms", percentileMs(50));
+            stats.put("p90Ms", percentileMs(90));
+            stats.put("p99Ms", percentileMs(99));
+            stats.put("meanMicros", frames > 0 ? totalNanos / frames / 1_000 : 0);
+            stats.put("worstMs", worstNanos / 1_000_000);
+            return stats;
+        }
+    }
+
+    private final Map<String, Route> routes = new HashMap<>();
+    private Route all = new Route();
+    private volatile String currentRoute = UNKNOWN_ROUTE;
+    private long sinceNanos = System.nanoTime();
+
+    /**
+     * Attribute the following frames to a route
+     */
+    public void setRoute(String route) {
+        currentRoute = route == null || route.isEmpty() ? UNKNOWN_ROUTE : route;
+    }
+
+    public String getRoute() {
+        return currentRoute;
+    }
+
+    /**
+     * @param durationNanos Total time the frame took, input to swap
+     * @param deadlineNanos Frame budget at the display's refresh rate
+     */
+    public synchronized void record(long durationNanos, long deadlineNanos) {
+        current().record(durationNanos, deadlineNanos);
+        all.record(durationNanos, deadlineNanos);
+    }
+
+    /**
+     * @param count Frames whose metrics were never delivered (no duration known)
+     */
+    public synchronized void recordDropped(int count) {
+        current().dropped += count;
+        all.dropped += count;
+    }
+
+    private Route current() {
+        String route = currentRoute;
+        Route stats = routes.get(route);
+        if (stats == null) {
+            if (routes.size() >= MAX_ROUTES) {
+                route = OTHER_ROUTE;
+                stats = routes.get(route);
+            }
+            if (stats == null) {
+                stats = new Route();
+                routes.put(route, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Per-route counters, busiest first, with {@link #ALL_ROUTES} first of all
+     */
+    public synchronized Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        result.put(ALL_ROUTES, all.toMap());
+        List<Map.Entry<String, Route>> byFrames = new ArrayList<>(routes.entrySet());
+        byFrames.sort((a, b) -> Long.compare(b.getValue().frames, a.getValue().frames));
+        for (Map.Entry<String, Route> entry : byFrames) {
+            result.put(entry.getKey(), entry.getValue().toMap());
+        }
+        return result;
+    }
+
+    /** Milliseconds covered by the current snapshot */
+    public synchronized long windowMs() {
+        return (System.nanoTime() - sinceNanos) / 1_000_000;
+    }
+
+    /** Start a new window; the current route is kept */
+    public synchronized void reset() {
+        routes.clear();
+        all = new Route();
+        sinceNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,356 @@
+package com.jackson.app;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packed, read-only spatial index of places for offline reverse geocoding
+ *
+ * Places are stored as unit vectors on the sphere in an implicit 3-d tree: the
+ * node for a range of the array is its middle element, split on x / y / z by
+ * depth. Straight-line (chord) distance between unit vectors orders points
+ * exactly like great-circle distance, so a plain k-d nearest-neighbour search is
+ * correct everywhere - poles and the antimeridian included - with no trigonometry
+ * in the inner loop. A lookup touches O(log n) nodes and decodes strings only for
+ * the winner.
+ *
+ * {@link #pack} turns the bundled TSV sources into the binary form and
+ * {@link #open} reads it straight from a (memory-mapped) buffer without copying.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   header:   int magic | int version | int nodeCount | int countryCount | int zoneCount
+ *   node:     float x | float y | float z | float lat | float lon
+ *             | int nameOffset | int regionOffset | short country | short zone
+ *   country:  int codeOffset | int nameOffset
+ *   zone:     int nameOffset
+ *   strings:  short length | UTF-8 bytes (offsets are relative to the string pool)
+ * </pre>
+ */
+public final class GeoIndex {
+
+    private static final int MAGIC = 0x4A474531; // "JGE1"
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int NODE_SIZE = 32;
+    private static final int COUNTRY_SIZE = 8;
+    private static final int ZONE_SIZE = 4;
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Result of a lookup
+     */
+    public static final class Place {
+        public final String city;
+        public final String region;
+        public final String countryCode;
+        public final String country;
+        public final String timezone;
+        public final double latitude;
+        public final double longitude;
+        /** Great-circle distance from the query point to this place */
+        public final double distanceKm;
+
+        Place(String city, String region, String countryCode, String country, String timezone,
+              double latitude, double longitude, double distanceKm) {
+            this.city = city;
+            this.region = region;
+            this.countryCode = countryCode;
+            this.country = country;
+            this.timezone = timezone;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int nodeCount;
+    private final int countryCount;
+    private final int countryTable;
+    private final int zoneTable;
+    private final int stringPool;
+
+    private GeoIndex(ByteBuffer buffer, int nodeCount, int countryCount, int zoneCount) {
+        this.buffer = buffer;
+        this.nodeCount = nodeCount;
+        this.countryCount = countryCount;
+        this.countryTable = HEADER_SIZE + nodeCount * NODE_SIZE;
+        this.zoneTable = countryTable + countryCount * COUNTRY_SIZE;
+        this.stringPool = zoneTable + zoneCount * ZONE_SIZE;
+    }
+
+    /**
+     * Read an index produced by {@link #pack}
+     *
+     * @param buffer Whole file; only absolute reads are used, so it may be shared
+     * @throws IOException on a wrong magic / version or a truncated buffer
+     */
+    public static GeoIndex open(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a geo index (version " + VERSION + ")");
+        }
+        int nodes = buffer.getInt(8);
+        int countries = buffer.getInt(12);
+        int zones = buffer.getInt(16);
+        GeoIndex index = new GeoIndex(buffer, nodes, countries, zones);
+        if (nodes <= 0 || index.stringPool > buffer.limit()) {
+            throw new IOException("Truncated geo index");
+        }
+        return index;
+    }
+
+    public int size() {
+        return nodeCount;
+    }
+
+    /**
+     * Closest place to a coordinate
+     */
+    public Place nearest(double latitude, double longitude) {
+        double[] query = toUnitVector(latitude, longitude);
+        Search search = new Search(query);
+        search(search, 0, nodeCount, 0);
+
+        int node = HEADER_SIZE + search.best * NODE_SIZE;
+        int country = buffer.getShort(node + 28);
+        int countryEntry = countryTable + country * COUNTRY_SIZE;
+        return new Place(
+            string(buffer.getInt(node + 20)),
+            string(buffer.getInt(node + 24)),
+            country < countryCount ? string(buffer.getInt(countryEntry)) : "",
+            country < countryCount ? string(buffer.getInt(countryEntry + 4)) : "",
+            string(buffer.getInt(zoneTable + buffer.getShort(node + 30) * ZONE_SIZE)),
+            buffer.getFloat(node + 12),
+            buffer.getFloat(node + 16),
+            chordToKm(Math.sqrt(search.bestDistance)));
+    }
+
+    private static final class Search {
+        final double[] query;
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+
+        Search(double[] query) {
+            this.query = query;
+        }
+    }
+
+    private void search(Search search, int lo, int hi, int depth) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int node = HEADER_SIZE + mid * NODE_SIZE;
+        double dx = search.query[0] - buffer.getFloat(node);
+        double dy = search.query[1] - buffer.getFloat(node + 4);
+        double dz = search.query[2] - buffer.getFloat(node + 8);
+        double distance = dx * dx + dy * dy + dz * dz;
+        if (distance < search.bestDistance) {
+            search.bestDistance = distance;
+            search.best = mid;
+        }
+
+        int axis = depth % 3;
+        double split = axis == 0 ? dx : axis == 1 ? dy : dz;
+        // Query side first; the other side only if the splitting plane is closer than the best
+        if (split < 0) {
+            search(search, lo, mid, depth + 1);
+            if (split * split < search.bestDistance) {
+                search(search, mid + 1, hi, depth + 1);
+            }
+        } else {
+            search(search, mid + 1, hi, depth + 1);
+            if (split * split < search.bestDistance) {
+                search(search, lo, mid, depth + 1);
+            }
+        }
+    }
+
+    private String string(int offset) {
+        int at = stringPool + offset;
+        int length = buffer.getShort(at) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(at + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[] { cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat) };
+    }
+
+    static double chordToKm(double chord) {
+        return 2 * Math.asin(Math.min(1, chord / 2)) * EARTH_RADIUS_KM;
+    }
+
+    /** Haversine distance, for tests and callers comparing against other sources */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * Math.asin(Math.min(1, Math.sqrt(a))) * EARTH_RADIUS_KM;
+    }
+
+    // ========================================================================
+    // Packing
+    // ========================================================================
+
+    private static final class Source {
+        final String name;
+        final String region;
+        final int country;
+        final int zone;
+        final float latitude;
+        final float longitude;
+        final float[] vector = new float[3];
+
+        Source(String name, String region, int country, int zone, float latitude, float longitude) {
+            this.name = name;
+            this.region = region;
+            this.country = country;
+            this.zone = zone;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            double[] v = toUnitVector(latitude, longitude);
+            for (int i = 0; i < 3; i++) {
+                vector[i] = (float) v[i];
+            }
+        }
+    }
+
+    /**
+     * Build the binary index from tab-separated sources ('#' lines are comments)
+     *
+     * @param places  name, region, country code, latitude, longitude, timezone
+     * @param countries country code, country name
+     * @throws IOException on a malformed line or an unknown country code
+     */
+    static void pack(BufferedReader places, BufferedReader countries, OutputStream out) throws IOException {
+        Map<String, Integer> countryIndex = new LinkedHashMap<>();
+        List<String> countryNames = new ArrayList<>();
+        for (String[] fields : rows(countries, 2)) {
+            countryIndex.put(fields[0], countryNames.size());
+            countryNames.add(fields[1]);
+        }
+
+        Map<String, Integer> zoneIndex = new LinkedHashMap<>();
+        List<Source> sources = new ArrayList<>();
+        for (String[] fields : rows(places, 6)) {
+            Integer country = countryIndex.get(fields[2]);
+            if (country == null) {
+                throw new IOException("Unknown country code " + fields[2] + " for " + fields[0]);
+            }
+            Integer zone = zoneIndex.get(fields[5]);
+            if (zone == null) {
+                zone = zoneIndex.size();
+                zoneIndex.put(fields[5], zone);
+            }
+            try {
+                sources.add(new Source(fields[0], fields[1], country, zone,
+                    Float.parseFloat(fields[3]), Float.parseFloat(fields[4])));
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad coordinates for " + fields[0], e);
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new IOException("No places");
+        }
+        arrange(sources, 0, sources.size(), 0);
+
+        StringPool pool = new StringPool();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(sources.size());
+        data.writeInt(countryNames.size());
+        data.writeInt(zoneIndex.size());
+        for (Source source : sources) {
+            data.writeFloat(source.vector[0]);
+            data.writeFloat(source.vector[1]);
+            data.writeFloat(source.vector[2]);
+            data.writeFloat(source.latitude);
+            data.writeFloat(source.longitude);
+            data.writeInt(pool.add(source.name));
+            data.writeInt(pool.add(source.region));
+            data.writeShort(source.country);
+            data.writeShort(source.zone);
+        }
+        int i = 0;
+        for (String code : countryIndex.keySet()) {
+            data.writeInt(pool.add(code));
+            data.writeInt(pool.add(countryNames.get(i++)));
+        }
+        for (String zone : zoneIndex.keySet()) {
+            data.writeInt(pool.add(zone));
+        }
+        pool.bytes.writeTo(data);
+        data.flush();
+    }
+
+    /** Order the range so every subrange's middle element splits it on depth's axis */
+    private static void arrange(List<Source> sources, int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int axis = depth % 3;
+        sources.subList(lo, hi).sort(Comparator.comparingDouble(source -> source.vector[axis]));
+        int mid = (lo + hi) >>> 1;
+        arrange(sources, lo, mid, depth + 1);
+        arrange(sources, mid + 1, hi, depth + 1);
+    }
+
+    private static List<String[]> rows(BufferedReader reader, int columns) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            if (fields.length != columns) {
+                throw new IOException("Expected " + columns + " columns: " + line);
+            }
+            rows.add(fields);
+        }
+        return rows;
+    }
+
+    /** Deduplicated, length-prefixed UTF-8 strings */
+    private static final class StringPool {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final Map<String, Integer> offsets = new HashMap<>();
+
+        int add(String value) {
+            Integer existing = offsets.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            int offset = bytes.size();
+            bytes.write(utf8.length >>> 8);
+            bytes.write(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+            offsets.put(value, offset);
+            return offset;
+        }
+    }
+}
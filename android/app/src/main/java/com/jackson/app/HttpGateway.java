@@ -0,0 +1,344 @@
+package com.jackson.app;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Shared native HTTP client for the Jackson API
+ *
+ * All native networking goes through one {@link OkHttpClient}, so every request to
+ * rewardsapi.hireagent.co shares a single connection pool (and a single multiplexed
+ * HTTP/2 connection when the server negotiates h2 via ALPN) instead of opening a
+ * new handshake per WebView fetch.
+ *
+ * Identical GET requests that are already in flight are coalesced: the first caller
+ * performs the upstream call and every later caller with the same method, URL and
+ * credentials receives the same response. Mutating requests are never coalesced.
+ */
+public final class HttpGateway {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static volatile HttpGateway instance;
+
+    private final OkHttpClient client;
+    private final ConcurrentHashMap<String, CompletableFuture<GatewayResponse>> inFlight =
+        new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<MutationListener> mutationListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong upstreamCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    /**
+     * Told when a request that may have changed server state (anything but GET /
+     * HEAD) has finished or failed, before its caller sees the result. Called on
+     * OkHttp's callback thread.
+     */
+    public interface MutationListener {
+        void onMutation(GatewayRequest request);
+    }
+
+    /**
+     * Process-wide gateway. Lazily created so nothing is allocated until the first
+     * native request.
+     */
+    public static HttpGateway getInstance() {
+        HttpGateway local = instance;
+        if (local == null) {
+            synchronized (HttpGateway.class) {
+                local = instance;
+                if (local == null) {
+                    local = new HttpGateway(defaultClient());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    HttpGateway(OkHttpClient baseClient) {
+        this.client = baseClient.newBuilder()
+            .eventListenerFactory(RequestTiming.FACTORY)
+            .build();
+    }
+
+    private static OkHttpClient defaultClient() {
+        return new OkHttpClient.Builder()
+            // 5 idle connections kept for 5 minutes covers the API host plus the
+            // Besitos host without holding sockets open in the background forever
+            .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+            .connectTimeout(15, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .writeTimeout(30, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(true)
+            .build();
+    }
+
+    OkHttpClient getClient() {
+        return client;
+    }
+
+    public void addMutationListener(MutationListener listener) {
+        mutationListeners.addIfAbsent(listener);
+    }
+
+    public void removeMutationListener(MutationListener listener) {
+        mutationListeners.remove(listener);
+    }
+
+    /**
+     * Execute a request asynchronously on OkHttp's dispatcher threads
+     *
+     * @param request Request description
+     * @return Future completed with the buffered response, or exceptionally with the
+     *         IOException (IllegalArgumentException for a malformed URL or header)
+     */
+    public CompletableFuture<GatewayResponse> execute(GatewayRequest request) {
+        requestCount.incrementAndGet();
+
+        if (!request.isCoalescable()) {
+            return send(request);
+        }
+
+        String key = request.coalesceKey();
+        CompletableFuture<GatewayResponse> leader = new CompletableFuture<>();
+        CompletableFuture<GatewayResponse> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return existing.thenApply(GatewayResponse::asCoalesced);
+        }
+
+        send(request).whenComplete((response, error) -> {
+            inFlight.remove(key, leader);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(response);
+            }
+        });
+        return leader;
+    }
+
+    private CompletableFuture<GatewayResponse> send(GatewayRequest request) {
+        CompletableFuture<GatewayResponse> future = new CompletableFuture<>();
+        RequestTiming timing = new RequestTiming();
+
+        Request okRequest;
+        try {
+            Request.Builder builder = new Request.Builder()
+                .url(request.url)
+                .tag(RequestTiming.class, timing);
+            for (Map.Entry<String, String> header : request.headers.entrySet()) {
+                builder.header(header.getKey(), header.getValue());
+            }
+            builder.method(request.method, buildBody(request));
+            okRequest = builder.build();
+        } catch (IllegalArgumentException e) {
+            // Bad URL or header value: fail this call (and release any coalesced
+            // leader) instead of throwing past the caller's future
+            failureCount.incrementAndGet();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        OkHttpClient callClient = client;
+        if (request.timeoutMs > 0) {
+            callClient = client.newBuilder()
+                .callTimeout(request.timeoutMs, TimeUnit.MILLISECONDS)
+                .build();
+        }
+
+        upstreamCount.incrementAndGet();
+        callClient.newCall(okRequest).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failureCount.incrementAndGet();
+                // A request that timed out may still have reached the server
+                notifyMutation(request);
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (CachingWebViewClient.API_HOST.equals(response.request().url().host())) {
+                    ServerClock.get().onApiResponse(response.headers().getDate("Date"), timing);
+                }
+                try (ResponseBody body = response.body()) {
+                    byte[] bytes = body != null ? body.bytes() : new byte[0];
+                    notifyMutation(request);
+                    future.complete(new GatewayResponse(
+                        response.code(), toMap(response.headers()), bytes, timing, false));
+                } catch (IOException e) {
+                    failureCount.incrementAndGet();
+                    notifyMutation(request);
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private void notifyMutation(GatewayRequest request) {
+        if (request.isCoalescable()) {
+            return;
+        }
+        for (MutationListener listener : mutationListeners) {
+            listener.onMutation(request);
+        }
+    }
+
+    private static RequestBody buildBody(GatewayRequest request) {
+        if ("GET".equals(request.method) || "HEAD".equals(request.method)) {
+            return null;
+        }
+        String contentType = request.headers.get("Content-Type");
+        MediaType mediaType = contentType != null ? MediaType.parse(contentType) : JSON;
+        String body = request.body != null ? request.body : "";
+        return RequestBody.create(body, mediaType);
+    }
+
+    private static Map<String, String> toMap(Headers headers) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String name : headers.names()) {
+            // Multi-value headers are joined the same way fetch() Headers.get() does
+            map.put(name.toLowerCase(Locale.ROOT), String.join(", ", headers.values(name)));
+        }
+        return map;
+    }
+
+    /** Snapshot of gateway counters and pool state for diagnostics */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("requests", requestCount.get());
+        stats.put("upstream", upstreamCount.get());
+        stats.put("coalesced", coalescedCount.get());
+        stats.put("failures", failureCount.get());
+        stats.put("inFlight", (long) inFlight.size());
+        stats.put("pooledConnections", (long) client.connectionPool().connectionCount());
+        stats.put("idleConnections", (long) client.connectionPool().idleConnectionCount());
+        return stats;
+    }
+
+    /**
+     * Immutable request description
+     */
+    public static final class GatewayRequest {
+        final String method;
+        final String url;
+        final Map<String, String> headers;
+        final String body;
+        final long timeoutMs;
+
+        public GatewayRequest(String method, String url, Map<String, String> headers,
+                              String body, long timeoutMs) {
+            this.method = method == null ? "GET" : method.toUpperCase(Locale.ROOT);
+            this.url = url;
+            // Case-insensitive like HTTP itself, and sorted so the coalesce key is stable
+            Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            if (headers != null) {
+                copy.putAll(headers);
+            }
+            this.headers = Collections.unmodifiableMap(copy);
+            this.body = body;
+            this.timeoutMs = timeoutMs;
+        }
+
+        public static GatewayRequest get(String url, Map<String, String> headers) {
+            return new GatewayRequest("GET", url, headers, null, 0);
+        }
+
+        /** Copy of this request with one header added or replaced */
+        GatewayRequest withHeader(String name, String value) {
+            Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            copy.putAll(headers);
+            copy.put(name, value);
+            return new GatewayRequest(method, url, copy, body, timeoutMs);
+        }
+
+        boolean isCoalescable() {
+            return "GET".equals(method) || "HEAD".equals(method);
+        }
+
+        /**
+         * Requests are only merged when they would be indistinguishable upstream, so
+         * credentials are part of the key - two users never share a response.
+         */
+        String coalesceKey() {
+            StringBuilder key = new StringBuilder(method).append(' ').append(url);
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                key.append('\n').append(header.getKey().toLowerCase(Locale.ROOT))
+                    .append(':').append(header.getValue());
+            }
+            return key.toString();
+        }
+    }
+
+    /**
+     * Fully buffered response. Bodies are small JSON documents, so buffering lets a
+     * single upstream response be handed to every coalesced caller.
+     */
+    public static final class GatewayResponse {
+        public static final String SOURCE_NETWORK = "network";
+        public static final String SOURCE_CACHE = "cache";
+        public static final String SOURCE_STALE = "stale";
+
+        public final int status;
+        public final Map<String, String> headers;
+        public final byte[] body;
+        public final RequestTiming timing;
+        public final boolean coalesced;
+        /** Where the body came from: network, cache (fresh) or stale (revalidating) */
+        public final String source;
+
+        GatewayResponse(int status, Map<String, String> headers, byte[] body,
+                        RequestTiming timing, boolean coalesced) {
+            this(status, headers, body, timing, coalesced, SOURCE_NETWORK);
+        }
+
+        GatewayResponse(int status, Map<String, String> headers, byte[] body,
+                        RequestTiming timing, boolean coalesced, String source) {
+            this.status = status;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.body = body;
+            this.timing = timing;
+            this.coalesced = coalesced;
+            this.source = source;
+        }
+
+        GatewayResponse asCoalesced() {
+            return new GatewayResponse(status, headers, body, timing, true, source);
+        }
+
+        public String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        public String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+}
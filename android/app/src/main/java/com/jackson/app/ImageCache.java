@@ -0,0 +1,386 @@
+package com.jackson.app;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache of downsampled images
+ *
+ * Entries are keyed by source, display width bucket and quality, and hold the bytes
+ * the WebView should render (normally WebP at display size):
+ * - Memory: LRU bounded by total bytes
+ * - Disk: one file per entry in {@code dir}, evicted least-recently-used once the
+ *   directory exceeds its byte cap
+ * - Miss: the {@link Source} bytes are fetched and handed to the {@link Transcoder}
+ *   on a small fixed pool, which also bounds how many bitmaps are decoded at once
+ * - Concurrent loads of the same entry share one fetch and decode
+ *
+ * Formats that must not be re-encoded (SVG, GIF) and images the transcoder can't
+ * shrink are cached as fetched.
+ */
+public final class ImageCache {
+
+    /** Widths are rounded up to a multiple of this so nearby sizes share an entry */
+    static final int WIDTH_STEP = 64;
+
+    static final String MIME_WEBP = "image/webp";
+
+    /**
+     * Original image bytes, e.g. from the network or APK assets
+     */
+    interface Source {
+        Image fetch(String src) throws IOException;
+    }
+
+    /**
+     * Decodes and re-encodes an image at a target width
+     */
+    interface Transcoder {
+        /**
+         * @return WebP bytes no wider than targetWidth, or null when the source can't be decoded
+         */
+        byte[] downsample(byte[] source, int targetWidth, int quality) throws IOException;
+    }
+
+    /**
+     * Cached or fetched image
+     */
+    public static final class Image {
+        public final String mimeType;
+        public final byte[] bytes;
+
+        public Image(String mimeType, byte[] bytes) {
+            this.mimeType = mimeType;
+            this.bytes = bytes;
+        }
+    }
+
+    private final File dir;
+    private final long diskBudget;
+    private final long memoryBudget;
+    private final int maxWidth;
+    private final Source source;
+    private final Transcoder transcoder;
+    private final ExecutorService pool;
+
+    /** Guarded by itself */
+    private final LinkedHashMap<String, Image> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    /** -1 until the directory is first scanned; guarded by diskLock */
+    private long diskBytes = -1;
+    private final Object diskLock = new Object();
+
+    private final ConcurrentHashMap<String, CompletableFuture<Image>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesFetched = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * @param maxWidth Widest image ever produced (usually the screen width in pixels)
+     * @param decodeThreads Concurrent fetch / decode jobs
+     */
+    ImageCache(File dir, long diskBudget, long memoryBudget, int maxWidth, Source source,
+               Transcoder transcoder, int decodeThreads) {
+        this.dir = dir;
+        this.diskBudget = diskBudget;
+        this.memoryBudget = memoryBudget;
+        this.maxWidth = maxWidth;
+        this.source = source;
+        this.transcoder = transcoder;
+        this.pool = Executors.newFixedThreadPool(decodeThreads, r -> {
+            Thread thread = new Thread(r, "jackson-image");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Image for src at the given display width, blocking until it is ready
+     *
+     * @param targetWidth Width in device pixels; 0 or less means {@code maxWidth}
+     * @param quality WebP quality 0-100
+     */
+    public Image load(String src, int targetWidth, int quality, long timeoutMs) throws IOException {
+        int width = bucket(targetWidth);
+        String key = key(src, width, quality);
+
+        Image cached = fromMemory(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<Image> future = new CompletableFuture<>();
+        CompletableFuture<Image> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            shared.incrementAndGet();
+            future = existing;
+        } else {
+            CompletableFuture<Image> leader = future;
+            pool.execute(() -> {
+                Image image = null;
+                Exception error = null;
+                try {
+                    image = produce(key, src, width, quality);
+                } catch (IOException | RuntimeException e) {
+                    failures.incrementAndGet();
+                    error = e;
+                }
+                // Leave the map first so a retry after a failure starts a new load
+                inFlight.remove(key, leader);
+                if (error != null) {
+                    leader.completeExceptionally(error);
+                } else {
+                    leader.complete(image);
+                }
+            });
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } catch (TimeoutException e) {
+            throw new IOException("Image load timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    private Image produce(String key, String src, int width, int quality) throws IOException {
+        Image stored = readDisk(key);
+        if (stored != null) {
+            diskHits.incrementAndGet();
+            toMemory(key, stored);
+            return stored;
+        }
+
+        misses.incrementAndGet();
+        Image original = source.fetch(src);
+        bytesFetched.addAndGet(original.bytes.length);
+
+        Image result = original;
+        if (isTranscodable(original.mimeType)) {
+            byte[] webp = transcoder.downsample(original.bytes, width, quality);
+            if (webp != null && webp.length < original.bytes.length) {
+                result = new Image(MIME_WEBP, webp);
+                bytesSaved.addAndGet(original.bytes.length - webp.length);
+            }
+        }
+        writeDisk(key, result);
+        toMemory(key, result);
+        return result;
+    }
+
+    /** Drop every entry from both tiers */
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+            memoryBytes = 0;
+        }
+        synchronized (diskLock) {
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            diskBytes = 0;
+        }
+    }
+
+    /**
+     * Evict least recently used memory entries down to a fraction of the budget
+     *
+     * @param fraction 0 empties the memory tier; the disk tier is left alone
+     */
+    public void trimMemory(double fraction) {
+        long target = (long) (memoryBudget * Math.max(0, Math.min(1, fraction)));
+        synchronized (memory) {
+            Iterator<Map.Entry<String, Image>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > target && eldest.hasNext()) {
+                memoryBytes -= eldest.next().getValue().bytes.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /** Snapshot of cache counters for diagnostics */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("sharedLoads", shared.get());
+        stats.put("failures", failures.get());
+        stats.put("bytesFetched", bytesFetched.get());
+        stats.put("bytesSaved", bytesSaved.get());
+        synchronized (memory) {
+            stats.put("memoryBytes", memoryBytes);
+            stats.put("memoryEntries", (long) memory.size());
+        }
+        synchronized (diskLock) {
+            stats.put("diskBytes", Math.max(diskBytes, 0));
+        }
+        return stats;
+    }
+
+    int bucket(int targetWidth) {
+        if (targetWidth <= 0 || targetWidth >= maxWidth) {
+            return maxWidth;
+        }
+        int rounded = (targetWidth + WIDTH_STEP - 1) / WIDTH_STEP * WIDTH_STEP;
+        return Math.min(rounded, maxWidth);
+    }
+
+    static boolean isTranscodable(String mimeType) {
+        return mimeType != null
+            && mimeType.startsWith("image/")
+            && !mimeType.startsWith("image/svg")
+            && !mimeType.equals("image/gif");
+    }
+
+    private Image fromMemory(String key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private void toMemory(String key, Image image) {
+        if (image.bytes.length > memoryBudget / 4) {
+            // One oversized entry would flush everything else
+            return;
+        }
+        synchronized (memory) {
+            Image previous = memory.put(key, image);
+            if (previous != null) {
+                memoryBytes -= previous.bytes.length;
+            }
+            memoryBytes += image.bytes.length;
+            Iterator<Map.Entry<String, Image>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > memoryBudget && eldest.hasNext()) {
+                memoryBytes -= eldest.next().getValue().bytes.length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private Image readDisk(String key) {
+        File file = new File(dir, key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            String mimeType = in.readUTF();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) file.length());
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            // Recently used files survive eviction
+            file.setLastModified(System.currentTimeMillis());
+            return new Image(mimeType, bytes.toByteArray());
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, Image image) {
+        synchronized (diskLock) {
+            if (diskBytes < 0) {
+                diskBytes = 0;
+                File[] files = dir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        diskBytes += file.length();
+                    }
+                }
+            }
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                return;
+            }
+            File file = new File(dir, key);
+            File temp = new File(dir, key + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+                out.writeUTF(image.mimeType);
+                out.write(image.bytes);
+            } catch (IOException e) {
+                temp.delete();
+                return;
+            }
+            long previous = file.length();
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                return;
+            }
+            diskBytes += file.length() - previous;
+            if (diskBytes > diskBudget) {
+                evictDisk();
+            }
+        }
+    }
+
+    private void evictDisk() {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        // Trim to 90% so every write near the cap doesn't trigger another scan
+        long target = diskBudget * 9 / 10;
+        for (File file : files) {
+            if (diskBytes <= target) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                diskBytes -= length;
+            }
+        }
+    }
+
+    static String key(String src, int width, int quality) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(src.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(hash.length * 2 + 12);
+            for (byte b : hash) {
+                key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return key.append('-').append(width).append('q').append(quality).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.Map;
+
+/**
+ * Image Cache Plugin for Jackson App
+ *
+ * JS access to {@link ImagePipeline}'s cache:
+ * - getStats(): memory / disk hits, misses, shared loads, bytes fetched and bytes
+ *   saved by downsampling
+ * - clear(): drop every cached image (both tiers)
+ *
+ * JS side: lib/imageCache.ts
+ */
+@CapacitorPlugin(name = "ImageCache")
+public class ImageCachePlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Long> entry : ImagePipeline.getInstance(getContext()).getCache().getStats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        ImageCache cache = ImagePipeline.getInstance(getContext()).getCache();
+        // Deletes files; keep it off the bridge thread
+        new Thread(() -> {
+            cache.clear();
+            call.resolve();
+        }, "ImageCache-clear").start();
+    }
+}
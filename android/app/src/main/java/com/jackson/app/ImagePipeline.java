@@ -0,0 +1,207 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Downsampling image pipeline for WebView images
+ *
+ * Game artwork and offer thumbnails arrive at source resolution (often several
+ * times the size they are drawn at) and large PNGs ship in the web bundle.
+ * CachingWebViewClient routes image requests here instead:
+ * - Remote images and bundled PNG / JPEG assets are decoded with inSampleSize,
+ *   scaled to the display width and re-encoded as WebP on {@link #DECODE_THREADS}
+ *   background threads
+ * - Results live in an {@link ImageCache} (memory LRU + capped disk cache under
+ *   cacheDir), so each image is fetched and decoded once
+ * - {@link #LOCAL_PATH}?src=...&w=... requests an explicit display width
+ *   (lib/imageCache.ts sizedImageUrl); other images are capped at the screen width
+ * - WebP quality follows the network policy's image quality
+ */
+public final class ImagePipeline {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🖼️ Images");
+    /** args: source bytes, output bytes, target width */
+    private static final int EV_DECODED = NativeTrace.event("image downsampled");
+    private static final int EV_UNDECODABLE = NativeTrace.event("image not decodable");
+
+    /** Path on the app origin for explicitly sized images */
+    static final String LOCAL_PATH = "/_img";
+
+    static final int DECODE_THREADS = 2;
+    static final long LOAD_TIMEOUT_MS = 30_000;
+    private static final long DISK_BUDGET_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_MEMORY_BUDGET_BYTES = 24L * 1024 * 1024;
+    private static final long MAX_SOURCE_BYTES = 20L * 1024 * 1024;
+    /** Web bundle location inside the APK assets */
+    private static final String ASSET_ROOT = "public";
+
+    private static ImagePipeline instance;
+
+    private final Context context;
+    private final OkHttpClient client;
+    private final ImageCache cache;
+
+    private ImagePipeline(Context context) {
+        this.context = context.getApplicationContext();
+        this.client = HttpGateway.getInstance().getClient();
+        int screenWidth = this.context.getResources().getDisplayMetrics().widthPixels;
+        long memoryBudget = Math.min(Runtime.getRuntime().maxMemory() / 16, MAX_MEMORY_BUDGET_BYTES);
+        this.cache = new ImageCache(
+            new File(this.context.getCacheDir(), "images"),
+            DISK_BUDGET_BYTES,
+            memoryBudget,
+            screenWidth,
+            this::fetch,
+            ImagePipeline::downsample,
+            DECODE_THREADS);
+    }
+
+    public static synchronized ImagePipeline getInstance(Context context) {
+        if (instance == null) {
+            instance = new ImagePipeline(context);
+        }
+        return instance;
+    }
+
+    public ImageCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Trim the memory tier if the pipeline exists; see {@link ImageCache#trimMemory(double)}
+     */
+    public static synchronized void trimMemory(double fraction) {
+        if (instance != null) {
+            instance.cache.trimMemory(fraction);
+        }
+    }
+
+    /**
+     * Downsampled image, blocking until ready (call from a WebView IO thread)
+     *
+     * @param src Absolute http(s) URL, or a path inside the web bundle
+     * @param widthPx Display width in device pixels; 0 for the screen width
+     */
+    public ImageCache.Image load(String src, int widthPx) throws IOException {
+        return cache.load(src, widthPx, quality(), LOAD_TIMEOUT_MS);
+    }
+
+    private int quality() {
+        switch (ConnectivityMonitor.getInstance(context).getPolicy().imageQuality) {
+            case NetworkPolicy.IMAGE_LOW:
+                return 60;
+            case NetworkPolicy.IMAGE_MEDIUM:
+                return 75;
+            default:
+                return 85;
+        }
+    }
+
+    private ImageCache.Image fetch(String src) throws IOException {
+        if (src.startsWith("/")) {
+            return fetchAsset(src);
+        }
+        Request request = new Request.Builder()
+            .url(src)
+            .header("Accept", "image/webp,image/*;q=0.8")
+            .build();
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            String contentType = response.header("Content-Type", "");
+            if (!response.isSuccessful() || body == null || !contentType.startsWith("image/")) {
+                throw new IOException("Not an image: HTTP " + response.code() + " " + contentType);
+            }
+            if (body.contentLength() > MAX_SOURCE_BYTES) {
+                throw new IOException("Image too large: " + body.contentLength());
+            }
+            return new ImageCache.Image(contentType.split(";")[0].trim(), body.bytes());
+        }
+    }
+
+    private ImageCache.Image fetchAsset(String path) throws IOException {
+        if (path.contains("..")) {
+            throw new IOException("Invalid asset path");
+        }
+        try (InputStream in = context.getAssets().open(ASSET_ROOT + path)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new ImageCache.Image(mimeTypeOf(path), bytes.toByteArray());
+        }
+    }
+
+    static String mimeTypeOf(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".png")) {
+            return "image/png";
+        } else if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "image/jpeg";
+        } else if (lower.endsWith(".webp")) {
+            return "image/webp";
+        } else if (lower.endsWith(".gif")) {
+            return "image/gif";
+        } else if (lower.endsWith(".svg")) {
+            return "image/svg+xml";
+        }
+        return "application/octet-stream";
+    }
+
+    @SuppressWarnings("deprecation")
+    private static byte[] downsample(byte[] source, int targetWidth, int quality) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(source, 0, source.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_UNDECODABLE, source.length);
+            return null;
+        }
+
+        // Power-of-two subsampling during decode keeps the full-size bitmap out of memory
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        int sample = 1;
+        while (bounds.outWidth / (sample * 2) >= targetWidth) {
+            sample *= 2;
+        }
+        options.inSampleSize = sample;
+        Bitmap decoded = BitmapFactory.decodeByteArray(source, 0, source.length, options);
+        if (decoded == null) {
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_UNDECODABLE, source.length);
+            return null;
+        }
+
+        Bitmap scaled = decoded;
+        if (decoded.getWidth() > targetWidth) {
+            int height = Math.max(1, Math.round(decoded.getHeight() * (float) targetWidth / decoded.getWidth()));
+            scaled = Bitmap.createScaledBitmap(decoded, targetWidth, height, true);
+            decoded.recycle();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(1024, source.length / 4));
+        Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY
+            : Bitmap.CompressFormat.WEBP;
+        scaled.compress(format, quality, out);
+        scaled.recycle();
+
+        byte[] webp = out.toByteArray();
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_DECODED, source.length, webp.length, targetWidth);
+        return webp;
+    }
+}
@@ -0,0 +1,236 @@
+package com.jackson.app;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQLite storage for {@link NotificationInbox}
+ *
+ * Notifications are keyed by the server _id and read back through a partial
+ * index on the visible rows, so the on-mount read never scans dismissed ones.
+ * Queued dismissals live in their own table so they outlive the row they hide
+ * (a full sync may drop it first). The cursor, owning account and last sync time
+ * sit in a small key / value table. WAL keeps the sync's writes from blocking the
+ * plugin thread's reads.
+ */
+final class InboxDatabase extends SQLiteOpenHelper implements NotificationInbox.Store {
+
+    private static final String DB_NAME = "jackson_inbox.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String NOTIFICATIONS = "notifications";
+    private static final String DISMISSALS = "dismissals";
+    private static final String META = "meta";
+
+    private static final String META_ACCOUNT = "account";
+    private static final String META_CURSOR = "cursor";
+    private static final String META_SYNCED_AT = "synced_at";
+
+    private static volatile InboxDatabase instance;
+
+    static InboxDatabase getInstance(Context context) {
+        InboxDatabase local = instance;
+        if (local == null) {
+            synchronized (InboxDatabase.class) {
+                local = instance;
+                if (local == null) {
+                    local = new InboxDatabase(context.getApplicationContext());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    private InboxDatabase(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + NOTIFICATIONS + " ("
+            + "id TEXT PRIMARY KEY, "
+            + "payload TEXT NOT NULL, "
+            + "sort_key TEXT NOT NULL, "
+            + "read INTEGER NOT NULL DEFAULT 0, "
+            + "dismissed INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE INDEX notifications_visible ON " + NOTIFICATIONS
+            + " (sort_key DESC) WHERE dismissed = 0");
+        db.execSQL("CREATE TABLE " + DISMISSALS + " ("
+            + "id TEXT PRIMARY KEY, "
+            + "queued_at INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE " + META + " (key TEXT PRIMARY KEY, value TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Version 1 only
+    }
+
+    @Override
+    public String account() {
+        return meta(META_ACCOUNT);
+    }
+
+    @Override
+    public void reset(String account) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(NOTIFICATIONS, null, null);
+            db.delete(DISMISSALS, null, null);
+            db.delete(META, null, null);
+            putMeta(db, META_ACCOUNT, account);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @Override
+    public String cursor() {
+        return meta(META_CURSOR);
+    }
+
+    @Override
+    public long syncedAt() {
+        String value = meta(META_SYNCED_AT);
+        return value != null ? Long.parseLong(value) : 0;
+    }
+
+    @Override
+    public Map<String, String> payloads() {
+        Map<String, String> payloads = new HashMap<>();
+        try (Cursor cursor = getReadableDatabase().query(NOTIFICATIONS, new String[] { "id", "payload" },
+            null, null, null, null, null)) {
+            while (cursor.moveToNext()) {
+                payloads.put(cursor.getString(0), cursor.getString(1));
+            }
+        }
+        return payloads;
+    }
+
+    @Override
+    public void apply(List<NotificationInbox.Entry> upserts, Collection<String> removals, String cursor,
+                      long syncedAt) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (NotificationInbox.Entry entry : upserts) {
+                ContentValues values = new ContentValues();
+                values.put("id", entry.id);
+                values.put("payload", entry.payload);
+                values.put("sort_key", entry.sortKey);
+                values.put("read", entry.read ? 1 : 0);
+                values.put("dismissed", entry.dismissed ? 1 : 0);
+                db.insertWithOnConflict(NOTIFICATIONS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            for (String id : removals) {
+                db.delete(NOTIFICATIONS, "id = ?", new String[] { id });
+            }
+            if (cursor != null) {
+                putMeta(db, META_CURSOR, cursor);
+            }
+            putMeta(db, META_SYNCED_AT, Long.toString(syncedAt));
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @Override
+    public List<NotificationInbox.Entry> visible(int limit) {
+        List<NotificationInbox.Entry> entries = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(NOTIFICATIONS,
+            new String[] { "id", "payload", "sort_key", "read" },
+            "dismissed = 0", null, null, null, "sort_key DESC", Integer.toString(limit))) {
+            while (cursor.moveToNext()) {
+                entries.add(new NotificationInbox.Entry(cursor.getString(0), cursor.getString(1),
+                    cursor.getString(2), cursor.getInt(3) != 0, false));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public int unreadCount() {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+            "SELECT COUNT(*) FROM " + NOTIFICATIONS + " WHERE dismissed = 0 AND read = 0", null)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    @Override
+    public boolean dismiss(String id, long now) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues hidden = new ContentValues();
+            hidden.put("dismissed", 1);
+            int changed = db.update(NOTIFICATIONS, hidden, "id = ? AND dismissed = 0", new String[] { id });
+            if (changed > 0) {
+                ContentValues queued = new ContentValues();
+                queued.put("id", id);
+                queued.put("queued_at", now);
+                db.insertWithOnConflict(DISMISSALS, null, queued, SQLiteDatabase.CONFLICT_IGNORE);
+            }
+            db.setTransactionSuccessful();
+            return changed > 0;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @Override
+    public List<String> pendingDismissals(int limit) {
+        List<String> ids = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(DISMISSALS, new String[] { "id" },
+            null, null, null, null, "queued_at", Integer.toString(limit))) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getString(0));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void removeDismissals(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (String id : ids) {
+                db.delete(DISMISSALS, "id = ?", new String[] { id });
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private String meta(String key) {
+        try (Cursor cursor = getReadableDatabase().query(META, new String[] { "value" }, "key = ?",
+            new String[] { key }, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    private static void putMeta(SQLiteDatabase db, String key, String value) {
+        ContentValues values = new ContentValues();
+        values.put("key", key);
+        values.put("value", value);
+        db.insertWithOnConflict(META, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
@@ -0,0 +1,160 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Key-Value Plugin for Jackson App
+ *
+ * JS access to {@link MappedKeyValueStore}:
+ * - getAll(): every entry, used once at startup to fill the synchronous JS mirror
+ * - get() / set(): single typed value (string, number, boolean)
+ * - setMany(): several writes applied atomically; null values remove keys
+ * - remove(): delete keys
+ * - compact() / getStats(): log maintenance and size counters
+ *
+ * JS side: lib/keyValue.ts
+ */
+@CapacitorPlugin(name = "KeyValue")
+public class KeyValuePlugin extends Plugin {
+
+    private MappedKeyValueStore store() {
+        return MappedKeyValueStore.getInstance(getContext());
+    }
+
+    @PluginMethod
+    public void getAll(PluginCall call) {
+        JSObject values = new JSObject();
+        for (Map.Entry<String, Object> entry : store().getAll().entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+        }
+        JSObject result = new JSObject();
+        result.put("values", values);
+        call.resolve(result);
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - key: Entry key (required)
+     */
+    @PluginMethod
+    public void get(PluginCall call) {
+        String key = call.getString("key");
+        if (key == null) {
+            call.reject("key is required");
+            return;
+        }
+        JSObject result = new JSObject();
+        Object value = store().get(key);
+        result.put("value", value != null ? value : JSONObject.NULL);
+        call.resolve(result);
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - key: Entry key (required)
+     *   - value: string, number or boolean; null removes the key
+     */
+    @PluginMethod
+    public void set(PluginCall call) {
+        String key = call.getString("key");
+        if (key == null) {
+            call.reject("key is required");
+            return;
+        }
+        try {
+            store().edit().put(key, toValue(call.getData().opt("value"))).apply();
+            call.resolve();
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage(), "UNSUPPORTED_TYPE");
+        }
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - entries: Key → value map, written as one batch (null removes the key)
+     */
+    @PluginMethod
+    public void setMany(PluginCall call) {
+        JSObject entries = call.getObject("entries");
+        if (entries == null) {
+            call.reject("entries is required");
+            return;
+        }
+        try {
+            MappedKeyValueStore.Batch batch = store().edit();
+            for (Iterator<String> keys = entries.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                batch.put(key, toValue(entries.opt(key)));
+            }
+            batch.apply();
+            call.resolve();
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage(), "UNSUPPORTED_TYPE");
+        }
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - keys: Keys to delete
+     */
+    @PluginMethod
+    public void remove(PluginCall call) {
+        JSArray keys = call.getArray("keys");
+        if (keys == null) {
+            call.reject("keys is required");
+            return;
+        }
+        MappedKeyValueStore.Batch batch = store().edit();
+        try {
+            for (int i = 0; i < keys.length(); i++) {
+                batch.remove(keys.getString(i));
+            }
+        } catch (JSONException e) {
+            call.reject("keys must be strings");
+            return;
+        }
+        batch.apply();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void compact(PluginCall call) {
+        try {
+            store().compact();
+            getStats(call);
+        } catch (IOException e) {
+            call.reject("Compaction failed: " + e.getMessage(), e);
+        }
+    }
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Long> entry : store().getStats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+
+    private static Object toValue(Object json) {
+        if (json == null || json == JSONObject.NULL) {
+            return null;
+        }
+        if (json instanceof String || json instanceof Boolean || json instanceof Number) {
+            return json;
+        }
+        throw new IllegalArgumentException("Values must be strings, numbers or booleans");
+    }
+}
@@ -0,0 +1,290 @@
+package com.jackson.app;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQLite storage for {@link TransactionLedger}
+ *
+ * Every filter the Wallet screens use has an index that also carries the sort
+ * order (kind, [type | status,] created_at), so a window at any offset is an
+ * index walk with no temp sort; rowid breaks ties between equal timestamps.
+ * Totals for a filter are one aggregate over the same index and are cached until
+ * the next write, since scrolling re-queries the same filter many times. Rows
+ * are written through one compiled statement per sync page.
+ */
+final class LedgerDatabase extends SQLiteOpenHelper implements TransactionLedger.Store {
+
+    private static final String DB_NAME = "jackson_ledger.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String TABLE = "ledger";
+    private static final String META = "meta";
+    private static final String META_ACCOUNT = "account";
+    private static final String ORDER = " ORDER BY created_at DESC, rowid DESC";
+    private static final String COLUMNS =
+        "id, kind, type, balance_type, status, reference_id, amount, created_at, updated_at, payload";
+
+    private static volatile LedgerDatabase instance;
+
+    /** Filter (WHERE clause and args) to { count, credits, debits }; cleared on every write */
+    private final Map<String, double[]> totalsCache = new HashMap<>();
+
+    static LedgerDatabase getInstance(Context context) {
+        LedgerDatabase local = instance;
+        if (local == null) {
+            synchronized (LedgerDatabase.class) {
+                local = instance;
+                if (local == null) {
+                    local = new LedgerDatabase(context.getApplicationContext(), DB_NAME);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** Separate files for load tests */
+    LedgerDatabase(Context context, String name) {
+        super(context, name, null, DB_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+            + "id TEXT NOT NULL, "
+            + "kind TEXT NOT NULL, "
+            + "type TEXT NOT NULL, "
+            + "balance_type TEXT NOT NULL, "
+            + "status TEXT NOT NULL, "
+            + "reference_id TEXT NOT NULL, "
+            + "amount REAL NOT NULL, "
+            + "signed_amount REAL NOT NULL, "
+            + "created_at INTEGER NOT NULL, "
+            + "updated_at INTEGER NOT NULL, "
+            + "payload TEXT NOT NULL, "
+            + "UNIQUE (kind, id))");
+        db.execSQL("CREATE INDEX ledger_by_date ON " + TABLE + " (kind, created_at)");
+        db.execSQL("CREATE INDEX ledger_by_type ON " + TABLE + " (kind, type, created_at)");
+        db.execSQL("CREATE INDEX ledger_by_status ON " + TABLE + " (kind, status, created_at)");
+        db.execSQL("CREATE TABLE " + META + " (key TEXT PRIMARY KEY, value TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Version 1 only
+    }
+
+    @Override
+    public String account() {
+        return meta(META_ACCOUNT);
+    }
+
+    @Override
+    public void reset(String account) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE, null, null);
+            db.delete(META, null, null);
+            ContentValues values = new ContentValues();
+            values.put("key", META_ACCOUNT);
+            values.put("value", account);
+            db.insert(META, null, values);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        invalidateTotals();
+    }
+
+    @Override
+    public String meta(String key) {
+        try (Cursor cursor = getReadableDatabase().query(META, new String[] { "value" }, "key = ?",
+            new String[] { key }, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    @Override
+    public void putMeta(String key, String value) {
+        ContentValues values = new ContentValues();
+        values.put("key", key);
+        values.put("value", value);
+        getWritableDatabase().insertWithOnConflict(META, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    @Override
+    public Map<String, Long> versions(String kind, Collection<String> ids) {
+        Map<String, Long> versions = new HashMap<>();
+        if (ids.isEmpty()) {
+            return versions;
+        }
+        StringBuilder sql = new StringBuilder("SELECT id, updated_at FROM " + TABLE + " WHERE kind = ? AND id IN (");
+        String[] args = new String[ids.size() + 1];
+        args[0] = kind;
+        int i = 1;
+        for (String id : ids) {
+            sql.append(i > 1 ? ",?" : "?");
+            args[i++] = id;
+        }
+        sql.append(')');
+        try (Cursor cursor = getReadableDatabase().rawQuery(sql.toString(), args)) {
+            while (cursor.moveToNext()) {
+                versions.put(cursor.getString(0), cursor.getLong(1));
+            }
+        }
+        return versions;
+    }
+
+    @Override
+    public void upsert(List<TransactionLedger.Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try (SQLiteStatement insert = db.compileStatement("INSERT OR REPLACE INTO " + TABLE
+            + " (id, kind, type, balance_type, status, reference_id, amount, signed_amount, created_at,"
+            + " updated_at, payload) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (TransactionLedger.Row row : rows) {
+                insert.bindString(1, row.id);
+                insert.bindString(2, row.kind);
+                insert.bindString(3, row.type);
+                insert.bindString(4, row.balanceType);
+                insert.bindString(5, row.status);
+                insert.bindString(6, row.referenceId);
+                insert.bindDouble(7, row.amount);
+                insert.bindDouble(8, row.signedAmount);
+                insert.bindLong(9, row.createdAt);
+                insert.bindLong(10, row.updatedAt);
+                insert.bindString(11, row.payload);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        invalidateTotals();
+    }
+
+    @Override
+    public TransactionLedger.Window query(TransactionLedger.Query query) {
+        List<String> args = new ArrayList<>();
+        String where = where(query, args);
+        String[] whereArgs = args.toArray(new String[0]);
+        SQLiteDatabase db = getReadableDatabase();
+
+        double[] totals = totals(db, where, whereArgs);
+
+        double runningBefore = 0;
+        if (query.offset > 0) {
+            try (Cursor cursor = db.rawQuery("SELECT TOTAL(signed_amount) FROM (SELECT signed_amount FROM "
+                + TABLE + where + ORDER + " LIMIT " + query.offset + ")", whereArgs)) {
+                runningBefore = cursor.moveToFirst() ? cursor.getDouble(0) : 0;
+            }
+        }
+
+        List<TransactionLedger.Row> rows = new ArrayList<>(query.limit);
+        try (Cursor cursor = db.rawQuery("SELECT " + COLUMNS + " FROM " + TABLE + where + ORDER
+            + " LIMIT " + query.limit + " OFFSET " + query.offset, whereArgs)) {
+            while (cursor.moveToNext()) {
+                rows.add(new TransactionLedger.Row(
+                    cursor.getString(0),
+                    cursor.getString(1),
+                    cursor.getString(2),
+                    cursor.getString(3),
+                    cursor.getString(4),
+                    cursor.getString(5),
+                    cursor.getDouble(6),
+                    cursor.getLong(7),
+                    cursor.getLong(8),
+                    cursor.getString(9)));
+            }
+        }
+        return new TransactionLedger.Window(rows, query.offset, (int) totals[0], totals[1], totals[2], runningBefore);
+    }
+
+    @Override
+    public int count(String kind) {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+            "SELECT COUNT(*) FROM " + TABLE + " WHERE kind = ?", new String[] { kind })) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    private double[] totals(SQLiteDatabase db, String where, String[] whereArgs) {
+        String key = where + '\n' + String.join("\n", whereArgs);
+        synchronized (totalsCache) {
+            double[] cached = totalsCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        double[] totals = new double[3];
+        try (Cursor cursor = db.rawQuery("SELECT COUNT(*),"
+            + " TOTAL(CASE WHEN signed_amount > 0 THEN signed_amount END),"
+            + " TOTAL(CASE WHEN signed_amount < 0 THEN -signed_amount END)"
+            + " FROM " + TABLE + where, whereArgs)) {
+            if (cursor.moveToFirst()) {
+                totals[0] = cursor.getLong(0);
+                totals[1] = cursor.getDouble(1);
+                totals[2] = cursor.getDouble(2);
+            }
+        }
+        synchronized (totalsCache) {
+            totalsCache.put(key, totals);
+        }
+        return totals;
+    }
+
+    private void invalidateTotals() {
+        synchronized (totalsCache) {
+            totalsCache.clear();
+        }
+    }
+
+    /** WHERE clause for a query's filters, with its args appended to args */
+    private static String where(TransactionLedger.Query query, List<String> args) {
+        StringBuilder where = new StringBuilder(" WHERE kind = ?");
+        args.add(query.kind);
+        if (query.type != null) {
+            where.append(" AND type = ?");
+            args.add(query.type);
+        }
+        if (query.status != null) {
+            where.append(" AND status = ?");
+            args.add(query.status);
+        }
+        if (query.balanceType != null) {
+            where.append(" AND balance_type = ?");
+            args.add(query.balanceType);
+        }
+        if (query.excludeReferencePrefix != null && !query.excludeReferencePrefix.isEmpty()) {
+            // substr rather than LIKE: no escaping, and the prefix may contain '_'
+            where.append(" AND substr(reference_id, 1, ").append(query.excludeReferencePrefix.length())
+                .append(") <> ?");
+            args.add(query.excludeReferencePrefix);
+        }
+        if (query.from > 0) {
+            where.append(" AND created_at >= ?");
+            args.add(Long.toString(query.from));
+        }
+        if (query.until > 0) {
+            where.append(" AND created_at < ?");
+            args.add(Long.toString(query.until));
+        }
+        return where.toString();
+    }
+}
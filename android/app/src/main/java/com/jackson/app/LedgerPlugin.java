@@ -0,0 +1,155 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ledger Plugin for Jackson App
+ *
+ * JS access to {@link TransactionLedger}, the local store of wallet transactions
+ * and withdrawals:
+ * - sync({ account, kind, url, headers }): fetch new / changed rows in the
+ *   background; resolves with { status, pages, added, updated, complete, count }
+ * - query({ account, kind?, type?, status?, balanceType?, excludeReferencePrefix?,
+ *   from?, until?, offset?, limit? }): one window, newest first; resolves with
+ *   { rows, running, offset, total, credits, debits }
+ *
+ * Events (notifyListeners):
+ * - "ledgerChanged": { kind, added, updated }
+ *
+ * Syncs run one at a time on a background thread; queries read SQLite directly
+ * and never wait for a sync.
+ *
+ * JS side: lib/ledger.ts
+ */
+@CapacitorPlugin(name = "Ledger")
+public class LedgerPlugin extends Plugin {
+
+    static final String EVENT_CHANGED = "ledgerChanged";
+
+    private TransactionLedger ledger;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "jackson-ledger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void load() {
+        ledger = new TransactionLedger(
+            LedgerDatabase.getInstance(getContext()),
+            HttpGateway.getInstance(),
+            (kind, added, updated) -> {
+                JSObject event = new JSObject();
+                event.put("kind", kind);
+                event.put("added", added);
+                event.put("updated", updated);
+                notifyListeners(EVENT_CHANGED, event);
+            });
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - account: Signed-in user id; another account than the stored one clears the ledger (required)
+     *   - kind: "transaction" | "withdrawal" (default: "transaction")
+     *   - url: List URL; page and limit are appended (required)
+     *   - headers: Request headers object, including auth
+     */
+    @PluginMethod
+    public void sync(PluginCall call) {
+        String account = call.getString("account");
+        String url = call.getString("url");
+        if (account == null || url == null) {
+            call.reject("account and url are required");
+            return;
+        }
+        String kind = call.getString("kind", TransactionLedger.KIND_TRANSACTION);
+        Map<String, String> headers = toHeaderMap(call.getObject("headers", new JSObject()));
+        executor.execute(() -> {
+            ledger.setAccount(account);
+            TransactionLedger.SyncResult result = ledger.sync(kind, url, headers);
+            JSObject ret = new JSObject();
+            ret.put("status", result.status);
+            ret.put("pages", result.pages);
+            ret.put("added", result.added);
+            ret.put("updated", result.updated);
+            ret.put("complete", result.complete);
+            ret.put("count", ledger.count(kind));
+            call.resolve(ret);
+        });
+    }
+
+    @PluginMethod
+    public void query(PluginCall call) {
+        JSObject ret = new JSObject();
+        JSArray rows = new JSArray();
+        JSArray running = new JSArray();
+        if (!ledger.isAccount(call.getString("account"))) {
+            // Nothing synced for this user yet
+            ret.put("rows", rows);
+            ret.put("running", running);
+            ret.put("offset", 0);
+            ret.put("total", 0);
+            ret.put("credits", 0);
+            ret.put("debits", 0);
+            call.resolve(ret);
+            return;
+        }
+        TransactionLedger.Query query = new TransactionLedger.Query()
+            .kind(call.getString("kind", TransactionLedger.KIND_TRANSACTION))
+            .type(call.getString("type"))
+            .status(call.getString("status"))
+            .balanceType(call.getString("balanceType"))
+            .excludeReferencePrefix(call.getString("excludeReferencePrefix"))
+            .between(call.getLong("from", 0L), call.getLong("until", 0L))
+            .window(call.getInt("offset", 0), call.getInt("limit", 50));
+        TransactionLedger.Window window = ledger.query(query);
+        double[] totals = window.runningTotals();
+        for (int i = 0; i < window.rows.size(); i++) {
+            try {
+                rows.put(new JSObject(window.rows.get(i).getPayload()));
+                running.put(totals[i]);
+            } catch (JSONException e) {
+                // Stored from a parsed response; skip a row that was cut short
+            }
+        }
+        ret.put("rows", rows);
+        ret.put("running", running);
+        ret.put("offset", window.offset);
+        ret.put("total", window.total);
+        ret.put("credits", window.credits);
+        ret.put("debits", window.debits);
+        call.resolve(ret);
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        executor.shutdownNow();
+        super.handleOnDestroy();
+    }
+
+    private static Map<String, String> toHeaderMap(JSObject headers) {
+        Map<String, String> map = new HashMap<>();
+        Iterator<String> keys = headers.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            String value = headers.getString(key);
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
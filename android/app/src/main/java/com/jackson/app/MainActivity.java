@@ -1,27 +1,62 @@
 package com.jackson.app;
 
 import android.os.Bundle;
-import android.util.Log;
+import android.os.SystemClock;
 import android.webkit.WebView;
 import androidx.core.splashscreen.SplashScreen;
 import com.getcapacitor.BridgeActivity;
 
 public class MainActivity extends BridgeActivity {
     
-    private static final String TAG = "🚀 MainActivity";
+    private static final int TRACE_TAG = NativeTrace.tag("🚀 MainActivity");
+    /** args: 1 if restoring saved state */
+    private static final int EV_CREATE = NativeTrace.event("onCreate");
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-        Log.d(TAG, "║           MainActivity.onCreate() - Starting               ║");
-        Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
+        StartupTimeline.get().mark(StartupTimeline.ACTIVITY_CREATE);
+        
+        // Start the splash-time warm-up first so the dashboard / wallet / VIP requests
+        // overlap with plugin registration and WebView construction
+        StartupWarmup warmup = StartupWarmup.start(this);
+        // Begin loading the persisted state snapshot; StateSnapshotPlugin injects it at document start
+        StateSnapshotStore.getInstance(this);
+        // Probe biometric capability off the main thread so the first isAvailable() is answered from memory
+        BiometricCapabilities.prefetch(this);
+        // Parse the web asset manifest before the WebView asks for its first script
+        WebAssets.prefetch(this);
+        
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_CREATE, savedInstanceState != null ? 1 : 0);
         
         // Register Native BiometricPrompt Plugin FIRST (before super.onCreate)
         // This plugin uses androidx.biometric.BiometricPrompt with BIOMETRIC_STRONG
         // Tied to device hardware trust zone (TEE)
-        Log.d(TAG, "🔐 Registering NativeBiometricPlugin...");
         registerPlugin(NativeBiometricPlugin.class);
-        Log.d(TAG, "✅ NativeBiometricPlugin registered successfully");
+        
+        // Native HTTP gateway - pooled connections + in-flight GET coalescing for lib/api.js
+        registerPlugin(NativeHttpPlugin.class);
+        registerPlugin(ResponseCachePlugin.class);
+        registerPlugin(StartupPlugin.class);
+        registerPlugin(StateSnapshotPlugin.class);
+        registerPlugin(KeyValuePlugin.class);
+        registerPlugin(TracePlugin.class);
+        registerPlugin(WalletStreamPlugin.class);
+        registerPlugin(OutboxPlugin.class);
+        registerPlugin(OfflineGeocoderPlugin.class);
+        registerPlugin(ConnectivityPlugin.class);
+        registerPlugin(OfferRedirectPlugin.class);
+        registerPlugin(ImageCachePlugin.class);
+        registerPlugin(WebAssetsPlugin.class);
+        registerPlugin(AppLifecyclePlugin.class);
+        registerPlugin(FrameMetricsPlugin.class);
+        registerPlugin(SoundEffectsPlugin.class);
+        registerPlugin(MediaUploadPlugin.class);
+        registerPlugin(NotificationInboxPlugin.class);
+        registerPlugin(LedgerPlugin.class);
+        // ArrayBuffer channel for large payloads on the bridge WebView (lib/binaryBridge.ts);
+        // installed from the plugin's load(), ahead of the first navigation
+        registerPlugin(BinaryBridgePlugin.class);
+        registerPlugin(ServerClockPlugin.class);
         
         // Hide the action bar before splash screen
         if (getSupportActionBar() != null) {
@@ -32,12 +67,19 @@ public class MainActivity extends BridgeActivity {
         SplashScreen splashScreen = SplashScreen.installSplashScreen(this);
         
         super.onCreate(savedInstanceState);
+        StartupTimeline.get().mark(StartupTimeline.WEBVIEW_READY);
         
         // Hide the action bar again after super.onCreate
         if (getSupportActionBar() != null) {
             getSupportActionBar().hide();
         }
         
+        // Per-frame durations of this window, attributed to the route JS reports
+        FrameMonitor.get().attach(this);
+        
+        // Serve cacheable API GETs made through WebView fetch from the disk response cache
+        getBridge().setWebViewClient(new CachingWebViewClient(getBridge()));
+        
         // Configure WebView to hide scrollbars after initialization
         try {
             // Use post to ensure WebView is initialized
@@ -54,6 +96,7 @@ public class MainActivity extends BridgeActivity {
                             webView.setScrollBarStyle(WebView.SCROLLBARS_INSIDE_OVERLAY);
                             // Disable overscroll bounce effect (over-scroll mode)
                             webView.setOverScrollMode(WebView.OVER_SCROLL_NEVER);
+                            applyRendererPriority(webView, AppLifecycle.get().isVisible());
                         }
                     } catch (Exception e) {
                         // Ignore if WebView is not available
@@ -64,11 +107,67 @@ public class MainActivity extends BridgeActivity {
             // Ignore if bridge is not available yet
         }
         
-        // Keep the splash screen visible for a minimum duration
+        // Keep the splash screen up until the warm-up data is ready (or the cap expires),
+        // so the homepage's first render is served from cache instead of showing loaders
         splashScreen.setKeepOnScreenCondition(() -> {
-            // You can add conditions here to control when to hide the splash screen
-            // For now, we'll let it show for a minimum duration
-            return false; // This will hide the splash screen immediately after the app loads
+            if (warmup.shouldKeepSplash()) {
+                return true;
+            }
+            StartupTimeline.get().mark(StartupTimeline.SPLASH_HIDDEN);
+            return false;
         });
     }
+    
+    @Override
+    public void onStart() {
+        super.onStart();
+        AppLifecycle.get().setVisible(true);
+        applyRendererPriority(getBridge() != null ? getBridge().getWebView() : null, true);
+    }
+    
+    @Override
+    public void onStop() {
+        super.onStop();
+        AppLifecycle.get().setVisible(false);
+        applyRendererPriority(getBridge() != null ? getBridge().getWebView() : null, false);
+    }
+    
+    @Override
+    public void onDestroy() {
+        FrameMonitor.get().detach(this);
+        super.onDestroy();
+    }
+    
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        shedNativeMemory(AppLifecycle.get().trimMemory(level, SystemClock.uptimeMillis()));
+    }
+    
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        shedNativeMemory(AppLifecycle.get().lowMemory(SystemClock.uptimeMillis()));
+    }
+    
+    /**
+     * Renderer is bound important while the app is on screen and waived in the
+     * background, so the OS reclaims it before this process. A killed renderer is
+     * recovered by CachingWebViewClient.onRenderProcessGone.
+     */
+    private static void applyRendererPriority(WebView webView, boolean visible) {
+        if (webView != null) {
+            webView.setRendererPriorityPolicy(
+                visible ? WebView.RENDERER_PRIORITY_IMPORTANT : WebView.RENDERER_PRIORITY_WAIVED, true);
+        }
+    }
+    
+    /** Native caches shed alongside the web layer (see lib/appLifecycle.ts) */
+    private static void shedNativeMemory(String pressure) {
+        if (pressure == null) {
+            return;
+        }
+        // The disk tier still answers after a trim, without a refetch
+        ImagePipeline.trimMemory(AppLifecycle.PRESSURE_MODERATE.equals(pressure) ? 0.5 : 0);
+    }
 }
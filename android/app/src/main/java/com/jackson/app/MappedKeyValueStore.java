@@ -0,0 +1,463 @@
+package com.jackson.app;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped, append-only key-value store
+ *
+ * Every write appends one record to a mapped file; a batch appends several and
+ * then publishes them with a single header update, so a batch is either fully
+ * visible after a crash or not at all. Reads are served from an in-memory map
+ * that is rebuilt from the log on open. Writes land in the page cache as soon as
+ * they are copied into the mapping, so they survive process death without an
+ * fsync; {@link #sync()} forces them to disk for power-loss durability.
+ *
+ * Compared with SharedPreferences there is no XML serialization and no whole-file
+ * rewrite per commit - only the changed record is written. Overwritten and
+ * removed records are garbage until {@link #compact()} rewrites the live set,
+ * which happens automatically once garbage outweighs live data.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   header:  int magic | int version | int dataEnd | int reserved
+ *   record:  int payloadLength | int crc32(payload) | payload
+ *   payload: byte op | byte type | int keyLength | key (UTF-8) | value
+ * </pre>
+ * Values: STRING = int length + UTF-8 bytes, LONG / DOUBLE = 8 bytes,
+ * BOOLEAN = 1 byte; REMOVE records carry no value.
+ */
+public final class MappedKeyValueStore {
+
+    private static final int MAGIC = 0x4A4B5631; // "JKV1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int DATA_END_OFFSET = 8;
+    private static final int RECORD_OVERHEAD = 8;
+    private static final int MIN_CAPACITY = 16 * 1024;
+    /** Don't bother compacting logs smaller than this */
+    private static final int COMPACT_MIN_BYTES = 64 * 1024;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_LONG = 2;
+    static final byte TYPE_DOUBLE = 3;
+    static final byte TYPE_BOOLEAN = 4;
+
+    private static final String FILE_NAME = "jackson-kv.bin";
+
+    private static MappedKeyValueStore instance;
+
+    private final File file;
+    private final Map<String, Object> values = new HashMap<>();
+    /** Size of the record currently holding each live key, for garbage accounting */
+    private final Map<String, Integer> recordSizes = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+
+    private MappedByteBuffer buffer;
+    private int dataEnd;
+    private long liveBytes;
+    private long compactions;
+
+    MappedKeyValueStore(File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    public static synchronized MappedKeyValueStore getInstance(Context context) {
+        if (instance == null) {
+            try {
+                instance = new MappedKeyValueStore(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to open key-value store", e);
+            }
+        }
+        return instance;
+    }
+
+    // ========================================================================
+    // Reads
+    // ========================================================================
+
+    public synchronized boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public synchronized Object get(String key) {
+        return values.get(key);
+    }
+
+    public synchronized String getString(String key, String defaultValue) {
+        Object value = values.get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    public synchronized long getLong(String key, long defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    public synchronized double getDouble(String key, double defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Double ? (Double) value : defaultValue;
+    }
+
+    public synchronized boolean getBoolean(String key, boolean defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    /** Copy of every entry; values are String, Long, Double or Boolean */
+    public synchronized Map<String, Object> getAll() {
+        return new LinkedHashMap<>(values);
+    }
+
+    // ========================================================================
+    // Writes
+    // ========================================================================
+
+    public void putString(String key, String value) {
+        edit().put(key, value).apply();
+    }
+
+    public void putLong(String key, long value) {
+        edit().put(key, value).apply();
+    }
+
+    public void putDouble(String key, double value) {
+        edit().put(key, value).apply();
+    }
+
+    public void putBoolean(String key, boolean value) {
+        edit().put(key, value).apply();
+    }
+
+    public void remove(String key) {
+        edit().remove(key).apply();
+    }
+
+    /**
+     * Start a batch; nothing is written until {@link Batch#apply()}
+     */
+    public Batch edit() {
+        return new Batch();
+    }
+
+    /**
+     * Force mapped writes to disk
+     */
+    public synchronized void sync() {
+        buffer.force();
+    }
+
+    /**
+     * Rewrite the file with only the live entries
+     */
+    public synchronized void compact() throws IOException {
+        File tmp = new File(file.getPath() + ".compact");
+        int size = HEADER_SIZE;
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            byte[] record = encode(OP_PUT, entry.getKey(), entry.getValue());
+            records.put(entry.getKey(), record);
+            size += record.length;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+            raf.setLength(capacityFor(size));
+            MappedByteBuffer out = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+            out.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(0);
+            for (byte[] record : records.values()) {
+                out.put(record);
+            }
+            out.force();
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Failed to replace " + file);
+        }
+
+        recordSizes.clear();
+        for (Map.Entry<String, byte[]> entry : records.entrySet()) {
+            recordSizes.put(entry.getKey(), entry.getValue().length);
+        }
+        liveBytes = size - HEADER_SIZE;
+        dataEnd = size;
+        buffer = map(file, capacityFor(size));
+        compactions++;
+    }
+
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("entries", (long) values.size());
+        stats.put("liveBytes", liveBytes);
+        stats.put("logBytes", (long) dataEnd - HEADER_SIZE);
+        stats.put("fileBytes", (long) buffer.capacity());
+        stats.put("compactions", compactions);
+        return stats;
+    }
+
+    /**
+     * A set of writes applied together with one header update
+     */
+    public final class Batch {
+        private final Map<String, Object> changes = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * @param value String, Boolean, or any Number (integral types are stored as
+         *              LONG, floating point as DOUBLE); null removes the key
+         */
+        public Batch put(String key, Object value) {
+            changes.put(key, normalize(value));
+            return this;
+        }
+
+        public Batch remove(String key) {
+            changes.put(key, null);
+            return this;
+        }
+
+        public void apply() {
+            if (!changes.isEmpty()) {
+                append(changes);
+            }
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean
+            || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+    }
+
+    // ========================================================================
+    // Log
+    // ========================================================================
+
+    private synchronized void append(Map<String, Object> changes) {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        int size = 0;
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            if (change.getValue() == null && !values.containsKey(change.getKey())) {
+                continue;
+            }
+            byte[] record = change.getValue() == null
+                ? encode(OP_REMOVE, change.getKey(), null)
+                : encode(OP_PUT, change.getKey(), change.getValue());
+            records.put(change.getKey(), record);
+            size += record.length;
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+
+        ensureCapacity(dataEnd + size);
+        buffer.position(dataEnd);
+        for (byte[] record : records.values()) {
+            buffer.put(record);
+        }
+        dataEnd += size;
+        // Publishing the new end is what makes the whole batch visible
+        buffer.putInt(DATA_END_OFFSET, dataEnd);
+
+        for (Map.Entry<String, byte[]> entry : records.entrySet()) {
+            apply(entry.getKey(), changes.get(entry.getKey()), entry.getValue().length);
+        }
+        maybeCompact();
+    }
+
+    private void apply(String key, Object value, int recordSize) {
+        Integer previous = recordSizes.remove(key);
+        if (previous != null) {
+            liveBytes -= previous;
+        }
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+            recordSizes.put(key, recordSize);
+            liveBytes += recordSize;
+        }
+    }
+
+    private void maybeCompact() {
+        long logBytes = dataEnd - HEADER_SIZE;
+        if (logBytes >= COMPACT_MIN_BYTES && logBytes - liveBytes > liveBytes) {
+            try {
+                compact();
+            } catch (IOException e) {
+                // Keep appending to the existing log; compaction is retried next write
+            }
+        }
+    }
+
+    private byte[] encode(byte op, String key, Object value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] stringBytes = value instanceof String ? ((String) value).getBytes(StandardCharsets.UTF_8) : null;
+        int valueSize;
+        byte type;
+        if (op == OP_REMOVE) {
+            type = 0;
+            valueSize = 0;
+        } else if (stringBytes != null) {
+            type = TYPE_STRING;
+            valueSize = 4 + stringBytes.length;
+        } else if (value instanceof Long) {
+            type = TYPE_LONG;
+            valueSize = 8;
+        } else if (value instanceof Double) {
+            type = TYPE_DOUBLE;
+            valueSize = 8;
+        } else {
+            type = TYPE_BOOLEAN;
+            valueSize = 1;
+        }
+
+        int payloadLength = 2 + 4 + keyBytes.length + valueSize;
+        ByteBuffer out = ByteBuffer.allocate(RECORD_OVERHEAD + payloadLength);
+        out.putInt(payloadLength).putInt(0);
+        out.put(op).put(type).putInt(keyBytes.length).put(keyBytes);
+        switch (type) {
+            case TYPE_STRING:
+                out.putInt(stringBytes.length).put(stringBytes);
+                break;
+            case TYPE_LONG:
+                out.putLong((Long) value);
+                break;
+            case TYPE_DOUBLE:
+                out.putDouble((Double) value);
+                break;
+            case TYPE_BOOLEAN:
+                out.put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            default:
+                break;
+        }
+        byte[] record = out.array();
+        crc.reset();
+        crc.update(record, RECORD_OVERHEAD, payloadLength);
+        ByteBuffer.wrap(record).putInt(4, (int) crc.getValue());
+        return record;
+    }
+
+    private void open() throws IOException {
+        boolean fresh = !file.exists() || file.length() < HEADER_SIZE;
+        buffer = map(file, fresh ? MIN_CAPACITY : (int) file.length());
+        if (fresh || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(DATA_END_OFFSET, HEADER_SIZE).putInt(12, 0);
+            dataEnd = HEADER_SIZE;
+            return;
+        }
+
+        int end = Math.min(buffer.getInt(DATA_END_OFFSET), buffer.capacity());
+        ByteBuffer reader = buffer.duplicate();
+        int position = HEADER_SIZE;
+        while (position + RECORD_OVERHEAD <= end) {
+            int payloadLength = buffer.getInt(position);
+            int storedCrc = buffer.getInt(position + 4);
+            int payloadStart = position + RECORD_OVERHEAD;
+            if (payloadLength < 6 || payloadStart + payloadLength > end) {
+                break;
+            }
+            byte[] payload = new byte[payloadLength];
+            reader.position(payloadStart);
+            reader.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != storedCrc) {
+                // Torn or corrupted tail: everything before it is still good
+                break;
+            }
+            decode(payload, RECORD_OVERHEAD + payloadLength);
+            position = payloadStart + payloadLength;
+        }
+        dataEnd = position;
+        buffer.putInt(DATA_END_OFFSET, dataEnd);
+    }
+
+    private void decode(byte[] payload, int recordSize) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        byte op = in.get();
+        byte type = in.get();
+        byte[] keyBytes = new byte[in.getInt()];
+        in.get(keyBytes);
+        String key = new String(keyBytes, StandardCharsets.UTF_8);
+        if (op == OP_REMOVE) {
+            apply(key, null, recordSize);
+            return;
+        }
+        Object value;
+        switch (type) {
+            case TYPE_STRING:
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                break;
+            case TYPE_LONG:
+                value = in.getLong();
+                break;
+            case TYPE_DOUBLE:
+                value = in.getDouble();
+                break;
+            case TYPE_BOOLEAN:
+                value = in.get() != 0;
+                break;
+            default:
+                return;
+        }
+        apply(key, value, recordSize);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        try {
+            buffer = map(file, capacityFor(required));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to grow key-value store", e);
+        }
+    }
+
+    private static int capacityFor(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static MappedByteBuffer map(File file, int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() < capacity) {
+                raf.setLength(capacity);
+            }
+            // The mapping stays valid after the channel is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+}
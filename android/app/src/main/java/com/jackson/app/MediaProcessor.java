@@ -0,0 +1,151 @@
+package com.jackson.app;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Decode, orient, downscale and re-encode a captured photo entirely in native code
+ *
+ * The source is read twice: once for the EXIF orientation and bounds, once to
+ * decode with power-of-two subsampling ({@link MediaTransform#sampleSize}), so a
+ * 12 MP camera file is never fully decoded. One Matrix applies the remaining
+ * scale, the mirror and the rotation, and the result is written as JPEG or WebP.
+ *
+ * Call from a background thread.
+ */
+public final class MediaProcessor {
+
+    private static final int TRACE_TAG = NativeTrace.tag("📷 Media");
+    /** args: output bytes, process ms, sample size */
+    private static final int EV_PROCESSED = NativeTrace.event("image processed");
+
+    public static final String FORMAT_JPEG = "jpeg";
+    public static final String FORMAT_WEBP = "webp";
+
+    /**
+     * Processed image on disk
+     */
+    public static final class Result {
+        public final File file;
+        public final String mimeType;
+        public final int width;
+        public final int height;
+        public final long bytes;
+        public final long processMs;
+
+        Result(File file, String mimeType, int width, int height, long processMs) {
+            this.file = file;
+            this.mimeType = mimeType;
+            this.width = width;
+            this.height = height;
+            this.bytes = file.length();
+            this.processMs = processMs;
+        }
+    }
+
+    private MediaProcessor() {
+    }
+
+    /**
+     * @param source file:// or content:// URI, or an absolute path
+     * @param maxWidth Limit for the displayed width, 0 for none
+     * @param maxHeight Limit for the displayed height, 0 for none
+     * @param format {@link #FORMAT_JPEG} or {@link #FORMAT_WEBP}
+     * @param quality 1..100
+     * @param output File to write
+     */
+    public static Result process(Context context, String source, int maxWidth, int maxHeight,
+                                 String format, int quality, File output) throws IOException {
+        long start = System.nanoTime();
+        ContentResolver resolver = context.getContentResolver();
+
+        int orientation;
+        try (InputStream in = open(resolver, source)) {
+            orientation = new ExifInterface(in).getAttributeInt(
+                ExifInterface.TAG_ORIENTATION, MediaTransform.ORIENTATION_NORMAL);
+        }
+
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(resolver, source)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Not a decodable image");
+        }
+
+        int[] target = MediaTransform.targetSize(bounds.outWidth, bounds.outHeight, orientation, maxWidth, maxHeight);
+        BitmapFactory.Options decode = new BitmapFactory.Options();
+        decode.inSampleSize = MediaTransform.sampleSize(bounds.outWidth, bounds.outHeight, orientation, target);
+        Bitmap decoded;
+        try (InputStream in = open(resolver, source)) {
+            decoded = BitmapFactory.decodeStream(in, null, decode);
+        }
+        if (decoded == null) {
+            throw new IOException("Not a decodable image");
+        }
+
+        boolean swap = MediaTransform.swapsAxes(orientation);
+        float scaleX = (float) target[0] / (swap ? decoded.getHeight() : decoded.getWidth());
+        float scaleY = (float) target[1] / (swap ? decoded.getWidth() : decoded.getHeight());
+        Matrix matrix = new Matrix();
+        matrix.setScale(MediaTransform.flipsHorizontally(orientation) ? -scaleX : scaleX, scaleY);
+        matrix.postRotate(MediaTransform.rotationDegrees(orientation));
+        Bitmap oriented = Bitmap.createBitmap(decoded, 0, 0, decoded.getWidth(), decoded.getHeight(), matrix, true);
+        if (oriented != decoded) {
+            decoded.recycle();
+        }
+
+        boolean webp = FORMAT_WEBP.equals(format.toLowerCase(Locale.ROOT));
+        File parent = output.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+            if (!oriented.compress(webp ? webpFormat() : Bitmap.CompressFormat.JPEG,
+                Math.max(1, Math.min(quality, 100)), out)) {
+                throw new IOException("Encoding failed");
+            }
+        } finally {
+            oriented.recycle();
+        }
+
+        long processMs = (System.nanoTime() - start) / 1_000_000;
+        Result result = new Result(output, webp ? "image/webp" : "image/jpeg", target[0], target[1], processMs);
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_PROCESSED, result.bytes, processMs, decode.inSampleSize);
+        return result;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat webpFormat() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY
+            : Bitmap.CompressFormat.WEBP;
+    }
+
+    private static InputStream open(ContentResolver resolver, String source) throws IOException {
+        if (source.startsWith("content://") || source.startsWith("file://")) {
+            InputStream in = resolver.openInputStream(Uri.parse(source));
+            if (in == null) {
+                throw new IOException("Cannot open " + source);
+            }
+            return in;
+        }
+        return new FileInputStream(source);
+    }
+}
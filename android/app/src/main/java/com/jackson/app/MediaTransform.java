@@ -0,0 +1,91 @@
+package com.jackson.app;
+
+/**
+ * Sizing and EXIF orientation math for {@link MediaProcessor}
+ *
+ * Limits apply to the image as displayed, i.e. after EXIF rotation, so a portrait
+ * photo stored landscape with orientation 6 is fitted as portrait. Images are
+ * never upscaled.
+ */
+final class MediaTransform {
+
+    // EXIF orientation tag values (same as ExifInterface.ORIENTATION_*)
+    static final int ORIENTATION_NORMAL = 1;
+    static final int ORIENTATION_FLIP_HORIZONTAL = 2;
+    static final int ORIENTATION_ROTATE_180 = 3;
+    static final int ORIENTATION_FLIP_VERTICAL = 4;
+    static final int ORIENTATION_TRANSPOSE = 5;
+    static final int ORIENTATION_ROTATE_90 = 6;
+    static final int ORIENTATION_TRANSVERSE = 7;
+    static final int ORIENTATION_ROTATE_270 = 8;
+
+    private MediaTransform() {
+    }
+
+    /** Clockwise rotation to apply after any horizontal flip */
+    static int rotationDegrees(int orientation) {
+        switch (orientation) {
+            case ORIENTATION_ROTATE_180:
+            case ORIENTATION_FLIP_VERTICAL:
+                return 180;
+            case ORIENTATION_ROTATE_90:
+            case ORIENTATION_TRANSVERSE:
+                return 90;
+            case ORIENTATION_ROTATE_270:
+            case ORIENTATION_TRANSPOSE:
+                return 270;
+            default:
+                return 0;
+        }
+    }
+
+    /** Whether the stored pixels are mirrored horizontally before rotation */
+    static boolean flipsHorizontally(int orientation) {
+        return orientation == ORIENTATION_FLIP_HORIZONTAL
+            || orientation == ORIENTATION_FLIP_VERTICAL
+            || orientation == ORIENTATION_TRANSPOSE
+            || orientation == ORIENTATION_TRANSVERSE;
+    }
+
+    /** Whether width and height trade places once oriented */
+    static boolean swapsAxes(int orientation) {
+        return rotationDegrees(orientation) % 180 != 0;
+    }
+
+    /**
+     * Displayed size fitted inside the limits, keeping the aspect ratio
+     *
+     * @param maxWidth 0 for no limit
+     * @param maxHeight 0 for no limit
+     * @return { width, height } after orientation
+     */
+    static int[] targetSize(int storedWidth, int storedHeight, int orientation, int maxWidth, int maxHeight) {
+        int width = swapsAxes(orientation) ? storedHeight : storedWidth;
+        int height = swapsAxes(orientation) ? storedWidth : storedHeight;
+        double scale = 1;
+        if (maxWidth > 0 && width > maxWidth) {
+            scale = Math.min(scale, (double) maxWidth / width);
+        }
+        if (maxHeight > 0 && height > maxHeight) {
+            scale = Math.min(scale, (double) maxHeight / height);
+        }
+        return new int[] {
+            Math.max(1, (int) Math.round(width * scale)),
+            Math.max(1, (int) Math.round(height * scale)),
+        };
+    }
+
+    /**
+     * Largest power-of-two decode subsampling that still leaves at least the
+     * target size, so the final scale is always a downscale
+     */
+    static int sampleSize(int storedWidth, int storedHeight, int orientation, int[] target) {
+        int width = swapsAxes(orientation) ? storedHeight : storedWidth;
+        int height = swapsAxes(orientation) ? storedWidth : storedHeight;
+        int sample = 1;
+        while (width / (sample * 2) >= target[0] && height / (sample * 2) >= target[1]) {
+            sample *= 2;
+        }
+        return sample;
+    }
+}
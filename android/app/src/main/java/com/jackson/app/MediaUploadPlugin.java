@@ -0,0 +1,223 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Media Upload Plugin for Jackson App
+ *
+ * Camera and gallery images are resized, oriented and compressed natively
+ * ({@link MediaProcessor}) and uploaded from disk ({@link MediaUploader}), so only
+ * paths and small results cross the JS bridge - never base64 image data:
+ * - process({ path, maxWidth?, maxHeight?, format?, quality?, directory? }): write
+ *   a processed copy; resolves with { path, mimeType, width, height, bytes, processMs }
+ * - upload({ path, url, field?, fileName?, headers?, fields?, maxWidth?, maxHeight?,
+ *   format?, quality?, id? }): process, then multipart POST with retries; resolves
+ *   with { id, status, body, attempts, width, height, bytes, processMs, uploadMs }
+ *
+ * Events (notifyListeners):
+ * - "uploadProgress": { id, phase: "processing" | "uploading" | "retrying", sent,
+ *   total, attempt, delayMs? }
+ *
+ * Work runs on one background thread, so a burst of uploads never decodes several
+ * camera images at once. Retry counts and delays follow the current
+ * {@link NetworkPolicy}.
+ *
+ * JS side: lib/mediaUpload.ts
+ */
+@CapacitorPlugin(name = "MediaUpload")
+public class MediaUploadPlugin extends Plugin {
+
+    static final String EVENT_PROGRESS = "uploadProgress";
+
+    private static final int DEFAULT_MAX_SIZE = 1280;
+    private static final int DEFAULT_QUALITY = 82;
+    /** Processed copies for uploads, deleted once the upload settles */
+    private static final String UPLOAD_DIR = "media-upload";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "jackson-media");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void load() {
+        // Leftovers of uploads the process died during
+        executor.execute(() -> {
+            File[] stale = new File(getContext().getCacheDir(), UPLOAD_DIR).listFiles();
+            if (stale != null) {
+                for (File file : stale) {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - path: file:// or content:// URI, or absolute path (required)
+     *   - maxWidth / maxHeight: Bounds of the displayed image (default: 1280)
+     *   - format: "jpeg" | "webp" (default: "jpeg")
+     *   - quality: 1..100 (default: 82)
+     *   - directory: "cache" | "data" - where to keep the result (default: "cache")
+     */
+    @PluginMethod
+    public void process(PluginCall call) {
+        String source = call.getString("path");
+        if (source == null || source.isEmpty()) {
+            call.reject("path is required");
+            return;
+        }
+        String format = call.getString("format", MediaProcessor.FORMAT_JPEG);
+        File dir = "data".equals(call.getString("directory"))
+            ? new File(getContext().getFilesDir(), "media")
+            : new File(getContext().getCacheDir(), "media");
+        File output = new File(dir, "img-" + System.currentTimeMillis() + "." + extension(format));
+        executor.execute(() -> {
+            try {
+                MediaProcessor.Result result = processFor(call, source, format, output);
+                JSObject ret = toJs(result);
+                ret.put("path", "file://" + result.file.getAbsolutePath());
+                ret.put("mimeType", result.mimeType);
+                call.resolve(ret);
+            } catch (IOException | RuntimeException e) {
+                output.delete();
+                call.reject("Processing failed: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - path: Source image, as for process() (required)
+     *   - url: Absolute upload URL (required)
+     *   - field: Multipart field of the file (default: "file")
+     *   - fileName: Name sent with the file part (default: derived from format)
+     *   - headers: Request headers object, including auth
+     *   - fields: Extra form fields object
+     *   - maxWidth / maxHeight / format / quality: As for process()
+     *   - id: Caller's id for progress events (default: generated)
+     */
+    @PluginMethod
+    public void upload(PluginCall call) {
+        String source = call.getString("path");
+        String url = call.getString("url");
+        if (source == null || source.isEmpty() || url == null
+            || !(url.startsWith("https://") || url.startsWith("http://"))) {
+            call.reject("path and an absolute url are required");
+            return;
+        }
+        String id = call.getString("id", UUID.randomUUID().toString());
+        String format = call.getString("format", MediaProcessor.FORMAT_JPEG);
+        String field = call.getString("field", "file");
+        String fileName = call.getString("fileName", "upload." + extension(format));
+        Map<String, String> headers = toStringMap(call.getObject("headers", new JSObject()));
+        Map<String, String> fields = toStringMap(call.getObject("fields", new JSObject()));
+        File output = new File(new File(getContext().getCacheDir(), UPLOAD_DIR), id.replaceAll("[^A-Za-z0-9_-]", "_")
+            + "." + extension(format));
+
+        executor.execute(() -> {
+            try {
+                notifyProgress(id, "processing", 0, 0, 0, 0);
+                MediaProcessor.Result processed = processFor(call, source, format, output);
+
+                NetworkPolicy policy = ConnectivityMonitor.getInstance(getContext()).getPolicy();
+                MediaUploader uploader = new MediaUploader(HttpGateway.getInstance().getClient(),
+                    policy.retries + 1, policy.retryBaseMs);
+                MediaUploader.Job job = new MediaUploader.Job(processed.file, processed.mimeType, url, field,
+                    fileName, headers, fields);
+                MediaUploader.Outcome outcome = uploader.upload(job, new MediaUploader.Listener() {
+                    @Override
+                    public void onProgress(long sent, long total, int attempt) {
+                        notifyProgress(id, "uploading", sent, total, attempt, 0);
+                    }
+
+                    @Override
+                    public void onRetry(int attempt, int status, long delayMs) {
+                        notifyProgress(id, "retrying", 0, processed.bytes, attempt, delayMs);
+                    }
+                });
+
+                JSObject ret = toJs(processed);
+                ret.put("id", id);
+                ret.put("status", outcome.status);
+                ret.put("body", outcome.body);
+                ret.put("attempts", outcome.attempts);
+                ret.put("uploadMs", outcome.uploadMs);
+                call.resolve(ret);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.reject("Upload interrupted");
+            } catch (IOException | RuntimeException e) {
+                call.reject("Upload failed: " + e.getMessage(), e);
+            } finally {
+                output.delete();
+            }
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        executor.shutdownNow();
+        super.handleOnDestroy();
+    }
+
+    private MediaProcessor.Result processFor(PluginCall call, String source, String format, File output)
+        throws IOException {
+        return MediaProcessor.process(getContext(), source,
+            call.getInt("maxWidth", DEFAULT_MAX_SIZE), call.getInt("maxHeight", DEFAULT_MAX_SIZE),
+            format, call.getInt("quality", DEFAULT_QUALITY), output);
+    }
+
+    private void notifyProgress(String id, String phase, long sent, long total, int attempt, long delayMs) {
+        JSObject event = new JSObject();
+        event.put("id", id);
+        event.put("phase", phase);
+        event.put("sent", sent);
+        event.put("total", total);
+        event.put("attempt", attempt);
+        if (delayMs > 0) {
+            event.put("delayMs", delayMs);
+        }
+        notifyListeners(EVENT_PROGRESS, event);
+    }
+
+    private static JSObject toJs(MediaProcessor.Result result) {
+        JSObject ret = new JSObject();
+        ret.put("width", result.width);
+        ret.put("height", result.height);
+        ret.put("bytes", result.bytes);
+        ret.put("processMs", result.processMs);
+        return ret;
+    }
+
+    private static String extension(String format) {
+        return MediaProcessor.FORMAT_WEBP.equalsIgnoreCase(format) ? "webp" : "jpg";
+    }
+
+    private static Map<String, String> toStringMap(JSObject object) {
+        Map<String, String> map = new HashMap<>();
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            String value = object.getString(key);
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
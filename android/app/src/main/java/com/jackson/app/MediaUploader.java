@@ -0,0 +1,204 @@
+package com.jackson.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+/**
+ * Multipart upload of a processed file, streamed from disk with progress
+ *
+ * The file part is read straight from disk into the socket, so nothing
+ * proportional to the image size sits in memory or crosses the JS bridge.
+ * Network errors and retryable statuses ({@link MutationOutbox#isRetryable}) are
+ * retried with doubling delays (Retry-After wins when sent); the processed file
+ * stays on disk, so a retry re-sends it without decoding again. The API accepts
+ * single multipart POSTs only, so each attempt sends the whole body.
+ */
+final class MediaUploader {
+
+    private static final int TRACE_TAG = NativeTrace.tag("📤 Upload");
+    /** args: attempt, http status (0 for a network error), delay ms */
+    private static final int EV_RETRY = NativeTrace.event("upload retry");
+    /** args: bytes, http status, upload ms */
+    private static final int EV_DONE = NativeTrace.event("upload finished");
+
+    /** Progress is reported at most once per this many bytes (and at the end) */
+    static final long PROGRESS_STEP_BYTES = 32 * 1024;
+    static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    /**
+     * Upload progress, called on the uploading thread
+     */
+    interface Listener {
+        void onProgress(long sent, long total, int attempt);
+
+        void onRetry(int attempt, int status, long delayMs);
+    }
+
+    /**
+     * What to send
+     */
+    static final class Job {
+        final File file;
+        final String mimeType;
+        final String url;
+        final String field;
+        final String fileName;
+        final Map<String, String> headers;
+        final Map<String, String> fields;
+
+        Job(File file, String mimeType, String url, String field, String fileName,
+            Map<String, String> headers, Map<String, String> fields) {
+            this.file = file;
+            this.mimeType = mimeType;
+            this.url = url;
+            this.field = field;
+            this.fileName = fileName;
+            this.headers = headers != null ? headers : Collections.emptyMap();
+            this.fields = fields != null ? fields : Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Final response
+     */
+    static final class Outcome {
+        final int status;
+        final String body;
+        final int attempts;
+        final long uploadMs;
+
+        Outcome(int status, String body, int attempts, long uploadMs) {
+            this.status = status;
+            this.body = body;
+            this.attempts = attempts;
+            this.uploadMs = uploadMs;
+        }
+    }
+
+    private final OkHttpClient client;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+
+    MediaUploader(OkHttpClient client, int maxAttempts, long retryBaseMs) {
+        this.client = client;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseMs = retryBaseMs;
+    }
+
+    /**
+     * Upload, retrying as needed; blocks the calling thread
+     *
+     * @return The last response (2xx, or a non-retryable / final status)
+     * @throws IOException When every attempt failed at the network level
+     */
+    Outcome upload(Job job, Listener listener) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        IOException lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long delay;
+            int status = 0;
+            try (Response response = client.newCall(request(job, listener, attempt)).execute()) {
+                status = response.code();
+                ResponseBody body = response.body();
+                String text = body != null ? body.string() : "";
+                if (!MutationOutbox.isRetryable(status) || attempt == maxAttempts) {
+                    long uploadMs = (System.nanoTime() - start) / 1_000_000;
+                    NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_DONE, job.file.length(), status, uploadMs);
+                    return new Outcome(status, text, attempt, uploadMs);
+                }
+                long retryAfter = MutationOutbox.retryAfterMs(response.header("Retry-After"));
+                delay = retryAfter >= 0 ? Math.min(retryAfter, MAX_RETRY_DELAY_MS) : backoffMs(attempt);
+            } catch (IOException e) {
+                lastError = e;
+                if (attempt == maxAttempts) {
+                    break;
+                }
+                delay = backoffMs(attempt);
+            }
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_RETRY, attempt, status, delay);
+            listener.onRetry(attempt, status, delay);
+            Thread.sleep(delay);
+        }
+        throw lastError != null ? lastError : new IOException("Upload failed");
+    }
+
+    long backoffMs(int attempt) {
+        return Math.min(retryBaseMs << Math.min(attempt - 1, 10), MAX_RETRY_DELAY_MS);
+    }
+
+    private static Request request(Job job, Listener listener, int attempt) {
+        MultipartBody.Builder multipart = new MultipartBody.Builder().setType(MultipartBody.FORM);
+        for (Map.Entry<String, String> field : job.fields.entrySet()) {
+            multipart.addFormDataPart(field.getKey(), field.getValue());
+        }
+        RequestBody file = RequestBody.create(job.file, MediaType.get(job.mimeType));
+        multipart.addFormDataPart(job.field, job.fileName, file);
+        Request.Builder request = new Request.Builder()
+            .url(job.url)
+            .post(new ProgressBody(multipart.build(), listener, attempt));
+        for (Map.Entry<String, String> header : job.headers.entrySet()) {
+            request.header(header.getKey(), header.getValue());
+        }
+        return request.build();
+    }
+
+    /**
+     * Counts bytes as OkHttp writes them to the socket
+     */
+    private static final class ProgressBody extends RequestBody {
+        private final RequestBody delegate;
+        private final Listener listener;
+        private final int attempt;
+
+        ProgressBody(RequestBody delegate, Listener listener, int attempt) {
+            this.delegate = delegate;
+            this.listener = listener;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            long total = contentLength();
+            BufferedSink counting = Okio.buffer(new ForwardingSink(sink) {
+                private long sent;
+                private long reported;
+
+                @Override
+                public void write(Buffer source, long byteCount) throws IOException {
+                    super.write(source, byteCount);
+                    sent += byteCount;
+                    if (sent - reported >= PROGRESS_STEP_BYTES || sent == total) {
+                        reported = sent;
+                        listener.onProgress(sent, total, attempt);
+                    }
+                }
+            });
+            delegate.writeTo(counting);
+            counting.flush();
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.jackson.app;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Durable outbox for reward mutations (claims, spins, earnings transfers)
+ *
+ * A mutation is written to the {@link Store} (SQLite in the app, see
+ * {@link OutboxDatabase}) with a client-generated idempotency key before anything
+ * goes on the wire, and is then delivered by one background flusher:
+ * - Every attempt carries the same {@value #HEADER_IDEMPOTENCY_KEY} header, so a
+ *   retry after a timeout or a dropped connection cannot be applied twice
+ * - Enqueueing a key that already exists returns the existing item instead of a
+ *   second row (double taps, JS retries)
+ * - Due items are flushed in batches of up to {@link #BATCH_SIZE} over the shared
+ *   {@link HttpGateway} connection pool, oldest first
+ * - 5xx / 408 / 425 / 429 and network errors are retried with jittered exponential
+ *   backoff (Retry-After wins when sent); the first network error ends the batch,
+ *   so an offline device waits instead of failing every item in a burst
+ * - Other 4xx responses are terminal ({@link #STATUS_FAILED}) and keep the body
+ *   so JS can show the server's error message
+ * - Items left "sending" by a killed process go back to pending on start, which
+ *   is safe because the key makes the resend idempotent
+ *
+ * Every status change is reported to the {@link Listener} (OutboxPlugin forwards it
+ * to JS). Delivered and failed items are pruned after {@link #RETENTION_MS}.
+ */
+public final class MutationOutbox {
+
+    private static final int TRACE_TAG = NativeTrace.tag("📤 Outbox");
+    /** args: item id */
+    private static final int EV_ENQUEUED = NativeTrace.event("mutation enqueued");
+    /** args: item id */
+    private static final int EV_DUPLICATE = NativeTrace.event("duplicate key, existing item kept");
+    /** args: due items */
+    private static final int EV_FLUSH = NativeTrace.event("flush batch");
+    /** args: item id, HTTP status */
+    private static final int EV_DELIVERED = NativeTrace.event("mutation delivered");
+    /** args: item id, HTTP status */
+    private static final int EV_FAILED = NativeTrace.event("mutation failed");
+    /** args: item id, HTTP status (0 = network), delay ms */
+    private static final int EV_RETRY = NativeTrace.event("mutation retry scheduled");
+    /** args: recovered items, pruned items */
+    private static final int EV_RECOVERED = NativeTrace.event("outbox opened");
+    /** args: removed items */
+    private static final int EV_CLEARED = NativeTrace.event("outbox cleared");
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_SENDING = "sending";
+    public static final String STATUS_DONE = "done";
+    public static final String STATUS_FAILED = "failed";
+
+    static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    static final int BATCH_SIZE = 20;
+    static final int MAX_ATTEMPTS = 8;
+    static final long MIN_BACKOFF_MS = 2_000;
+    static final long MAX_BACKOFF_MS = 5 * 60_000;
+    static final long RETENTION_MS = 24 * 60 * 60_000L;
+    /** Whole-call timeout per attempt */
+    static final long REQUEST_TIMEOUT_MS = 20_000;
+
+    /**
+     * One queued mutation. Mutable only on the flusher thread.
+     */
+    public static final class Item {
+        long id;
+        final String key;
+        final String method;
+        final String url;
+        final Map<String, String> headers;
+        final String body;
+        final long createdAt;
+        int attempts;
+        long nextAttemptAt;
+        String status;
+        int httpStatus;
+        String response;
+        long updatedAt;
+
+        Item(long id, String key, String method, String url, Map<String, String> headers,
+             String body, long createdAt, int attempts, long nextAttemptAt, String status,
+             int httpStatus, String response, long updatedAt) {
+            this.id = id;
+            this.key = key;
+            this.method = method;
+            this.url = url;
+            this.headers = headers;
+            this.body = body;
+            this.createdAt = createdAt;
+            this.attempts = attempts;
+            this.nextAttemptAt = nextAttemptAt;
+            this.status = status;
+            this.httpStatus = httpStatus;
+            this.response = response;
+            this.updatedAt = updatedAt;
+        }
+
+        static Item pending(String key, String method, String url, Map<String, String> headers,
+                            String body, long now) {
+            return new Item(0, key, method, url, headers, body, now, 0, now, STATUS_PENDING,
+                0, null, now);
+        }
+
+        boolean isTerminal() {
+            return STATUS_DONE.equals(status) || STATUS_FAILED.equals(status);
+        }
+
+        static String headersToJson(Map<String, String> headers) {
+            return new JSONObject(headers).toString();
+        }
+
+        static Map<String, String> headersFromJson(String json) {
+            Map<String, String> headers = new HashMap<>();
+            if (json == null) {
+                return headers;
+            }
+            try {
+                JSONObject object = new JSONObject(json);
+                Iterator<String> names = object.keys();
+                while (names.hasNext()) {
+                    String name = names.next();
+                    headers.put(name, object.getString(name));
+                }
+            } catch (JSONException e) {
+                // Stored by us, so only a truncated row gets here; send without headers
+            }
+            return headers;
+        }
+    }
+
+    /**
+     * Persistence for queued items. Implementations must survive process death and
+     * treat the idempotency key as unique.
+     */
+    interface Store {
+        /** @return the stored item, or the existing one when the key is already queued */
+        Item insert(Item item);
+
+        Item find(String key);
+
+        /** Pending items with nextAttemptAt <= now, oldest first */
+        List<Item> due(long now, int limit);
+
+        /** Earliest nextAttemptAt of any pending item, or -1 */
+        long nextDueAt();
+
+        List<Item> all();
+
+        void update(Item item);
+
+        /** Items left {@link #STATUS_SENDING} by a killed process go back to pending */
+        int recoverInterrupted(long now);
+
+        /** Remove terminal items last updated before the cutoff */
+        int pruneTerminal(long cutoff);
+
+        /** Remove every item, whatever its status */
+        int clear();
+    }
+
+    /**
+     * Receives every status change on the flusher thread
+     */
+    public interface Listener {
+        void onItemChanged(Item item);
+    }
+
+    private final Store store;
+    private final HttpGateway gateway;
+    private final Listener listener;
+    private final long minBackoffMs;
+    private final long maxBackoffMs;
+    private final Random random = new Random();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jackson-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> scheduled;
+    private long scheduledAt = Long.MAX_VALUE;
+
+    public MutationOutbox(Store store, HttpGateway gateway, Listener listener) {
+        this(store, gateway, listener, MIN_BACKOFF_MS, MAX_BACKOFF_MS);
+    }
+
+    MutationOutbox(Store store, HttpGateway gateway, Listener listener,
+                   long minBackoffMs, long maxBackoffMs) {
+        this.store = store;
+        this.gateway = gateway;
+        this.listener = listener;
+        this.minBackoffMs = minBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        executor.execute(this::open);
+    }
+
+    /**
+     * Queue a mutation and schedule an immediate flush
+     *
+     * @param key Idempotency key; an existing item with the same key is returned as-is
+     * @return The queued (or previously queued) item
+     */
+    public Item enqueue(String key, String method, String url, Map<String, String> headers, String body) {
+        Map<String, String> stored = new HashMap<>(headers);
+        stored.put(HEADER_IDEMPOTENCY_KEY, key);
+        Item candidate = Item.pending(key, method, url, stored, body, System.currentTimeMillis());
+        Item item = store.insert(candidate);
+        if (item != candidate) {
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_DUPLICATE, item.id);
+            return item;
+        }
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_ENQUEUED, item.id);
+        flushSoon();
+        return item;
+    }
+
+    public Item find(String key) {
+        return store.find(key);
+    }
+
+    public List<Item> list() {
+        return store.all();
+    }
+
+    /** Flush everything that is due now (app resumed, network back) */
+    public void flushSoon() {
+        scheduleAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Drop every queued item (sign-out), so nothing replays with the previous
+     * user's auth headers. Runs on the outbox thread, after any send in progress.
+     *
+     * @return Resolves with the number of items removed
+     */
+    public Future<Integer> clear() {
+        return executor.submit(() -> {
+            synchronized (this) {
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                scheduledAt = Long.MAX_VALUE;
+            }
+            int removed = store.clear();
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_CLEARED, removed);
+            return removed;
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void open() {
+        long now = System.currentTimeMillis();
+        int recovered = store.recoverInterrupted(now);
+        int pruned = store.pruneTerminal(now - RETENTION_MS);
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_RECOVERED, recovered, pruned);
+        flush();
+    }
+
+    private synchronized void scheduleAt(long when) {
+        if (executor.isShutdown() || (scheduled != null && !scheduled.isDone() && scheduledAt <= when)) {
+            return;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduledAt = when;
+        long delay = Math.max(0, when - System.currentTimeMillis());
+        scheduled = executor.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** One flush pass; runs on the outbox thread only */
+    private void flush() {
+        synchronized (this) {
+            scheduledAt = Long.MAX_VALUE;
+        }
+        List<Item> batch = store.due(System.currentTimeMillis(), BATCH_SIZE);
+        if (!batch.isEmpty()) {
+            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_FLUSH, batch.size());
+        }
+        Item stalled = null;
+        for (Item item : batch) {
+            if (Thread.currentThread().isInterrupted() || !deliver(item)) {
+                stalled = item;
+                break;
+            }
+        }
+        // After a network error the rest of the batch waits with the failed item
+        long next = stalled != null ? stalled.nextAttemptAt : store.nextDueAt();
+        if (next >= 0) {
+            scheduleAt(next);
+        }
+    }
+
+    /**
+     * Send one item and record the outcome
+     *
+     * @return false when the device looks offline and the rest of the batch should wait
+     */
+    private boolean deliver(Item item) {
+        item.status = STATUS_SENDING;
+        item.attempts++;
+        item.updatedAt = System.currentTimeMillis();
+        store.update(item);
+
+        HttpGateway.GatewayResponse response;
+        try {
+            response = gateway.execute(new HttpGateway.GatewayRequest(
+                item.method, item.url, item.headers, item.body, REQUEST_TIMEOUT_MS)).get();
+        } catch (InterruptedException e) {
+            // Shutting down; the item is recovered to pending on the next start
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            retryOrFail(item, 0, -1);
+            return false;
+        }
+
+        int status = response.status;
+        if (status >= 200 && status < 300) {
+            finish(item, STATUS_DONE, status, response.bodyAsString());
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_DELIVERED, item.id, status);
+        } else if (isRetryable(status)) {
+            item.response = response.bodyAsString();
+            retryOrFail(item, status, retryAfterMs(response.header("Retry-After")));
+        } else {
+            finish(item, STATUS_FAILED, status, response.bodyAsString());
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_FAILED, item.id, status);
+        }
+        return true;
+    }
+
+    private void retryOrFail(Item item, int status, long retryAfterMs) {
+        if (item.attempts >= MAX_ATTEMPTS) {
+            finish(item, STATUS_FAILED, status, item.response);
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_FAILED, item.id, status);
+            return;
+        }
+        long delay = retryAfterMs >= 0 ? Math.min(retryAfterMs, maxBackoffMs) : backoffMs(item.attempts);
+        long now = System.currentTimeMillis();
+        item.status = STATUS_PENDING;
+        item.httpStatus = status;
+        item.nextAttemptAt = now + delay;
+        item.updatedAt = now;
+        store.update(item);
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_RETRY, item.id, status, delay);
+        listener.onItemChanged(item);
+    }
+
+    private void finish(Item item, String status, int httpStatus, String response) {
+        item.status = status;
+        item.httpStatus = httpStatus;
+        item.response = response;
+        item.updatedAt = System.currentTimeMillis();
+        store.update(item);
+        listener.onItemChanged(item);
+    }
+
+    /** Half fixed, half random, doubling per attempt up to the cap */
+    long backoffMs(int attempts) {
+        long window = minBackoffMs << Math.min(attempts - 1, 20);
+        window = Math.min(Math.max(window, 1), maxBackoffMs);
+        return window / 2 + (long) (random.nextDouble() * (window - window / 2));
+    }
+
+    static boolean isRetryable(int status) {
+        return status >= 500 || status == 408 || status == 425 || status == 429;
+    }
+
+    /** Retry-After in delta-seconds; HTTP dates are ignored in favour of our own backoff */
+    static long retryAfterMs(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Wait for pending work in tests */
+    void awaitIdle(long timeoutMs) throws InterruptedException, ExecutionException, TimeoutException {
+        executor.submit(() -> { }).get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,7 +1,7 @@
 package com.jackson.app;
 
 import android.os.Build;
-import android.util.Log;
+import android.security.keystore.KeyPermanentlyInvalidatedException;
 
 import androidx.annotation.NonNull;
 import androidx.biometric.BiometricManager;
@@ -17,6 +17,8 @@ import com.getcapacitor.annotation.CapacitorPlugin;
 
 import java.util.concurrent.Executor;
 
+import javax.crypto.Cipher;
+
 /**
  * Native BiometricPrompt Plugin for Jackson App
  * 
@@ -38,7 +40,23 @@ import java.util.concurrent.Executor;
 @CapacitorPlugin(name = "NativeBiometricPrompt")
 public class NativeBiometricPlugin extends Plugin {
     
-    private static final String TAG = "🔐 NativeBiometric";
+    private static final int TRACE_TAG = NativeTrace.tag("🔐 NativeBiometric");
+    /** args: canAuthenticate status, biometry type */
+    private static final int EV_CHECK = NativeTrace.event("isAvailable");
+    private static final int EV_CHECK_FAILED = NativeTrace.event("isAvailable failed");
+    private static final int EV_PROMPT_SHOWN = NativeTrace.event("prompt shown");
+    /** args: authentication type */
+    private static final int EV_AUTH_SUCCEEDED = NativeTrace.event("auth succeeded");
+    /** args: BiometricPrompt error code, 1 if lockout */
+    private static final int EV_AUTH_ERROR = NativeTrace.event("auth error");
+    private static final int EV_AUTH_FAILED = NativeTrace.event("auth not recognized");
+    private static final int EV_PROMPT_FAILED = NativeTrace.event("verifyIdentity failed");
+    /** args: seal ms */
+    private static final int EV_SESSION_SEALED = NativeTrace.event("session sealed");
+    private static final int EV_SESSION_INVALIDATED = NativeTrace.event("session key invalidated by enrollment change");
+    private static final int EV_SESSION_FAILED = NativeTrace.event("session vault failed");
+    
+    private boolean paused;
     
     /**
      * Check if biometric authentication is available on this device
@@ -49,133 +67,16 @@ public class NativeBiometricPlugin extends Plugin {
      * 2. If biometric hardware is currently available
      * 3. If user has enrolled biometrics
      * 
+     * Answers come from BiometricCapabilities, which probes once (prefetched at
+     * startup) and re-probes only after a resume or an enrollment change.
+     * 
      * @param call Capacitor plugin call
      */
     @PluginMethod
     public void isAvailable(PluginCall call) {
-        Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-        Log.d(TAG, "║        isAvailable() - Checking Biometric Status           ║");
-        Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-        
         try {
-            Log.d(TAG, "📱 Device Info:");
-            Log.d(TAG, "   • Model: " + Build.MODEL);
-            Log.d(TAG, "   • Manufacturer: " + Build.MANUFACTURER);
-            Log.d(TAG, "   • Android Version: " + Build.VERSION.SDK_INT + " (" + Build.VERSION.RELEASE + ")");
-            Log.d(TAG, "   • Security Patch: " + Build.VERSION.SECURITY_PATCH);
-            
-            BiometricManager biometricManager = BiometricManager.from(getContext());
-            Log.d(TAG, "✅ BiometricManager instance created");
-            
             // Check for BIOMETRIC_STRONG (Class 3) - Hardware Trust Zone
-            Log.d(TAG, "🔍 Checking BIOMETRIC_STRONG (Class 3 / Hardware TEE)...");
-            int canAuthenticate = biometricManager.canAuthenticate(
-                BiometricManager.Authenticators.BIOMETRIC_STRONG
-            );
-            
-            Log.d(TAG, "📊 canAuthenticate() returned: " + canAuthenticate);
-            
-            JSObject result = new JSObject();
-            
-            switch (canAuthenticate) {
-                case BiometricManager.BIOMETRIC_SUCCESS:
-                    Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                    Log.d(TAG, "║  ✅ BIOMETRIC_SUCCESS - Class 3 Biometrics Available!      ║");
-                    Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                    Log.d(TAG, "   • Hardware trust zone (TEE) is available");
-                    Log.d(TAG, "   • Biometric data is enrolled");
-                    Log.d(TAG, "   • Ready for BIOMETRIC_STRONG authentication");
-                    
-                    int biometryType = getBiometryType();
-                    String biometryTypeName = getBiometryTypeName(biometryType);
-                    
-                    Log.d(TAG, "   • Biometry Type: " + biometryType + " (" + biometryTypeName + ")");
-                    
-                    result.put("isAvailable", true);
-                    result.put("biometryType", biometryType);
-                    result.put("biometryTypeName", biometryTypeName);
-                    result.put("errorCode", 0);
-                    result.put("message", "Biometric authentication available (hardware trust zone)");
-                    result.put("securityLevel", "BIOMETRIC_STRONG");
-                    result.put("securityClass", 3);
-                    result.put("hardwareTEE", true);
-                    break;
-                    
-                case BiometricManager.BIOMETRIC_ERROR_NO_HARDWARE:
-                    Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                    Log.d(TAG, "║  ❌ BIOMETRIC_ERROR_NO_HARDWARE                            ║");
-                    Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                    Log.d(TAG, "   • This device does not have biometric hardware");
-                    Log.d(TAG, "   • Cannot use Face ID or Fingerprint");
-                    
-                    result.put("isAvailable", false);
-                    result.put("biometryType", 0);
-                    result.put("biometryTypeName", "none");
-                    result.put("errorCode", 1);
-                    result.put("message", "No biometric hardware available on this device");
-                    result.put("hardwareTEE", false);
-                    break;
-                    
-                case BiometricManager.BIOMETRIC_ERROR_HW_UNAVAILABLE:
-                    Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                    Log.d(TAG, "║  ⚠️ BIOMETRIC_ERROR_HW_UNAVAILABLE                         ║");
-                    Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                    Log.d(TAG, "   • Biometric hardware exists but is currently unavailable");
-                    Log.d(TAG, "   • May be in use by another app or temporarily disabled");
-                    
-                    result.put("isAvailable", false);
-                    result.put("biometryType", getBiometryType());
-                    result.put("biometryTypeName", getBiometryTypeName(getBiometryType()));
-                    result.put("errorCode", 2);
-                    result.put("message", "Biometric hardware is currently unavailable. Try again later.");
-                    result.put("hardwareTEE", true);
-                    result.put("temporarilyUnavailable", true);
-                    break;
-                    
-                case BiometricManager.BIOMETRIC_ERROR_NONE_ENROLLED:
-                    Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                    Log.d(TAG, "║  ⚠️ BIOMETRIC_ERROR_NONE_ENROLLED                          ║");
-                    Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                    Log.d(TAG, "   • Biometric hardware exists");
-                    Log.d(TAG, "   • But NO biometric data is enrolled");
-                    Log.d(TAG, "   • User needs to set up Face ID or Fingerprint in Settings");
-                    
-                    result.put("isAvailable", false);
-                    result.put("biometryType", getBiometryType());
-                    result.put("biometryTypeName", getBiometryTypeName(getBiometryType()));
-                    result.put("errorCode", 3);
-                    result.put("message", "No biometric enrolled. Please set up Face ID or Fingerprint in Settings > Security > Biometrics.");
-                    result.put("hardwareTEE", true);
-                    result.put("canEnroll", true);
-                    break;
-                    
-                case BiometricManager.BIOMETRIC_ERROR_SECURITY_UPDATE_REQUIRED:
-                    Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                    Log.d(TAG, "║  ⚠️ BIOMETRIC_ERROR_SECURITY_UPDATE_REQUIRED               ║");
-                    Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                    Log.d(TAG, "   • A security update is required");
-                    Log.d(TAG, "   • User needs to update their device");
-                    
-                    result.put("isAvailable", false);
-                    result.put("biometryType", 0);
-                    result.put("biometryTypeName", "none");
-                    result.put("errorCode", 4);
-                    result.put("message", "Security update required. Please update your device.");
-                    result.put("securityUpdateRequired", true);
-                    break;
-                    
-                default:
-                    Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                    Log.d(TAG, "║  ❓ UNKNOWN STATUS: " + canAuthenticate);
-                    Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                    
-                    result.put("isAvailable", false);
-                    result.put("biometryType", 0);
-                    result.put("biometryTypeName", "none");
-                    result.put("errorCode", canAuthenticate);
-                    result.put("message", "Unknown biometric status: " + canAuthenticate);
-                    break;
-            }
+            JSObject result = availabilityResult(BiometricCapabilities.getInstance(getContext()).get());
             
             // Add device info for debugging
             result.put("androidVersion", Build.VERSION.SDK_INT);
@@ -184,16 +85,9 @@ public class NativeBiometricPlugin extends Plugin {
             result.put("manufacturer", Build.MANUFACTURER);
             result.put("securityPatch", Build.VERSION.SECURITY_PATCH);
             
-            Log.d(TAG, "📤 Returning result: " + result.toString());
             call.resolve(result);
-            
         } catch (Exception e) {
-            Log.e(TAG, "╔════════════════════════════════════════════════════════════╗");
-            Log.e(TAG, "║  ❌ EXCEPTION in isAvailable()                             ║");
-            Log.e(TAG, "╚════════════════════════════════════════════════════════════╝");
-            Log.e(TAG, "   • Exception: " + e.getClass().getSimpleName());
-            Log.e(TAG, "   • Message: " + e.getMessage());
-            e.printStackTrace();
+            NativeTrace.error(TRACE_TAG, EV_CHECK_FAILED, e);
             
             JSObject error = new JSObject();
             error.put("isAvailable", false);
@@ -206,6 +100,98 @@ public class NativeBiometricPlugin extends Plugin {
         }
     }
     
+    /**
+     * isAvailable() result for a probe answer, without the device info; separate
+     * from the call so the JVM and device benchmarks can time it (HotPathBenchmarkTest)
+     */
+    static JSObject availabilityResult(BiometricCapabilities.Capability capability) {
+        int canAuthenticate = capability.status;
+        int biometryType = capability.biometryType;
+        
+        JSObject result = new JSObject();
+        
+        switch (canAuthenticate) {
+            case BiometricManager.BIOMETRIC_SUCCESS:
+                // Hardware trust zone (TEE) available and biometrics enrolled
+                String biometryTypeName = getBiometryTypeName(biometryType);
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CHECK, canAuthenticate, biometryType);
+                
+                result.put("isAvailable", true);
+                result.put("biometryType", biometryType);
+                result.put("biometryTypeName", biometryTypeName);
+                result.put("errorCode", 0);
+                result.put("message", "Biometric authentication available (hardware trust zone)");
+                result.put("securityLevel", "BIOMETRIC_STRONG");
+                result.put("securityClass", 3);
+                result.put("hardwareTEE", true);
+                break;
+                
+            case BiometricManager.BIOMETRIC_ERROR_NO_HARDWARE:
+                // This device does not have biometric hardware
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CHECK, canAuthenticate, 0);
+                
+                result.put("isAvailable", false);
+                result.put("biometryType", 0);
+                result.put("biometryTypeName", "none");
+                result.put("errorCode", 1);
+                result.put("message", "No biometric hardware available on this device");
+                result.put("hardwareTEE", false);
+                break;
+                
+            case BiometricManager.BIOMETRIC_ERROR_HW_UNAVAILABLE:
+                // Hardware exists but is in use by another app or temporarily disabled
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CHECK, canAuthenticate, 0);
+                
+                result.put("isAvailable", false);
+                result.put("biometryType", biometryType);
+                result.put("biometryTypeName", getBiometryTypeName(biometryType));
+                result.put("errorCode", 2);
+                result.put("message", "Biometric hardware is currently unavailable. Try again later.");
+                result.put("hardwareTEE", true);
+                result.put("temporarilyUnavailable", true);
+                break;
+                
+            case BiometricManager.BIOMETRIC_ERROR_NONE_ENROLLED:
+                // Hardware exists but the user has not enrolled a face / fingerprint
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CHECK, canAuthenticate, 0);
+                
+                result.put("isAvailable", false);
+                result.put("biometryType", biometryType);
+                result.put("biometryTypeName", getBiometryTypeName(biometryType));
+                result.put("errorCode", 3);
+                result.put("message", "No biometric enrolled. Please set up Face ID or Fingerprint in Settings > Security > Biometrics.");
+                result.put("hardwareTEE", true);
+                result.put("canEnroll", true);
+                break;
+                
+            case BiometricManager.BIOMETRIC_ERROR_SECURITY_UPDATE_REQUIRED:
+                // The device needs a security update before biometrics can be used
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CHECK, canAuthenticate, 0);
+                
+                result.put("isAvailable", false);
+                result.put("biometryType", 0);
+                result.put("biometryTypeName", "none");
+                result.put("errorCode", 4);
+                result.put("message", "Security update required. Please update your device.");
+                result.put("securityUpdateRequired", true);
+                break;
+                
+            default:
+                NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_CHECK, canAuthenticate, 0);
+                
+                result.put("isAvailable", false);
+                result.put("biometryType", 0);
+                result.put("biometryTypeName", "none");
+                result.put("errorCode", canAuthenticate);
+                result.put("message", "Unknown biometric status: " + canAuthenticate);
+                break;
+        }
+        
+        // Set once a biometric was added or removed since the app last checked
+        result.put("enrollmentChanged", capability.enrollmentChanged);
+        return result;
+    }
+    
     /**
      * Verify identity using BiometricPrompt with BIOMETRIC_STRONG
      * This triggers the OS-level biometric authentication dialog
@@ -224,29 +210,12 @@ public class NativeBiometricPlugin extends Plugin {
         String description = call.getString("description", "Move your head slowly from left to right");
         String negativeButtonText = call.getString("negativeButtonText", "Cancel");
         
-        Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-        Log.d(TAG, "║        verifyIdentity() - Starting Authentication          ║");
-        Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-        Log.d(TAG, "📋 Prompt Configuration:");
-        Log.d(TAG, "   • Title: " + title);
-        Log.d(TAG, "   • Subtitle: " + subtitle);
-        Log.d(TAG, "   • Description: " + description);
-        Log.d(TAG, "   • Negative Button: " + negativeButtonText);
-        Log.d(TAG, "   • Security Level: BIOMETRIC_STRONG (Class 3 / TEE)");
-        
         getActivity().runOnUiThread(() -> {
             try {
-                Log.d(TAG, "🔄 Running on UI thread...");
-                
                 FragmentActivity activity = (FragmentActivity) getActivity();
-                Log.d(TAG, "✅ Got FragmentActivity: " + activity.getClass().getSimpleName());
-                
                 Executor executor = ContextCompat.getMainExecutor(getContext());
-                Log.d(TAG, "✅ Got MainExecutor");
                 
                 // Create BiometricPrompt with authentication callbacks
-                Log.d(TAG, "🔨 Creating BiometricPrompt with AuthenticationCallback...");
-                
                 BiometricPrompt biometricPrompt = new BiometricPrompt(activity, executor,
                     new BiometricPrompt.AuthenticationCallback() {
                         
@@ -254,15 +223,9 @@ public class NativeBiometricPlugin extends Plugin {
                         public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
                             super.onAuthenticationSucceeded(result);
                             
-                            Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                            Log.d(TAG, "║  ✅ AUTHENTICATION SUCCEEDED!                              ║");
-                            Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                            Log.d(TAG, "   • User successfully authenticated");
-                            Log.d(TAG, "   • Hardware trust zone (TEE) verified");
-                            
                             // Get authentication type
                             int authType = result.getAuthenticationType();
-                            Log.d(TAG, "   • Authentication Type Code: " + authType);
+                            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_AUTH_SUCCEEDED, authType);
                             
                             String authTypeString;
                             String authTypeDescription;
@@ -270,16 +233,12 @@ public class NativeBiometricPlugin extends Plugin {
                             if (authType == BiometricPrompt.AUTHENTICATION_RESULT_TYPE_BIOMETRIC) {
                                 authTypeString = "biometric";
                                 authTypeDescription = "Hardware-backed biometric (TEE verified)";
-                                Log.d(TAG, "   • Type: BIOMETRIC (Face ID / Fingerprint)");
-                                Log.d(TAG, "   • Security: Hardware Trust Zone (TEE)");
                             } else if (authType == BiometricPrompt.AUTHENTICATION_RESULT_TYPE_DEVICE_CREDENTIAL) {
                                 authTypeString = "device_credential";
                                 authTypeDescription = "Device credential (PIN/Pattern/Password)";
-                                Log.d(TAG, "   • Type: DEVICE_CREDENTIAL (PIN/Pattern/Password)");
                             } else {
                                 authTypeString = "unknown";
                                 authTypeDescription = "Unknown authentication type: " + authType;
-                                Log.d(TAG, "   • Type: UNKNOWN (" + authType + ")");
                             }
                             
                             JSObject response = new JSObject();
@@ -293,63 +252,20 @@ public class NativeBiometricPlugin extends Plugin {
                             response.put("hardwareTEE", true);
                             response.put("timestamp", System.currentTimeMillis());
                             
-                            Log.d(TAG, "📤 Resolving with success response");
                             call.resolve(response);
                         }
                         
                         @Override
                         public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
                             super.onAuthenticationError(errorCode, errString);
-                            
-                            String errorType = mapErrorCode(errorCode);
-                            boolean isUserCanceled = errorCode == BiometricPrompt.ERROR_USER_CANCELED || 
-                                                     errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON ||
-                                                     errorCode == BiometricPrompt.ERROR_CANCELED;
-                            boolean isLockout = errorCode == BiometricPrompt.ERROR_LOCKOUT || 
-                                               errorCode == BiometricPrompt.ERROR_LOCKOUT_PERMANENT;
-                            
-                            Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                            Log.d(TAG, "║  ❌ AUTHENTICATION ERROR                                   ║");
-                            Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                            Log.d(TAG, "   • Error Code: " + errorCode);
-                            Log.d(TAG, "   • Error Type: " + errorType);
-                            Log.d(TAG, "   • Error Message: " + errString);
-                            Log.d(TAG, "   • Is User Canceled: " + isUserCanceled);
-                            Log.d(TAG, "   • Is Lockout: " + isLockout);
-                            
-                            if (isLockout) {
-                                Log.w(TAG, "   ⚠️ Device is in LOCKOUT state!");
-                                if (errorCode == BiometricPrompt.ERROR_LOCKOUT_PERMANENT) {
-                                    Log.w(TAG, "   ⚠️ PERMANENT lockout - requires device unlock");
-                                } else {
-                                    Log.w(TAG, "   ⚠️ TEMPORARY lockout - wait and try again");
-                                }
-                            }
-                            
-                            JSObject response = new JSObject();
-                            response.put("success", false);
-                            response.put("errorCode", errorCode);
-                            response.put("errorType", errorType);
-                            response.put("errorMessage", errString.toString());
-                            response.put("isUserCanceled", isUserCanceled);
-                            response.put("isLockout", isLockout);
-                            response.put("isLockoutPermanent", errorCode == BiometricPrompt.ERROR_LOCKOUT_PERMANENT);
-                            response.put("timestamp", System.currentTimeMillis());
-                            
-                            Log.d(TAG, "📤 Resolving with error response");
-                            call.resolve(response);
+                            call.resolve(authErrorResult(errorCode, errString));
                         }
                         
                         @Override
                         public void onAuthenticationFailed() {
                             super.onAuthenticationFailed();
                             
-                            Log.d(TAG, "╔════════════════════════════════════════════════════════════╗");
-                            Log.d(TAG, "║  ⚠️ AUTHENTICATION FAILED - Biometric Not Recognized       ║");
-                            Log.d(TAG, "╚════════════════════════════════════════════════════════════╝");
-                            Log.d(TAG, "   • The biometric was not recognized");
-                            Log.d(TAG, "   • User can retry - prompt stays open");
-                            Log.d(TAG, "   • NOT resolving - waiting for success or error");
+                            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_AUTH_FAILED);
                             
                             // Note: Don't resolve here - the prompt stays open for retry
                             // This callback is called when biometric doesn't match
@@ -357,41 +273,14 @@ public class NativeBiometricPlugin extends Plugin {
                         }
                     });
                 
-                Log.d(TAG, "✅ BiometricPrompt created successfully");
-                
-                // Build PromptInfo with BIOMETRIC_STRONG (Class 3 / hardware trust zone)
-                Log.d(TAG, "🔨 Building PromptInfo with BIOMETRIC_STRONG...");
-                
-                BiometricPrompt.PromptInfo promptInfo = new BiometricPrompt.PromptInfo.Builder()
-                    .setTitle(title)
-                    .setSubtitle(subtitle)
-                    .setDescription(description)
-                    .setNegativeButtonText(negativeButtonText)
-                    // BIOMETRIC_STRONG ensures:
-                    // 1. Hardware-backed security (TEE - Trusted Execution Environment)
-                    // 2. Class 3 biometric only (highest security)
-                    // 3. Anti-spoofing protection
-                    // 4. Biometric data never leaves secure enclave
-                    .setAllowedAuthenticators(BiometricManager.Authenticators.BIOMETRIC_STRONG)
-                    .setConfirmationRequired(true)
-                    .build();
-                
-                Log.d(TAG, "✅ PromptInfo built successfully");
-                Log.d(TAG, "🚀 Showing BiometricPrompt dialog...");
-                Log.d(TAG, "═══════════════════════════════════════════════════════════════");
+                BiometricPrompt.PromptInfo promptInfo = buildPromptInfo(title, subtitle, description, negativeButtonText, true);
                 
                 // Show the biometric prompt
                 biometricPrompt.authenticate(promptInfo);
-                
-                Log.d(TAG, "✅ BiometricPrompt.authenticate() called - waiting for user...");
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_PROMPT_SHOWN);
                 
             } catch (Exception e) {
-                Log.e(TAG, "╔════════════════════════════════════════════════════════════╗");
-                Log.e(TAG, "║  ❌ EXCEPTION in verifyIdentity()                          ║");
-                Log.e(TAG, "╚════════════════════════════════════════════════════════════╝");
-                Log.e(TAG, "   • Exception: " + e.getClass().getSimpleName());
-                Log.e(TAG, "   • Message: " + e.getMessage());
-                e.printStackTrace();
+                NativeTrace.error(TRACE_TAG, EV_PROMPT_FAILED, e);
                 
                 JSObject error = new JSObject();
                 error.put("success", false);
@@ -405,55 +294,252 @@ public class NativeBiometricPlugin extends Plugin {
         });
     }
     
+    // ========================================================================
+    // Biometric session fast-resume
+    // ========================================================================
+    
     /**
-     * Get the type of biometric hardware available on the device
+     * Store the session behind a biometric-bound keystore key so resumeSession()
+     * can restore it with one prompt and no network round trip
      * 
-     * @return Biometry type code:
-     *   - 0 = None
-     *   - 3 = Fingerprint
-     *   - 4 = Face
+     * @param call Capacitor plugin call with options:
+     *   - payload: Session JSON ({token, user}) to seal
      */
-    private int getBiometryType() {
-        Log.d(TAG, "🔍 Detecting biometric hardware type...");
-        
-        // Check for face authentication (Android 10+ / API 29+)
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-            boolean hasFace = getContext().getPackageManager()
-                .hasSystemFeature("android.hardware.biometrics.face");
-            Log.d(TAG, "   • Has face hardware (API 29+): " + hasFace);
+    @PluginMethod
+    public void enrollSession(PluginCall call) {
+        String payload = call.getString("payload");
+        if (payload == null) {
+            call.reject("payload is required");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            BiometricSessionVault.from(getContext()).seal(payload);
+            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_SESSION_SEALED, (System.nanoTime() - start) / 1_000_000);
             
-            if (hasFace) {
-                Log.d(TAG, "   ✅ Face authentication hardware detected");
-                return 4; // Face
-            }
-        } else {
-            Log.d(TAG, "   • Android version < 10, skipping face check");
+            JSObject result = new JSObject();
+            result.put("success", true);
+            call.resolve(result);
+        } catch (Exception e) {
+            // No biometric enrolled / no secure lock screen: the key pair cannot be created
+            NativeTrace.warn(TRACE_TAG, EV_SESSION_FAILED, e);
+            
+            JSObject error = new JSObject();
+            error.put("success", false);
+            error.put("errorMessage", "Exception: " + e.getMessage());
+            error.put("exceptionType", e.getClass().getSimpleName());
+            call.resolve(error);
         }
+    }
+    
+    /**
+     * Whether a sealed session is available for resumeSession()
+     * 
+     * @param call Capacitor plugin call
+     */
+    @PluginMethod
+    public void hasSession(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("enrolled", BiometricSessionVault.from(getContext()).hasSession());
+        call.resolve(result);
+    }
+    
+    /**
+     * Forget the sealed session and its key
+     * 
+     * @param call Capacitor plugin call
+     */
+    @PluginMethod
+    public void clearSession(PluginCall call) {
+        BiometricSessionVault.from(getContext()).clear();
+        call.resolve();
+    }
+    
+    /**
+     * Show BiometricPrompt with a CryptoObject and decrypt the sealed session
+     * with the authenticated cipher
+     * 
+     * Resolves { success: true, payload } on success. Failures resolve like
+     * verifyIdentity, plus errorType "no_session" (nothing sealed) or
+     * "enrollment_changed" (biometrics changed since sealing; the session was
+     * discarded and a password login is needed).
+     * 
+     * @param call Capacitor plugin call with options:
+     *   - title: Prompt title (default: "Biometric Login")
+     *   - subtitle: Prompt subtitle
+     *   - description: Prompt description
+     *   - negativeButtonText: Cancel button text
+     */
+    @PluginMethod
+    public void resumeSession(PluginCall call) {
+        String title = call.getString("title", "Biometric Login");
+        String subtitle = call.getString("subtitle", "Verify your identity to continue");
+        String description = call.getString("description", "");
+        String negativeButtonText = call.getString("negativeButtonText", "Use password");
         
-        // Check for fingerprint
-        boolean hasFingerprint = getContext().getPackageManager()
-            .hasSystemFeature("android.hardware.fingerprint");
-        Log.d(TAG, "   • Has fingerprint hardware: " + hasFingerprint);
-        
-        if (hasFingerprint) {
-            Log.d(TAG, "   ✅ Fingerprint hardware detected");
-            return 3; // Fingerprint
+        BiometricSessionVault vault = BiometricSessionVault.from(getContext());
+        Cipher cipher;
+        try {
+            cipher = vault.prepareUnlock();
+        } catch (KeyPermanentlyInvalidatedException e) {
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_SESSION_INVALIDATED);
+            BiometricCapabilities.getInstance(getContext()).onEnrollmentChanged();
+            call.resolve(sessionUnavailable("enrollment_changed",
+                "Biometrics changed since biometric login was set up. Please sign in with your password."));
+            return;
+        } catch (Exception e) {
+            NativeTrace.warn(TRACE_TAG, EV_SESSION_FAILED, e);
+            call.resolve(sessionUnavailable("exception", "Exception: " + e.getMessage()));
+            return;
+        }
+        if (cipher == null) {
+            call.resolve(sessionUnavailable("no_session", "Biometric login is not set up"));
+            return;
         }
         
-        // Check for iris (rare)
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-            boolean hasIris = getContext().getPackageManager()
-                .hasSystemFeature("android.hardware.biometrics.iris");
-            Log.d(TAG, "   • Has iris hardware: " + hasIris);
-            
-            if (hasIris) {
-                Log.d(TAG, "   ✅ Iris authentication hardware detected");
-                return 5; // Iris
+        getActivity().runOnUiThread(() -> {
+            try {
+                FragmentActivity activity = (FragmentActivity) getActivity();
+                Executor executor = ContextCompat.getMainExecutor(getContext());
+                
+                BiometricPrompt biometricPrompt = new BiometricPrompt(activity, executor,
+                    new BiometricPrompt.AuthenticationCallback() {
+                        
+                        @Override
+                        public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
+                            super.onAuthenticationSucceeded(result);
+                            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_AUTH_SUCCEEDED, result.getAuthenticationType());
+                            
+                            try {
+                                BiometricPrompt.CryptoObject crypto = result.getCryptoObject();
+                                String payload = vault.open(crypto != null ? crypto.getCipher() : cipher);
+                                if (payload == null) {
+                                    call.resolve(sessionUnavailable("no_session", "Biometric login is not set up"));
+                                    return;
+                                }
+                                
+                                JSObject response = new JSObject();
+                                response.put("success", true);
+                                response.put("payload", payload);
+                                response.put("securityLevel", "BIOMETRIC_STRONG");
+                                response.put("timestamp", System.currentTimeMillis());
+                                call.resolve(response);
+                            } catch (Exception e) {
+                                NativeTrace.warn(TRACE_TAG, EV_SESSION_FAILED, e);
+                                call.resolve(sessionUnavailable("exception", "Exception: " + e.getMessage()));
+                            }
+                        }
+                        
+                        @Override
+                        public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
+                            super.onAuthenticationError(errorCode, errString);
+                            call.resolve(authErrorResult(errorCode, errString));
+                        }
+                        
+                        @Override
+                        public void onAuthenticationFailed() {
+                            super.onAuthenticationFailed();
+                            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_AUTH_FAILED);
+                        }
+                    });
+                
+                // No confirmation tap: the user asked to log in, so a passive face match is enough
+                BiometricPrompt.PromptInfo promptInfo = buildPromptInfo(title, subtitle, description, negativeButtonText, false);
+                biometricPrompt.authenticate(promptInfo, new BiometricPrompt.CryptoObject(cipher));
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_PROMPT_SHOWN);
+                
+            } catch (Exception e) {
+                NativeTrace.error(TRACE_TAG, EV_PROMPT_FAILED, e);
+                call.resolve(sessionUnavailable("exception", "Exception: " + e.getMessage()));
             }
+        });
+    }
+    
+    private JSObject sessionUnavailable(String errorType, String message) {
+        JSObject error = new JSObject();
+        error.put("success", false);
+        error.put("errorCode", -99);
+        error.put("errorType", errorType);
+        error.put("errorMessage", message);
+        error.put("timestamp", System.currentTimeMillis());
+        return error;
+    }
+    
+    // ========================================================================
+    // Prompt helpers
+    // ========================================================================
+    
+    /**
+     * Build PromptInfo with BIOMETRIC_STRONG (Class 3 / hardware trust zone)
+     */
+    private BiometricPrompt.PromptInfo buildPromptInfo(String title, String subtitle, String description,
+                                                       String negativeButtonText, boolean confirmationRequired) {
+        return new BiometricPrompt.PromptInfo.Builder()
+            .setTitle(title)
+            .setSubtitle(subtitle)
+            .setDescription(description)
+            .setNegativeButtonText(negativeButtonText)
+            // BIOMETRIC_STRONG ensures:
+            // 1. Hardware-backed security (TEE - Trusted Execution Environment)
+            // 2. Class 3 biometric only (highest security)
+            // 3. Anti-spoofing protection
+            // 4. Biometric data never leaves secure enclave
+            .setAllowedAuthenticators(BiometricManager.Authenticators.BIOMETRIC_STRONG)
+            .setConfirmationRequired(confirmationRequired)
+            .build();
+    }
+    
+    /**
+     * Response for BiometricPrompt.onAuthenticationError
+     */
+    private JSObject authErrorResult(int errorCode, CharSequence errString) {
+        String errorType = mapErrorCode(errorCode);
+        boolean isUserCanceled = errorCode == BiometricPrompt.ERROR_USER_CANCELED || 
+                                 errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON ||
+                                 errorCode == BiometricPrompt.ERROR_CANCELED;
+        boolean isLockout = errorCode == BiometricPrompt.ERROR_LOCKOUT || 
+                           errorCode == BiometricPrompt.ERROR_LOCKOUT_PERMANENT;
+        
+        // Lockouts are worth a logcat line in release builds; cancels are not
+        NativeTrace.trace(isLockout ? NativeTrace.WARN : NativeTrace.DEBUG,
+            TRACE_TAG, EV_AUTH_ERROR, errorCode, isLockout ? 1 : 0);
+        
+        // These mean the cached isAvailable answer is out of date
+        if (errorCode == BiometricPrompt.ERROR_NO_BIOMETRICS ||
+            errorCode == BiometricPrompt.ERROR_HW_NOT_PRESENT ||
+            errorCode == BiometricPrompt.ERROR_HW_UNAVAILABLE ||
+            errorCode == BiometricPrompt.ERROR_LOCKOUT_PERMANENT) {
+            BiometricCapabilities.getInstance(getContext())
+                .invalidate(BiometricCapabilities.REASON_AUTH_ERROR);
         }
         
-        Log.d(TAG, "   ❌ No biometric hardware detected");
-        return 0; // None
+        JSObject response = new JSObject();
+        response.put("success", false);
+        response.put("errorCode", errorCode);
+        response.put("errorType", errorType);
+        response.put("errorMessage", errString.toString());
+        response.put("isUserCanceled", isUserCanceled);
+        response.put("isLockout", isLockout);
+        response.put("isLockoutPermanent", errorCode == BiometricPrompt.ERROR_LOCKOUT_PERMANENT);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+    
+    @Override
+    protected void handleOnPause() {
+        paused = true;
+    }
+    
+    /**
+     * Enrollment may have changed while the app was in the background (e.g. the
+     * user went to Settings from the "none enrolled" message), so re-probe
+     */
+    @Override
+    protected void handleOnResume() {
+        if (paused) {
+            paused = false;
+            BiometricCapabilities.getInstance(getContext()).onResume(getContext());
+        }
     }
     
     /**
@@ -462,7 +548,7 @@ public class NativeBiometricPlugin extends Plugin {
      * @param type Biometry type code
      * @return Human-readable name
      */
-    private String getBiometryTypeName(int type) {
+    static String getBiometryTypeName(int type) {
         switch (type) {
             case 4: return "face";
             case 3: return "fingerprint";
@@ -477,7 +563,7 @@ public class NativeBiometricPlugin extends Plugin {
      * @param errorCode BiometricPrompt error code
      * @return Human-readable error type
      */
-    private String mapErrorCode(int errorCode) {
+    static String mapErrorCode(int errorCode) {
         switch (errorCode) {
             case BiometricPrompt.ERROR_CANCELED:
                 return "canceled";
@@ -0,0 +1,127 @@
+package com.jackson.app;
+
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Native HTTP Gateway Plugin for Jackson App
+ *
+ * Runs API requests from lib/api.js natively through {@link HttpGateway} instead of
+ * the WebView fetch stack:
+ * - One shared connection pool (HTTP/2 multiplexed when the server supports it)
+ * - Identical in-flight GETs are merged into a single upstream call
+ * - Every response carries DNS / connect / TLS / TTFB / body-size timing
+ * - Cacheable GETs are served from the disk {@link ResponseCache} first
+ *
+ * JS side: lib/nativeHttp.ts
+ */
+@CapacitorPlugin(name = "NativeHttp")
+public class NativeHttpPlugin extends Plugin {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🌐 NativeHttp");
+    private static final int EV_REQUEST_FAILED = NativeTrace.event("request failed");
+
+    /**
+     * Perform an HTTP request
+     *
+     * @param call Capacitor plugin call with options:
+     *   - url: Absolute request URL (required)
+     *   - method: HTTP method (default: "GET")
+     *   - headers: Request headers object
+     *   - data: Request body as a string (already JSON.stringify'd on the JS side)
+     *   - timeout: Whole-call timeout in milliseconds (default: client defaults)
+     */
+    @PluginMethod
+    public void request(PluginCall call) {
+        String url = call.getString("url");
+        if (url == null || url.isEmpty()) {
+            call.reject("url is required");
+            return;
+        }
+
+        HttpGateway.GatewayRequest request = new HttpGateway.GatewayRequest(
+            call.getString("method", "GET"),
+            url,
+            toHeaderMap(call.getObject("headers", new JSObject())),
+            call.getString("data"),
+            call.getInt("timeout", 0)
+        );
+
+        // GETs with a cache rule are answered stale-while-revalidate from disk;
+        // everything else goes straight through the gateway
+        ResponseCache.getInstance(getContext()).fetch(request).whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                NativeTrace.warn(TRACE_TAG, EV_REQUEST_FAILED, cause);
+                call.reject(cause.getMessage() != null ? cause.getMessage() : "Network request failed",
+                    "NETWORK_ERROR");
+                return;
+            }
+            call.resolve(toResult(response));
+        });
+    }
+
+    /**
+     * Get gateway counters (requests, upstream calls, coalesced calls, pool state)
+     *
+     * @param call Capacitor plugin call
+     */
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Long> entry : HttpGateway.getInstance().getStats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+
+    static JSObject toResult(HttpGateway.GatewayResponse response) {
+        JSObject headers = new JSObject();
+        for (Map.Entry<String, String> header : response.headers.entrySet()) {
+            headers.put(header.getKey(), header.getValue());
+        }
+
+        JSObject result = new JSObject();
+        result.put("status", response.status);
+        result.put("headers", headers);
+        result.put("data", response.bodyAsString());
+        result.put("coalesced", response.coalesced);
+        result.put("source", response.source);
+        result.put("timing", toTiming(response.timing));
+        return result;
+    }
+
+    static JSObject toTiming(RequestTiming timing) {
+        JSObject result = new JSObject();
+        result.put("dnsMs", timing.getDnsMs());
+        result.put("connectMs", timing.getConnectMs());
+        result.put("tlsMs", timing.getTlsMs());
+        result.put("ttfbMs", timing.getTtfbMs());
+        result.put("totalMs", timing.getTotalMs());
+        result.put("bodyBytes", timing.getBodyBytes());
+        result.put("connectionReused", timing.isConnectionReused());
+        result.put("protocol", timing.getProtocol());
+        return result;
+    }
+
+    private static Map<String, String> toHeaderMap(JSObject headers) {
+        Map<String, String> map = new HashMap<>();
+        Iterator<String> keys = headers.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            String value = headers.getString(key);
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,339 @@
+package com.jackson.app;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-gated native trace facility with a fixed-size, lock-free ring buffer
+ *
+ * Events are structured - a level, a tag id, an event id and up to three long
+ * arguments - so recording one allocates nothing and builds no strings. Tag and
+ * event ids are registered once in static initializers:
+ * <pre>
+ *   private static final int TRACE_TAG = NativeTrace.tag("NativeBiometric");
+ *   private static final int EV_CHECK = NativeTrace.event("biometric.check");
+ *   ...
+ *   NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CHECK, status);
+ * </pre>
+ *
+ * Gating happens twice:
+ * - Compile time: {@link #COMPILE_LEVEL} comes from BuildConfig.TRACE_LEVEL (set per
+ *   build type in app/build.gradle). It is a constant, so the check folds away in
+ *   the JIT (or in R8 once the call is inlined) and a disabled trace() is dead code
+ * - Run time: {@link #setLevel(int)}, one volatile read per call
+ *
+ * Events at or above the logcat level (WARN in release, DEBUG in debug builds) are
+ * also formatted and written to logcat; everything else only lands in the ring,
+ * which JS can pull through TracePlugin for diagnostics.
+ *
+ * Writers claim a slot with one atomic increment and publish it with one ordered
+ * store; readers copy a slot and re-check its sequence so a slot overwritten
+ * mid-read is skipped rather than returned torn.
+ */
+public final class NativeTrace {
+
+    public static final int VERBOSE = Log.VERBOSE;
+    public static final int DEBUG = Log.DEBUG;
+    public static final int INFO = Log.INFO;
+    public static final int WARN = Log.WARN;
+    public static final int ERROR = Log.ERROR;
+    public static final int OFF = Log.ASSERT + 1;
+
+    /** Lowest level compiled into this build */
+    public static final int COMPILE_LEVEL = BuildConfig.TRACE_LEVEL;
+
+    static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_TAGS = 256;
+
+    private static volatile int level = COMPILE_LEVEL;
+    private static volatile int logcatLevel = BuildConfig.DEBUG ? DEBUG : WARN;
+
+    // Ring buffer, one slot per index across the parallel arrays. published holds
+    // seq + 1 of the event in the slot, or 0 while it is being written.
+    private static final AtomicLong next = new AtomicLong();
+    private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private static final long[] times = new long[CAPACITY];
+    private static final int[] meta = new int[CAPACITY];
+    private static final int[] events = new int[CAPACITY];
+    private static final long[] arg0 = new long[CAPACITY];
+    private static final long[] arg1 = new long[CAPACITY];
+    private static final long[] arg2 = new long[CAPACITY];
+
+    private static final String[] tagNames = new String[MAX_TAGS];
+    private static int tagCount;
+    private static final List<String> eventNames = new ArrayList<>();
+    private static final Map<String, Integer> eventIds = new HashMap<>();
+
+    private NativeTrace() {
+    }
+
+    // ========================================================================
+    // Registration
+    // ========================================================================
+
+    /**
+     * Register (or look up) a tag; call from a static initializer
+     */
+    public static synchronized int tag(String name) {
+        for (int i = 0; i < tagCount; i++) {
+            if (tagNames[i].equals(name)) {
+                return i;
+            }
+        }
+        if (tagCount == MAX_TAGS) {
+            throw new IllegalStateException("Too many trace tags");
+        }
+        tagNames[tagCount] = name;
+        return tagCount++;
+    }
+
+    /**
+     * Register (or look up) an event id; call from a static initializer
+     */
+    public static synchronized int event(String name) {
+        Integer id = eventIds.get(name);
+        if (id == null) {
+            id = eventNames.size();
+            eventNames.add(name);
+            eventIds.put(name, id);
+        }
+        return id;
+    }
+
+    // ========================================================================
+    // Levels
+    // ========================================================================
+
+    public static boolean isEnabled(int eventLevel) {
+        return eventLevel >= COMPILE_LEVEL && eventLevel >= level;
+    }
+
+    /**
+     * Runtime level; cannot go below {@link #COMPILE_LEVEL}
+     */
+    public static void setLevel(int newLevel) {
+        level = Math.max(newLevel, COMPILE_LEVEL);
+    }
+
+    public static int getLevel() {
+        return level;
+    }
+
+    public static void setLogcatLevel(int newLevel) {
+        logcatLevel = newLevel;
+    }
+
+    public static int getLogcatLevel() {
+        return logcatLevel;
+    }
+
+    // ========================================================================
+    // Recording
+    // ========================================================================
+
+    public static void trace(int eventLevel, int tag, int event) {
+        if (eventLevel < COMPILE_LEVEL || eventLevel < level) {
+            return;
+        }
+        record(eventLevel, tag, event, 0, 0, 0, 0);
+    }
+
+    public static void trace(int eventLevel, int tag, int event, long a) {
+        if (eventLevel < COMPILE_LEVEL || eventLevel < level) {
+            return;
+        }
+        record(eventLevel, tag, event, 1, a, 0, 0);
+    }
+
+    public static void trace(int eventLevel, int tag, int event, long a, long b) {
+        if (eventLevel < COMPILE_LEVEL || eventLevel < level) {
+            return;
+        }
+        record(eventLevel, tag, event, 2, a, b, 0);
+    }
+
+    public static void trace(int eventLevel, int tag, int event, long a, long b, long c) {
+        if (eventLevel < COMPILE_LEVEL || eventLevel < level) {
+            return;
+        }
+        record(eventLevel, tag, event, 3, a, b, c);
+    }
+
+    /**
+     * Record a WARN event; the exception itself only goes to logcat
+     */
+    public static void warn(int tag, int event, Throwable throwable) {
+        if (WARN < COMPILE_LEVEL || WARN < level) {
+            return;
+        }
+        recordThrowable(WARN, tag, event, throwable);
+    }
+
+    /**
+     * Record an ERROR event; the exception itself only goes to logcat
+     */
+    public static void error(int tag, int event, Throwable throwable) {
+        if (ERROR < COMPILE_LEVEL || ERROR < level) {
+            return;
+        }
+        recordThrowable(ERROR, tag, event, throwable);
+    }
+
+    private static void recordThrowable(int eventLevel, int tag, int event, Throwable throwable) {
+        append(eventLevel, tag, event, 0, 0, 0, 0);
+        if (eventLevel >= logcatLevel) {
+            Log.println(eventLevel, tagName(tag), eventName(event) + "\n" + Log.getStackTraceString(throwable));
+        }
+    }
+
+    private static void record(int eventLevel, int tag, int event, int argCount, long a, long b, long c) {
+        append(eventLevel, tag, event, argCount, a, b, c);
+        if (eventLevel >= logcatLevel) {
+            Log.println(eventLevel, tagName(tag), format(event, argCount, a, b, c));
+        }
+    }
+
+    private static void append(int eventLevel, int tag, int event, int argCount, long a, long b, long c) {
+        long seq = next.getAndIncrement();
+        int slot = (int) (seq & MASK);
+        published.set(slot, 0);
+        times[slot] = System.nanoTime();
+        meta[slot] = (eventLevel << 16) | (argCount << 8) | tag;
+        events[slot] = event;
+        arg0[slot] = a;
+        arg1[slot] = b;
+        arg2[slot] = c;
+        published.set(slot, seq + 1);
+    }
+
+    private static String format(int event, int argCount, long a, long b, long c) {
+        StringBuilder line = new StringBuilder(eventName(event));
+        long[] args = {a, b, c};
+        for (int i = 0; i < argCount; i++) {
+            line.append(i == 0 ? " " : ", ").append(args[i]);
+        }
+        return line.toString();
+    }
+
+    private static synchronized String tagName(int tag) {
+        return tag < tagCount ? tagNames[tag] : "tag#" + tag;
+    }
+
+    private static synchronized String eventName(int event) {
+        return event < eventNames.size() ? eventNames.get(event) : "event#" + event;
+    }
+
+    // ========================================================================
+    // Reading
+    // ========================================================================
+
+    /** Sequence number the next event will get */
+    public static long nextSeq() {
+        return next.get();
+    }
+
+    /**
+     * Copy the buffered events with seq >= sinceSeq, oldest first
+     *
+     * @return Events still in the ring; {@link Snapshot#dropped} counts the ones
+     *         requested but already overwritten (or overwritten while reading)
+     */
+    public static Snapshot snapshot(long sinceSeq) {
+        long end = next.get();
+        long start = Math.max(sinceSeq, Math.max(0, end - CAPACITY));
+        List<Event> out = new ArrayList<>((int) Math.max(0, end - start));
+        long dropped = Math.max(0, start - sinceSeq);
+
+        for (long seq = start; seq < end; seq++) {
+            int slot = (int) (seq & MASK);
+            if (published.get(slot) != seq + 1) {
+                dropped++;
+                continue;
+            }
+            long time = times[slot];
+            int slotMeta = meta[slot];
+            int event = events[slot];
+            long a = arg0[slot];
+            long b = arg1[slot];
+            long c = arg2[slot];
+            if (published.get(slot) != seq + 1) {
+                dropped++;
+                continue;
+            }
+            int argCount = (slotMeta >> 8) & 0xFF;
+            long[] args = new long[argCount];
+            long[] all = {a, b, c};
+            System.arraycopy(all, 0, args, 0, argCount);
+            out.add(new Event(seq, time, slotMeta >> 16, tagName(slotMeta & 0xFF), eventName(event), args));
+        }
+        return new Snapshot(out, end, dropped);
+    }
+
+    public static String levelName(int eventLevel) {
+        switch (eventLevel) {
+            case VERBOSE: return "verbose";
+            case DEBUG: return "debug";
+            case INFO: return "info";
+            case WARN: return "warn";
+            case ERROR: return "error";
+            default: return eventLevel >= OFF ? "off" : "level" + eventLevel;
+        }
+    }
+
+    public static int parseLevel(String name) {
+        switch (name.toLowerCase()) {
+            case "verbose": return VERBOSE;
+            case "debug": return DEBUG;
+            case "info": return INFO;
+            case "warn": return WARN;
+            case "error": return ERROR;
+            case "off": return OFF;
+            default: throw new IllegalArgumentException("Unknown trace level: " + name);
+        }
+    }
+
+    /**
+     * One recorded event
+     */
+    public static final class Event {
+        public final long seq;
+        /** System.nanoTime() at record time */
+        public final long timeNanos;
+        public final int level;
+        public final String tag;
+        public final String event;
+        public final long[] args;
+
+        Event(long seq, long timeNanos, int level, String tag, String event, long[] args) {
+            this.seq = seq;
+            this.timeNanos = timeNanos;
+            this.level = level;
+            this.tag = tag;
+            this.event = event;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Result of {@link #snapshot(long)}
+     */
+    public static final class Snapshot {
+        public final List<Event> events;
+        /** Pass back as sinceSeq to continue where this snapshot ended */
+        public final long nextSeq;
+        public final long dropped;
+
+        Snapshot(List<Event> events, long nextSeq, long dropped) {
+            this.events = events;
+            this.nextSeq = nextSeq;
+            this.dropped = dropped;
+        }
+    }
+}
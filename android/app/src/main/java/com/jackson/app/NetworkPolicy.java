@@ -0,0 +1,148 @@
+package com.jackson.app;
+
+/**
+ * Request policy recommended for the current network
+ *
+ * Derived from a {@link NetworkStatus} (real transport, VPN, metered, validated,
+ * bandwidth estimate) so the web layer can size timeouts, concurrency, prefetching
+ * and image quality to the link instead of guessing from browser heuristics:
+ * - Quality tiers come from the downstream bandwidth estimate
+ * - A VPN adds a tunnel hop, so timeouts and retry delays are stretched rather
+ *   than the link being treated as slow
+ * - Metered links and Data Saver turn prefetching off and cap image quality
+ * - A network that hasn't passed validation (captive portal) is treated as poor
+ */
+public final class NetworkPolicy {
+
+    public static final String QUALITY_OFFLINE = "offline";
+    public static final String QUALITY_POOR = "poor";
+    public static final String QUALITY_FAIR = "fair";
+    public static final String QUALITY_GOOD = "good";
+    public static final String QUALITY_EXCELLENT = "excellent";
+
+    public static final String IMAGE_LOW = "low";
+    public static final String IMAGE_MEDIUM = "medium";
+    public static final String IMAGE_HIGH = "high";
+
+    /** Downstream estimates (kbps) at or below which a link falls into a tier */
+    static final int POOR_MAX_KBPS = 400;
+    static final int FAIR_MAX_KBPS = 3_000;
+    static final int GOOD_MAX_KBPS = 25_000;
+
+    public final String quality;
+    public final int timeoutMs;
+    public final int maxInFlight;
+    public final int retries;
+    public final int retryBaseMs;
+    public final boolean prefetch;
+    public final String imageQuality;
+
+    NetworkPolicy(String quality, int timeoutMs, int maxInFlight, int retries, int retryBaseMs,
+                  boolean prefetch, String imageQuality) {
+        this.quality = quality;
+        this.timeoutMs = timeoutMs;
+        this.maxInFlight = maxInFlight;
+        this.retries = retries;
+        this.retryBaseMs = retryBaseMs;
+        this.prefetch = prefetch;
+        this.imageQuality = imageQuality;
+    }
+
+    /**
+     * Snapshot of the default network, as reported by ConnectivityManager
+     */
+    public static final class NetworkStatus {
+        public static final String TRANSPORT_NONE = "none";
+        public static final String TRANSPORT_WIFI = "wifi";
+        public static final String TRANSPORT_CELLULAR = "cellular";
+        public static final String TRANSPORT_ETHERNET = "ethernet";
+        public static final String TRANSPORT_OTHER = "other";
+
+        public static final NetworkStatus OFFLINE =
+            new NetworkStatus(false, TRANSPORT_NONE, false, false, false, 0, 0, false);
+
+        public final boolean connected;
+        /** Underlying transport; a VPN is reported separately */
+        public final String transport;
+        public final boolean vpn;
+        public final boolean metered;
+        /** Internet access confirmed by the platform (no captive portal) */
+        public final boolean validated;
+        public final int downKbps;
+        public final int upKbps;
+        public final boolean dataSaver;
+
+        public NetworkStatus(boolean connected, String transport, boolean vpn, boolean metered,
+                             boolean validated, int downKbps, int upKbps, boolean dataSaver) {
+            this.connected = connected;
+            this.transport = transport;
+            this.vpn = vpn;
+            this.metered = metered;
+            this.validated = validated;
+            this.downKbps = downKbps;
+            this.upKbps = upKbps;
+            this.dataSaver = dataSaver;
+        }
+    }
+
+    /**
+     * Policy for a network status
+     */
+    public static NetworkPolicy forStatus(NetworkStatus status) {
+        String quality = qualityOf(status);
+        NetworkPolicy base;
+        switch (quality) {
+            case QUALITY_OFFLINE:
+                return new NetworkPolicy(quality, 10_000, 1, 0, 5_000, false, IMAGE_LOW);
+            case QUALITY_POOR:
+                base = new NetworkPolicy(quality, 45_000, 2, 2, 3_000, false, IMAGE_LOW);
+                break;
+            case QUALITY_FAIR:
+                base = new NetworkPolicy(quality, 30_000, 4, 3, 2_000, false, IMAGE_MEDIUM);
+                break;
+            case QUALITY_GOOD:
+                base = new NetworkPolicy(quality, 20_000, 6, 3, 1_000, true, IMAGE_HIGH);
+                break;
+            default:
+                base = new NetworkPolicy(quality, 15_000, 8, 3, 500, true, IMAGE_HIGH);
+                break;
+        }
+
+        int timeoutMs = base.timeoutMs;
+        int retryBaseMs = base.retryBaseMs;
+        if (status.vpn) {
+            timeoutMs = timeoutMs * 3 / 2;
+            retryBaseMs = retryBaseMs * 3 / 2;
+        }
+        boolean prefetch = base.prefetch && !status.metered && !status.dataSaver;
+        String imageQuality = base.imageQuality;
+        if (status.dataSaver) {
+            imageQuality = IMAGE_LOW;
+        } else if (status.metered && IMAGE_HIGH.equals(imageQuality)) {
+            imageQuality = IMAGE_MEDIUM;
+        }
+        return new NetworkPolicy(quality, timeoutMs, base.maxInFlight, base.retries, retryBaseMs,
+            prefetch, imageQuality);
+    }
+
+    static String qualityOf(NetworkStatus status) {
+        if (!status.connected) {
+            return QUALITY_OFFLINE;
+        }
+        if (!status.validated) {
+            return QUALITY_POOR;
+        }
+        int down = status.downKbps;
+        if (down <= 0) {
+            // No estimate (some VPNs and OEMs): assume a usable but unremarkable link
+            return QUALITY_FAIR;
+        }
+        if (down <= POOR_MAX_KBPS) {
+            return QUALITY_POOR;
+        }
+        if (down <= FAIR_MAX_KBPS) {
+            return QUALITY_FAIR;
+        }
+        return down <= GOOD_MAX_KBPS ? QUALITY_GOOD : QUALITY_EXCELLENT;
+    }
+}
@@ -0,0 +1,423 @@
+package com.jackson.app;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Local notification inbox, synced incrementally with the profile notifications API
+ *
+ * JS reads the {@link Store} (SQLite in the app, see {@link InboxDatabase}) as
+ * soon as a screen mounts, and the network sync runs behind it:
+ * - Each sync sends the stored cursor as ?since=; the response's "cursor" (or
+ *   the newest updatedAt / createdAt) becomes the next one
+ * - Rows are keyed by _id, and a row whose JSON is unchanged is not rewritten,
+ *   so an unchanged response costs no writes and raises no change event
+ * - A response marked "delta": true only upserts; any other response is the
+ *   full list, and rows missing from it are dropped
+ * - Dismissing hides the row at once and queues the id. Queued ids are sent
+ *   together {@link #DISMISS_DELAY_MS} after the first dismissal (one burst of
+ *   parallel requests over the shared {@link HttpGateway} pool, not one per tap),
+ *   retried with backoff and kept across restarts
+ *
+ * Rows belong to one account; configuring another account clears the inbox.
+ * The {@link Listener} hears about every change to what JS would show.
+ */
+public final class NotificationInbox {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🔔 Inbox");
+    /** args: received, changed, removed */
+    private static final int EV_SYNCED = NativeTrace.event("inbox synced");
+    /** args: HTTP status (0 = network) */
+    private static final int EV_SYNC_FAILED = NativeTrace.event("inbox sync failed");
+    /** args: sent, kept for retry */
+    private static final int EV_DISMISSALS = NativeTrace.event("dismissals flushed");
+
+    static final String FIELD_ID = "_id";
+    static final long DISMISS_DELAY_MS = 1_500;
+    static final int DISMISS_BATCH = 50;
+    static final long MAX_DISMISS_BACKOFF_MS = 5 * 60_000;
+    static final long REQUEST_TIMEOUT_MS = 20_000;
+    static final int MAX_VISIBLE = 100;
+
+    /**
+     * One stored notification
+     */
+    public static final class Entry {
+        final String id;
+        /** Server JSON, as received */
+        final String payload;
+        /** createdAt; ISO-8601 strings sort chronologically */
+        final String sortKey;
+        final boolean read;
+        final boolean dismissed;
+
+        Entry(String id, String payload, String sortKey, boolean read, boolean dismissed) {
+            this.id = id;
+            this.payload = payload;
+            this.sortKey = sortKey;
+            this.read = read;
+            this.dismissed = dismissed;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+    }
+
+    /**
+     * What JS shows: visible rows newest first, and the unread count
+     */
+    public static final class Snapshot {
+        public final List<Entry> entries;
+        public final int unreadCount;
+        public final long syncedAt;
+
+        Snapshot(List<Entry> entries, int unreadCount, long syncedAt) {
+            this.entries = entries;
+            this.unreadCount = unreadCount;
+            this.syncedAt = syncedAt;
+        }
+    }
+
+    /**
+     * Outcome of one sync
+     */
+    public static final class SyncResult {
+        /** HTTP status, 0 for a network error */
+        public final int status;
+        public final int received;
+        public final int changed;
+        public final int removed;
+
+        SyncResult(int status, int received, int changed, int removed) {
+            this.status = status;
+            this.received = received;
+            this.changed = changed;
+            this.removed = removed;
+        }
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    /**
+     * Persistence. Implementations must survive process death.
+     */
+    interface Store {
+        String account();
+
+        /** Drop every row, queued dismissal and the cursor, and take a new owner */
+        void reset(String account);
+
+        String cursor();
+
+        long syncedAt();
+
+        /** id to payload of every stored row */
+        Map<String, String> payloads();
+
+        /**
+         * Apply one sync atomically
+         *
+         * @param removals Ids to delete
+         */
+        void apply(List<Entry> upserts, Collection<String> removals, String cursor, long syncedAt);
+
+        /** Rows not dismissed, newest first */
+        List<Entry> visible(int limit);
+
+        int unreadCount();
+
+        /**
+         * Hide a row and queue its dismissal
+         *
+         * @return false when the id was already dismissed or unknown
+         */
+        boolean dismiss(String id, long now);
+
+        /** Ids waiting to be sent, oldest first */
+        List<String> pendingDismissals(int limit);
+
+        void removeDismissals(Collection<String> ids);
+    }
+
+    /**
+     * Called on the inbox thread (or the dismissing thread) after each change
+     */
+    public interface Listener {
+        void onInboxChanged(Snapshot snapshot);
+    }
+
+    private final Store store;
+    private final HttpGateway gateway;
+    private final Listener listener;
+    private final long dismissDelayMs;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jackson-inbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile String listUrl;
+    private volatile Map<String, String> headers = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private long scheduledAt = Long.MAX_VALUE;
+    private int dismissFailures;
+
+    public NotificationInbox(Store store, HttpGateway gateway, Listener listener) {
+        this(store, gateway, listener, DISMISS_DELAY_MS);
+    }
+
+    NotificationInbox(Store store, HttpGateway gateway, Listener listener, long dismissDelayMs) {
+        this.store = store;
+        this.gateway = gateway;
+        this.listener = listener;
+        this.dismissDelayMs = dismissDelayMs;
+    }
+
+    /**
+     * Set the signed-in account and where to sync; a different account than the
+     * stored one clears the inbox
+     *
+     * @param listUrl Notifications list URL; dismissals go to listUrl/{id}/dismiss
+     * @param headers Auth headers for both
+     */
+    public synchronized void configure(String account, String listUrl, Map<String, String> headers) {
+        if (account != null && !account.equals(store.account())) {
+            store.reset(account);
+        }
+        this.listUrl = listUrl;
+        this.headers = headers != null ? new HashMap<>(headers) : new HashMap<>();
+    }
+
+    /**
+     * Stored rows of the given account, without touching the network
+     *
+     * @return Empty when the inbox belongs to another account
+     */
+    public Snapshot cached(String account) {
+        if (account != null && !account.equals(store.account())) {
+            return new Snapshot(new ArrayList<>(), 0, 0);
+        }
+        return snapshot();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(store.visible(MAX_VISIBLE), store.unreadCount(), store.syncedAt());
+    }
+
+    /**
+     * Fetch changes since the last sync in the background; queued dismissals go
+     * out right after a successful sync
+     */
+    public CompletableFuture<SyncResult> sync() {
+        return CompletableFuture.supplyAsync(this::syncNow, executor);
+    }
+
+    /**
+     * Hide a notification now and send the dismissal with the next batch
+     *
+     * @return false when it was unknown or already dismissed
+     */
+    public boolean dismiss(String id) {
+        if (!store.dismiss(id, System.currentTimeMillis())) {
+            return false;
+        }
+        listener.onInboxChanged(snapshot());
+        scheduleFlush(dismissDelayMs);
+        return true;
+    }
+
+    /** Send queued dismissals now (network back, app resumed) */
+    public void flushSoon() {
+        scheduleFlush(0);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private SyncResult syncNow() {
+        String url = listUrl;
+        if (url == null) {
+            return new SyncResult(0, 0, 0, 0);
+        }
+        String cursor = store.cursor();
+        if (cursor != null) {
+            url += (url.contains("?") ? "&" : "?") + "since=" + encode(cursor);
+        }
+        HttpGateway.GatewayResponse response;
+        try {
+            response = gateway.execute(new HttpGateway.GatewayRequest(
+                "GET", url, headers, null, REQUEST_TIMEOUT_MS)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SyncResult(0, 0, 0, 0);
+        } catch (ExecutionException e) {
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_SYNC_FAILED, 0);
+            return new SyncResult(0, 0, 0, 0);
+        }
+        if (response.status < 200 || response.status >= 300) {
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_SYNC_FAILED, response.status);
+            return new SyncResult(response.status, 0, 0, 0);
+        }
+
+        SyncResult result;
+        try {
+            result = merge(new JSONObject(response.bodyAsString()), response.status);
+        } catch (JSONException e) {
+            NativeTrace.warn(TRACE_TAG, EV_SYNC_FAILED, e);
+            return new SyncResult(response.status, 0, 0, 0);
+        }
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_SYNCED, result.received, result.changed, result.removed);
+        if (result.changed > 0 || result.removed > 0) {
+            listener.onInboxChanged(snapshot());
+        }
+        flushDismissals();
+        return result;
+    }
+
+    /**
+     * Fold one list response into the store
+     */
+    SyncResult merge(JSONObject body, int status) throws JSONException {
+        JSONArray data = body.optJSONArray("data");
+        if (data == null) {
+            throw new JSONException("No data array");
+        }
+        boolean delta = body.optBoolean("delta", false);
+        Map<String, String> stored = store.payloads();
+        Set<String> pending = new HashSet<>(store.pendingDismissals(Integer.MAX_VALUE));
+        Set<String> seen = new HashSet<>();
+        List<Entry> upserts = new ArrayList<>();
+        List<String> removals = new ArrayList<>();
+        String cursor = store.cursor();
+
+        for (int i = 0; i < data.length(); i++) {
+            JSONObject item = data.optJSONObject(i);
+            String id = item != null ? item.optString(FIELD_ID, null) : null;
+            if (id == null || !seen.add(id)) {
+                continue;
+            }
+            String stamp = item.optString("updatedAt", item.optString("createdAt", ""));
+            if (!stamp.isEmpty() && (cursor == null || stamp.compareTo(cursor) > 0)) {
+                cursor = stamp;
+            }
+            String payload = item.toString();
+            if (payload.equals(stored.get(id))) {
+                continue;
+            }
+            boolean dismissed = item.optBoolean("dismissed", false) || pending.contains(id);
+            if (dismissed && !stored.containsKey(id)) {
+                // Never shown here; nothing to keep
+                continue;
+            }
+            boolean read = item.optBoolean("read", item.optBoolean("isRead", false));
+            upserts.add(new Entry(id, payload, item.optString("createdAt", ""), read, dismissed));
+        }
+        if (!delta) {
+            for (String id : stored.keySet()) {
+                if (!seen.contains(id)) {
+                    removals.add(id);
+                }
+            }
+        }
+        String serverCursor = body.optString("cursor", "");
+        store.apply(upserts, removals, serverCursor.isEmpty() ? cursor : serverCursor, System.currentTimeMillis());
+        return new SyncResult(status, seen.size(), upserts.size(), removals.size());
+    }
+
+    private void scheduleFlush(long delayMs) {
+        scheduleFlushAt(System.currentTimeMillis() + delayMs);
+    }
+
+    private synchronized void scheduleFlushAt(long when) {
+        if (executor.isShutdown() || (scheduledFlush != null && !scheduledFlush.isDone() && scheduledAt <= when)) {
+            return;
+        }
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        scheduledAt = when;
+        long delay = Math.max(0, when - System.currentTimeMillis());
+        scheduledFlush = executor.schedule(this::flushDismissals, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** Send every queued dismissal at once; runs on the inbox thread only */
+    private void flushDismissals() {
+        synchronized (this) {
+            scheduledAt = Long.MAX_VALUE;
+        }
+        String url = listUrl;
+        List<String> ids = store.pendingDismissals(DISMISS_BATCH);
+        if (url == null || ids.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<HttpGateway.GatewayResponse>> calls = new ArrayList<>();
+        for (String id : ids) {
+            calls.add(gateway.execute(new HttpGateway.GatewayRequest(
+                "POST", url + "/" + encode(id) + "/dismiss", headers, null, REQUEST_TIMEOUT_MS)));
+        }
+        List<String> settled = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            int status;
+            try {
+                status = calls.get(i).get().status;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                status = 0;
+            }
+            // Retryable failures stay queued; anything else (done, gone, rejected) is final
+            if (status != 0 && !MutationOutbox.isRetryable(status)) {
+                settled.add(ids.get(i));
+            }
+        }
+        store.removeDismissals(settled);
+        int kept = ids.size() - settled.size();
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_DISMISSALS, settled.size(), kept);
+
+        if (kept > 0) {
+            dismissFailures++;
+            scheduleFlush(Math.min(dismissDelayMs << Math.min(dismissFailures, 10), MAX_DISMISS_BACKOFF_MS));
+        } else {
+            dismissFailures = 0;
+            if (ids.size() == DISMISS_BATCH) {
+                scheduleFlush(0);
+            }
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Wait for pending work in tests */
+    void awaitIdle(long timeoutMs) throws InterruptedException, ExecutionException, TimeoutException {
+        executor.submit(() -> { }).get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,148 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Notification Inbox Plugin for Jackson App
+ *
+ * JS access to {@link NotificationInbox}:
+ * - getCached({ account }): stored notifications at once, no network;
+ *   resolves with { notifications, unreadCount, syncedAt }
+ * - sync({ account, url, headers }): fetch changes since the last sync; resolves
+ *   with { status, received, changed, removed, unreadCount } once merged
+ * - dismiss({ id }): hide now, send with the next batch; resolves with { dismissed, unreadCount }
+ * - flush(): send queued dismissals now
+ *
+ * Events (notifyListeners):
+ * - "inboxChanged": { notifications, unreadCount, syncedAt }, only when what JS
+ *   shows actually changed
+ *
+ * Queued dismissals are also sent when a validated network comes back
+ * ({@link ConnectivityMonitor}).
+ *
+ * JS side: lib/notificationInbox.ts
+ */
+@CapacitorPlugin(name = "NotificationInbox")
+public class NotificationInboxPlugin extends Plugin {
+
+    static final String EVENT_CHANGED = "inboxChanged";
+
+    private NotificationInbox inbox;
+
+    private final ConnectivityMonitor.Listener connectivityListener = (status, policy) -> {
+        if (status.connected && status.validated) {
+            inbox.flushSoon();
+        }
+    };
+
+    @Override
+    public void load() {
+        inbox = new NotificationInbox(
+            InboxDatabase.getInstance(getContext()),
+            HttpGateway.getInstance(),
+            snapshot -> notifyListeners(EVENT_CHANGED, toJs(snapshot)));
+        ConnectivityMonitor.getInstance(getContext()).addListener(connectivityListener);
+    }
+
+    @PluginMethod
+    public void getCached(PluginCall call) {
+        call.resolve(toJs(inbox.cached(call.getString("account"))));
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - account: Signed-in user id; another account than the stored one clears the inbox (required)
+     *   - url: Notifications list URL; dismissals go to url/{id}/dismiss (required)
+     *   - headers: Request headers object, including auth
+     */
+    @PluginMethod
+    public void sync(PluginCall call) {
+        String account = call.getString("account");
+        String url = call.getString("url");
+        if (account == null || url == null) {
+            call.reject("account and url are required");
+            return;
+        }
+        inbox.configure(account, url, toHeaderMap(call.getObject("headers", new JSObject())));
+        inbox.sync().whenComplete((result, error) -> {
+            if (error != null) {
+                call.reject("Sync failed: " + error.getMessage());
+                return;
+            }
+            JSObject ret = new JSObject();
+            ret.put("status", result.status);
+            ret.put("received", result.received);
+            ret.put("changed", result.changed);
+            ret.put("removed", result.removed);
+            ret.put("unreadCount", inbox.snapshot().unreadCount);
+            call.resolve(ret);
+        });
+    }
+
+    @PluginMethod
+    public void dismiss(PluginCall call) {
+        String id = call.getString("id");
+        if (id == null) {
+            call.reject("id is required");
+            return;
+        }
+        boolean dismissed = inbox.dismiss(id);
+        JSObject ret = new JSObject();
+        ret.put("dismissed", dismissed);
+        ret.put("unreadCount", inbox.snapshot().unreadCount);
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void flush(PluginCall call) {
+        inbox.flushSoon();
+        call.resolve();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        ConnectivityMonitor.getInstance(getContext()).removeListener(connectivityListener);
+        inbox.shutdown();
+        super.handleOnDestroy();
+    }
+
+    private static JSObject toJs(NotificationInbox.Snapshot snapshot) {
+        JSArray notifications = new JSArray();
+        for (NotificationInbox.Entry entry : snapshot.entries) {
+            try {
+                notifications.put(new JSObject(entry.getPayload()));
+            } catch (JSONException e) {
+                // Stored from a parsed response; skip a row that was cut short
+            }
+        }
+        JSObject result = new JSObject();
+        result.put("notifications", notifications);
+        result.put("unreadCount", snapshot.unreadCount);
+        result.put("syncedAt", snapshot.syncedAt);
+        return result;
+    }
+
+    private static Map<String, String> toHeaderMap(JSObject headers) {
+        Map<String, String> map = new HashMap<>();
+        Iterator<String> keys = headers.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            String value = headers.getString(key);
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
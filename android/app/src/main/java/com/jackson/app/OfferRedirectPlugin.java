@@ -0,0 +1,169 @@
+package com.jackson.app;
+
+import android.content.ActivityNotFoundException;
+import android.content.Intent;
+import android.net.Uri;
+import android.webkit.WebSettings;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offer Redirect Plugin for Jackson App
+ *
+ * JS access to {@link OfferRedirectResolver}:
+ * - prefetch(): resolve the redirect chains of the offers on screen in the background
+ *   (skipped when the network policy disables prefetch, e.g. metered or Data Saver)
+ * - resolve(): chain for one offer with per-hop timing, resolving it if needed
+ * - open(): open a resolved Play Store target directly; { opened: false } means
+ *   the caller should open the offer URL itself
+ * - getStats(): cache hit / miss and failure counters
+ *
+ * JS side: lib/redirectResolver.ts
+ */
+@CapacitorPlugin(name = "OfferRedirect")
+public class OfferRedirectPlugin extends Plugin {
+
+    private static final String PLAY_STORE_PACKAGE = "com.android.vending";
+
+    private OfferRedirectResolver resolver;
+
+    @Override
+    public void load() {
+        resolver = OfferRedirectResolver.getInstance();
+        try {
+            resolver.setUserAgent(WebSettings.getDefaultUserAgent(getContext()));
+        } catch (RuntimeException e) {
+            // WebView provider missing or updating; OkHttp's agent is used instead
+        }
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - urls: Offer URLs in display order (required)
+     */
+    @PluginMethod
+    public void prefetch(PluginCall call) {
+        JSArray urls = call.getArray("urls");
+        if (urls == null) {
+            call.reject("urls is required");
+            return;
+        }
+        JSObject result = new JSObject();
+        if (!ConnectivityMonitor.getInstance(getContext()).getPolicy().prefetch) {
+            result.put("queued", 0);
+            result.put("skipped", true);
+            call.resolve(result);
+            return;
+        }
+        List<String> list = new ArrayList<>();
+        try {
+            for (Object url : urls.toList()) {
+                if (url instanceof String && !((String) url).isEmpty()) {
+                    list.add((String) url);
+                }
+            }
+        } catch (JSONException e) {
+            call.reject("urls must be an array of strings");
+            return;
+        }
+        result.put("queued", resolver.prefetch(list));
+        result.put("skipped", false);
+        call.resolve(result);
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - url: Offer URL (required)
+     */
+    @PluginMethod
+    public void resolve(PluginCall call) {
+        String url = call.getString("url");
+        if (url == null || url.isEmpty()) {
+            call.reject("url is required");
+            return;
+        }
+        boolean cached = resolver.peek(url) != null;
+        resolver.resolve(url).whenComplete((chain, error) -> {
+            if (error != null) {
+                call.reject("Redirect resolution failed", "RESOLVE_FAILED", unwrap(error));
+                return;
+            }
+            JSObject result = toJs(chain);
+            result.put("cached", cached);
+            call.resolve(result);
+        });
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - url: Offer URL (required)
+     */
+    @PluginMethod
+    public void open(PluginCall call) {
+        String url = call.getString("url");
+        OfferRedirectResolver.Chain chain = url == null ? null : resolver.peek(url);
+        JSObject result = new JSObject();
+        if (chain == null || !chain.storeTarget) {
+            result.put("opened", false);
+            call.resolve(result);
+            return;
+        }
+
+        Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse(chain.targetUrl))
+            .setPackage(PLAY_STORE_PACKAGE)
+            .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+        try {
+            getContext().startActivity(intent);
+        } catch (ActivityNotFoundException e) {
+            // No Play Store app; let any handler (browser) take the listing
+            try {
+                getContext().startActivity(intent.setPackage(null));
+            } catch (ActivityNotFoundException fallback) {
+                result.put("opened", false);
+                call.resolve(result);
+                return;
+            }
+        }
+        result.put("opened", true);
+        result.put("targetUrl", chain.targetUrl);
+        result.put("savedMs", chain.totalMs);
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Long> entry : resolver.getStats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+
+    private static JSObject toJs(OfferRedirectResolver.Chain chain) {
+        JSObject result = new JSObject();
+        result.put("offerUrl", chain.offerUrl);
+        result.put("targetUrl", chain.targetUrl);
+        result.put("storeTarget", chain.storeTarget);
+        result.put("hops", new JSArray(chain.hops));
+        result.put("hopMs", new JSArray(chain.hopMs));
+        result.put("totalMs", chain.totalMs);
+        result.put("resolvedAt", chain.resolvedAt);
+        return result;
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new Exception(cause);
+    }
+}
@@ -0,0 +1,303 @@
+package com.jackson.app;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Ahead-of-time resolution of offer tracking redirects
+ *
+ * A Besitos offer URL goes through several tracking redirects before it reaches
+ * the Play Store. Opening it in the browser on tap means waiting for every hop.
+ * This resolver follows the chain in the background for the offers on screen,
+ * one hop at a time with redirects disabled, and caches the final target for
+ * {@link #DEFAULT_TTL_MS}. A tap on a resolved offer can then open the store
+ * listing directly.
+ *
+ * - At most {@code maxConcurrent} chains resolve at once; the rest queue
+ * - Concurrent requests for the same offer share one resolution
+ * - Only 3xx Location hops are followed. A chain that ends on a page (JS or meta
+ *   refresh redirect) is cached with {@link Chain#storeTarget} false, and callers
+ *   should open the original URL as before
+ * - Hops use the shared {@link HttpGateway} connection pool, so re-resolving an
+ *   expired entry reuses warm connections to the tracking hosts
+ */
+public final class OfferRedirectResolver {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🔀 OfferRedirect");
+    /** args: hops, total ms, 1 if store target */
+    private static final int EV_RESOLVED = NativeTrace.event("chain resolved");
+    private static final int EV_FAILED = NativeTrace.event("chain failed");
+    /** args: queued */
+    private static final int EV_PREFETCH = NativeTrace.event("prefetch queued");
+
+    static final long DEFAULT_TTL_MS = 10 * 60_000;
+    static final int DEFAULT_MAX_CONCURRENT = 3;
+    static final int MAX_HOPS = 10;
+    static final int MAX_ENTRIES = 64;
+
+    private static final String PLAY_HOST = "play.google.com";
+
+    /**
+     * A resolved redirect chain
+     */
+    public static final class Chain {
+        public final String offerUrl;
+        /** Last URL of the chain */
+        public final String targetUrl;
+        /** True when targetUrl is a Play Store listing that can be opened directly */
+        public final boolean storeTarget;
+        /** Every URL visited, offer first */
+        public final List<String> hops;
+        /** Duration of each hop's request */
+        public final List<Long> hopMs;
+        public final long totalMs;
+        /** Wall-clock time of resolution */
+        public final long resolvedAt;
+        private final long resolvedNanos;
+
+        Chain(String offerUrl, String targetUrl, boolean storeTarget, List<String> hops,
+              List<Long> hopMs, long totalMs, long resolvedNanos) {
+            this.offerUrl = offerUrl;
+            this.targetUrl = targetUrl;
+            this.storeTarget = storeTarget;
+            this.hops = Collections.unmodifiableList(hops);
+            this.hopMs = Collections.unmodifiableList(hopMs);
+            this.totalMs = totalMs;
+            this.resolvedAt = System.currentTimeMillis();
+            this.resolvedNanos = resolvedNanos;
+        }
+
+        long ageMs() {
+            return (System.nanoTime() - resolvedNanos) / 1_000_000;
+        }
+    }
+
+    private final OkHttpClient client;
+    private final long ttlMs;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, CompletableFuture<Chain>> inFlight = new ConcurrentHashMap<>();
+    private volatile String userAgent;
+
+    /** LRU of resolved chains, guarded by itself */
+    private final LinkedHashMap<String, Chain> cache = new LinkedHashMap<String, Chain>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Chain> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong resolved = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private static volatile OfferRedirectResolver instance;
+
+    public static OfferRedirectResolver getInstance() {
+        OfferRedirectResolver local = instance;
+        if (local == null) {
+            synchronized (OfferRedirectResolver.class) {
+                local = instance;
+                if (local == null) {
+                    local = new OfferRedirectResolver(
+                        HttpGateway.getInstance().getClient(), DEFAULT_TTL_MS, DEFAULT_MAX_CONCURRENT);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    OfferRedirectResolver(OkHttpClient baseClient, long ttlMs, int maxConcurrent) {
+        this.client = baseClient.newBuilder()
+            .followRedirects(false)
+            .followSslRedirects(false)
+            .callTimeout(15, TimeUnit.SECONDS)
+            .build();
+        this.ttlMs = ttlMs;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "jackson-redirect");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * User-Agent sent on every hop; trackers route browsers and bots differently,
+     * so this should be the WebView's
+     */
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    /**
+     * Fresh cached chain for the offer, or null
+     */
+    public Chain peek(String offerUrl) {
+        synchronized (cache) {
+            Chain chain = cache.get(offerUrl);
+            if (chain == null) {
+                return null;
+            }
+            if (chain.ageMs() >= ttlMs) {
+                cache.remove(offerUrl);
+                return null;
+            }
+            return chain;
+        }
+    }
+
+    /**
+     * Cached chain, or the result of a new (or already running) resolution
+     */
+    public CompletableFuture<Chain> resolve(String offerUrl) {
+        Chain cached = peek(offerUrl);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<Chain> future = new CompletableFuture<>();
+        CompletableFuture<Chain> existing = inFlight.putIfAbsent(offerUrl, future);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(() -> {
+            try {
+                Chain chain = follow(offerUrl);
+                synchronized (cache) {
+                    cache.put(offerUrl, chain);
+                }
+                resolved.incrementAndGet();
+                NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_RESOLVED, chain.hops.size() - 1,
+                    chain.totalMs, chain.storeTarget ? 1 : 0);
+                future.complete(chain);
+            } catch (IOException | RuntimeException e) {
+                failures.incrementAndGet();
+                NativeTrace.warn(TRACE_TAG, EV_FAILED, e);
+                future.completeExceptionally(e);
+            } finally {
+                inFlight.remove(offerUrl, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Resolve every offer that isn't cached or already resolving, in list order
+     *
+     * @return Number of resolutions started
+     */
+    public int prefetch(List<String> offerUrls) {
+        int queued = 0;
+        for (String url : offerUrls) {
+            if (peek(url) == null && !inFlight.containsKey(url)) {
+                resolve(url);
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_PREFETCH, queued);
+        }
+        return queued;
+    }
+
+    /** Snapshot of resolver counters for diagnostics */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("resolved", resolved.get());
+        stats.put("failures", failures.get());
+        stats.put("inFlight", (long) inFlight.size());
+        synchronized (cache) {
+            stats.put("cached", (long) cache.size());
+        }
+        return stats;
+    }
+
+    private Chain follow(String offerUrl) throws IOException {
+        long start = System.nanoTime();
+        List<String> hops = new ArrayList<>();
+        List<Long> hopMs = new ArrayList<>();
+        hops.add(offerUrl);
+
+        String current = offerUrl;
+        for (int hop = 0; hop < MAX_HOPS; hop++) {
+            if (isStoreUrl(current) || !isHttp(current)) {
+                break;
+            }
+            HttpUrl url = HttpUrl.get(current);
+            Request.Builder request = new Request.Builder().url(url).get();
+            String agent = userAgent;
+            if (agent != null) {
+                request.header("User-Agent", agent);
+            }
+
+            long hopStart = System.nanoTime();
+            String location;
+            try (Response response = client.newCall(request.build()).execute()) {
+                location = response.isRedirect() ? response.header("Location") : null;
+            }
+            hopMs.add((System.nanoTime() - hopStart) / 1_000_000);
+
+            if (location == null) {
+                return chain(offerUrl, current, hops, hopMs, start);
+            }
+            HttpUrl next = url.resolve(location);
+            // Non-http Locations (market://, intent://) end the chain as-is
+            current = next != null ? next.toString() : location;
+            hops.add(current);
+        }
+        if (isStoreUrl(current) || !isHttp(current)) {
+            return chain(offerUrl, current, hops, hopMs, start);
+        }
+        throw new IOException("More than " + MAX_HOPS + " redirects");
+    }
+
+    private static Chain chain(String offerUrl, String target, List<String> hops, List<Long> hopMs,
+                               long startNanos) {
+        long now = System.nanoTime();
+        return new Chain(offerUrl, target, isStoreUrl(target), hops, hopMs,
+            (now - startNanos) / 1_000_000, now);
+    }
+
+    private static boolean isHttp(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        return lower.startsWith("https://") || lower.startsWith("http://");
+    }
+
+    /**
+     * Play Store listing (market://details or play.google.com/store/apps/details)
+     */
+    static boolean isStoreUrl(String url) {
+        String lower = url.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("market://details")) {
+            return true;
+        }
+        HttpUrl parsed = HttpUrl.parse(url);
+        return parsed != null
+            && PLAY_HOST.equals(parsed.host())
+            && parsed.encodedPath().startsWith("/store/apps/details")
+            && parsed.queryParameter("id") != null;
+    }
+}
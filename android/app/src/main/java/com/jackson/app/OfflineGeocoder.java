@@ -0,0 +1,144 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.AssetManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Offline reverse geocoding from the bundled place list
+ *
+ * assets/geo/cities.tsv and countries.tsv are packed into a {@link GeoIndex} file
+ * in no-backup storage the first time the app version runs (assets are compressed
+ * inside the APK, so they can't be mapped in place), then memory-mapped read-only
+ * on every later start. Lookups are pure in-memory tree walks - no network, no
+ * Geocoder service - and take microseconds.
+ *
+ * {@link #prefetch} maps (or packs) the index off the main thread so the first
+ * lookup on the location screen doesn't pay for it.
+ */
+public final class OfflineGeocoder {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🗺️ Geocoder");
+    /** args: places, load ms, 1 if packed this run */
+    private static final int EV_LOADED = NativeTrace.event("index loaded");
+    private static final int EV_LOAD_FAILED = NativeTrace.event("index load failed");
+
+    private static final String ASSET_PLACES = "geo/cities.tsv";
+    private static final String ASSET_COUNTRIES = "geo/countries.tsv";
+    private static final String FILE_PREFIX = "geo-index-";
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "jackson-geo");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static OfflineGeocoder instance;
+
+    private final Context context;
+    private GeoIndex index;
+
+    private OfflineGeocoder(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized OfflineGeocoder getInstance(Context context) {
+        if (instance == null) {
+            instance = new OfflineGeocoder(context);
+        }
+        return instance;
+    }
+
+    /** Load the index in the background */
+    public static void prefetch(Context context) {
+        OfflineGeocoder geocoder = getInstance(context);
+        LOADER.execute(() -> {
+            try {
+                geocoder.index();
+            } catch (IOException e) {
+                // Reported by index(); lookups retry
+            }
+        });
+    }
+
+    /**
+     * Closest bundled place to a coordinate
+     *
+     * @throws IOException if the index can't be built or mapped
+     */
+    public GeoIndex.Place reverse(double latitude, double longitude) throws IOException {
+        return index().nearest(latitude, longitude);
+    }
+
+    private synchronized GeoIndex index() throws IOException {
+        if (index != null) {
+            return index;
+        }
+        long start = System.nanoTime();
+        try {
+            File file = new File(context.getNoBackupFilesDir(), FILE_PREFIX + GeoIndex.VERSION + "-" + buildStamp() + ".bin");
+            boolean packed = false;
+            if (!file.exists()) {
+                pack(file);
+                packed = true;
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                index = GeoIndex.open(raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length()));
+            }
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_LOADED, index.size(),
+                (System.nanoTime() - start) / 1_000_000, packed ? 1 : 0);
+            return index;
+        } catch (IOException e) {
+            NativeTrace.warn(TRACE_TAG, EV_LOAD_FAILED, e);
+            throw e;
+        }
+    }
+
+    /** Pack the assets into a temp file, then rename, and drop indexes of older builds */
+    private void pack(File target) throws IOException {
+        File dir = target.getParentFile();
+        File[] stale = dir.listFiles((d, name) -> name.startsWith(FILE_PREFIX));
+        if (stale != null) {
+            for (File old : stale) {
+                old.delete();
+            }
+        }
+        File temp = new File(dir, target.getName() + ".tmp");
+        AssetManager assets = context.getAssets();
+        try (BufferedReader places = reader(assets, ASSET_PLACES);
+             BufferedReader countries = reader(assets, ASSET_COUNTRIES);
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+            GeoIndex.pack(places, countries, out);
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Could not publish " + target);
+        }
+    }
+
+    private static BufferedReader reader(AssetManager assets, String path) throws IOException {
+        return new BufferedReader(new InputStreamReader(assets.open(path), StandardCharsets.UTF_8));
+    }
+
+    /** Changes with every install / update, so a new APK repacks its own assets */
+    private long buildStamp() {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.io.IOException;
+
+/**
+ * Offline Geocoder Plugin for Jackson App
+ *
+ * JS access to {@link OfflineGeocoder}:
+ * - reverseGeocode(): nearest bundled city with region, country and timezone,
+ *   answered on-device with no network request
+ *
+ * JS side: lib/offlineGeocoder.ts
+ */
+@CapacitorPlugin(name = "OfflineGeocoder")
+public class OfflineGeocoderPlugin extends Plugin {
+
+    @Override
+    public void load() {
+        OfflineGeocoder.prefetch(getContext());
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - latitude: Latitude in degrees (required)
+     *   - longitude: Longitude in degrees (required)
+     */
+    @PluginMethod
+    public void reverseGeocode(PluginCall call) {
+        Double latitude = call.getDouble("latitude");
+        Double longitude = call.getDouble("longitude");
+        if (latitude == null || longitude == null
+            || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            call.reject("Valid latitude and longitude are required");
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            GeoIndex.Place place = OfflineGeocoder.getInstance(getContext()).reverse(latitude, longitude);
+            long lookupUs = (System.nanoTime() - start) / 1000;
+
+            JSObject result = new JSObject();
+            result.put("city", place.city);
+            result.put("region", place.region);
+            result.put("country", place.country);
+            result.put("countryCode", place.countryCode);
+            result.put("timezone", place.timezone);
+            result.put("latitude", place.latitude);
+            result.put("longitude", place.longitude);
+            result.put("distanceKm", Math.round(place.distanceKm * 10) / 10.0);
+            result.put("lookupUs", lookupUs);
+            call.resolve(result);
+        } catch (IOException e) {
+            call.reject("Offline geocoder unavailable", "UNAVAILABLE", e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.jackson.app;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQLite storage for {@link MutationOutbox}
+ *
+ * One row per mutation, keyed by the idempotency key (UNIQUE, so a duplicate
+ * enqueue is rejected by the database rather than by a racy lookup). WAL mode
+ * keeps the flusher's status writes from blocking enqueues on the plugin thread.
+ */
+final class OutboxDatabase extends SQLiteOpenHelper implements MutationOutbox.Store {
+
+    private static final String DB_NAME = "jackson_outbox.db";
+    private static final int DB_VERSION = 1;
+
+    private static final String TABLE = "outbox";
+    private static final String[] COLUMNS = {
+        "id", "idem_key", "method", "url", "headers", "body", "created_at", "attempts",
+        "next_attempt_at", "status", "http_status", "response", "updated_at"
+    };
+
+    private static volatile OutboxDatabase instance;
+
+    static OutboxDatabase getInstance(Context context) {
+        OutboxDatabase local = instance;
+        if (local == null) {
+            synchronized (OutboxDatabase.class) {
+                local = instance;
+                if (local == null) {
+                    local = new OutboxDatabase(context.getApplicationContext());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    private OutboxDatabase(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+            + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "idem_key TEXT NOT NULL UNIQUE, "
+            + "method TEXT NOT NULL, "
+            + "url TEXT NOT NULL, "
+            + "headers TEXT, "
+            + "body TEXT, "
+            + "created_at INTEGER NOT NULL, "
+            + "attempts INTEGER NOT NULL DEFAULT 0, "
+            + "next_attempt_at INTEGER NOT NULL, "
+            + "status TEXT NOT NULL, "
+            + "http_status INTEGER NOT NULL DEFAULT 0, "
+            + "response TEXT, "
+            + "updated_at INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX outbox_due ON " + TABLE + " (status, next_attempt_at)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Version 1 only
+    }
+
+    @Override
+    public MutationOutbox.Item insert(MutationOutbox.Item item) {
+        ContentValues values = toValues(item);
+        values.put("idem_key", item.key);
+        values.put("method", item.method);
+        values.put("url", item.url);
+        values.put("headers", MutationOutbox.Item.headersToJson(item.headers));
+        values.put("body", item.body);
+        values.put("created_at", item.createdAt);
+        long id = getWritableDatabase().insertWithOnConflict(TABLE, null, values,
+            SQLiteDatabase.CONFLICT_IGNORE);
+        if (id == -1) {
+            MutationOutbox.Item existing = find(item.key);
+            return existing != null ? existing : item;
+        }
+        item.id = id;
+        return item;
+    }
+
+    @Override
+    public MutationOutbox.Item find(String key) {
+        List<MutationOutbox.Item> items = query("idem_key = ?", new String[] { key }, null, "1");
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    @Override
+    public List<MutationOutbox.Item> due(long now, int limit) {
+        return query("status = ? AND next_attempt_at <= ?",
+            new String[] { MutationOutbox.STATUS_PENDING, Long.toString(now) },
+            "id", Integer.toString(limit));
+    }
+
+    @Override
+    public long nextDueAt() {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+            "SELECT MIN(next_attempt_at) FROM " + TABLE + " WHERE status = ?",
+            new String[] { MutationOutbox.STATUS_PENDING })) {
+            return cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getLong(0) : -1;
+        }
+    }
+
+    @Override
+    public List<MutationOutbox.Item> all() {
+        return query(null, null, "id", null);
+    }
+
+    @Override
+    public void update(MutationOutbox.Item item) {
+        getWritableDatabase().update(TABLE, toValues(item), "id = ?",
+            new String[] { Long.toString(item.id) });
+    }
+
+    @Override
+    public int recoverInterrupted(long now) {
+        ContentValues values = new ContentValues();
+        values.put("status", MutationOutbox.STATUS_PENDING);
+        values.put("next_attempt_at", now);
+        values.put("updated_at", now);
+        return getWritableDatabase().update(TABLE, values, "status = ?",
+            new String[] { MutationOutbox.STATUS_SENDING });
+    }
+
+    @Override
+    public int pruneTerminal(long cutoff) {
+        return getWritableDatabase().delete(TABLE, "status IN (?, ?) AND updated_at < ?",
+            new String[] { MutationOutbox.STATUS_DONE, MutationOutbox.STATUS_FAILED, Long.toString(cutoff) });
+    }
+
+    @Override
+    public int clear() {
+        return getWritableDatabase().delete(TABLE, null, null);
+    }
+
+    /** Columns that change after insert */
+    private static ContentValues toValues(MutationOutbox.Item item) {
+        ContentValues values = new ContentValues();
+        values.put("attempts", item.attempts);
+        values.put("next_attempt_at", item.nextAttemptAt);
+        values.put("status", item.status);
+        values.put("http_status", item.httpStatus);
+        values.put("response", item.response);
+        values.put("updated_at", item.updatedAt);
+        return values;
+    }
+
+    private List<MutationOutbox.Item> query(String selection, String[] args, String orderBy, String limit) {
+        List<MutationOutbox.Item> items = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE, COLUMNS, selection, args,
+            null, null, orderBy, limit)) {
+            while (cursor.moveToNext()) {
+                items.add(new MutationOutbox.Item(
+                    cursor.getLong(0),
+                    cursor.getString(1),
+                    cursor.getString(2),
+                    cursor.getString(3),
+                    MutationOutbox.Item.headersFromJson(cursor.getString(4)),
+                    cursor.getString(5),
+                    cursor.getLong(6),
+                    cursor.getInt(7),
+                    cursor.getLong(8),
+                    cursor.getString(9),
+                    cursor.getInt(10),
+                    cursor.getString(11),
+                    cursor.getLong(12)));
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,160 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Outbox Plugin for Jackson App
+ *
+ * JS access to {@link MutationOutbox}, the durable queue for reward mutations:
+ * - enqueue(): persist a mutation with its idempotency key; delivery happens in the background
+ * - get(): current state of one item
+ * - list(): every item still in the outbox
+ * - flush(): deliver due items now
+ * - clear(): drop every item (sign-out), resolves { removed }
+ *
+ * Events (notifyListeners):
+ * - "outboxItem": { idempotencyKey, status, attempts, httpStatus, nextAttemptAt, data? }
+ *
+ * Queued items are flushed again whenever the activity resumes or a validated
+ * network comes back ({@link ConnectivityMonitor}).
+ *
+ * JS side: lib/outbox.ts
+ */
+@CapacitorPlugin(name = "Outbox")
+public class OutboxPlugin extends Plugin {
+
+    static final String EVENT_ITEM = "outboxItem";
+
+    private MutationOutbox outbox;
+
+    /** Deliver what queued up while offline as soon as a working network is back */
+    private final ConnectivityMonitor.Listener connectivityListener = (status, policy) -> {
+        if (status.connected && status.validated) {
+            outbox.flushSoon();
+        }
+    };
+
+    @Override
+    public void load() {
+        outbox = new MutationOutbox(
+            OutboxDatabase.getInstance(getContext()),
+            HttpGateway.getInstance(),
+            item -> notifyListeners(EVENT_ITEM, toJs(item)));
+        ConnectivityMonitor.getInstance(getContext()).addListener(connectivityListener);
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - idempotencyKey: Client-generated key, sent as the Idempotency-Key header (required)
+     *   - url: Absolute request URL (required)
+     *   - method: HTTP method (default: "POST")
+     *   - headers: Request headers object, including auth
+     *   - data: Request body as a string (already JSON.stringify'd on the JS side)
+     */
+    @PluginMethod
+    public void enqueue(PluginCall call) {
+        String key = call.getString("idempotencyKey");
+        String url = call.getString("url");
+        if (key == null || key.isEmpty() || url == null || url.isEmpty()) {
+            call.reject("idempotencyKey and url are required");
+            return;
+        }
+        MutationOutbox.Item item = outbox.enqueue(
+            key,
+            call.getString("method", "POST"),
+            url,
+            toHeaderMap(call.getObject("headers", new JSObject())),
+            call.getString("data"));
+        call.resolve(toJs(item));
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - idempotencyKey: Key passed to enqueue() (required)
+     */
+    @PluginMethod
+    public void get(PluginCall call) {
+        String key = call.getString("idempotencyKey");
+        MutationOutbox.Item item = key == null ? null : outbox.find(key);
+        if (item == null) {
+            call.reject("Not found", "NOT_FOUND");
+            return;
+        }
+        call.resolve(toJs(item));
+    }
+
+    @PluginMethod
+    public void list(PluginCall call) {
+        JSArray items = new JSArray();
+        for (MutationOutbox.Item item : outbox.list()) {
+            items.put(toJs(item));
+        }
+        JSObject result = new JSObject();
+        result.put("items", items);
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void flush(PluginCall call) {
+        outbox.flushSoon();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        try {
+            JSObject result = new JSObject();
+            result.put("removed", outbox.clear().get());
+            call.resolve(result);
+        } catch (Exception e) {
+            call.reject("Clear failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected void handleOnResume() {
+        outbox.flushSoon();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        ConnectivityMonitor.getInstance(getContext()).removeListener(connectivityListener);
+        outbox.shutdown();
+    }
+
+    private static JSObject toJs(MutationOutbox.Item item) {
+        JSObject result = new JSObject();
+        result.put("idempotencyKey", item.key);
+        result.put("status", item.status);
+        result.put("attempts", item.attempts);
+        result.put("httpStatus", item.httpStatus);
+        result.put("nextAttemptAt", item.nextAttemptAt);
+        result.put("createdAt", item.createdAt);
+        if (item.isTerminal() && item.response != null) {
+            result.put("data", item.response);
+        }
+        return result;
+    }
+
+    private static Map<String, String> toHeaderMap(JSObject headers) {
+        Map<String, String> map = new HashMap<>();
+        Iterator<String> keys = headers.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            String value = headers.getString(key);
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+}
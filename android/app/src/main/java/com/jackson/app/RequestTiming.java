@@ -0,0 +1,174 @@
+package com.jackson.app;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+
+/**
+ * Per-request network timing collected from OkHttp's {@link EventListener} callbacks
+ *
+ * One instance is attached to every request sent through {@link HttpGateway} as a
+ * request tag, and the shared listener factory fills it in as the call progresses.
+ * All durations are in milliseconds; a phase that did not happen (for example DNS
+ * and connect on a pooled connection) is reported as 0.
+ */
+public final class RequestTiming {
+
+    private long callStartNs;
+    private long dnsStartNs;
+    private long dnsEndNs;
+    private long connectStartNs;
+    private long connectEndNs;
+    private long secureConnectStartNs;
+    private long secureConnectEndNs;
+    private long responseHeadersStartNs;
+    private long callEndNs;
+
+    private volatile long bodyBytes;
+    private volatile boolean connectionReused = true;
+    private volatile String protocol = "unknown";
+
+    public long getDnsMs() {
+        return elapsedMs(dnsStartNs, dnsEndNs);
+    }
+
+    public long getConnectMs() {
+        return elapsedMs(connectStartNs, connectEndNs);
+    }
+
+    public long getTlsMs() {
+        return elapsedMs(secureConnectStartNs, secureConnectEndNs);
+    }
+
+    /** Time from call start until the first response byte (status line / HEADERS frame) */
+    public long getTtfbMs() {
+        return elapsedMs(callStartNs, responseHeadersStartNs);
+    }
+
+    public long getTotalMs() {
+        return elapsedMs(callStartNs, callEndNs);
+    }
+
+    public long getBodyBytes() {
+        return bodyBytes;
+    }
+
+    /** True when the call rode on an already-open pooled connection (no DNS/connect/TLS) */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /** System.nanoTime at call start; 0 if it has not started */
+    long getCallStartNs() {
+        return callStartNs;
+    }
+
+    /** System.nanoTime when the response headers began; 0 if they have not */
+    long getResponseHeadersStartNs() {
+        return responseHeadersStartNs;
+    }
+
+    private static long elapsedMs(long startNs, long endNs) {
+        if (startNs == 0 || endNs == 0 || endNs < startNs) {
+            return 0;
+        }
+        return (endNs - startNs) / 1_000_000L;
+    }
+
+    /**
+     * Listener factory installed on the shared client. Looks up the timing tag on each
+     * call and records into it; calls without a tag get {@link EventListener#NONE}.
+     */
+    static final EventListener.Factory FACTORY = call -> {
+        RequestTiming timing = call.request().tag(RequestTiming.class);
+        return timing != null ? new Listener(timing) : EventListener.NONE;
+    };
+
+    private static final class Listener extends EventListener {
+        private final RequestTiming timing;
+
+        Listener(RequestTiming timing) {
+            this.timing = timing;
+        }
+
+        @Override
+        public void callStart(Call call) {
+            timing.callStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            timing.dnsStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            timing.dnsEndNs = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            timing.connectionReused = false;
+            timing.connectStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            timing.secureConnectStartNs = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, okhttp3.Handshake handshake) {
+            timing.secureConnectEndNs = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            timing.connectEndNs = System.nanoTime();
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                                  Protocol protocol, IOException ioe) {
+            timing.connectEndNs = System.nanoTime();
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            timing.protocol = connection.protocol().toString();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            if (timing.responseHeadersStartNs == 0) {
+                timing.responseHeadersStartNs = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            timing.bodyBytes = byteCount;
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            timing.callEndNs = System.nanoTime();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            timing.callEndNs = System.nanoTime();
+        }
+    }
+}
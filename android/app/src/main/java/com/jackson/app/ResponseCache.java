@@ -0,0 +1,606 @@
+package com.jackson.app;
+
+import android.content.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Disk-backed stale-while-revalidate cache for API GET responses
+ *
+ * Entries are keyed by (user, URL), so one account never sees another account's
+ * data, and survive process restarts: a cold start answers the dashboard / wallet /
+ * game-section requests from disk and revalidates them in the background with
+ * If-None-Match.
+ *
+ * Layout on disk: one {@code <key>.meta} + {@code <key>.body} pair per entry. The
+ * in-memory index is an access-ordered {@link LinkedHashMap}; when the total body
+ * size exceeds the budget the least recently used entries are deleted.
+ *
+ * Freshness comes from {@link CacheRules} (or the server's Cache-Control max-age).
+ * A request with Cache-Control: no-cache skips the stored copy (a forced refresh
+ * after a mutation), a response marked no-store / no-cache / private / max-age=0
+ * is never stored, and entries whose rule is evicted by writes are dropped as soon
+ * as any POST / PUT / PATCH / DELETE to the same host completes.
+ * Requests are served through two front doors that share this cache:
+ * {@link NativeHttpPlugin} for lib/api.js, and {@link CachingWebViewClient} for any
+ * GET that still goes through WebView fetch.
+ */
+public final class ResponseCache {
+
+    static final long DEFAULT_MAX_BYTES = 10L * 1024 * 1024;
+    static final String ANONYMOUS_USER = "anon";
+
+    private static final int META_VERSION = 1;
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Pattern MAX_AGE_ZERO = Pattern.compile("max-age=0+(?!\\d)");
+    private static final Pattern UNSTORABLE = Pattern.compile("no-store|no-cache|private|" + MAX_AGE_ZERO.pattern());
+
+    private static volatile ResponseCache instance;
+
+    private final File directory;
+    private final long maxBytes;
+    private final CacheRules rules;
+    private final HttpGateway gateway;
+    private final Executor revalidationExecutor;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+    /** Bumped by every write; a read started before one must not store what it got */
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    public static ResponseCache getInstance(Context context) {
+        ResponseCache local = instance;
+        if (local == null) {
+            synchronized (ResponseCache.class) {
+                local = instance;
+                if (local == null) {
+                    local = new ResponseCache(
+                        new File(context.getCacheDir(), "api-response-cache"),
+                        DEFAULT_MAX_BYTES,
+                        CacheRules.defaults(),
+                        HttpGateway.getInstance(),
+                        Executors.newSingleThreadExecutor(r -> new Thread(r, "ResponseCache-revalidate"))
+                    );
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    ResponseCache(File directory, long maxBytes, CacheRules rules, HttpGateway gateway,
+                  Executor revalidationExecutor) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.rules = rules;
+        this.gateway = gateway;
+        this.revalidationExecutor = revalidationExecutor;
+        loadIndex();
+        gateway.addMutationListener(this::onMutation);
+    }
+
+    /**
+     * Whether a request is handled by the cache at all (GET with a matching rule)
+     */
+    public boolean isCacheable(HttpGateway.GatewayRequest request) {
+        return "GET".equals(request.method) && ruleFor(request.url) != null;
+    }
+
+    /**
+     * Serve a request stale-while-revalidate style
+     *
+     * - Fresh entry: answered from disk, no network
+     * - Stale entry within maxStale: answered from disk, revalidated in the background
+     * - Otherwise: fetched through the gateway and stored on a 200
+     *
+     * Requests without a rule are passed straight to the gateway; requests asking
+     * for no-cache always go to the network and replace the stored copy.
+     */
+    public CompletableFuture<HttpGateway.GatewayResponse> fetch(HttpGateway.GatewayRequest request) {
+        CacheRules.Rule rule = "GET".equals(request.method) ? ruleFor(request.url) : null;
+        if (rule == null) {
+            return gateway.execute(request);
+        }
+
+        String key = keyFor(userKeyFor(request.headers), request.url);
+        long generation = writeGeneration.get();
+        if (bypassesCache(request)) {
+            bypasses.incrementAndGet();
+            return gateway.execute(request).thenApply(response -> {
+                store(key, request, rule, response, generation);
+                return response;
+            });
+        }
+
+        Entry entry;
+        synchronized (this) {
+            entry = index.get(key);
+        }
+
+        long now = System.currentTimeMillis();
+        if (entry != null) {
+            boolean fresh = now < entry.storedAt + entry.freshMs;
+            boolean servable = fresh || now < entry.storedAt + entry.freshMs + rule.maxStaleMs;
+            if (servable) {
+                byte[] body = readBody(entry);
+                if (body != null) {
+                    if (fresh) {
+                        hits.incrementAndGet();
+                    } else {
+                        staleHits.incrementAndGet();
+                        revalidateAsync(request, key, rule);
+                    }
+                    bytesServed.addAndGet(body.length);
+                    return CompletableFuture.completedFuture(entry.toResponse(body,
+                        fresh ? HttpGateway.GatewayResponse.SOURCE_CACHE
+                              : HttpGateway.GatewayResponse.SOURCE_STALE));
+                }
+            }
+        }
+
+        misses.incrementAndGet();
+        return gateway.execute(request).thenApply(response -> {
+            store(key, request, rule, response, generation);
+            return response;
+        });
+    }
+
+    private void revalidateAsync(HttpGateway.GatewayRequest request, String key, CacheRules.Rule rule) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidationExecutor.execute(() -> {
+            Entry entry;
+            synchronized (this) {
+                entry = index.get(key);
+            }
+            long generation = writeGeneration.get();
+            HttpGateway.GatewayRequest conditional = request;
+            if (entry != null && entry.etag != null) {
+                conditional = request.withHeader("If-None-Match", entry.etag);
+            }
+            revalidations.incrementAndGet();
+            gateway.execute(conditional).whenComplete((response, error) -> {
+                try {
+                    if (error != null || response == null) {
+                        return;
+                    }
+                    if (response.status == 304 && entry != null) {
+                        notModified.incrementAndGet();
+                        touch(key, entry, freshnessFor(rule, response));
+                    } else {
+                        store(key, request, rule, response, generation);
+                    }
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        });
+    }
+
+    /** Cache-Control / Pragma no-cache on the request: the caller wants the server's answer */
+    private static boolean bypassesCache(HttpGateway.GatewayRequest request) {
+        String cacheControl = request.headers.get("Cache-Control");
+        if (cacheControl != null) {
+            String value = cacheControl.toLowerCase(Locale.ROOT);
+            if (value.contains("no-cache") || value.contains("no-store") || MAX_AGE_ZERO.matcher(value).find()) {
+                return true;
+            }
+        }
+        String pragma = request.headers.get("Pragma");
+        return pragma != null && pragma.toLowerCase(Locale.ROOT).contains("no-cache");
+    }
+
+    /**
+     * @param generation {@link #writeGeneration} when the request was sent; if a
+     *   write completed since, the response may predate it and is not stored
+     */
+    private void store(String key, HttpGateway.GatewayRequest request, CacheRules.Rule rule,
+                       HttpGateway.GatewayResponse response, long generation) {
+        if (response.status != 200) {
+            return;
+        }
+        String cacheControl = response.header("Cache-Control");
+        if (cacheControl != null && UNSTORABLE.matcher(cacheControl.toLowerCase(Locale.ROOT)).find()) {
+            // The server wants every read to reach it - forget any older copy too
+            remove(key);
+            return;
+        }
+        if (rule.evictedByWrites && writeGeneration.get() != generation) {
+            return;
+        }
+
+        Entry entry = new Entry(
+            key,
+            userKeyFor(request.headers),
+            request.url,
+            response.status,
+            response.header("Content-Type"),
+            response.header("ETag"),
+            System.currentTimeMillis(),
+            freshnessFor(rule, response),
+            response.body.length
+        );
+
+        try {
+            ensureDirectory();
+            writeAtomically(bodyFile(key), response.body);
+            writeAtomically(metaFile(key), entry.encode());
+        } catch (IOException e) {
+            deleteFiles(key);
+            return;
+        }
+
+        synchronized (this) {
+            Entry previous = index.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += entry.size;
+            trimToSize();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry previous = index.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.size;
+            deleteFiles(key);
+        }
+    }
+
+    private void touch(String key, Entry entry, long freshMs) {
+        Entry refreshed = entry.refreshed(System.currentTimeMillis(), freshMs);
+        try {
+            writeAtomically(metaFile(key), refreshed.encode());
+        } catch (IOException e) {
+            return;
+        }
+        synchronized (this) {
+            if (index.containsKey(key)) {
+                index.put(key, refreshed);
+            }
+        }
+    }
+
+    private static long freshnessFor(CacheRules.Rule rule, HttpGateway.GatewayResponse response) {
+        String cacheControl = response.header("Cache-Control");
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1)) * 1000L;
+            }
+        }
+        return rule.ttlMs;
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= eldest.size;
+            deleteFiles(eldest.key);
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop every entry stored for one user (called on logout)
+     *
+     * @param token Auth token of the user being signed out
+     * @return Number of entries removed
+     */
+    public synchronized int evictUser(String token) {
+        String userKey = token == null || token.isEmpty() ? ANONYMOUS_USER : hash(token);
+        int removed = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.userKey.equals(userKey)) {
+                iterator.remove();
+                totalBytes -= entry.size;
+                deleteFiles(entry.key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * A POST / PUT / PATCH / DELETE went out: balances, history and the dashboard
+     * the same user has cached from that host may no longer be true. Called for
+     * failures too, since a timed-out write may still have reached the server.
+     */
+    void onMutation(HttpGateway.GatewayRequest request) {
+        HttpUrl target = HttpUrl.parse(request.url);
+        if (target == null) {
+            return;
+        }
+        writeGeneration.incrementAndGet();
+        String userKey = userKeyFor(request.headers);
+        synchronized (this) {
+            Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next().getValue();
+                if (!entry.userKey.equals(userKey)) {
+                    continue;
+                }
+                HttpUrl url = HttpUrl.parse(entry.url);
+                if (url == null || !url.host().equals(target.host())) {
+                    continue;
+                }
+                CacheRules.Rule rule = rules.match(url.encodedPath());
+                if (rule != null && rule.evictedByWrites) {
+                    iterator.remove();
+                    totalBytes -= entry.size;
+                    deleteFiles(entry.key);
+                }
+            }
+        }
+    }
+
+    /** Drop everything */
+    public synchronized void clear() {
+        for (Entry entry : index.values()) {
+            deleteFiles(entry.key);
+        }
+        index.clear();
+        totalBytes = 0;
+    }
+
+    /** Hit / miss / bytes-served counters plus current size */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("staleHits", staleHits.get());
+        stats.put("misses", misses.get());
+        stats.put("bytesServed", bytesServed.get());
+        stats.put("revalidations", revalidations.get());
+        stats.put("notModified", notModified.get());
+        stats.put("evictions", evictions.get());
+        stats.put("bypasses", bypasses.get());
+        synchronized (this) {
+            stats.put("entries", (long) index.size());
+            stats.put("sizeBytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+
+    private CacheRules.Rule ruleFor(String url) {
+        HttpUrl parsed = HttpUrl.parse(url);
+        return parsed != null ? rules.match(parsed.encodedPath()) : null;
+    }
+
+    /**
+     * Cache partition for a request: a hash of the auth token (Bearer or x-auth-token),
+     * never the token itself, so nothing sensitive is written to disk.
+     */
+    static String userKeyFor(Map<String, String> headers) {
+        String token = headers.get("Authorization");
+        if (token != null && token.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            token = token.substring(7);
+        }
+        if (token == null || token.isEmpty()) {
+            token = headers.get("x-auth-token");
+        }
+        return token == null || token.isEmpty() ? ANONYMOUS_USER : hash(token);
+    }
+
+    private static String keyFor(String userKey, String url) {
+        return hash(userKey + '\n' + url);
+    }
+
+    static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format(Locale.ROOT, "%02x", bytes[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Disk
+    // ------------------------------------------------------------------------
+
+    private void loadIndex() {
+        File[] metas = directory.listFiles((dir, name) -> name.endsWith(".meta"));
+        if (metas == null) {
+            return;
+        }
+        List<Entry> loaded = new ArrayList<>();
+        for (File meta : metas) {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(meta))) {
+                Entry entry = Entry.decode(in);
+                if (bodyFile(entry.key).length() == entry.size) {
+                    loaded.add(entry);
+                    continue;
+                }
+            } catch (IOException | RuntimeException e) {
+                // Corrupt or partially written entry - fall through and delete it
+            }
+            String name = meta.getName();
+            deleteFiles(name.substring(0, name.length() - ".meta".length()));
+        }
+        // Oldest first so the access order approximates the previous session's LRU order
+        Collections.sort(loaded, (a, b) -> Long.compare(a.storedAt, b.storedAt));
+        synchronized (this) {
+            for (Entry entry : loaded) {
+                index.put(entry.key, entry);
+                totalBytes += entry.size;
+            }
+            trimToSize();
+        }
+    }
+
+    private byte[] readBody(Entry entry) {
+        try {
+            return Files.readAllBytes(bodyFile(entry.key).toPath());
+        } catch (IOException e) {
+            synchronized (this) {
+                if (index.remove(entry.key) != null) {
+                    totalBytes -= entry.size;
+                }
+            }
+            deleteFiles(entry.key);
+            return null;
+        }
+    }
+
+    private void ensureDirectory() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+    }
+
+    private File bodyFile(String key) {
+        return new File(directory, key + ".body");
+    }
+
+    private File metaFile(String key) {
+        return new File(directory, key + ".meta");
+    }
+
+    private void deleteFiles(String key) {
+        //noinspection ResultOfMethodCallIgnored
+        bodyFile(key).delete();
+        //noinspection ResultOfMethodCallIgnored
+        metaFile(key).delete();
+    }
+
+    private static void writeAtomically(File target, byte[] data) throws IOException {
+        File tmp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(data);
+            out.getFD().sync();
+        }
+        if (!tmp.renameTo(target)) {
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+            throw new IOException("Cannot rename " + tmp);
+        }
+    }
+
+    /**
+     * Index entry; mirrors the .meta file
+     */
+    static final class Entry {
+        final String key;
+        final String userKey;
+        final String url;
+        final int status;
+        final String contentType;
+        final String etag;
+        final long storedAt;
+        final long freshMs;
+        final long size;
+
+        Entry(String key, String userKey, String url, int status, String contentType,
+              String etag, long storedAt, long freshMs, long size) {
+            this.key = key;
+            this.userKey = userKey;
+            this.url = url;
+            this.status = status;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.storedAt = storedAt;
+            this.freshMs = freshMs;
+            this.size = size;
+        }
+
+        Entry refreshed(long now, long newFreshMs) {
+            return new Entry(key, userKey, url, status, contentType, etag, now, newFreshMs, size);
+        }
+
+        HttpGateway.GatewayResponse toResponse(byte[] body, String source) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (contentType != null) {
+                headers.put("content-type", contentType);
+            }
+            if (etag != null) {
+                headers.put("etag", etag);
+            }
+            headers.put("x-jackson-cache", source);
+            return new HttpGateway.GatewayResponse(status, headers, body, new RequestTiming(), false, source);
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(META_VERSION);
+                out.writeUTF(key);
+                out.writeUTF(userKey);
+                out.writeUTF(url);
+                out.writeInt(status);
+                out.writeUTF(contentType != null ? contentType : "");
+                out.writeUTF(etag != null ? etag : "");
+                out.writeLong(storedAt);
+                out.writeLong(freshMs);
+                out.writeLong(size);
+            }
+            return bytes.toByteArray();
+        }
+
+        static Entry decode(DataInputStream in) throws IOException {
+            if (in.readInt() != META_VERSION) {
+                throw new IOException("Unsupported cache meta version");
+            }
+            String key = in.readUTF();
+            String userKey = in.readUTF();
+            String url = in.readUTF();
+            int status = in.readInt();
+            String contentType = in.readUTF();
+            String etag = in.readUTF();
+            return new Entry(key, userKey, url, status,
+                contentType.isEmpty() ? null : contentType,
+                etag.isEmpty() ? null : etag,
+                in.readLong(), in.readLong(), in.readLong());
+        }
+    }
+}
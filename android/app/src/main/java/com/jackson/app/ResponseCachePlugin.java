@@ -0,0 +1,52 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.Map;
+
+/**
+ * Response Cache Plugin for Jackson App
+ *
+ * JS access to the native stale-while-revalidate {@link ResponseCache}:
+ * - getStats(): hit / stale-hit / miss / bytes-served counters and current size
+ * - evictUser(): drop one user's entries on logout
+ * - clear(): drop everything
+ *
+ * JS side: lib/responseCache.ts
+ */
+@CapacitorPlugin(name = "ResponseCache")
+public class ResponseCachePlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Long> entry : ResponseCache.getInstance(getContext()).getStats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+
+    /**
+     * Evict every cached response for a user
+     *
+     * @param call Capacitor plugin call with options:
+     *   - token: Auth token of the user being signed out
+     */
+    @PluginMethod
+    public void evictUser(PluginCall call) {
+        int removed = ResponseCache.getInstance(getContext()).evictUser(call.getString("token"));
+        JSObject result = new JSObject();
+        result.put("removed", removed);
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        ResponseCache.getInstance(getContext()).clear();
+        call.resolve();
+    }
+}
@@ -0,0 +1,198 @@
+package com.jackson.app;
+
+import android.os.SystemClock;
+
+import java.util.Date;
+import java.util.function.LongSupplier;
+
+/**
+ * Server time for the app, kept as one offset from a monotonic local clock
+ *
+ * The API only tells the time through the HTTP Date header, which has one-second
+ * resolution, so each response bounds the offset instead of measuring it: the
+ * server stamped Date somewhere between sending the request (t0) and receiving
+ * the response headers (t1), so server - local lies in [Date - t1, Date + 1s - t0].
+ * Intersecting those intervals across responses (as NTP does with its samples)
+ * converges to well under a second; the offset is the midpoint and the
+ * uncertainty half the width. Bounds widen with elapsed time to allow for drift,
+ * and a sample that does not fit at all (server clock stepped) starts over.
+ *
+ * The local clock is elapsedRealtime, so the device wall clock being changed or
+ * the device sleeping does not move server time. Until the first sample, now()
+ * falls back to the wall clock.
+ */
+public final class ServerClock {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🕰️ ServerClock");
+    /** args: skew ms, uncertainty ms, samples */
+    private static final int EV_SYNCED = NativeTrace.event("synced");
+    /** args: skew ms before, skew ms after */
+    private static final int EV_RESET = NativeTrace.event("offset reset");
+
+    /** HTTP Date is truncated to whole seconds */
+    static final long DATE_RESOLUTION_MS = 1_000;
+    /** Allowed drift between the two clocks, in parts per million of elapsed time */
+    static final long DRIFT_PPM = 100;
+
+    private static volatile ServerClock instance;
+
+    private final LongSupplier localMs;
+    private final LongSupplier wallMs;
+
+    private boolean synced;
+    /** Bounds of server - local, as of boundsAtLocal */
+    private long lowMs;
+    private long highMs;
+    private long boundsAtLocal;
+    private int samples;
+
+    /**
+     * Process-wide clock on elapsedRealtime. Lazily created; fed by {@link HttpGateway}
+     * from every API response.
+     */
+    public static ServerClock get() {
+        ServerClock local = instance;
+        if (local == null) {
+            synchronized (ServerClock.class) {
+                local = instance;
+                if (local == null) {
+                    local = new ServerClock(SystemClock::elapsedRealtime, System::currentTimeMillis);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * @param localMs Monotonic local time in milliseconds
+     * @param wallMs Device wall clock, used until the first sample
+     */
+    ServerClock(LongSupplier localMs, LongSupplier wallMs) {
+        this.localMs = localMs;
+        this.wallMs = wallMs;
+    }
+
+    /**
+     * Record a response from the API
+     *
+     * @param date Parsed Date header; ignored when null
+     * @param timing Timing of the call that produced it
+     */
+    void onApiResponse(Date date, RequestTiming timing) {
+        if (date == null || timing.getCallStartNs() == 0 || timing.getResponseHeadersStartNs() == 0) {
+            return;
+        }
+        // Both ends on the local clock: the call was moments ago, so nanoTime
+        // deltas from now are exact enough
+        long nowNs = System.nanoTime();
+        long now = localMs.getAsLong();
+        long sentAt = now - (nowNs - timing.getCallStartNs()) / 1_000_000L;
+        long receivedAt = now - (nowNs - timing.getResponseHeadersStartNs()) / 1_000_000L;
+        addSample(date.getTime(), sentAt, receivedAt);
+    }
+
+    /**
+     * @param serverDateMs Server time stamped on the response, truncated to the second
+     * @param sentAtLocal Local time the request was sent
+     * @param receivedAtLocal Local time the response headers arrived
+     */
+    synchronized void addSample(long serverDateMs, long sentAtLocal, long receivedAtLocal) {
+        long low = serverDateMs - receivedAtLocal;
+        long high = serverDateMs + DATE_RESOLUTION_MS - sentAtLocal;
+        if (!synced) {
+            setBounds(low, high, receivedAtLocal);
+            samples = 1;
+            synced = true;
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_SYNCED, offsetMs() - wallOffsetMs(), uncertaintyMs(), samples);
+            return;
+        }
+        long drift = driftMs(receivedAtLocal);
+        long currentLow = lowMs - drift;
+        long currentHigh = highMs + drift;
+        long newLow = Math.max(currentLow, low);
+        long newHigh = Math.min(currentHigh, high);
+        if (newLow > newHigh) {
+            long before = offsetMs() - wallOffsetMs();
+            setBounds(low, high, receivedAtLocal);
+            samples = 1;
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_RESET, before, offsetMs() - wallOffsetMs());
+            return;
+        }
+        setBounds(newLow, newHigh, receivedAtLocal);
+        samples++;
+    }
+
+    private void setBounds(long low, long high, long atLocal) {
+        lowMs = low;
+        highMs = high;
+        boundsAtLocal = atLocal;
+    }
+
+    private long driftMs(long atLocal) {
+        return Math.max(0, atLocal - boundsAtLocal) * DRIFT_PPM / 1_000_000L;
+    }
+
+    private long offsetMs() {
+        return lowMs + (highMs - lowMs) / 2;
+    }
+
+    private long wallOffsetMs() {
+        return wallMs.getAsLong() - localMs.getAsLong();
+    }
+
+    /** Current server time in epoch milliseconds (device wall clock until synced) */
+    public synchronized long now() {
+        if (!synced) {
+            return wallMs.getAsLong();
+        }
+        return localMs.getAsLong() + offsetMs();
+    }
+
+    /** Server time minus device wall clock; add it to Date.now() in JS */
+    public synchronized long skewMs() {
+        return synced ? offsetMs() - wallOffsetMs() : 0;
+    }
+
+    /** How far now() can be off, including drift since the last sample; -1 until synced */
+    public synchronized long uncertaintyMs() {
+        if (!synced) {
+            return -1;
+        }
+        return (highMs - lowMs + 1) / 2 + driftMs(localMs.getAsLong());
+    }
+
+    public synchronized boolean isSynced() {
+        return synced;
+    }
+
+    public synchronized int sampleCount() {
+        return samples;
+    }
+
+    /** Local time of the last sample, for deciding when to resync */
+    synchronized long lastSampleAtLocal() {
+        return synced ? boundsAtLocal : Long.MIN_VALUE;
+    }
+
+    long localNow() {
+        return localMs.getAsLong();
+    }
+
+    /**
+     * How long to wait before sending a probe so it reaches the server right on a
+     * second boundary as currently estimated. Its Date then says which side of the
+     * boundary the server really was, halving the remaining uncertainty, where a
+     * probe at a random time mostly lands inside the second and teaches nothing.
+     *
+     * @param roundTripMs Recent round trip to the API
+     * @return 0..999 ms
+     */
+    synchronized long nextProbeDelayMs(long roundTripMs) {
+        if (!synced) {
+            return 0;
+        }
+        long arrivesAt = localMs.getAsLong() + roundTripMs / 2 + offsetMs();
+        return Math.floorMod(-arrivesAt, DATE_RESOLUTION_MS);
+    }
+}
@@ -0,0 +1,257 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server Clock Plugin for Jackson App
+ *
+ * JS access to {@link ServerClock} and one shared {@link DeadlineScheduler} for
+ * every countdown in the app:
+ * - getTime(): { now, skewMs, uncertaintyMs, synced } - skewMs is server time
+ *   minus the device clock
+ * - sync(): probe the API until the offset is known to TARGET_UNCERTAINTY_MS;
+ *   resolves like getTime()
+ * - watch({ id, deadline, resolution }): deadline in server epoch ms; resolution
+ *   is how often the countdown needs a tick: "second" (default), "minute", or
+ *   "deadline" for only the deadline itself
+ * - unwatch({ id })
+ *
+ * Events (notifyListeners):
+ * - "tick": { now, skewMs, expired } on each whole second of server time while
+ *   a seconds countdown is watched, and whenever a minutes display changes or a
+ *   deadline passes; expired lists the ids whose deadline passed, which are then
+ *   no longer watched
+ *
+ * Ticks stop while the app is in the background or the screen is off, and one
+ * comes right away when it is back, so every countdown catches up at once.
+ *
+ * JS side: lib/serverClock.ts
+ */
+@CapacitorPlugin(name = "ServerClock")
+public class ServerClockPlugin extends Plugin {
+
+    static final String EVENT_TICK = "tick";
+
+    private static final int TRACE_TAG = NativeTrace.tag("🕰️ ServerClock");
+    private static final int EV_PROBE_FAILED = NativeTrace.event("probe failed");
+
+    /** Probes per sync(); each one can halve the uncertainty */
+    static final int SYNC_PROBES = 5;
+    static final long TARGET_UNCERTAINTY_MS = 100;
+    /** Passive samples from API traffic usually keep the clock fresh; probe again after this */
+    static final long RESYNC_AFTER_MS = 30 * 60_000L;
+    private static final long PROBE_TIMEOUT_MS = 5_000;
+
+    private final ServerClock clock = ServerClock.get();
+    private final DeadlineScheduler scheduler = new DeadlineScheduler();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jackson-clock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Confined to the clock thread
+    private ScheduledFuture<?> pendingTick;
+    private boolean visible = true;
+    private boolean syncing;
+
+    private final AppLifecycle.Listener lifecycleListener = new AppLifecycle.Listener() {
+        @Override
+        public void onMemoryPressure(String pressure, int level, boolean visible) {
+        }
+
+        @Override
+        public void onVisibilityChanged(boolean nowVisible) {
+            executor.execute(() -> {
+                visible = nowVisible;
+                if (nowVisible) {
+                    resyncIfStale();
+                }
+                reschedule(nowVisible);
+            });
+        }
+    };
+
+    @Override
+    public void load() {
+        AppLifecycle lifecycle = AppLifecycle.get();
+        lifecycle.addListener(lifecycleListener);
+        boolean nowVisible = lifecycle.isVisible();
+        executor.execute(() -> visible = nowVisible);
+    }
+
+    @PluginMethod
+    public void getTime(PluginCall call) {
+        call.resolve(timeResult());
+    }
+
+    @PluginMethod
+    public void sync(PluginCall call) {
+        executor.execute(() -> {
+            if (clock.isSynced() && clock.sampleCount() > 1 && clock.uncertaintyMs() <= TARGET_UNCERTAINTY_MS) {
+                call.resolve(timeResult());
+                return;
+            }
+            syncing = true;
+            probe(SYNC_PROBES, 0, call);
+        });
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - id: Caller's key; watching an id again moves its deadline (required)
+     *   - deadline: Server time in epoch ms (required)
+     *   - resolution: "second" (default), "minute" or "deadline"
+     */
+    @PluginMethod
+    public void watch(PluginCall call) {
+        String id = call.getString("id");
+        Long deadline = call.getLong("deadline");
+        if (id == null || deadline == null) {
+            call.reject("id and deadline are required");
+            return;
+        }
+        long resolution = toResolutionMs(call.getString("resolution", "second"));
+        executor.execute(() -> {
+            boolean first = scheduler.isEmpty();
+            scheduler.watch(id, deadline, resolution);
+            if (!clock.isSynced() && !syncing) {
+                syncing = true;
+                probe(SYNC_PROBES, 0, null);
+            }
+            // A new first watch starts ticking now; otherwise only the next wake may move
+            reschedule(first);
+            call.resolve(timeResult());
+        });
+    }
+
+    @PluginMethod
+    public void unwatch(PluginCall call) {
+        String id = call.getString("id");
+        if (id == null) {
+            call.reject("id is required");
+            return;
+        }
+        executor.execute(() -> {
+            JSObject ret = new JSObject();
+            ret.put("removed", scheduler.unwatch(id));
+            reschedule(false);
+            call.resolve(ret);
+        });
+    }
+
+    private static long toResolutionMs(String resolution) {
+        switch (resolution) {
+            case "minute":
+                return DeadlineScheduler.MINUTE_MS;
+            case "deadline":
+                return DeadlineScheduler.DEADLINE_ONLY;
+            default:
+                return DeadlineScheduler.SECOND_MS;
+        }
+    }
+
+    private JSObject timeResult() {
+        JSObject ret = new JSObject();
+        ret.put("now", clock.now());
+        ret.put("skewMs", clock.skewMs());
+        ret.put("uncertaintyMs", clock.uncertaintyMs());
+        ret.put("synced", clock.isSynced());
+        return ret;
+    }
+
+    // ========================================================================
+    // Clock thread
+    // ========================================================================
+
+    /**
+     * @param tickNow Tick immediately instead of waiting for the next wake
+     */
+    private void reschedule(boolean tickNow) {
+        if (pendingTick != null) {
+            pendingTick.cancel(false);
+            pendingTick = null;
+        }
+        if (!visible || scheduler.isEmpty()) {
+            return;
+        }
+        long now = clock.now();
+        long delay = tickNow ? 0 : Math.max(0, scheduler.nextWakeAt(now) - now);
+        pendingTick = executor.schedule(this::tick, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        pendingTick = null;
+        long now = clock.now();
+        List<String> expired = scheduler.poll(now);
+        JSArray ids = new JSArray();
+        for (String id : expired) {
+            ids.put(id);
+        }
+        JSObject event = new JSObject();
+        event.put("now", now);
+        event.put("skewMs", clock.skewMs());
+        event.put("expired", ids);
+        notifyListeners(EVENT_TICK, event);
+        reschedule(false);
+    }
+
+    private void resyncIfStale() {
+        if (syncing) {
+            return;
+        }
+        long last = clock.lastSampleAtLocal();
+        if (last == Long.MIN_VALUE || clock.localNow() - last > RESYNC_AFTER_MS) {
+            syncing = true;
+            probe(SYNC_PROBES, 0, null);
+        }
+    }
+
+    /**
+     * HEAD the API, timed by {@link ServerClock#nextProbeDelayMs}; HttpGateway feeds
+     * each response's Date to the clock. Stops early once the target is reached.
+     *
+     * @param call Resolved when done; null for a background resync
+     */
+    private void probe(int remaining, long roundTripMs, PluginCall call) {
+        if (remaining == 0 || (clock.sampleCount() > 1 && clock.uncertaintyMs() <= TARGET_UNCERTAINTY_MS)) {
+            syncing = false;
+            reschedule(false);
+            if (call != null) {
+                call.resolve(timeResult());
+            }
+            return;
+        }
+        executor.schedule(() -> HttpGateway.getInstance()
+            .execute(new HttpGateway.GatewayRequest("HEAD", StartupWarmup.API_BASE_URL, null, null, PROBE_TIMEOUT_MS))
+            .whenCompleteAsync((response, error) -> {
+                if (error != null) {
+                    NativeTrace.warn(TRACE_TAG, EV_PROBE_FAILED, error);
+                    syncing = false;
+                    if (call != null) {
+                        call.reject("Clock sync failed: " + error.getMessage());
+                    }
+                    return;
+                }
+                probe(remaining - 1, response.timing.getTtfbMs(), call);
+            }, executor), clock.nextProbeDelayMs(roundTripMs), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        AppLifecycle.get().removeListener(lifecycleListener);
+        executor.shutdownNow();
+        super.handleOnDestroy();
+    }
+}
@@ -0,0 +1,51 @@
+package com.jackson.app;
+
+import android.content.Context;
+
+/**
+ * Native copy of the signed-in session (auth token + user JSON)
+ *
+ * The web layer owns the session in localStorage, which native code cannot read
+ * before the WebView exists. lib/startup.ts mirrors it here on login / app start and
+ * clears it on sign-out, so the next cold start can authenticate warm-up requests
+ * while the splash screen is still showing.
+ *
+ * Backed by {@link MappedKeyValueStore}.
+ */
+public final class SessionStore {
+
+    private static final String KEY_TOKEN = "session.authToken";
+    private static final String KEY_USER = "session.user";
+
+    private final MappedKeyValueStore store;
+
+    private SessionStore(Context context) {
+        store = MappedKeyValueStore.getInstance(context);
+    }
+
+    public static SessionStore from(Context context) {
+        return new SessionStore(context);
+    }
+
+    public String getToken() {
+        return store.getString(KEY_TOKEN, null);
+    }
+
+    public String getUserJson() {
+        return store.getString(KEY_USER, null);
+    }
+
+    public void save(String token, String userJson) {
+        store.edit()
+            .put(KEY_TOKEN, token)
+            .put(KEY_USER, userJson)
+            .apply();
+    }
+
+    public void clear() {
+        store.edit()
+            .remove(KEY_TOKEN)
+            .remove(KEY_USER)
+            .apply();
+    }
+}
@@ -0,0 +1,163 @@
+package com.jackson.app;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry and voice bookkeeping for {@link SoundEngine}
+ *
+ * Each effect is registered once under an id with its asset path, a polyphony
+ * limit and a volume. Voices are tracked per effect in a ring of the last
+ * maxVoices stream ids: starting a voice on a full ring replaces the oldest one
+ * (stopping a stream that already finished is harmless), so an effect never has
+ * more than maxVoices overlapping plays and rapid taps never starve other effects.
+ */
+final class SoundBank {
+
+    static final int STATE_LOADING = 0;
+    static final int STATE_READY = 1;
+    static final int STATE_FAILED = 2;
+
+    static final int MAX_VOICES_LIMIT = 8;
+
+    /**
+     * One registered effect
+     */
+    static final class Sound {
+        final String id;
+        final String path;
+        final int maxVoices;
+        final float volume;
+        /** Id assigned by the player when loading starts */
+        int handle;
+        volatile int state = STATE_LOADING;
+        long loadStartNanos;
+        long loadNanos;
+
+        private final int[] voices;
+        private int nextVoice;
+
+        Sound(String id, String path, int maxVoices, float volume) {
+            this.id = id;
+            this.path = path;
+            this.maxVoices = Math.max(1, Math.min(maxVoices, MAX_VOICES_LIMIT));
+            this.volume = Math.max(0f, Math.min(volume, 1f));
+            this.voices = new int[this.maxVoices];
+        }
+    }
+
+    private final Map<String, Sound> byId = new HashMap<>();
+    private final Map<Integer, Sound> byHandle = new HashMap<>();
+
+    private final AtomicLong plays = new AtomicLong();
+    private final AtomicLong notReady = new AtomicLong();
+    private final AtomicLong replacedVoices = new AtomicLong();
+    private final AtomicLong dispatchNanos = new AtomicLong();
+    private final AtomicLong maxDispatchNanos = new AtomicLong();
+
+    /**
+     * @return The new effect, or null when the id is already registered with the
+     *         same path (nothing to load)
+     */
+    synchronized Sound register(String id, String path, int maxVoices, float volume) {
+        Sound existing = byId.get(id);
+        if (existing != null && existing.path.equals(path) && existing.state != STATE_FAILED) {
+            return null;
+        }
+        Sound sound = new Sound(id, path, maxVoices, volume);
+        sound.loadStartNanos = System.nanoTime();
+        byId.put(id, sound);
+        return sound;
+    }
+
+    synchronized void setHandle(Sound sound, int handle) {
+        sound.handle = handle;
+        byHandle.put(handle, sound);
+    }
+
+    /**
+     * Loading finished for a player handle
+     *
+     * @return The effect, or null for an unknown handle
+     */
+    synchronized Sound loaded(int handle, boolean success) {
+        Sound sound = byHandle.get(handle);
+        if (sound != null) {
+            sound.state = success ? STATE_READY : STATE_FAILED;
+            sound.loadNanos = System.nanoTime() - sound.loadStartNanos;
+        }
+        return sound;
+    }
+
+    synchronized void failed(Sound sound) {
+        sound.state = STATE_FAILED;
+    }
+
+    synchronized Sound get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Stream to stop before starting another voice of this effect
+     *
+     * @return Stream id, or 0 while the ring still has a free slot
+     */
+    synchronized int voiceToReplace(Sound sound) {
+        int oldest = sound.voices[sound.nextVoice];
+        if (oldest != 0) {
+            replacedVoices.incrementAndGet();
+        }
+        return oldest;
+    }
+
+    /**
+     * Record a started voice in the slot {@link #voiceToReplace} returned
+     */
+    synchronized void voiceStarted(Sound sound, int streamId, long elapsedNanos) {
+        sound.voices[sound.nextVoice] = streamId;
+        sound.nextVoice = (sound.nextVoice + 1) % sound.voices.length;
+        plays.incrementAndGet();
+        dispatchNanos.addAndGet(elapsedNanos);
+        maxDispatchNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    /**
+     * @return Every tracked stream of the effect (0 for empty slots); the ring is cleared
+     */
+    synchronized int[] takeVoices(Sound sound) {
+        int[] voices = sound.voices.clone();
+        Arrays.fill(sound.voices, 0);
+        sound.nextVoice = 0;
+        return voices;
+    }
+
+    void playedBeforeReady() {
+        notReady.incrementAndGet();
+    }
+
+    /** Snapshot of playback counters for diagnostics */
+    synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long ready = 0;
+        long loadNanos = 0;
+        for (Sound sound : byId.values()) {
+            if (sound.state == STATE_READY) {
+                ready++;
+                loadNanos += sound.loadNanos;
+            }
+        }
+        long played = plays.get();
+        stats.put("sounds", (long) byId.size());
+        stats.put("ready", ready);
+        stats.put("loadMs", loadNanos / 1_000_000);
+        stats.put("plays", played);
+        stats.put("notReady", notReady.get());
+        stats.put("replacedVoices", replacedVoices.get());
+        stats.put("meanDispatchMicros", played > 0 ? dispatchNanos.get() / played / 1_000 : 0);
+        stats.put("maxDispatchMicros", maxDispatchNanos.get() / 1_000);
+        return stats;
+    }
+}
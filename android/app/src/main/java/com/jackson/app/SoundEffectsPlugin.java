@@ -0,0 +1,97 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sound Effects Plugin for Jackson App
+ *
+ * JS access to {@link SoundEngine}:
+ * - preload({ sounds: [{ id, path, maxVoices?, volume? }] }): decode effects from
+ *   the web bundle once; resolves with { failed: [ids] }
+ * - play({ id, rate?, volume? }): one SoundPool.play(); resolves with { streamId,
+ *   dispatchMicros }, streamId 0 while the effect is still loading
+ * - stop({ id }): stop every voice of an effect
+ * - getStats(): loads, plays, replaced voices and native dispatch time
+ *
+ * JS side: lib/soundEffects.ts
+ */
+@CapacitorPlugin(name = "SoundEffects")
+public class SoundEffectsPlugin extends Plugin {
+
+    private static final int DEFAULT_MAX_VOICES = 3;
+
+    @PluginMethod
+    public void preload(PluginCall call) {
+        JSArray sounds = call.getArray("sounds");
+        if (sounds == null) {
+            call.reject("sounds is required");
+            return;
+        }
+        SoundEngine engine = SoundEngine.getInstance(getContext());
+        JSArray failed = new JSArray();
+        try {
+            for (int i = 0; i < sounds.length(); i++) {
+                JSONObject sound = sounds.getJSONObject(i);
+                String id = sound.getString("id");
+                try {
+                    engine.preload(id, sound.getString("path"), sound.optInt("maxVoices", DEFAULT_MAX_VOICES),
+                        (float) sound.optDouble("volume", 1.0));
+                } catch (IOException e) {
+                    failed.put(id);
+                }
+            }
+        } catch (JSONException e) {
+            call.reject("Invalid sounds: " + e.getMessage());
+            return;
+        }
+        JSObject result = new JSObject();
+        result.put("failed", failed);
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void play(PluginCall call) {
+        String id = call.getString("id");
+        SoundEngine.Playback playback = id != null
+            ? SoundEngine.getInstance(getContext()).play(id, call.getFloat("rate", 1f),
+                call.getFloat("volume", -1f))
+            : null;
+        if (playback == null) {
+            call.reject("Unknown sound: " + id);
+            return;
+        }
+        JSObject result = new JSObject();
+        result.put("streamId", playback.streamId);
+        result.put("dispatchMicros", playback.dispatchMicros);
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void stop(PluginCall call) {
+        String id = call.getString("id");
+        if (id != null) {
+            SoundEngine.getInstance(getContext()).stop(id);
+        }
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Long> entry : SoundEngine.getInstance(getContext()).getStats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+}
@@ -0,0 +1,169 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioAttributes;
+import android.media.SoundPool;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Low-latency sound effects from the web bundle, decoded once into a SoundPool
+ *
+ * A WebView audio element re-buffers and restarts its media pipeline on each
+ * play(), and play() can be rejected without a fresh user gesture. Here each
+ * effect is decoded to PCM when it is preloaded and every play is a single
+ * SoundPool.play() on already-decoded samples, with overlapping voices limited
+ * per effect by {@link SoundBank}.
+ *
+ * Effects are read straight from the APK (public/ + path); aapt stores mp3 / ogg
+ * uncompressed, so openFd works without copying. Playback pauses with the app
+ * and resumes when it is back on screen.
+ */
+public final class SoundEngine {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🔊 Sound");
+    /** args: load ms, 1 if loaded */
+    private static final int EV_LOADED = NativeTrace.event("effect loaded");
+    private static final int EV_OPEN_FAILED = NativeTrace.event("effect not found");
+
+    /** Voices across all effects */
+    static final int MAX_STREAMS = 8;
+    /** Web bundle location inside the APK assets */
+    private static final String ASSET_ROOT = "public";
+
+    /**
+     * Result of {@link #play(String, float, float)}
+     */
+    public static final class Playback {
+        /** 0 when the effect is not loaded (yet) */
+        public final int streamId;
+        public final long dispatchMicros;
+
+        Playback(int streamId, long dispatchMicros) {
+            this.streamId = streamId;
+            this.dispatchMicros = dispatchMicros;
+        }
+    }
+
+    private static SoundEngine instance;
+
+    private final Context context;
+    private final SoundPool pool;
+    private final SoundBank bank = new SoundBank();
+
+    private SoundEngine(Context context) {
+        this.context = context.getApplicationContext();
+        this.pool = new SoundPool.Builder()
+            .setMaxStreams(MAX_STREAMS)
+            .setAudioAttributes(new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_GAME)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build())
+            .build();
+        pool.setOnLoadCompleteListener((soundPool, handle, status) -> {
+            SoundBank.Sound sound = bank.loaded(handle, status == 0);
+            if (sound != null) {
+                NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_LOADED, sound.loadNanos / 1_000_000,
+                    status == 0 ? 1 : 0);
+            }
+        });
+        AppLifecycle.get().addListener(new AppLifecycle.Listener() {
+            @Override
+            public void onMemoryPressure(String pressure, int level, boolean visible) {
+            }
+
+            @Override
+            public void onVisibilityChanged(boolean visible) {
+                if (visible) {
+                    pool.autoResume();
+                } else {
+                    pool.autoPause();
+                }
+            }
+        });
+    }
+
+    public static synchronized SoundEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new SoundEngine(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Start decoding an effect (no-op when already loaded from the same path)
+     *
+     * @param path Path inside the web bundle, e.g. "/coin.mp3"
+     * @param maxVoices Overlapping plays allowed for this effect
+     * @param volume 0..1
+     */
+    public void preload(String id, String path, int maxVoices, float volume) throws IOException {
+        if (path == null || path.contains("..")) {
+            throw new IOException("Invalid asset path");
+        }
+        SoundBank.Sound sound = bank.register(id, path, maxVoices, volume);
+        if (sound == null) {
+            return;
+        }
+        String assetPath = ASSET_ROOT + (path.startsWith("/") ? path : "/" + path);
+        try (AssetFileDescriptor fd = context.getAssets().openFd(assetPath)) {
+            bank.setHandle(sound, pool.load(fd, 1));
+        } catch (IOException e) {
+            bank.failed(sound);
+            NativeTrace.warn(TRACE_TAG, EV_OPEN_FAILED, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Play a loaded effect
+     *
+     * @param rate Playback rate, 0.5..2
+     * @param volume 0..1, or negative for the effect's preloaded volume
+     * @return Playback, or null for an id that was never preloaded
+     */
+    public Playback play(String id, float rate, float volume) {
+        long start = System.nanoTime();
+        SoundBank.Sound sound = bank.get(id);
+        if (sound == null) {
+            return null;
+        }
+        if (sound.state != SoundBank.STATE_READY) {
+            bank.playedBeforeReady();
+            return new Playback(0, 0);
+        }
+        int streamId;
+        synchronized (sound) {
+            int replaced = bank.voiceToReplace(sound);
+            if (replaced != 0) {
+                pool.stop(replaced);
+            }
+            float gain = volume >= 0 ? Math.min(volume, 1f) : sound.volume;
+            streamId = pool.play(sound.handle, gain, gain, 1, 0, Math.max(0.5f, Math.min(rate, 2f)));
+            long elapsed = System.nanoTime() - start;
+            bank.voiceStarted(sound, streamId, elapsed);
+            return new Playback(streamId, elapsed / 1_000);
+        }
+    }
+
+    /** Stop every playing voice of an effect */
+    public void stop(String id) {
+        SoundBank.Sound sound = bank.get(id);
+        if (sound == null) {
+            return;
+        }
+        synchronized (sound) {
+            for (int streamId : bank.takeVoices(sound)) {
+                if (streamId != 0) {
+                    pool.stop(streamId);
+                }
+            }
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        return bank.getStats();
+    }
+}
@@ -0,0 +1,116 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+import java.util.Map;
+
+/**
+ * Startup Plugin for Jackson App
+ *
+ * - setSession() / clearSession(): mirror the web session natively so the next cold
+ *   start can warm up authenticated requests behind the splash screen
+ * - getWarmupResults(): hand the splash-time dashboard / wallet / VIP responses to JS
+ * - getTimeline() / mark(): cold-start milestones (process start → first paint)
+ *
+ * JS side: lib/startup.ts
+ */
+@CapacitorPlugin(name = "Startup")
+public class StartupPlugin extends Plugin {
+
+    /** JS milestone for the homepage rendered with real data (hooks/useHomepageData.js) */
+    static final String FULLY_DRAWN_MARK = "firstMeaningfulPaint";
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - token: Auth token (required)
+     *   - userJson: JSON.stringify(user), stored verbatim
+     */
+    @PluginMethod
+    public void setSession(PluginCall call) {
+        String token = call.getString("token");
+        if (token == null || token.isEmpty()) {
+            call.reject("token is required");
+            return;
+        }
+        SessionStore.from(getContext()).save(token, call.getString("userJson"));
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void clearSession(PluginCall call) {
+        SessionStore.from(getContext()).clear();
+        call.resolve();
+    }
+
+    /**
+     * Resolve with the warm-up responses that completed, keyed by name
+     * (dashboard, walletScreen, vipStatus). Each value carries status, source and the
+     * parsed JSON body.
+     */
+    @PluginMethod
+    public void getWarmupResults(PluginCall call) {
+        StartupWarmup warmup = StartupWarmup.current();
+        JSObject result = new JSObject();
+        if (warmup == null) {
+            call.resolve(result);
+            return;
+        }
+
+        // awaitResults() may block briefly - keep it off the plugin thread
+        new Thread(() -> {
+            for (Map.Entry<String, HttpGateway.GatewayResponse> entry : warmup.awaitResults().entrySet()) {
+                HttpGateway.GatewayResponse response = entry.getValue();
+                JSObject item = new JSObject();
+                item.put("status", response.status);
+                item.put("source", response.source);
+                try {
+                    item.put("data", new JSObject(response.bodyAsString()));
+                } catch (JSONException e) {
+                    item.put("data", response.bodyAsString());
+                }
+                result.put(entry.getKey(), item);
+            }
+            call.resolve(result);
+        }, "StartupPlugin-results").start();
+    }
+
+    @PluginMethod
+    public void getTimeline(PluginCall call) {
+        JSObject marks = new JSObject();
+        for (Map.Entry<String, Long> entry : StartupTimeline.get().sinceProcessStart().entrySet()) {
+            marks.put(entry.getKey(), entry.getValue());
+        }
+        JSObject result = new JSObject();
+        result.put("marks", marks);
+        result.put("maxSplashMs", StartupWarmup.MAX_SPLASH_MS);
+        call.resolve(result);
+    }
+
+    /**
+     * Record a JS-side milestone (first call per name wins)
+     *
+     * @param call Capacitor plugin call with options:
+     *   - name: Milestone name, e.g. "firstMeaningfulPaint"
+     */
+    @PluginMethod
+    public void mark(PluginCall call) {
+        String name = call.getString("name");
+        if (name == null || name.isEmpty()) {
+            call.reject("name is required");
+            return;
+        }
+        StartupTimeline.get().mark(name);
+        if (FULLY_DRAWN_MARK.equals(name) && getActivity() != null) {
+            // Ends the launch's time-to-full-display (StartupBenchmark in :benchmark);
+            // Android only counts the first call per launch
+            getActivity().runOnUiThread(getActivity()::reportFullyDrawn);
+        }
+        call.resolve();
+    }
+}
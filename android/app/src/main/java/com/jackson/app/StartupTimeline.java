@@ -0,0 +1,74 @@
+package com.jackson.app;
+
+import android.os.Process;
+import android.os.SystemClock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cold-start timeline for the app process
+ *
+ * Records named milestones against {@link SystemClock#uptimeMillis()}, the same
+ * clock {@link Process#getStartUptimeMillis()} uses, so every mark can be reported
+ * as "milliseconds since the process started". The first mark for a name wins;
+ * later calls are ignored so warm resumes do not overwrite cold-start numbers.
+ *
+ * Native milestones:
+ * - processStart: zygote fork (from the OS)
+ * - activityCreate: MainActivity.onCreate entered
+ * - webViewReady: Capacitor bridge and WebView constructed
+ * - dataReady: splash warm-up requests settled
+ * - splashHidden: keep-on-screen condition released the splash
+ * - firstPaint: WebView committed the first visible frame of the page
+ *
+ * JS adds its own milestones (e.g. firstMeaningfulPaint) through StartupPlugin.mark().
+ */
+public final class StartupTimeline {
+
+    public static final String PROCESS_START = "processStart";
+    public static final String ACTIVITY_CREATE = "activityCreate";
+    public static final String WEBVIEW_READY = "webViewReady";
+    public static final String DATA_READY = "dataReady";
+    public static final String SPLASH_HIDDEN = "splashHidden";
+    public static final String FIRST_PAINT = "firstPaint";
+
+    private static final StartupTimeline INSTANCE = new StartupTimeline();
+
+    private final Map<String, Long> marks = new LinkedHashMap<>();
+    private final long processStartUptime;
+
+    private StartupTimeline() {
+        processStartUptime = Process.getStartUptimeMillis();
+        marks.put(PROCESS_START, processStartUptime);
+    }
+
+    public static StartupTimeline get() {
+        return INSTANCE;
+    }
+
+    public void mark(String name) {
+        markAt(name, SystemClock.uptimeMillis());
+    }
+
+    public synchronized void markAt(String name, long uptimeMillis) {
+        if (!marks.containsKey(name)) {
+            marks.put(name, uptimeMillis);
+        }
+    }
+
+    public synchronized boolean has(String name) {
+        return marks.containsKey(name);
+    }
+
+    /**
+     * @return Milestones in the order they happened, as ms since process start
+     */
+    public synchronized Map<String, Long> sinceProcessStart() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : marks.entrySet()) {
+            result.put(entry.getKey(), entry.getValue() - processStartUptime);
+        }
+        return result;
+    }
+}
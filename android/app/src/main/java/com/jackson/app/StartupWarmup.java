@@ -0,0 +1,133 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splash-time warm-up of the homepage's first requests
+ *
+ * Started from MainActivity.onCreate before the WebView exists. With the stored
+ * session token it fires the dashboard, wallet-screen and VIP-status GETs in
+ * parallel through {@link ResponseCache}, so by the time the homepage asks for them
+ * they are either already on disk (served as a fresh cache hit) or still in flight
+ * (coalesced onto the same upstream call by {@link HttpGateway}).
+ *
+ * Headers match what lib/api.js sends for each endpoint exactly, otherwise neither
+ * the cache key nor the coalescing key would line up with the page's requests.
+ */
+public final class StartupWarmup {
+
+    /** Upper bound the splash is held for while waiting on warm-up data */
+    static final long MAX_SPLASH_MS = 1500;
+
+    static final String API_BASE_URL = "https://" + CachingWebViewClient.API_HOST;
+
+    private static final long RESULT_WAIT_MS = 5000;
+
+    private static volatile StartupWarmup current;
+
+    private final long startedAt = SystemClock.uptimeMillis();
+    private final CompletableFuture<Void> settled = new CompletableFuture<>();
+    private final Map<String, CompletableFuture<HttpGateway.GatewayResponse>> results = new LinkedHashMap<>();
+
+    private StartupWarmup() {
+    }
+
+    /**
+     * Kick off warm-up on a background thread and return immediately
+     *
+     * @param context Any context; only the application context is retained
+     */
+    public static StartupWarmup start(Context context) {
+        Context appContext = context.getApplicationContext();
+        StartupWarmup warmup = new StartupWarmup();
+        current = warmup;
+        new Thread(() -> warmup.run(appContext), "StartupWarmup").start();
+        return warmup;
+    }
+
+    /** The most recent warm-up, or null if none was started in this process */
+    public static StartupWarmup current() {
+        return current;
+    }
+
+    private void run(Context context) {
+        String token = SessionStore.from(context).getToken();
+        if (token == null || token.isEmpty()) {
+            finish();
+            return;
+        }
+
+        // Disk index load happens here, off the main thread
+        ResponseCache cache = ResponseCache.getInstance(context);
+
+        synchronized (results) {
+            results.put("dashboard", cache.fetch(apiGet("/api/dashboard", token, false)));
+            results.put("walletScreen", cache.fetch(apiGet("/api/wallet-screen", token, false)));
+            results.put("vipStatus", cache.fetch(apiGet("/api/vip/status", token, true)));
+        }
+
+        CompletableFuture.allOf(results.values().toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, error) -> finish());
+    }
+
+    private void finish() {
+        StartupTimeline.get().mark(StartupTimeline.DATA_READY);
+        settled.complete(null);
+    }
+
+    /**
+     * Same header shape as lib/api.js apiRequest(): JSON content type plus either a
+     * Bearer token (endpoints in its needsBearer list) or x-auth-token.
+     */
+    private static HttpGateway.GatewayRequest apiGet(String endpoint, String token, boolean bearer) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        if (bearer) {
+            headers.put("Authorization", "Bearer " + token);
+        } else {
+            headers.put("x-auth-token", token);
+        }
+        return HttpGateway.GatewayRequest.get(API_BASE_URL + endpoint, headers);
+    }
+
+    public boolean isSettled() {
+        return settled.isDone();
+    }
+
+    /**
+     * Splash keep-on-screen condition: hold until the data is ready or the cap expires
+     */
+    public boolean shouldKeepSplash() {
+        return !isSettled() && SystemClock.uptimeMillis() - startedAt < MAX_SPLASH_MS;
+    }
+
+    /**
+     * Warm-up responses, waiting briefly for any still in flight
+     *
+     * @return Name → response; failed or timed-out requests are omitted
+     */
+    public Map<String, HttpGateway.GatewayResponse> awaitResults() {
+        try {
+            settled.get(RESULT_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Report whatever finished in time
+        }
+        Map<String, HttpGateway.GatewayResponse> done = new LinkedHashMap<>();
+        synchronized (results) {
+            for (Map.Entry<String, CompletableFuture<HttpGateway.GatewayResponse>> entry : results.entrySet()) {
+                CompletableFuture<HttpGateway.GatewayResponse> future = entry.getValue();
+                if (future.isDone() && !future.isCompletedExceptionally()) {
+                    done.put(entry.getKey(), future.join());
+                }
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,167 @@
+package com.jackson.app;
+
+import android.net.Uri;
+
+import androidx.webkit.ScriptHandler;
+import androidx.webkit.WebViewCompat;
+import androidx.webkit.WebViewFeature;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State Snapshot Plugin for Jackson App
+ *
+ * Injects window.__JACKSON_STATE__ (session user + persisted Redux slices, already
+ * parsed) into the app origin with a document-start script, before any page
+ * script runs:
+ * - load(): registers the script. Capacitor loads plugins before the bridge loads
+ *   the start URL, so the first document already sees the global
+ * - write() / clear(): mirror redux-persist writes from lib/stateSnapshot.ts
+ * - getInfo(): whether injection is active, script size and build time
+ *
+ * The script is rebuilt when the app goes to the background if state changed, so
+ * an in-process reload also starts from a current snapshot.
+ *
+ * Requires WebView DOCUMENT_START_SCRIPT support; without it the page falls back to
+ * localStorage exactly as before.
+ *
+ * JS side: lib/stateSnapshot.ts
+ */
+@CapacitorPlugin(name = "StateSnapshot")
+public class StateSnapshotPlugin extends Plugin {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🧊 StateSnapshot");
+    private static final int EV_UNSUPPORTED = NativeTrace.event("document-start scripts unsupported");
+    private static final int EV_NOT_READY = NativeTrace.event("snapshot not ready, skipping injection");
+    /** args: script chars, build ms */
+    private static final int EV_INJECTED = NativeTrace.event("injected");
+    private static final int EV_REFRESH_FAILED = NativeTrace.event("refresh failed");
+
+    /** Upper bound the first document waits on the snapshot file load */
+    private static final long BUILD_WAIT_MS = 300;
+
+    private ScriptHandler scriptHandler;
+    private volatile boolean dirty;
+    private int scriptBytes;
+    private long buildMs;
+
+    @Override
+    public void load() {
+        if (!WebViewFeature.isFeatureSupported(WebViewFeature.DOCUMENT_START_SCRIPT)) {
+            // The page rehydrates from localStorage instead
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_UNSUPPORTED);
+            return;
+        }
+        try {
+            // Plugin load runs on the main thread ahead of the first navigation; the
+            // store was created in MainActivity.onCreate so the file is usually loaded
+            StateSnapshotStore.Script script = store()
+                .buildScript(SessionStore.from(getContext()).getUserJson())
+                .get(BUILD_WAIT_MS, TimeUnit.MILLISECONDS);
+            install(script);
+        } catch (Exception e) {
+            NativeTrace.warn(TRACE_TAG, EV_NOT_READY, e);
+        }
+    }
+
+    private StateSnapshotStore store() {
+        return StateSnapshotStore.getInstance(getContext());
+    }
+
+    private void install(StateSnapshotStore.Script script) {
+        if (scriptHandler != null) {
+            scriptHandler.remove();
+        }
+        scriptHandler = WebViewCompat.addDocumentStartJavaScript(
+            getBridge().getWebView(), script.source, Collections.singleton(appOrigin()));
+        scriptBytes = script.source.length();
+        buildMs = script.buildMs;
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_INJECTED, scriptBytes, buildMs);
+    }
+
+    /** Scheme + authority of the app's own pages; the snapshot carries user data */
+    private String appOrigin() {
+        Uri local = Uri.parse(getBridge().getLocalUrl());
+        return local.getScheme() + "://" + local.getAuthority();
+    }
+
+    @Override
+    protected void handleOnPause() {
+        super.handleOnPause();
+        if (!dirty || scriptHandler == null) {
+            return;
+        }
+        dirty = false;
+        String userJson = SessionStore.from(getContext()).getUserJson();
+        new Thread(() -> {
+            try {
+                StateSnapshotStore.Script script = store().buildScript(userJson).get();
+                getBridge().executeOnMainThread(() -> install(script));
+            } catch (Exception e) {
+                NativeTrace.warn(TRACE_TAG, EV_REFRESH_FAILED, e);
+            }
+        }, "StateSnapshot-refresh").start();
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - entries: Storage key → serialized value (null removes the key)
+     *   - rev: Revision the page stored with these writes
+     */
+    @PluginMethod
+    public void write(PluginCall call) {
+        JSObject entries = call.getObject("entries");
+        String rev = call.getString("rev");
+        if (entries == null || rev == null) {
+            call.reject("entries and rev are required");
+            return;
+        }
+        Map<String, String> values = new HashMap<>();
+        for (Iterator<String> keys = entries.keys(); keys.hasNext(); ) {
+            String key = keys.next();
+            Object value = entries.opt(key);
+            values.put(key, value == null || value == JSONObject.NULL ? null : value.toString());
+        }
+        store().write(values, rev);
+        dirty = true;
+        call.resolve();
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - rev: The page's new revision after clearing
+     */
+    @PluginMethod
+    public void clear(PluginCall call) {
+        String rev = call.getString("rev");
+        if (rev == null) {
+            call.reject("rev is required");
+            return;
+        }
+        store().clear(rev);
+        dirty = true;
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getInfo(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("supported", WebViewFeature.isFeatureSupported(WebViewFeature.DOCUMENT_START_SCRIPT));
+        result.put("injected", scriptHandler != null);
+        result.put("scriptBytes", scriptBytes);
+        result.put("buildMs", buildMs);
+        call.resolve(result);
+    }
+}
@@ -0,0 +1,285 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Native copy of the web layer's persisted Redux state
+ *
+ * lib/stateSnapshot.ts mirrors every redux-persist write here (debounced), tagged
+ * with a revision string it also keeps in localStorage. At the next cold start
+ * {@link StateSnapshotPlugin} turns the copy into a document-start script that
+ * defines window.__JACKSON_STATE__ with the persisted slices already parsed, so
+ * rehydration never touches localStorage or JSON.parse. The page only trusts the
+ * snapshot when its revision matches localStorage, so a missed or late write
+ * just falls back to the normal path.
+ *
+ * All disk IO runs on a single background thread; the file is loaded as soon as
+ * the instance is created so it is usually in memory before the WebView asks.
+ */
+public final class StateSnapshotStore {
+
+    private static final int TRACE_TAG = NativeTrace.tag("🧊 StateSnapshot");
+    private static final int EV_UNREADABLE = NativeTrace.event("discarding unreadable snapshot");
+    private static final int EV_WRITE_FAILED = NativeTrace.event("snapshot write failed");
+    private static final String FILE_NAME = "state-snapshot.json";
+
+    /** Global the document-start script defines */
+    static final String GLOBAL_NAME = "__JACKSON_STATE__";
+    /** Wraps each pre-parsed persist entry so lib/stateSnapshot.ts knows not to parse it */
+    static final String PARSED_MARKER = "__parsed";
+
+    private static StateSnapshotStore instance;
+
+    private final File file;
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, "StateSnapshotStore"));
+    private final Map<String, String> persisted = new LinkedHashMap<>();
+    private String rev;
+
+    StateSnapshotStore(File file) {
+        this.file = file;
+        io.execute(this::load);
+    }
+
+    public static synchronized StateSnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new StateSnapshotStore(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+        }
+        return instance;
+    }
+
+    /**
+     * Apply a batch of redux-persist writes
+     *
+     * @param entries Storage key → serialized value; a null value removes the key
+     * @param rev Revision the page stored alongside these writes
+     */
+    public void write(Map<String, String> entries, String rev) {
+        io.execute(() -> {
+            synchronized (persisted) {
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    if (entry.getValue() == null) {
+                        persisted.remove(entry.getKey());
+                    } else {
+                        persisted.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                this.rev = rev;
+            }
+            save();
+        });
+    }
+
+    /**
+     * Forget everything (sign-out). The page bumps its revision at the same time,
+     * so an injected snapshot from before the clear is never trusted again.
+     */
+    public void clear(String rev) {
+        io.execute(() -> {
+            synchronized (persisted) {
+                persisted.clear();
+                this.rev = rev;
+            }
+            save();
+        });
+    }
+
+    /**
+     * Build the document-start script on the IO thread (after any pending load/writes)
+     *
+     * @param userJson Session user JSON from {@link SessionStore}, or null
+     */
+    public Future<Script> buildScript(String userJson) {
+        return io.submit(() -> {
+            long start = SystemClock.uptimeMillis();
+            StringBuilder js = new StringBuilder("window.").append(GLOBAL_NAME).append("=Object.freeze({");
+            js.append("\"capturedAt\":").append(System.currentTimeMillis());
+            synchronized (persisted) {
+                js.append(",\"rev\":").append(rev != null ? JSONObject.quote(rev) : "null");
+                appendUser(js, userJson);
+                js.append(",\"persist\":{");
+                boolean first = true;
+                for (Map.Entry<String, String> entry : persisted.entrySet()) {
+                    String parsed = preparse(entry.getValue());
+                    if (parsed == null) {
+                        continue;
+                    }
+                    if (!first) {
+                        js.append(',');
+                    }
+                    first = false;
+                    js.append(JSONObject.quote(entry.getKey())).append(':').append(parsed);
+                }
+                js.append('}');
+            }
+            js.append("});");
+            return new Script(js.toString(), SystemClock.uptimeMillis() - start);
+        });
+    }
+
+    private static void appendUser(StringBuilder js, String userJson) {
+        String user = userJson != null ? toObjectLiteral(userJson) : null;
+        if (user != null) {
+            js.append(",\"user\":").append(user).append(",\"userJson\":").append(JSONObject.quote(userJson));
+        } else {
+            js.append(",\"user\":null,\"userJson\":null");
+        }
+    }
+
+    /**
+     * redux-persist stores each key as JSON whose values are themselves JSON strings
+     * (one per persisted field). Inline both levels as literals so the page receives
+     * plain objects, wrapped as {"__parsed": {field: value}} so its deserializer
+     * can tell a pre-parsed value (which may itself be a string) from a stored one.
+     *
+     * Nothing stored is spliced in as-is: each value must be exactly one JSON value
+     * and is re-serialized, so trailing text or lenient syntax can't reach the script.
+     *
+     * @return Object literal source, or null if the stored value is not valid
+     */
+    static String preparse(String serialized) {
+        try {
+            JSONObject outer = new JSONObject(serialized);
+            StringBuilder out = new StringBuilder("{").append(JSONObject.quote(PARSED_MARKER)).append(":{");
+            boolean first = true;
+            for (Iterator<String> keys = outer.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                Object value = outer.get(key);
+                String literal;
+                if (value instanceof String) {
+                    literal = toLiteral(parseSingleValue((String) value));
+                } else {
+                    literal = toLiteral(value);
+                }
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append(JSONObject.quote(key)).append(':').append(literal);
+            }
+            return out.append("}}").toString();
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The one JSON value in text
+     * @throws JSONException if text is not a single value (trailing text included)
+     */
+    private static Object parseSingleValue(String text) throws JSONException {
+        JSONTokener tokener = new JSONTokener(text);
+        Object value = tokener.nextValue();
+        if (tokener.nextClean() != 0) {
+            throw new JSONException("Trailing text after JSON value");
+        }
+        return value;
+    }
+
+    /** Strict JSON source for a parsed value */
+    private static String toLiteral(Object value) throws JSONException {
+        if (value instanceof String) {
+            return JSONObject.quote((String) value);
+        }
+        if (value instanceof Number) {
+            return JSONObject.numberToString((Number) value);
+        }
+        if (value instanceof JSONObject || value instanceof JSONArray || value instanceof Boolean
+            || value == JSONObject.NULL) {
+            return value.toString();
+        }
+        throw new JSONException("Not a JSON value: " + value);
+    }
+
+    /**
+     * @return json re-serialized if it is exactly one JSON object, else null
+     */
+    private static String toObjectLiteral(String json) {
+        try {
+            Object value = parseSingleValue(json);
+            return value instanceof JSONObject ? value.toString() : null;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    // ========================================================================
+    // Disk
+    // ========================================================================
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            JSONObject values = json.optJSONObject("persist");
+            synchronized (persisted) {
+                rev = json.optString("rev", null);
+                if (values != null) {
+                    for (Iterator<String> keys = values.keys(); keys.hasNext(); ) {
+                        String key = keys.next();
+                        persisted.put(key, values.getString(key));
+                    }
+                }
+            }
+        } catch (IOException | JSONException e) {
+            NativeTrace.warn(TRACE_TAG, EV_UNREADABLE, e);
+            file.delete();
+        }
+    }
+
+    private void save() {
+        JSONObject json = new JSONObject();
+        try {
+            synchronized (persisted) {
+                json.put("rev", rev);
+                json.put("persist", new JSONObject(persisted));
+            }
+        } catch (JSONException e) {
+            return;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            NativeTrace.warn(TRACE_TAG, EV_WRITE_FAILED, e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Built document-start script plus how long it took to assemble
+     */
+    public static final class Script {
+        public final String source;
+        public final long buildMs;
+
+        Script(String source, long buildMs) {
+            this.source = source;
+            this.buildMs = buildMs;
+        }
+    }
+}
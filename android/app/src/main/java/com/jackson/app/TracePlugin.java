@@ -0,0 +1,88 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Trace Plugin for Jackson App
+ *
+ * Diagnostics access to {@link NativeTrace}:
+ * - getEvents(): buffered events since a cursor, oldest first
+ * - setLevel(): runtime ring / logcat levels (never below the compiled level)
+ * - getLevel(): current levels
+ *
+ * JS side: lib/nativeTrace.ts
+ */
+@CapacitorPlugin(name = "Trace")
+public class TracePlugin extends Plugin {
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - since: Sequence cursor from a previous call's nextSeq (default: 0)
+     */
+    @PluginMethod
+    public void getEvents(PluginCall call) {
+        long since = call.getLong("since", 0L);
+        NativeTrace.Snapshot snapshot = NativeTrace.snapshot(since);
+        long now = System.nanoTime();
+
+        JSArray events = new JSArray();
+        for (NativeTrace.Event event : snapshot.events) {
+            JSObject item = new JSObject();
+            item.put("seq", event.seq);
+            // Age rather than an absolute monotonic time, which means nothing to JS
+            item.put("ageMs", (now - event.timeNanos) / 1_000_000.0);
+            item.put("level", NativeTrace.levelName(event.level));
+            item.put("tag", event.tag);
+            item.put("event", event.event);
+            JSArray args = new JSArray();
+            for (long arg : event.args) {
+                args.put(arg);
+            }
+            item.put("args", args);
+            events.put(item);
+        }
+
+        JSObject result = new JSObject();
+        result.put("events", events);
+        result.put("nextSeq", snapshot.nextSeq);
+        result.put("dropped", snapshot.dropped);
+        call.resolve(result);
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - level: "verbose" | "debug" | "info" | "warn" | "error" | "off" (ring buffer)
+     *   - logcat: Same values, for mirroring to logcat
+     */
+    @PluginMethod
+    public void setLevel(PluginCall call) {
+        try {
+            String level = call.getString("level");
+            if (level != null) {
+                NativeTrace.setLevel(NativeTrace.parseLevel(level));
+            }
+            String logcat = call.getString("logcat");
+            if (logcat != null) {
+                NativeTrace.setLogcatLevel(NativeTrace.parseLevel(logcat));
+            }
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage());
+            return;
+        }
+        getLevel(call);
+    }
+
+    @PluginMethod
+    public void getLevel(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("level", NativeTrace.levelName(NativeTrace.getLevel()));
+        result.put("logcat", NativeTrace.levelName(NativeTrace.getLogcatLevel()));
+        result.put("compiled", NativeTrace.levelName(NativeTrace.COMPILE_LEVEL));
+        call.resolve(result);
+    }
+}
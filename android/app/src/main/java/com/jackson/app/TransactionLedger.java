@@ -0,0 +1,469 @@
+package com.jackson.app;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Local ledger of wallet transactions and withdrawals, synced page by page
+ *
+ * The Wallet screens used to page through the API on every visit and keep every
+ * loaded page in Redux. Here rows are kept in a {@link Store} (SQLite in the app,
+ * see {@link LedgerDatabase}) and JS only ever asks for the window it renders:
+ * - {@link #sync} walks the API's newest-first pages and upserts rows whose
+ *   updatedAt changed; it stops at the first page that is entirely known and
+ *   unchanged, so a routine sync costs one request
+ * - The first sync of an account backfills every page, resuming where it left
+ *   off if it is interrupted; once a day a full pass picks up status changes on
+ *   rows older than the first unchanged page
+ * - {@link #query} returns one window (offset / limit, filters) with the total
+ *   match count, credit / debit totals and a running total per row
+ *
+ * Rows belong to one account; syncing for another account clears the ledger.
+ */
+public final class TransactionLedger {
+
+    private static final int TRACE_TAG = NativeTrace.tag("📒 Ledger");
+    /** args: pages, added, updated */
+    private static final int EV_SYNCED = NativeTrace.event("ledger synced");
+    /** args: page, HTTP status (0 = network) */
+    private static final int EV_SYNC_FAILED = NativeTrace.event("ledger page failed");
+    /** args: matches, rows returned, query us */
+    private static final int EV_QUERY = NativeTrace.event("ledger window");
+
+    public static final String KIND_TRANSACTION = "transaction";
+    public static final String KIND_WITHDRAWAL = "withdrawal";
+
+    static final int PAGE_SIZE = 50;
+    /** Pages fetched by one sync call at most; a longer backfill resumes on the next */
+    static final int MAX_PAGES_PER_SYNC = 200;
+    static final int MAX_WINDOW = 200;
+    static final long FULL_SYNC_INTERVAL_MS = 24 * 60 * 60_000L;
+    static final long REQUEST_TIMEOUT_MS = 20_000;
+
+    static final String META_BACKFILL_PAGE = "backfill_page:";
+    static final String META_BACKFILL_DONE = "backfill_done:";
+    static final String META_FULL_SYNC_AT = "full_sync_at:";
+
+    /**
+     * One stored transaction or withdrawal
+     */
+    public static final class Row {
+        final String id;
+        final String kind;
+        /** "credit" / "debit" for transactions */
+        final String type;
+        final String balanceType;
+        final String status;
+        final String referenceId;
+        final double amount;
+        /** Amount with debits negative; what running totals add up */
+        final double signedAmount;
+        final long createdAt;
+        final long updatedAt;
+        /** Server JSON, as received */
+        final String payload;
+
+        Row(String id, String kind, String type, String balanceType, String status, String referenceId,
+            double amount, long createdAt, long updatedAt, String payload) {
+            this.id = id;
+            this.kind = kind;
+            this.type = type;
+            this.balanceType = balanceType;
+            this.status = status;
+            this.referenceId = referenceId;
+            this.amount = amount;
+            this.signedAmount = "debit".equals(type) ? -Math.abs(amount) : amount;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.payload = payload;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+    }
+
+    /**
+     * Filters and window of a {@link #query}; null / 0 fields don't filter
+     */
+    public static final class Query {
+        String kind = KIND_TRANSACTION;
+        String type;
+        String status;
+        String balanceType;
+        /** Hide rows whose referenceId starts with this */
+        String excludeReferencePrefix;
+        long from;
+        long until;
+        int offset;
+        int limit = 50;
+
+        public Query kind(String kind) {
+            this.kind = kind;
+            return this;
+        }
+
+        public Query type(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Query status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Query balanceType(String balanceType) {
+            this.balanceType = balanceType;
+            return this;
+        }
+
+        public Query excludeReferencePrefix(String prefix) {
+            this.excludeReferencePrefix = prefix;
+            return this;
+        }
+
+        /** createdAt range in epoch ms, until exclusive */
+        public Query between(long from, long until) {
+            this.from = from;
+            this.until = until;
+            return this;
+        }
+
+        public Query window(int offset, int limit) {
+            this.offset = Math.max(0, offset);
+            this.limit = Math.max(1, Math.min(limit, MAX_WINDOW));
+            return this;
+        }
+    }
+
+    /**
+     * One window of matching rows, newest first
+     */
+    public static final class Window {
+        public final List<Row> rows;
+        public final int offset;
+        /** All rows matching the filters */
+        public final int total;
+        public final double credits;
+        public final double debits;
+        /** Signed sum of the matching rows newer than the window */
+        public final double runningBefore;
+
+        Window(List<Row> rows, int offset, int total, double credits, double debits, double runningBefore) {
+            this.rows = rows;
+            this.offset = offset;
+            this.total = total;
+            this.credits = credits;
+            this.debits = debits;
+            this.runningBefore = runningBefore;
+        }
+
+        /** Signed sum from the newest matching row down to rows[index] */
+        public double[] runningTotals() {
+            double[] running = new double[rows.size()];
+            double sum = runningBefore;
+            for (int i = 0; i < running.length; i++) {
+                sum += rows.get(i).signedAmount;
+                running[i] = sum;
+            }
+            return running;
+        }
+    }
+
+    /**
+     * Outcome of one sync
+     */
+    public static final class SyncResult {
+        /** HTTP status of the last page, 0 for a network error */
+        public final int status;
+        public final int pages;
+        public final int added;
+        public final int updated;
+        /** Every page has been fetched at least once */
+        public final boolean complete;
+
+        SyncResult(int status, int pages, int added, int updated, boolean complete) {
+            this.status = status;
+            this.pages = pages;
+            this.added = added;
+            this.updated = updated;
+            this.complete = complete;
+        }
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    /**
+     * Persistence. Implementations must survive process death and keep queries
+     * indexed; the Wallet screen runs one per scroll step.
+     */
+    interface Store {
+        String account();
+
+        /** Drop every row and all sync state, and take a new owner */
+        void reset(String account);
+
+        String meta(String key);
+
+        void putMeta(String key, String value);
+
+        /** id to updatedAt of those of the given ids that are stored */
+        Map<String, Long> versions(String kind, Collection<String> ids);
+
+        void upsert(List<Row> rows);
+
+        Window query(Query query);
+
+        int count(String kind);
+    }
+
+    /**
+     * Called on the syncing thread when rows were added or changed
+     */
+    public interface Listener {
+        void onLedgerChanged(String kind, int added, int updated);
+    }
+
+    private final Store store;
+    private final HttpGateway gateway;
+    private final Listener listener;
+    private final int pageSize;
+
+    public TransactionLedger(Store store, HttpGateway gateway, Listener listener) {
+        this(store, gateway, listener, PAGE_SIZE);
+    }
+
+    TransactionLedger(Store store, HttpGateway gateway, Listener listener, int pageSize) {
+        this.store = store;
+        this.gateway = gateway;
+        this.listener = listener;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Switch to an account; any other account's rows are dropped
+     */
+    public synchronized void setAccount(String account) {
+        if (account != null && !account.equals(store.account())) {
+            store.reset(account);
+        }
+    }
+
+    public boolean isAccount(String account) {
+        return account != null && account.equals(store.account());
+    }
+
+    /**
+     * Fetch new and changed rows; blocks, so call it off the main thread. Syncs of
+     * one ledger are serialized.
+     *
+     * @param url List URL; page and limit are appended
+     */
+    public synchronized SyncResult sync(String kind, String url, Map<String, String> headers) {
+        long now = System.currentTimeMillis();
+        boolean backfilled = "1".equals(store.meta(META_BACKFILL_DONE + kind));
+        String lastFull = store.meta(META_FULL_SYNC_AT + kind);
+        // Re-walk everything now and then; statuses of older rows change too
+        boolean fullPass = !backfilled || lastFull == null || now - Long.parseLong(lastFull) > FULL_SYNC_INTERVAL_MS;
+        String resume = store.meta(META_BACKFILL_PAGE + kind);
+
+        int added = 0;
+        int updated = 0;
+        int pages = 0;
+        int status = 200;
+        boolean complete = backfilled;
+        int page = 1;
+        while (pages < MAX_PAGES_PER_SYNC) {
+            List<Row> rows;
+            try {
+                Page fetched = fetch(kind, url, headers, page);
+                status = fetched.status;
+                rows = fetched.rows;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = 0;
+                break;
+            }
+            if (rows == null) {
+                NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_SYNC_FAILED, page, status);
+                break;
+            }
+            pages++;
+
+            List<String> ids = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                ids.add(row.id);
+            }
+            Map<String, Long> versions = store.versions(kind, ids);
+            List<Row> changed = new ArrayList<>();
+            for (Row row : rows) {
+                Long known = versions.get(row.id);
+                if (known == null) {
+                    added++;
+                    changed.add(row);
+                } else if (known != row.updatedAt) {
+                    updated++;
+                    changed.add(row);
+                }
+            }
+            store.upsert(changed);
+
+            if (rows.size() < pageSize) {
+                complete = true;
+                store.putMeta(META_BACKFILL_DONE + kind, "1");
+                if (fullPass) {
+                    store.putMeta(META_FULL_SYNC_AT + kind, Long.toString(now));
+                }
+                break;
+            }
+            if (!fullPass && changed.isEmpty()) {
+                break;
+            }
+            if (!backfilled) {
+                store.putMeta(META_BACKFILL_PAGE + kind, Integer.toString(page + 1));
+                // Rows only move to later pages as new ones arrive, so resuming
+                // at the stored page can overlap but never skip
+                if (page == 1 && resume != null) {
+                    page = Math.max(2, Integer.parseInt(resume));
+                    continue;
+                }
+            }
+            page++;
+        }
+
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_SYNCED, pages, added, updated);
+        if (added > 0 || updated > 0) {
+            listener.onLedgerChanged(kind, added, updated);
+        }
+        return new SyncResult(status, pages, added, updated, complete);
+    }
+
+    /**
+     * One window of stored rows
+     */
+    public Window query(Query query) {
+        long start = System.nanoTime();
+        Window window = store.query(query);
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_QUERY, window.total, window.rows.size(),
+            (System.nanoTime() - start) / 1_000);
+        return window;
+    }
+
+    public int count(String kind) {
+        return store.count(kind);
+    }
+
+    private static final class Page {
+        final int status;
+        /** null when the page could not be fetched or parsed */
+        final List<Row> rows;
+
+        Page(int status, List<Row> rows) {
+            this.status = status;
+            this.rows = rows;
+        }
+    }
+
+    private Page fetch(String kind, String url, Map<String, String> headers, int page) throws InterruptedException {
+        String pageUrl = url + (url.contains("?") ? "&" : "?") + "page=" + page + "&limit=" + pageSize;
+        HttpGateway.GatewayResponse response;
+        try {
+            response = gateway.execute(new HttpGateway.GatewayRequest(
+                "GET", pageUrl, headers, null, REQUEST_TIMEOUT_MS)).get();
+        } catch (ExecutionException e) {
+            return new Page(0, null);
+        }
+        if (response.status < 200 || response.status >= 300) {
+            return new Page(response.status, null);
+        }
+        try {
+            return new Page(response.status, parseRows(kind, response.bodyAsString()));
+        } catch (JSONException e) {
+            NativeTrace.warn(TRACE_TAG, EV_SYNC_FAILED, e);
+            return new Page(response.status, null);
+        }
+    }
+
+    /**
+     * Rows of one page: a bare array, { data: [...] }, or { data: { <list>: [...] } }
+     */
+    static List<Row> parseRows(String kind, String body) throws JSONException {
+        String trimmed = body.trim();
+        JSONArray items;
+        if (trimmed.startsWith("[")) {
+            items = new JSONArray(trimmed);
+        } else {
+            JSONObject object = new JSONObject(trimmed);
+            items = object.optJSONArray("data");
+            if (items == null) {
+                JSONObject data = object.optJSONObject("data");
+                items = data != null ? firstArray(data) : firstArray(object);
+            }
+            if (items == null) {
+                throw new JSONException("No list in response");
+            }
+        }
+        List<Row> rows = new ArrayList<>(items.length());
+        for (int i = 0; i < items.length(); i++) {
+            JSONObject item = items.optJSONObject(i);
+            if (item == null) {
+                continue;
+            }
+            String id = item.optString("_id", item.optString("id", item.optString("orderId", "")));
+            if (id.isEmpty()) {
+                continue;
+            }
+            long createdAt = parseTime(item.optString("createdAt", ""));
+            long updatedAt = parseTime(item.optString("updatedAt", ""));
+            rows.add(new Row(id, kind,
+                lower(item.optString("type", KIND_WITHDRAWAL.equals(kind) ? "debit" : "credit")),
+                lower(item.optString("balanceType", "")),
+                lower(item.optString("status", "")),
+                item.optString("referenceId", ""),
+                item.optDouble("amount", 0),
+                createdAt,
+                updatedAt != 0 ? updatedAt : createdAt,
+                item.toString()));
+        }
+        return rows;
+    }
+
+    private static JSONArray firstArray(JSONObject object) {
+        for (String key : new String[] { "transactions", "withdrawals", "payouts", "items", "history" }) {
+            JSONArray array = object.optJSONArray(key);
+            if (array != null) {
+                return array;
+            }
+        }
+        return null;
+    }
+
+    /** ISO-8601 instant to epoch ms, 0 when missing or unparseable */
+    static long parseTime(String iso) {
+        if (iso == null || iso.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Instant.parse(iso).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
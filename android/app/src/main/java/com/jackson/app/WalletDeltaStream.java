@@ -0,0 +1,570 @@
+package com.jackson.app;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Background push channel for wallet balance / XP deltas
+ *
+ * Keeps one Server-Sent Events connection to {@link #STREAM_PATH} open while the
+ * app is in the foreground. The server sends only what changed - a balance or XP
+ * delta after a game earning, spin or daily reward - so the web layer no longer
+ * has to re-download the whole wallet screen to pick it up.
+ *
+ * - Each event is applied to a native {@link Snapshot} and handed to the
+ *   {@link Listener} (WalletStreamPlugin forwards it to JS)
+ * - Events carry a revision; reconnects send it as Last-Event-ID so the server
+ *   can replay what was missed. Duplicates are dropped, and a gap (or an explicit
+ *   "resync" event) is reported so JS falls back to one full fetch
+ * - Failed or dropped connections are retried with jittered exponential backoff
+ *   (server "retry:" hint as the base, capped at {@link #MAX_BACKOFF_MS}); a
+ *   connection that stayed up {@link #STABLE_CONNECTION_MS} resets it
+ * - {@link #pause()} closes the connection (app in background) and
+ *   {@link #resume()} reconnects immediately
+ * - 404 / 405 / 501 mean the server has no stream endpoint; the stream stops in
+ *   {@link #STATE_UNSUPPORTED} and JS keeps using full refreshes
+ *
+ * Reads happen on one dedicated worker thread; the server is expected to send a
+ * comment heartbeat well inside {@link #READ_TIMEOUT_SECONDS}.
+ */
+public final class WalletDeltaStream {
+
+    private static final int TRACE_TAG = NativeTrace.tag("💰 WalletStream");
+    /** args: attempt */
+    private static final int EV_CONNECTING = NativeTrace.event("connecting");
+    private static final int EV_OPEN = NativeTrace.event("stream open");
+    /** args: HTTP status */
+    private static final int EV_REJECTED = NativeTrace.event("stream rejected");
+    /** args: rev, 1 if gap */
+    private static final int EV_DELTA = NativeTrace.event("delta applied");
+    /** args: rev */
+    private static final int EV_DUPLICATE = NativeTrace.event("duplicate delta dropped");
+    private static final int EV_BAD_EVENT = NativeTrace.event("unparseable event");
+    /** args: delay ms, consecutive failures */
+    private static final int EV_BACKOFF = NativeTrace.event("reconnect scheduled");
+    private static final int EV_DROPPED = NativeTrace.event("connection dropped");
+
+    /** Endpoint on the API host */
+    static final String STREAM_PATH = "/api/wallet/stream";
+
+    public static final String STATE_IDLE = "idle";
+    public static final String STATE_CONNECTING = "connecting";
+    public static final String STATE_OPEN = "open";
+    public static final String STATE_BACKOFF = "backoff";
+    public static final String STATE_PAUSED = "paused";
+    public static final String STATE_UNAUTHORIZED = "unauthorized";
+    public static final String STATE_UNSUPPORTED = "unsupported";
+    public static final String STATE_STOPPED = "stopped";
+
+    static final long MIN_BACKOFF_MS = 1_000;
+    static final long MAX_BACKOFF_MS = 60_000;
+    static final long STABLE_CONNECTION_MS = 30_000;
+    static final int READ_TIMEOUT_SECONDS = 45;
+
+    private static final MediaType EVENT_STREAM = MediaType.get("text/event-stream");
+
+    /**
+     * Receives deltas and state changes on the worker thread
+     */
+    public interface Listener {
+        /**
+         * @param resync true if events were missed (or the server asked for it);
+         *               the receiver should do one full fetch
+         */
+        void onDelta(Delta delta, Snapshot snapshot, boolean resync);
+
+        void onStateChanged(String state, long retryInMs);
+    }
+
+    private final OkHttpClient client;
+    private final String url;
+    private final Listener listener;
+    private final long minBackoffMs;
+    private final long maxBackoffMs;
+    private final Random jitter = new Random();
+
+    // Guarded by this
+    private Thread worker;
+    private String token;
+    private boolean paused;
+    private Call call;
+    private Snapshot snapshot = Snapshot.EMPTY;
+    private String state = STATE_IDLE;
+
+    // Worker thread only
+    private int failures;
+    private long serverRetryMs;
+
+    public WalletDeltaStream(OkHttpClient baseClient, String url, Listener listener) {
+        this(baseClient, url, listener, MIN_BACKOFF_MS, MAX_BACKOFF_MS);
+    }
+
+    WalletDeltaStream(OkHttpClient baseClient, String url, Listener listener, long minBackoffMs, long maxBackoffMs) {
+        // Shares the gateway's connection pool; OkHttp's own retry would hide drops
+        this.client = baseClient.newBuilder()
+            .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(false)
+            .build();
+        this.url = url;
+        this.listener = listener;
+        this.minBackoffMs = minBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    // ========================================================================
+    // Control
+    // ========================================================================
+
+    /**
+     * Connect (or reconnect with a new token). A different token means a different
+     * user, so the snapshot is reset.
+     */
+    public synchronized void start(String newToken) {
+        if (token != null && !token.equals(newToken)) {
+            snapshot = Snapshot.EMPTY;
+            cancelCall();
+        }
+        token = newToken;
+        if (worker == null) {
+            worker = new Thread(this::run, "WalletDeltaStream");
+            worker.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Close the connection and end the worker (sign-out)
+     */
+    public synchronized void stop() {
+        worker = null;
+        token = null;
+        snapshot = Snapshot.EMPTY;
+        cancelCall();
+        setState(STATE_STOPPED, 0);
+        notifyAll();
+    }
+
+    /**
+     * Close the connection until {@link #resume()} (app in background)
+     */
+    public synchronized void pause() {
+        if (paused) {
+            return;
+        }
+        paused = true;
+        cancelCall();
+        if (worker != null) {
+            setState(STATE_PAUSED, 0);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Reconnect right away, skipping any pending backoff
+     */
+    public synchronized void resume() {
+        paused = false;
+        notifyAll();
+    }
+
+    /**
+     * Replace the absolute values after a full wallet fetch; the revision is kept
+     * so the stream continues from where it was
+     */
+    public synchronized Snapshot seed(double balance, long xp, int level) {
+        snapshot = new Snapshot(snapshot.rev, balance, xp, level, true, System.currentTimeMillis());
+        return snapshot;
+    }
+
+    public synchronized Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public synchronized String getState() {
+        return state;
+    }
+
+    private void cancelCall() {
+        if (call != null) {
+            call.cancel();
+            call = null;
+        }
+    }
+
+    private void setState(String newState, long retryInMs) {
+        state = newState;
+        listener.onStateChanged(newState, retryInMs);
+    }
+
+    // ========================================================================
+    // Worker
+    // ========================================================================
+
+    private void run() {
+        Thread self = Thread.currentThread();
+        try {
+            while (true) {
+                String currentToken;
+                synchronized (this) {
+                    while (worker == self && (paused || token == null)) {
+                        wait();
+                    }
+                    if (worker != self) {
+                        return;
+                    }
+                    currentToken = token;
+                }
+
+                long delay = connect(self, currentToken);
+
+                synchronized (this) {
+                    if (worker != self) {
+                        return;
+                    }
+                    if (delay < 0) {
+                        worker = null;
+                        setState(STATE_UNSUPPORTED, 0);
+                        return;
+                    }
+                    if (paused || !currentToken.equals(token)) {
+                        // We closed it ourselves (pause / new token): no penalty
+                        failures = 0;
+                        continue;
+                    }
+                    if (delay == 0) {
+                        continue;
+                    }
+                    NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_BACKOFF, delay, failures);
+                    setState(STATE_BACKOFF, delay);
+                    long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                    long remaining;
+                    while (worker == self && !paused
+                        && (remaining = TimeUnit.NANOSECONDS.toMillis(until - System.nanoTime())) > 0) {
+                        wait(remaining);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One connection attempt, read until it ends
+     *
+     * @return Delay before the next attempt, 0 to retry at once (or wait for a
+     *         token / resume), or -1 if the server has no stream endpoint
+     */
+    private long connect(Thread self, String currentToken) {
+        Request.Builder builder = new Request.Builder()
+            .url(url)
+            .header("Accept", "text/event-stream")
+            .header("Cache-Control", "no-cache")
+            // Same credentials lib/api.js sends: x-auth-token, plus Bearer for newer routes
+            .header("x-auth-token", currentToken)
+            .header("Authorization", "Bearer " + currentToken);
+        Call attempt;
+        synchronized (this) {
+            if (worker != self || paused || !currentToken.equals(token)) {
+                return 0;
+            }
+            if (snapshot.rev > 0) {
+                builder.header("Last-Event-ID", Long.toString(snapshot.rev));
+            }
+            attempt = client.newCall(builder.build());
+            call = attempt;
+            setState(STATE_CONNECTING, 0);
+        }
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_CONNECTING, failures + 1);
+
+        long openedAt = 0;
+        try (Response response = attempt.execute()) {
+            int status = response.code();
+            if (status == 404 || status == 405 || status == 501) {
+                NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_REJECTED, status);
+                return -1;
+            }
+            if (status == 401 || status == 403) {
+                // Token expired or revoked; wait for start() with a fresh one
+                NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_REJECTED, status);
+                synchronized (this) {
+                    if (currentToken.equals(token)) {
+                        token = null;
+                        setState(STATE_UNAUTHORIZED, 0);
+                    }
+                }
+                return 0;
+            }
+            ResponseBody body = response.body();
+            MediaType type = body != null ? body.contentType() : null;
+            if (!response.isSuccessful() || type == null || !EVENT_STREAM.subtype().equals(type.subtype())) {
+                NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_REJECTED, status);
+                return nextBackoff();
+            }
+
+            openedAt = System.nanoTime();
+            synchronized (this) {
+                if (call == attempt) {
+                    setState(STATE_OPEN, 0);
+                }
+            }
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_OPEN);
+
+            EventParser parser = new EventParser();
+            BufferedSource source = body.source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                EventParser.Event event = parser.line(line);
+                if (event != null) {
+                    onEvent(event);
+                }
+            }
+        } catch (IOException e) {
+            // Canceled by pause() / stop() / a token change, or the connection dropped
+            NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_DROPPED);
+        } finally {
+            synchronized (this) {
+                if (call == attempt) {
+                    call = null;
+                }
+            }
+        }
+
+        if (openedAt != 0 && System.nanoTime() - openedAt >= TimeUnit.MILLISECONDS.toNanos(STABLE_CONNECTION_MS)) {
+            failures = 0;
+        }
+        return nextBackoff();
+    }
+
+    /**
+     * Full jitter over an exponentially growing window
+     */
+    private long nextBackoff() {
+        long base = Math.max(minBackoffMs, serverRetryMs);
+        long window = Math.min(maxBackoffMs, base << Math.min(failures, 16));
+        failures++;
+        return window / 2 + (long) (jitter.nextDouble() * (window / 2));
+    }
+
+    private void onEvent(EventParser.Event event) {
+        if (event.retryMs >= 0) {
+            serverRetryMs = event.retryMs;
+        }
+        if (event.data == null) {
+            return;
+        }
+        // Traffic means the connection works; start over from the shortest backoff
+        failures = 0;
+
+        if ("resync".equals(event.type)) {
+            Snapshot current;
+            synchronized (this) {
+                current = snapshot;
+            }
+            listener.onDelta(Delta.EMPTY, current, true);
+            return;
+        }
+        if (!"wallet".equals(event.type) && !"message".equals(event.type)) {
+            return;
+        }
+
+        Delta delta;
+        try {
+            delta = Delta.parse(event.data, event.id);
+        } catch (JSONException e) {
+            NativeTrace.trace(NativeTrace.WARN, TRACE_TAG, EV_BAD_EVENT);
+            return;
+        }
+
+        Snapshot applied;
+        boolean gap;
+        synchronized (this) {
+            if (delta.rev > 0 && delta.rev <= snapshot.rev) {
+                NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_DUPLICATE, delta.rev);
+                return;
+            }
+            gap = snapshot.rev > 0 && delta.rev > snapshot.rev + 1;
+            snapshot = snapshot.apply(delta);
+            applied = snapshot;
+        }
+        NativeTrace.trace(NativeTrace.DEBUG, TRACE_TAG, EV_DELTA, delta.rev, gap ? 1 : 0);
+        listener.onDelta(delta, applied, gap);
+    }
+
+    // ========================================================================
+    // Model
+    // ========================================================================
+
+    /**
+     * One wallet change. Absolute values, when the server includes them, win over
+     * the deltas.
+     */
+    public static final class Delta {
+        static final Delta EMPTY = new Delta(0, 0, 0, null, null, null, null);
+
+        public final long rev;
+        public final double balanceDelta;
+        public final long xpDelta;
+        public final Double balance;
+        public final Long xp;
+        public final Integer level;
+        /** e.g. "game_earning", "spin", "daily_reward"; may be null */
+        public final String reason;
+
+        Delta(long rev, double balanceDelta, long xpDelta, Double balance, Long xp, Integer level, String reason) {
+            this.rev = rev;
+            this.balanceDelta = balanceDelta;
+            this.xpDelta = xpDelta;
+            this.balance = balance;
+            this.xp = xp;
+            this.level = level;
+            this.reason = reason;
+        }
+
+        /**
+         * @param json Event data: {rev?, balanceDelta?, xpDelta?, balance?, xp?, level?, reason?}
+         * @param id SSE event id, used as the revision when the data has none
+         */
+        static Delta parse(String json, String id) throws JSONException {
+            JSONObject data = new JSONObject(json);
+            long rev = data.optLong("rev", 0);
+            if (rev == 0 && id != null) {
+                try {
+                    rev = Long.parseLong(id);
+                } catch (NumberFormatException e) {
+                    rev = 0;
+                }
+            }
+            return new Delta(
+                rev,
+                data.optDouble("balanceDelta", 0),
+                data.optLong("xpDelta", 0),
+                data.has("balance") ? data.getDouble("balance") : null,
+                data.has("xp") ? data.getLong("xp") : null,
+                data.has("level") ? data.getInt("level") : null,
+                data.has("reason") ? data.getString("reason") : null);
+        }
+    }
+
+    /**
+     * Native view of the wallet, built from a seed plus the deltas since
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, false, 0);
+
+        public final long rev;
+        public final double balance;
+        public final long xp;
+        public final int level;
+        /** Absolute values are known (seeded or sent by the server), not just relative changes */
+        public final boolean complete;
+        public final long updatedAt;
+
+        Snapshot(long rev, double balance, long xp, int level, boolean complete, long updatedAt) {
+            this.rev = rev;
+            this.balance = balance;
+            this.xp = xp;
+            this.level = level;
+            this.complete = complete;
+            this.updatedAt = updatedAt;
+        }
+
+        Snapshot apply(Delta delta) {
+            boolean absolute = delta.balance != null && delta.xp != null && delta.level != null;
+            return new Snapshot(
+                delta.rev > 0 ? delta.rev : rev,
+                delta.balance != null ? delta.balance : balance + delta.balanceDelta,
+                delta.xp != null ? delta.xp : xp + delta.xpDelta,
+                delta.level != null ? delta.level : level,
+                complete || absolute,
+                System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Incremental text/event-stream parser (one line at a time)
+     */
+    static final class EventParser {
+        private final StringBuilder data = new StringBuilder();
+        private boolean hasData;
+        private String type;
+        private String lastId;
+        private long retryMs = -1;
+
+        /**
+         * @return The event completed by this line (a blank line), or null
+         */
+        Event line(String line) {
+            if (line.isEmpty()) {
+                Event event = new Event(type != null ? type : "message", lastId,
+                    hasData ? data.toString() : null, retryMs);
+                data.setLength(0);
+                hasData = false;
+                type = null;
+                retryMs = -1;
+                return event.data != null || event.retryMs >= 0 ? event : null;
+            }
+            if (line.charAt(0) == ':') {
+                // Comment (heartbeat)
+                return null;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "data":
+                    if (hasData) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                    hasData = true;
+                    break;
+                case "event":
+                    type = value;
+                    break;
+                case "id":
+                    lastId = value;
+                    break;
+                case "retry":
+                    try {
+                        retryMs = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        // Ignored per the EventSource spec
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return null;
+        }
+
+        static final class Event {
+            final String type;
+            final String id;
+            final String data;
+            final long retryMs;
+
+            Event(String type, String id, String data, long retryMs) {
+                this.type = type;
+                this.id = id;
+                this.data = data;
+                this.retryMs = retryMs;
+            }
+        }
+    }
+}
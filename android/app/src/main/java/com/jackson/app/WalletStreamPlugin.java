@@ -0,0 +1,156 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Wallet Stream Plugin for Jackson App
+ *
+ * JS access to {@link WalletDeltaStream}, the background push channel for
+ * balance / XP deltas:
+ * - start(): connect with the session token (defaults to the native SessionStore copy)
+ * - stop(): disconnect and forget the snapshot (sign-out)
+ * - seed(): absolute values from a full wallet fetch
+ * - getSnapshot(): native wallet snapshot and connection state
+ *
+ * Events (notifyListeners):
+ * - "walletDelta": { rev, balanceDelta, xpDelta, balance?, xp?, level?, reason?, resync, snapshot }
+ * - "walletStreamState": { state, retryInMs }
+ *
+ * The connection is paused while the activity is in the background.
+ *
+ * JS side: lib/walletStream.ts
+ */
+@CapacitorPlugin(name = "WalletStream")
+public class WalletStreamPlugin extends Plugin {
+
+    static final String EVENT_DELTA = "walletDelta";
+    static final String EVENT_STATE = "walletStreamState";
+
+    private WalletDeltaStream stream;
+
+    @Override
+    public void load() {
+        stream = new WalletDeltaStream(
+            HttpGateway.getInstance().getClient(),
+            StartupWarmup.API_BASE_URL + WalletDeltaStream.STREAM_PATH,
+            new WalletDeltaStream.Listener() {
+                @Override
+                public void onDelta(WalletDeltaStream.Delta delta, WalletDeltaStream.Snapshot snapshot, boolean resync) {
+                    notifyListeners(EVENT_DELTA, toJs(delta, snapshot, resync));
+                }
+
+                @Override
+                public void onStateChanged(String state, long retryInMs) {
+                    JSObject event = new JSObject();
+                    event.put("state", state);
+                    event.put("retryInMs", retryInMs);
+                    notifyListeners(EVENT_STATE, event);
+                }
+            });
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - token: Auth token (default: the session mirrored by lib/startup.ts)
+     */
+    @PluginMethod
+    public void start(PluginCall call) {
+        String token = call.getString("token");
+        if (token == null) {
+            token = SessionStore.from(getContext()).getToken();
+        }
+        if (token == null) {
+            call.reject("No session token");
+            return;
+        }
+        stream.start(token);
+        call.resolve(stateResult());
+    }
+
+    @PluginMethod
+    public void stop(PluginCall call) {
+        stream.stop();
+        call.resolve();
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - balance: Wallet balance
+     *   - xp: Current XP
+     *   - level: XP level
+     */
+    @PluginMethod
+    public void seed(PluginCall call) {
+        Double balance = call.getDouble("balance");
+        if (balance == null) {
+            call.reject("balance is required");
+            return;
+        }
+        stream.seed(balance, call.getLong("xp", 0L), call.getInt("level", 1));
+        call.resolve(stateResult());
+    }
+
+    @PluginMethod
+    public void getSnapshot(PluginCall call) {
+        call.resolve(stateResult());
+    }
+
+    @Override
+    protected void handleOnPause() {
+        stream.pause();
+    }
+
+    @Override
+    protected void handleOnResume() {
+        stream.resume();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        stream.stop();
+    }
+
+    private JSObject stateResult() {
+        JSObject result = new JSObject();
+        result.put("state", stream.getState());
+        result.put("snapshot", toJs(stream.getSnapshot()));
+        return result;
+    }
+
+    private static JSObject toJs(WalletDeltaStream.Delta delta, WalletDeltaStream.Snapshot snapshot, boolean resync) {
+        JSObject event = new JSObject();
+        event.put("rev", delta.rev);
+        event.put("balanceDelta", delta.balanceDelta);
+        event.put("xpDelta", delta.xpDelta);
+        if (delta.balance != null) {
+            event.put("balance", delta.balance);
+        }
+        if (delta.xp != null) {
+            event.put("xp", delta.xp);
+        }
+        if (delta.level != null) {
+            event.put("level", delta.level);
+        }
+        if (delta.reason != null) {
+            event.put("reason", delta.reason);
+        }
+        event.put("resync", resync);
+        event.put("snapshot", toJs(snapshot));
+        return event;
+    }
+
+    private static JSObject toJs(WalletDeltaStream.Snapshot snapshot) {
+        JSObject result = new JSObject();
+        result.put("rev", snapshot.rev);
+        result.put("balance", snapshot.balance);
+        result.put("xp", snapshot.xp);
+        result.put("level", snapshot.level);
+        result.put("complete", snapshot.complete);
+        result.put("updatedAt", snapshot.updatedAt);
+        return result;
+    }
+}
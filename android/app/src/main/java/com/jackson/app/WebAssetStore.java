@@ -0,0 +1,267 @@
+package com.jackson.app;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bundled web export served from memory-mapped asset bytes
+ *
+ * The build writes a manifest of every file in the Next.js export with its size
+ * and SHA-256 (web-assets.gradle). With it, each subresource is answered from a
+ * read-only mapping of the file's bytes inside the APK, and the response carries:
+ * - an ETag from the content hash (If-None-Match answered with 304)
+ * - {@link #CACHE_IMMUTABLE} for /_next/static/, whose names are already content
+ *   hashed, and {@link #CACHE_REVALIDATE} for everything else
+ *
+ * HTML documents and paths outside the manifest are not served here. Capacitor
+ * injects its bridge script into documents, so those stay on its local server.
+ */
+public final class WebAssetStore {
+
+    static final String IMMUTABLE_PREFIX = "/_next/static/";
+    static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_REVALIDATE = "no-cache";
+
+    /**
+     * Maps an asset's bytes, e.g. its region of the APK
+     */
+    interface Locator {
+        /**
+         * @param path Manifest path, e.g. "/_next/static/chunks/main.js"
+         * @return Read-only buffer positioned at the first byte of the asset
+         */
+        ByteBuffer map(String path) throws IOException;
+    }
+
+    /**
+     * Manifest entry
+     */
+    static final class Entry {
+        final String path;
+        final long size;
+        final String etag;
+
+        Entry(String path, long size, String sha256) {
+            this.path = path;
+            this.size = size;
+            // 16 hex chars of SHA-256 is plenty to tell builds apart
+            this.etag = "\"" + sha256.substring(0, Math.min(16, sha256.length())) + "\"";
+        }
+    }
+
+    /**
+     * Response for one request
+     */
+    public static final class Asset {
+        public final int status;
+        public final String mimeType;
+        /** Charset for text types, otherwise null */
+        public final String encoding;
+        public final Map<String, String> headers;
+        /** Empty for 304 */
+        public final InputStream body;
+
+        Asset(int status, String mimeType, String encoding, Map<String, String> headers, InputStream body) {
+            this.status = status;
+            this.mimeType = mimeType;
+            this.encoding = encoding;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private final Locator locator;
+    private final ConcurrentHashMap<String, ByteBuffer> mapped = new ConcurrentHashMap<>();
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong mapNanos = new AtomicLong();
+
+    WebAssetStore(Map<String, Entry> entries, Locator locator) {
+        this.entries = entries;
+        this.locator = locator;
+    }
+
+    /**
+     * @param json Manifest written by the generateWebAssetManifest Gradle task
+     */
+    static Map<String, Entry> parseManifest(String json) throws JSONException {
+        JSONObject files = new JSONObject(json).getJSONObject("files");
+        Map<String, Entry> entries = new HashMap<>(files.length() * 2);
+        Iterator<String> paths = files.keys();
+        while (paths.hasNext()) {
+            String path = paths.next();
+            JSONObject file = files.getJSONObject(path);
+            entries.put(path, new Entry(path, file.getLong("size"), file.getString("sha256")));
+        }
+        return Collections.unmodifiableMap(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Manifest entry for a request path, or null when the path is not served here
+     */
+    Entry resolve(String urlPath) {
+        if (urlPath == null || urlPath.isEmpty() || urlPath.endsWith("/")) {
+            return null;
+        }
+        String lower = urlPath.toLowerCase(Locale.ROOT);
+        int dot = lower.lastIndexOf('.');
+        if (dot < lower.lastIndexOf('/') || lower.endsWith(".html") || lower.endsWith(".htm")) {
+            // Documents and extensionless routes
+            return null;
+        }
+        return entries.get(urlPath);
+    }
+
+    /**
+     * @param ifNoneMatch Request If-None-Match header, may be null
+     * @return Response, or null when the path is not in the manifest
+     */
+    public Asset open(String urlPath, String ifNoneMatch) throws IOException {
+        Entry entry = resolve(urlPath);
+        if (entry == null) {
+            return null;
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Cache-Control", entry.path.startsWith(IMMUTABLE_PREFIX) ? CACHE_IMMUTABLE : CACHE_REVALIDATE);
+        headers.put("ETag", entry.etag);
+        String mimeType = mimeTypeOf(entry.path);
+        String encoding = mimeType.startsWith("text/") || mimeType.endsWith("javascript")
+            || mimeType.endsWith("json") || mimeType.endsWith("svg+xml") ? "utf-8" : null;
+
+        if (entry.etag.equals(ifNoneMatch)) {
+            notModified.incrementAndGet();
+            return new Asset(304, mimeType, encoding, headers, new ByteBufferInputStream(ByteBuffer.allocate(0)));
+        }
+
+        ByteBuffer buffer = mapped.get(entry.path);
+        if (buffer == null) {
+            long start = System.nanoTime();
+            buffer = locator.map(entry.path);
+            mapNanos.addAndGet(System.nanoTime() - start);
+            mapped.put(entry.path, buffer);
+        }
+        served.incrementAndGet();
+        bytesServed.addAndGet(buffer.remaining());
+        // Each response reads through its own view of the shared mapping
+        return new Asset(200, mimeType, encoding, headers, new ByteBufferInputStream(buffer.duplicate()));
+    }
+
+    /** Snapshot of serving counters for diagnostics */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("entries", (long) entries.size());
+        stats.put("served", served.get());
+        stats.put("notModified", notModified.get());
+        stats.put("bytesServed", bytesServed.get());
+        stats.put("mapped", (long) mapped.size());
+        stats.put("mapMs", mapNanos.get() / 1_000_000);
+        return stats;
+    }
+
+    static String mimeTypeOf(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        int dot = lower.lastIndexOf('.');
+        switch (dot < 0 ? "" : lower.substring(dot + 1)) {
+            case "js":
+            case "mjs":
+                return "application/javascript";
+            case "css":
+                return "text/css";
+            case "json":
+            case "map":
+                return "application/json";
+            case "txt":
+                return "text/plain";
+            case "svg":
+                return "image/svg+xml";
+            case "png":
+                return "image/png";
+            case "jpg":
+            case "jpeg":
+                return "image/jpeg";
+            case "webp":
+                return "image/webp";
+            case "gif":
+                return "image/gif";
+            case "ico":
+                return "image/x-icon";
+            case "woff":
+                return "font/woff";
+            case "woff2":
+                return "font/woff2";
+            case "ttf":
+                return "font/ttf";
+            case "mp3":
+                return "audio/mpeg";
+            case "wav":
+                return "audio/wav";
+            case "mp4":
+                return "video/mp4";
+            case "webmanifest":
+                return "application/manifest+json";
+            default:
+                return "application/octet-stream";
+        }
+    }
+
+    /**
+     * InputStream over a ByteBuffer; reads copy straight out of the mapping
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.jackson.app;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serving mode, manifest loading and cold-start comparison for {@link WebAssetStore}
+ *
+ * Web assets are packaged uncompressed (aaptOptions noCompress in build.gradle), so
+ * each one is a contiguous byte range of the APK that can be mapped through its
+ * AssetFileDescriptor instead of inflated through AssetManager on every read.
+ *
+ * Serving mode is read once per process:
+ * - {@link #MODE_MAPPED}: subresources from the mapped store (default)
+ * - {@link #MODE_LEGACY}: everything through Capacitor's local server, as before
+ *
+ * Every cold start records its firstPaint time under the active mode, so switching
+ * modes for a few launches each gives an on-device comparison of both serving paths
+ * ({@link #getColdStartComparison()}). Mode and history are kept in
+ * {@link MappedKeyValueStore}, so the cold-start read adds no SharedPreferences load.
+ */
+public final class WebAssets {
+
+    private static final int TRACE_TAG = NativeTrace.tag("📦 WebAssets");
+    /** args: entries, load ms */
+    private static final int EV_LOADED = NativeTrace.event("manifest loaded");
+    private static final int EV_UNAVAILABLE = NativeTrace.event("manifest unavailable");
+    /** args: first paint ms, assets served, 1 if mapped mode */
+    private static final int EV_COLD_START = NativeTrace.event("cold start recorded");
+
+    public static final String MODE_MAPPED = "mapped";
+    public static final String MODE_LEGACY = "legacy";
+
+    static final String MANIFEST_ASSET = "web-assets/manifest.json";
+    /** Web bundle location inside the APK assets */
+    private static final String ASSET_ROOT = "public";
+
+    private static final String KEY_MODE = "webAssets.mode";
+    private static final String KEY_HISTORY = "webAssets.coldStarts";
+    private static final int MAX_HISTORY = 40;
+
+    private static WebAssets instance;
+
+    private final Context context;
+    private final AssetManager assets;
+    private final MappedKeyValueStore settings;
+    private final String mode;
+    private final AtomicLong compressedFallbacks = new AtomicLong();
+    private WebAssetStore store;
+    private boolean loaded;
+    private boolean coldStartRecorded;
+
+    private WebAssets(Context context) {
+        this.context = context.getApplicationContext();
+        this.assets = this.context.getAssets();
+        this.settings = MappedKeyValueStore.getInstance(this.context);
+        this.mode = settings.getString(KEY_MODE, MODE_MAPPED);
+    }
+
+    public static synchronized WebAssets getInstance(Context context) {
+        if (instance == null) {
+            instance = new WebAssets(context);
+        }
+        return instance;
+    }
+
+    /** Parse the manifest off the main thread before the first subresource request */
+    public static void prefetch(Context context) {
+        WebAssets webAssets = getInstance(context);
+        new Thread(webAssets::store, "WebAssets-load").start();
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * @return Store to serve from, or null in legacy mode or without a manifest
+     */
+    public synchronized WebAssetStore store() {
+        if (loaded) {
+            return store;
+        }
+        loaded = true;
+        if (!MODE_MAPPED.equals(mode)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try (InputStream in = assets.open(MANIFEST_ASSET)) {
+            store = new WebAssetStore(WebAssetStore.parseManifest(readUtf8(in)), this::map);
+            NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_LOADED, store.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | JSONException e) {
+            // Built without the manifest task (e.g. an IDE-only build): Capacitor serves everything
+            NativeTrace.warn(TRACE_TAG, EV_UNAVAILABLE, e);
+        }
+        return store;
+    }
+
+    private ByteBuffer map(String path) throws IOException {
+        String assetPath = ASSET_ROOT + path;
+        try (AssetFileDescriptor fd = assets.openFd(assetPath);
+             FileInputStream in = fd.createInputStream();
+             FileChannel channel = in.getChannel()) {
+            // The mapping outlives the descriptor
+            return channel.map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+        } catch (FileNotFoundException e) {
+            // Stored compressed after all (extension missing from noCompress): inflate once
+            compressedFallbacks.incrementAndGet();
+            try (InputStream in = assets.open(assetPath)) {
+                return ByteBuffer.wrap(readAll(in)).asReadOnlyBuffer();
+            }
+        }
+    }
+
+    /**
+     * Serving mode for the next cold start
+     */
+    public void setMode(String nextMode) {
+        settings.putString(KEY_MODE, MODE_LEGACY.equals(nextMode) ? MODE_LEGACY : MODE_MAPPED);
+    }
+
+    /**
+     * Record this process's first paint under the active mode (first call only)
+     */
+    public void recordColdStart(long firstPaintMs) {
+        long servedCount;
+        synchronized (this) {
+            if (coldStartRecorded) {
+                return;
+            }
+            coldStartRecorded = true;
+            servedCount = store != null ? store.getStats().get("served") : 0;
+        }
+        NativeTrace.trace(NativeTrace.INFO, TRACE_TAG, EV_COLD_START, firstPaintMs, servedCount,
+            MODE_MAPPED.equals(mode) ? 1 : 0);
+        try {
+            JSONArray history = new JSONArray(settings.getString(KEY_HISTORY, "[]"));
+            history.put(new JSONObject()
+                .put("mode", mode)
+                .put("firstPaintMs", firstPaintMs)
+                .put("assetsServed", servedCount));
+            JSONArray trimmed = new JSONArray();
+            for (int i = Math.max(0, history.length() - MAX_HISTORY); i < history.length(); i++) {
+                trimmed.put(history.get(i));
+            }
+            settings.putString(KEY_HISTORY, trimmed.toString());
+        } catch (JSONException e) {
+            settings.remove(KEY_HISTORY);
+        }
+    }
+
+    /**
+     * Per mode: runs, median and mean firstPaint over the recorded cold starts
+     */
+    public JSONObject getColdStartComparison() throws JSONException {
+        JSONArray history = new JSONArray(settings.getString(KEY_HISTORY, "[]"));
+        JSONObject result = new JSONObject();
+        for (String each : new String[] {MODE_MAPPED, MODE_LEGACY}) {
+            List<Long> times = new ArrayList<>();
+            for (int i = 0; i < history.length(); i++) {
+                JSONObject run = history.getJSONObject(i);
+                if (each.equals(run.optString("mode"))) {
+                    times.add(run.getLong("firstPaintMs"));
+                }
+            }
+            Collections.sort(times);
+            long sum = 0;
+            for (long time : times) {
+                sum += time;
+            }
+            JSONObject summary = new JSONObject().put("runs", times.size());
+            if (!times.isEmpty()) {
+                summary.put("medianFirstPaintMs", times.get(times.size() / 2));
+                summary.put("meanFirstPaintMs", sum / times.size());
+            }
+            result.put(each, summary);
+        }
+        result.put("activeMode", mode);
+        return result;
+    }
+
+    /** Store counters plus how many assets had to be inflated */
+    public JSONObject getStats() throws JSONException {
+        JSONObject result = new JSONObject().put("mode", mode);
+        WebAssetStore current = store;
+        if (current != null) {
+            for (Map.Entry<String, Long> entry : current.getStats().entrySet()) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        result.put("compressedFallbacks", compressedFallbacks.get());
+        return result;
+    }
+
+    private static String readUtf8(InputStream in) throws IOException {
+        return new String(readAll(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+/**
+ * Web Assets Plugin for Jackson App
+ *
+ * JS access to {@link WebAssets}:
+ * - getStats(): serving mode, assets served from the mapped store, 304s, bytes
+ * - setMode(): "mapped" or "legacy" serving for the next cold start
+ * - getColdStartComparison(): firstPaint per serving mode over recorded cold starts
+ *
+ * JS side: lib/webAssets.ts
+ */
+@CapacitorPlugin(name = "WebAssets")
+public class WebAssetsPlugin extends Plugin {
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        try {
+            call.resolve(JSObject.fromJSONObject(WebAssets.getInstance(getContext()).getStats()));
+        } catch (JSONException e) {
+            call.reject("Stats unavailable", e);
+        }
+    }
+
+    /**
+     * @param call Capacitor plugin call with options:
+     *   - mode: "mapped" or "legacy" (required)
+     */
+    @PluginMethod
+    public void setMode(PluginCall call) {
+        String mode = call.getString("mode");
+        if (!WebAssets.MODE_MAPPED.equals(mode) && !WebAssets.MODE_LEGACY.equals(mode)) {
+            call.reject("mode must be \"mapped\" or \"legacy\"");
+            return;
+        }
+        WebAssets.getInstance(getContext()).setMode(mode);
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getColdStartComparison(PluginCall call) {
+        try {
+            call.resolve(JSObject.fromJSONObject(WebAssets.getInstance(getContext()).getColdStartComparison()));
+        } catch (JSONException e) {
+            call.reject("Comparison unavailable", e);
+        }
+    }
+}
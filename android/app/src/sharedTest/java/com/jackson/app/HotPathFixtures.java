@@ -0,0 +1,110 @@
+package com.jackson.app;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Payloads and a bridge stand-in shared by the JVM (HotPathBenchmarkTest) and
+ * device (NativeHotPathMicrobenchmark) benchmarks
+ */
+final class HotPathFixtures {
+
+    /** What the Capacitor runtime posts for a plugin call (MessageHandler.postMessage) */
+    static final String CALL_MESSAGE = "{\"callbackId\":\"81342217\",\"pluginId\":\"Bench\","
+        + "\"methodName\":\"echo\",\"options\":{\"key\":\"authToken\",\"value\":\"eyJhbGciOiJIUzI1NiJ9.eyJpZCI6IjY0ZjEifQ.c2ln\"}}";
+
+    static final String AUTH_TOKEN = "eyJhbGciOiJIUzI1NiJ9.eyJpZCI6IjY0ZjEifQ.c2ln";
+
+    private HotPathFixtures() {
+    }
+
+    /** Shape of a /api/wallet/transactions page; 500 rows is ~100 KB of JSON */
+    static JSObject walletPage(int rows) {
+        JSArray transactions = new JSArray();
+        for (int i = 0; i < rows; i++) {
+            JSObject row = new JSObject();
+            row.put("_id", "66a1f0c2e4b0" + (100000 + i));
+            row.put("type", i % 3 == 0 ? "withdrawal" : "game_reward");
+            row.put("amount", 125 + i);
+            row.put("currency", "coins");
+            row.put("status", "completed");
+            row.put("description", "Reward for reaching level " + (i % 40) + " in Merge Dragons");
+            row.put("createdAt", "2026-09-" + (10 + i % 20) + "T12:34:56.000Z");
+            transactions.put(row);
+        }
+        JSObject page = new JSObject();
+        page.put("transactions", transactions);
+        page.put("totalItems", rows);
+        return page;
+    }
+
+    /**
+     * The native half of a plugin call without the thread hops: parse the
+     * message, build the PluginCall, invoke the @PluginMethod reflectively (as
+     * PluginHandle does) and serialize the response the WebView would evaluate
+     */
+    static final class PluginRoundTrip {
+        private final Plugin plugin;
+        private final Map<String, Method> methods = new HashMap<>();
+
+        PluginRoundTrip(Plugin plugin) {
+            this.plugin = plugin;
+            // PluginHandle indexes @PluginMethod methods once per plugin class
+            for (Method method : plugin.getClass().getMethods()) {
+                if (method.isAnnotationPresent(PluginMethod.class)) {
+                    methods.put(method.getName(), method);
+                }
+            }
+        }
+
+        String call(String message) throws Exception {
+            JSObject post = new JSObject(message);
+            RecordingCall call = new RecordingCall(post.getString("pluginId"), post.getString("callbackId"),
+                post.getString("methodName"), post.getJSObject("options", new JSObject()));
+            methods.get(call.getMethodName()).invoke(plugin, call);
+            return call.response;
+        }
+    }
+
+    @CapacitorPlugin(name = "Bench")
+    public static class BenchPlugin extends Plugin {
+        @PluginMethod
+        public void echo(PluginCall call) {
+            JSObject result = new JSObject();
+            result.put("value", call.getString("value"));
+            call.resolve(result);
+        }
+    }
+
+    /**
+     * PluginCall that builds the response MessageHandler.sendResponseMessage
+     * would evaluate in the WebView, instead of sending it
+     */
+    private static final class RecordingCall extends PluginCall {
+        String response;
+
+        RecordingCall(String pluginId, String callbackId, String methodName, JSObject data) {
+            super(null, pluginId, callbackId, methodName, data);
+        }
+
+        @Override
+        public void resolve(JSObject data) {
+            JSObject envelope = new JSObject();
+            envelope.put("save", false);
+            envelope.put("callbackId", getCallbackId());
+            envelope.put("pluginId", getPluginId());
+            envelope.put("methodName", getMethodName());
+            envelope.put("success", true);
+            envelope.put("data", data);
+            response = "window.Capacitor.fromNative(" + envelope + ")";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import android.content.ComponentCallbacks2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Trim level mapping, repeat suppression and the renderer recovery budget
+ */
+public class AppLifecycleTest {
+
+    private AppLifecycle lifecycle;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        lifecycle = new AppLifecycle();
+        lifecycle.addListener(new AppLifecycle.Listener() {
+            @Override
+            public void onMemoryPressure(String pressure, int level, boolean visible) {
+                events.add(pressure + (visible ? "/visible" : "/hidden"));
+            }
+
+            @Override
+            public void onVisibilityChanged(boolean visible) {
+                events.add(visible ? "shown" : "hidden");
+            }
+        });
+    }
+
+    @Test
+    public void trimLevelsMapToThreePressures() {
+        assertEquals(AppLifecycle.PRESSURE_MODERATE,
+            AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE));
+        assertEquals(AppLifecycle.PRESSURE_LOW,
+            AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW));
+        assertEquals(AppLifecycle.PRESSURE_CRITICAL,
+            AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL));
+        assertNull(AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+        assertEquals(AppLifecycle.PRESSURE_MODERATE,
+            AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND));
+        assertEquals(AppLifecycle.PRESSURE_LOW,
+            AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_MODERATE));
+        assertEquals(AppLifecycle.PRESSURE_CRITICAL,
+            AppLifecycle.pressureFor(ComponentCallbacks2.TRIM_MEMORY_COMPLETE));
+    }
+
+    @Test
+    public void repeatedPressureIsAnnouncedOncePerWindow() {
+        lifecycle.setVisible(true);
+        int level = ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+
+        assertEquals(AppLifecycle.PRESSURE_LOW, lifecycle.trimMemory(level, 1_000));
+        assertNull(lifecycle.trimMemory(level, 2_000));
+        assertEquals(AppLifecycle.PRESSURE_LOW,
+            lifecycle.trimMemory(level, 1_000 + AppLifecycle.REPEAT_WINDOW_MS));
+        assertEquals(AppLifecycle.PRESSURE_CRITICAL,
+            lifecycle.lowMemory(2_000 + AppLifecycle.REPEAT_WINDOW_MS));
+
+        assertEquals(Arrays.asList("shown", "low/visible", "low/visible", "critical/visible"), events);
+    }
+
+    @Test
+    public void visibilityChangeResetsRepeatSuppression() {
+        lifecycle.setVisible(true);
+        lifecycle.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE, 1_000);
+        lifecycle.setVisible(false);
+        lifecycle.setVisible(false);
+        lifecycle.trimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND, 2_000);
+
+        assertEquals(Arrays.asList("shown", "moderate/visible", "hidden", "moderate/hidden"), events);
+        assertFalse(lifecycle.isVisible());
+    }
+
+    @Test
+    public void rendererRecoveryIsBudgetedPerWindow() {
+        for (int i = 0; i < AppLifecycle.MAX_RECOVERIES; i++) {
+            assertTrue(lifecycle.rendererGone(true, 2, i * 1_000L));
+        }
+        assertFalse(lifecycle.rendererGone(true, 2, 10_000));
+        AppLifecycle.RendererExit exit = lifecycle.takeRendererExit();
+        assertFalse(exit.recovered);
+        assertNull(lifecycle.takeRendererExit());
+
+        // The oldest recovery ages out of the window
+        assertTrue(lifecycle.rendererGone(false, 0, AppLifecycle.RECOVERY_WINDOW_MS));
+        exit = lifecycle.takeRendererExit();
+        assertTrue(exit.recovered);
+        assertFalse(exit.didCrash);
+    }
+
+    @Test
+    public void osReclaimsAreAlwaysRecoveredAndNotBudgeted() {
+        for (int i = 0; i < AppLifecycle.MAX_RECOVERIES; i++) {
+            assertTrue(lifecycle.rendererGone(true, 2, i * 1_000L));
+        }
+        // Budget spent on crashes, but a reclaim while backgrounded still recovers
+        assertTrue(lifecycle.rendererGone(false, 0, 10_000));
+        assertTrue(lifecycle.takeRendererExit().recovered);
+        assertFalse(lifecycle.rendererGone(true, 2, 11_000));
+
+        AppLifecycle fresh = new AppLifecycle();
+        for (int i = 0; i < AppLifecycle.MAX_RECOVERIES * 2; i++) {
+            assertTrue(fresh.rendererGone(false, 0, i * 1_000L));
+        }
+        assertTrue(fresh.rendererGone(true, 2, 10_000));
+    }
+}
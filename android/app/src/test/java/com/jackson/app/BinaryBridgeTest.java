@@ -0,0 +1,187 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * BinaryFrame encoding and BinaryBridge dispatch, with handlers run inline and
+ * replies collected instead of posted to a WebView
+ */
+public class BinaryBridgeTest {
+
+    private BinaryBridge bridge;
+    private List<byte[]> sent;
+
+    @Before
+    public void setUp() {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        bridge = new BinaryBridge(Runnable::run);
+        sent = new ArrayList<>();
+    }
+
+    private static byte[] request(int id, String method, byte[] body, boolean acceptDeflate) {
+        byte[] name = method.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ByteBuffer.allocate(2 + name.length + body.length)
+            .putShort((short) name.length)
+            .put(name)
+            .put(body)
+            .array();
+        byte[] frame = BinaryFrame.encode(BinaryFrame.TYPE_REQUEST, id, 0, payload, false);
+        // JS sets the flag on the request header
+        frame[2] = (byte) (acceptDeflate ? BinaryFrame.FLAG_ACCEPT_DEFLATE : 0);
+        return frame;
+    }
+
+    private List<BinaryFrame> received() {
+        List<BinaryFrame> frames = new ArrayList<>();
+        for (byte[] message : sent) {
+            frames.addAll(BinaryFrame.decode(message));
+        }
+        return frames;
+    }
+
+    private static byte[] repeated(int bytes) {
+        byte[] data = new byte[bytes];
+        for (int i = 0; i < bytes; i++) {
+            data[i] = (byte) "{\"offer\":1},".charAt(i % 12);
+        }
+        return data;
+    }
+
+    @Test
+    public void framesRoundTripBackToBack() {
+        byte[] large = repeated(40_000);
+        byte[] message = BinaryFrame.concat(Arrays.asList(
+            BinaryFrame.encode(BinaryFrame.TYPE_META, 7, 0, "{\"status\":200}".getBytes(StandardCharsets.UTF_8), true),
+            BinaryFrame.encode(BinaryFrame.TYPE_CHUNK, 7, 1, large, true),
+            BinaryFrame.encode(BinaryFrame.TYPE_END, 7, 2, new byte[0], true)));
+        assertTrue("repetitive chunk is deflated", message.length < 10_000);
+
+        List<BinaryFrame> frames = BinaryFrame.decode(message);
+        assertEquals(3, frames.size());
+        assertFalse("small meta is sent as is", frames.get(0).has(BinaryFrame.FLAG_DEFLATE));
+        assertTrue(frames.get(1).has(BinaryFrame.FLAG_DEFLATE));
+        assertArrayEquals(large, frames.get(1).payload);
+        assertEquals(7, frames.get(2).requestId);
+        assertEquals(2, frames.get(2).sequence);
+    }
+
+    @Test
+    public void malformedMessagesAreRejected() {
+        byte[] frame = BinaryFrame.encode(BinaryFrame.TYPE_CHUNK, 1, 0, new byte[10], false);
+        try {
+            BinaryFrame.decode(Arrays.copyOf(frame, frame.length - 1));
+            fail("length past the end");
+        } catch (IllegalArgumentException expected) {
+        }
+        frame[0] = 9;
+        try {
+            BinaryFrame.decode(frame);
+            fail("unknown version");
+        } catch (IllegalArgumentException expected) {
+        }
+        // A bad message is dropped without a reply
+        bridge.onMessage(frame, sent::add);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void smallResponseIsOneMessage() {
+        bridge.register("echo", (request, response) -> {
+            response.meta("{\"method\":\"" + request.method + "\"}");
+            response.chunk(request.body);
+            response.end();
+        });
+        bridge.onMessage(request(3, "echo", "hello".getBytes(StandardCharsets.UTF_8), true), sent::add);
+
+        assertEquals(1, sent.size());
+        List<BinaryFrame> frames = received();
+        assertEquals(BinaryFrame.TYPE_META, frames.get(0).type);
+        assertEquals("{\"method\":\"echo\"}", new String(frames.get(0).payload, StandardCharsets.UTF_8));
+        assertEquals("hello", new String(frames.get(1).payload, StandardCharsets.UTF_8));
+        assertEquals(BinaryFrame.TYPE_END, frames.get(2).type);
+    }
+
+    @Test
+    public void largeBodyStreamsInChunks() {
+        byte[] body = new byte[BinaryBridge.CHUNK_BYTES * 2 + 100];
+        new Random(1).nextBytes(body);
+        bridge.register("blob", (request, response) -> {
+            response.chunk(body);
+            response.end();
+        });
+        bridge.onMessage(request(4, "blob", new byte[0], true), sent::add);
+
+        assertTrue("sent as it was produced, not as one message", sent.size() >= 3);
+        List<BinaryFrame> frames = received();
+        ByteBuffer joined = ByteBuffer.allocate(body.length);
+        int sequence = 0;
+        for (BinaryFrame frame : frames) {
+            assertEquals(sequence++, frame.sequence);
+            if (frame.type == BinaryFrame.TYPE_CHUNK) {
+                assertTrue(frame.payload.length <= BinaryBridge.CHUNK_BYTES);
+                assertFalse("random bytes don't shrink", frame.has(BinaryFrame.FLAG_DEFLATE));
+                joined.put(frame.payload);
+            }
+        }
+        assertArrayEquals(body, joined.array());
+        assertEquals(BinaryFrame.TYPE_END, frames.get(frames.size() - 1).type);
+    }
+
+    @Test
+    public void deflateOnlyWhenRequested() {
+        byte[] body = repeated(64_000);
+        bridge.register("json", (request, response) -> {
+            response.chunk(body);
+            response.end();
+        });
+        bridge.onMessage(request(5, "json", new byte[0], false), sent::add);
+        bridge.onMessage(request(6, "json", new byte[0], true), sent::add);
+
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).length > body.length);
+        assertTrue(sent.get(1).length < body.length / 4);
+        assertArrayEquals(body, received().get(2).payload);
+    }
+
+    @Test
+    public void failuresBecomeErrorFrames() {
+        bridge.register("broken", (request, response) -> {
+            response.meta("{}");
+            throw new IllegalStateException("no data");
+        });
+        bridge.onMessage(request(8, "broken", new byte[0], false), sent::add);
+        bridge.onMessage(request(9, "missing", new byte[0], false), sent::add);
+
+        List<BinaryFrame> frames = received();
+        assertEquals(2, frames.size());
+        assertEquals(BinaryFrame.TYPE_ERROR, frames.get(0).type);
+        assertEquals("no data", new String(frames.get(0).payload, StandardCharsets.UTF_8));
+        assertEquals(9, frames.get(1).requestId);
+        assertEquals(2L, (long) bridge.getStats().get("failures"));
+    }
+
+    @Test
+    public void cancelledResponsesStopSending() {
+        List<BinaryBridge.Response> held = new ArrayList<>();
+        bridge.register("slow", (request, response) -> held.add(response));
+        bridge.onMessage(request(10, "slow", new byte[0], false), sent::add);
+        bridge.onMessage(BinaryFrame.encode(BinaryFrame.TYPE_CANCEL, 10, 0, new byte[0], false), sent::add);
+
+        BinaryBridge.Response response = held.get(0);
+        assertTrue(response.isCancelled());
+        response.chunk(new byte[BinaryBridge.CHUNK_BYTES]);
+        response.end();
+        assertTrue(sent.isEmpty());
+        assertEquals(0L, (long) bridge.getStats().get("active"));
+    }
+}
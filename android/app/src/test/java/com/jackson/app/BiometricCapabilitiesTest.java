@@ -0,0 +1,94 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * BiometricCapabilities cache tests with a counting probe
+ */
+public class BiometricCapabilitiesTest {
+
+    private CountingProbe probe;
+    private BiometricCapabilities capabilities;
+
+    @Before
+    public void setUp() {
+        // Keep logcat (android.util.Log) out of JVM tests
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        probe = new CountingProbe();
+        capabilities = new BiometricCapabilities(probe);
+    }
+
+    @Test
+    public void repeatedCallsAreAnsweredFromMemory() {
+        BiometricCapabilities.Capability first = capabilities.get();
+        BiometricCapabilities.Capability second = capabilities.get();
+        capabilities.get();
+
+        assertSame(first, second);
+        assertEquals(0, first.status);
+        assertEquals(3, first.biometryType);
+        assertEquals(1, probe.statusCalls);
+        assertEquals(1, probe.typeCalls);
+    }
+
+    @Test
+    public void invalidateReprobesStatusButNotHardware() {
+        capabilities.get();
+        probe.status = 11;
+        capabilities.invalidate(BiometricCapabilities.REASON_RESUME);
+
+        BiometricCapabilities.Capability refreshed = capabilities.get();
+
+        assertEquals(11, refreshed.status);
+        assertEquals(2, probe.statusCalls);
+        assertEquals(1, probe.typeCalls);
+    }
+
+    @Test
+    public void enrollmentChangeIsReported() {
+        assertFalse(capabilities.get().enrollmentChanged);
+
+        capabilities.onEnrollmentChanged();
+
+        assertTrue(capabilities.get().enrollmentChanged);
+        assertEquals(2, probe.statusCalls);
+    }
+
+    @Test
+    public void invalidationDuringProbeIsNotOverwritten() {
+        probe.onProbe = () -> capabilities.invalidate(BiometricCapabilities.REASON_AUTH_ERROR);
+        capabilities.get();
+        probe.onProbe = null;
+
+        // The racing result was returned once but not cached
+        capabilities.get();
+        assertEquals(2, probe.statusCalls);
+        capabilities.get();
+        assertEquals(2, probe.statusCalls);
+    }
+
+    private static final class CountingProbe implements BiometricCapabilities.Probe {
+        int status;
+        int statusCalls;
+        int typeCalls;
+        Runnable onProbe;
+
+        @Override
+        public int canAuthenticate() {
+            statusCalls++;
+            if (onProbe != null) {
+                onProbe.run();
+            }
+            return status;
+        }
+
+        @Override
+        public int biometryType() {
+            typeCalls++;
+            return 3;
+        }
+    }
+}
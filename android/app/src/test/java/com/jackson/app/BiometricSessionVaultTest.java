@@ -0,0 +1,116 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+import javax.crypto.Cipher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * BiometricSessionVault crypto paths with a software RSA key pair standing in for
+ * the keystore (BiometricPrompt would authenticate the cipher in between)
+ */
+public class BiometricSessionVaultTest {
+
+    private static final String PAYLOAD =
+        "{\"token\":\"eyJhbGciOiJIUzI1NiJ9.e30.sig\",\"user\":{\"_id\":\"u1\",\"name\":\"Zoë\"}}";
+
+    private SoftwareKeys keys;
+    private MappedKeyValueStore store;
+    private BiometricSessionVault vault;
+
+    @Before
+    public void setUp() throws Exception {
+        keys = new SoftwareKeys();
+        store = new MappedKeyValueStore(new File(Files.createTempDirectory("vault").toFile(), "store.bin"));
+        vault = new BiometricSessionVault(keys, store);
+    }
+
+    @Test
+    public void sealedSessionOpensWithUnlockCipher() throws Exception {
+        assertFalse(vault.hasSession());
+        assertNull(vault.prepareUnlock());
+
+        vault.seal(PAYLOAD);
+
+        assertTrue(vault.hasSession());
+        Cipher cipher = vault.prepareUnlock();
+        assertNotNull(cipher);
+        assertEquals(PAYLOAD, vault.open(cipher));
+    }
+
+    @Test
+    public void payloadIsNotStoredInPlaintext() throws Exception {
+        vault.seal(PAYLOAD);
+
+        for (Object value : store.getAll().values()) {
+            assertFalse(value.toString().contains("eyJhbGciOiJIUzI1NiJ9"));
+        }
+    }
+
+    @Test
+    public void resealReplacesPreviousSession() throws Exception {
+        vault.seal(PAYLOAD);
+        vault.seal("{\"token\":\"t2\"}");
+
+        assertEquals("{\"token\":\"t2\"}", vault.open(vault.prepareUnlock()));
+    }
+
+    @Test
+    public void missingKeyDiscardsSession() throws Exception {
+        vault.seal(PAYLOAD);
+        keys.pair = null;
+
+        assertNull(vault.prepareUnlock());
+        assertTrue(store.getAll().isEmpty());
+    }
+
+    @Test
+    public void clearForgetsSessionAndKey() throws Exception {
+        vault.seal(PAYLOAD);
+
+        vault.clear();
+
+        assertFalse(vault.hasSession());
+        assertNull(keys.pair);
+        assertNull(vault.prepareUnlock());
+    }
+
+    private static final class SoftwareKeys implements BiometricSessionVault.KeyAccess {
+        KeyPair pair;
+
+        @Override
+        public boolean exists() {
+            return pair != null;
+        }
+
+        @Override
+        public PublicKey publicKey() throws GeneralSecurityException {
+            if (pair == null) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                pair = generator.generateKeyPair();
+            }
+            return pair.getPublic();
+        }
+
+        @Override
+        public PrivateKey privateKey() {
+            return pair != null ? pair.getPrivate() : null;
+        }
+
+        @Override
+        public void delete() {
+            pair = null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * DeadlineScheduler tick alignment, minute displays and deadline coalescing
+ */
+public class DeadlineSchedulerTest {
+
+    private static final long NOW = 1_760_000_000_250L;
+
+    private DeadlineScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new DeadlineScheduler();
+    }
+
+    @Test
+    public void nothingWatchedNeverWakes() {
+        assertEquals(Long.MAX_VALUE, scheduler.nextWakeAt(NOW));
+        assertTrue(scheduler.poll(NOW).isEmpty());
+    }
+
+    @Test
+    public void ticksOnWholeSecondsOfServerTime() {
+        scheduler.watch("daily", NOW + 3_600_000, DeadlineScheduler.SECOND_MS);
+
+        assertEquals(1_760_000_001_000L, scheduler.nextWakeAt(NOW));
+        assertEquals(1_760_000_002_000L, scheduler.nextWakeAt(1_760_000_001_000L));
+    }
+
+    @Test
+    public void minuteCountdownsWakeOnlyWhenTheirMinutesChange() {
+        scheduler.watch("badge", NOW + 150_000, DeadlineScheduler.MINUTE_MS);
+        // 2m30s left: shows "2m" until 2m are left
+        assertEquals(NOW + 30_000, scheduler.nextWakeAt(NOW));
+        assertEquals(NOW + 90_000, scheduler.nextWakeAt(NOW + 30_000));
+
+        // A seconds countdown makes everyone tick every second
+        scheduler.watch("challenge", NOW + 3_600_000, DeadlineScheduler.SECOND_MS);
+        assertEquals(1_760_000_001_000L, scheduler.nextWakeAt(NOW));
+
+        scheduler.unwatch("challenge");
+        assertEquals(NOW + 30_000, scheduler.nextWakeAt(NOW));
+    }
+
+    @Test
+    public void manyCountdownsShareOneWake() {
+        for (int i = 0; i < 50; i++) {
+            scheduler.watch("timer-" + i, NOW + 60_000 + i * 7_000, DeadlineScheduler.SECOND_MS);
+        }
+
+        assertEquals(1_760_000_001_000L, scheduler.nextWakeAt(NOW));
+        assertEquals(50, scheduler.size());
+    }
+
+    @Test
+    public void deadlineBetweenTicksWakesOnTheDeadline() {
+        scheduler.watch("badge", NOW + 3_600_000 + 30_000, DeadlineScheduler.MINUTE_MS);
+        scheduler.watch("unlock", NOW + 12_345, DeadlineScheduler.MINUTE_MS);
+
+        assertEquals(NOW + 12_345, scheduler.nextWakeAt(NOW));
+        assertTrue(scheduler.poll(NOW + 12_344).isEmpty());
+        assertEquals(Collections.singletonList("unlock"), scheduler.poll(NOW + 12_345));
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    public void closeDeadlinesFireTogetherAndNeverEarly() {
+        scheduler.watch("badge", NOW + 3_600_000 + 30_000, DeadlineScheduler.MINUTE_MS);
+        scheduler.watch("a", NOW + 10_000, DeadlineScheduler.MINUTE_MS);
+        scheduler.watch("b", NOW + 10_030, DeadlineScheduler.MINUTE_MS);
+
+        long wake = scheduler.nextWakeAt(NOW);
+        assertEquals(NOW + 10_030, wake);
+        List<String> expired = scheduler.poll(wake);
+        Collections.sort(expired);
+        assertEquals(Arrays.asList("a", "b"), expired);
+    }
+
+    @Test
+    public void deadlineJustBeforeATickWaitsForTheTick() {
+        scheduler.watch("unlock", 1_760_000_000_980L, DeadlineScheduler.SECOND_MS);
+
+        assertEquals(1_760_000_001_000L, scheduler.nextWakeAt(NOW));
+    }
+
+    @Test
+    public void passedDeadlineWakesImmediately() {
+        scheduler.watch("late", NOW - 5_000, DeadlineScheduler.SECOND_MS);
+
+        assertEquals(NOW, scheduler.nextWakeAt(NOW));
+        assertEquals(Collections.singletonList("late"), scheduler.poll(NOW));
+        assertTrue(scheduler.isEmpty());
+    }
+
+    @Test
+    public void watchingAnIdAgainMovesItsDeadline() {
+        scheduler.watch("vip", NOW + 1_000, DeadlineScheduler.SECOND_MS);
+        scheduler.watch("vip", NOW + 90_000, DeadlineScheduler.SECOND_MS);
+
+        assertTrue(scheduler.poll(NOW + 2_000).isEmpty());
+        assertEquals(1, scheduler.size());
+    }
+}
@@ -0,0 +1,100 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * FrameStats per-route attribution, jank / frozen counts and percentiles
+ */
+public class FrameStatsTest {
+
+    private static final long MS = 1_000_000;
+    private static final long DEADLINE = 16_666_667;
+
+    private FrameStats stats;
+
+    @Before
+    public void setUp() {
+        stats = new FrameStats();
+    }
+
+    @Test
+    public void framesAreAttributedToTheReportedRoute() {
+        stats.setRoute("/homepage");
+        stats.record(8 * MS, DEADLINE);
+        stats.record(9 * MS, DEADLINE);
+        stats.setRoute("/games");
+        stats.record(30 * MS, DEADLINE);
+
+        Map<String, Map<String, Long>> snapshot = stats.snapshot();
+        assertEquals(3L, (long) snapshot.get(FrameStats.ALL_ROUTES).get("frames"));
+        assertEquals(2L, (long) snapshot.get("/homepage").get("frames"));
+        assertEquals(0L, (long) snapshot.get("/homepage").get("janky"));
+        assertEquals(1L, (long) snapshot.get("/games").get("janky"));
+        // All routes first, then busiest first
+        assertArrayEquals(new String[] {FrameStats.ALL_ROUTES, "/homepage", "/games"},
+            snapshot.keySet().toArray(new String[0]));
+    }
+
+    @Test
+    public void percentilesComeFromTheHistogram() {
+        stats.setRoute("/spin");
+        for (int i = 0; i < 90; i++) {
+            stats.record(5 * MS + 500_000, DEADLINE);
+        }
+        for (int i = 0; i < 9; i++) {
+            stats.record(20 * MS, DEADLINE);
+        }
+        stats.record(800 * MS, DEADLINE);
+
+        Map<String, Long> spin = stats.snapshot().get("/spin");
+        assertEquals(6L, (long) spin.get("p50Ms"));
+        assertEquals(6L, (long) spin.get("p90Ms"));
+        assertEquals(21L, (long) spin.get("p99Ms"));
+        assertEquals(800L, (long) spin.get("worstMs"));
+        assertEquals(10L, (long) spin.get("janky"));
+        assertEquals(1L, (long) spin.get("frozen"));
+    }
+
+    @Test
+    public void framesWithoutARouteAndPastTheRouteCapAreStillCounted() {
+        stats.record(10 * MS, DEADLINE);
+        for (int i = 0; i <= FrameStats.MAX_ROUTES; i++) {
+            stats.setRoute("/r" + i);
+            stats.record(10 * MS, DEADLINE);
+        }
+
+        Map<String, Map<String, Long>> snapshot = stats.snapshot();
+        assertEquals(1L, (long) snapshot.get(FrameStats.UNKNOWN_ROUTE).get("frames"));
+        assertEquals(2L, (long) snapshot.get(FrameStats.OTHER_ROUTE).get("frames"));
+        assertEquals(FrameStats.MAX_ROUTES + 2L, (long) snapshot.get(FrameStats.ALL_ROUTES).get("frames"));
+    }
+
+    @Test
+    public void droppedFramesAreCountedWithoutADuration() {
+        stats.setRoute("/spin");
+        stats.record(10 * MS, DEADLINE);
+        stats.recordDropped(3);
+
+        Map<String, Map<String, Long>> snapshot = stats.snapshot();
+        assertEquals(3L, (long) snapshot.get("/spin").get("dropped"));
+        assertEquals(3L, (long) snapshot.get(FrameStats.ALL_ROUTES).get("dropped"));
+        assertEquals(1L, (long) snapshot.get("/spin").get("frames"));
+    }
+
+    @Test
+    public void resetStartsANewWindowOnTheSameRoute() {
+        stats.setRoute("/wallet");
+        stats.record(10 * MS, DEADLINE);
+        stats.reset();
+        stats.record(12 * MS, DEADLINE);
+
+        Map<String, Map<String, Long>> snapshot = stats.snapshot();
+        assertEquals(1L, (long) snapshot.get(FrameStats.ALL_ROUTES).get("frames"));
+        assertEquals(12L, (long) snapshot.get("/wallet").get("worstMs"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * GeoIndex accuracy and latency against the bundled place list
+ * (src/main/assets/geo, read from the module directory like Gradle runs tests)
+ */
+public class GeoIndexTest {
+
+    private static final Path ASSETS = Paths.get("src", "main", "assets", "geo");
+
+    private static GeoIndex index;
+    private static List<double[]> places;
+
+    @BeforeClass
+    public static void packBundledIndex() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BufferedReader cities = Files.newBufferedReader(ASSETS.resolve("cities.tsv"), StandardCharsets.UTF_8);
+             BufferedReader countries = Files.newBufferedReader(ASSETS.resolve("countries.tsv"), StandardCharsets.UTF_8)) {
+            GeoIndex.pack(cities, countries, out);
+        }
+        // Direct buffer, like the mapped file in the app
+        ByteBuffer buffer = ByteBuffer.allocateDirect(out.size());
+        buffer.put(out.toByteArray()).flip();
+        index = GeoIndex.open(buffer);
+
+        places = new ArrayList<>();
+        for (String line : Files.readAllLines(ASSETS.resolve("cities.tsv"), StandardCharsets.UTF_8)) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                String[] fields = line.split("\t");
+                places.add(new double[] { Double.parseDouble(fields[3]), Double.parseDouble(fields[4]) });
+            }
+        }
+    }
+
+    private static void assertPlace(double lat, double lon, String city, String countryCode, String timezone) {
+        GeoIndex.Place place = index.nearest(lat, lon);
+        assertEquals(city, place.city);
+        assertEquals(countryCode, place.countryCode);
+        assertEquals(timezone, place.timezone);
+    }
+
+    @Test
+    public void resolvesNeighbourhoodsToTheirCity() {
+        assertPlace(28.6315, 77.2167, "New Delhi", "IN", "Asia/Kolkata");       // Connaught Place
+        assertPlace(19.0596, 72.8295, "Mumbai", "IN", "Asia/Kolkata");          // Bandra
+        assertPlace(12.9352, 77.6245, "Bengaluru", "IN", "Asia/Kolkata");       // Koramangala
+        assertPlace(17.4401, 78.3489, "Hyderabad", "IN", "Asia/Kolkata");       // Gachibowli
+        assertPlace(40.7580, -73.9855, "New York", "US", "America/New_York");   // Times Square
+        assertPlace(34.0195, -118.4912, "Los Angeles", "US", "America/Los_Angeles"); // Santa Monica
+        assertPlace(51.4995, -0.1248, "London", "GB", "Europe/London");         // Westminster
+        assertPlace(-33.8568, 151.2153, "Sydney", "AU", "Australia/Sydney");    // Opera House
+    }
+
+    @Test
+    public void returnsRegionCountryNameAndDistance() {
+        GeoIndex.Place place = index.nearest(22.5726, 88.3639);
+
+        assertEquals("Kolkata", place.city);
+        assertEquals("West Bengal", place.region);
+        assertEquals("India", place.country);
+        assertEquals(0, place.distanceKm, 0.01);
+
+        GeoIndex.Place remote = index.nearest(-54.8, -68.3); // Ushuaia, far from any bundled place
+        assertTrue(remote.distanceKm > 1000);
+    }
+
+    @Test
+    public void matchesBruteForceEverywhereIncludingPolesAndAntimeridian() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            // Uniform on the sphere, so the poles get their share
+            double lat = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+            double lon = i % 10 == 0 ? (random.nextBoolean() ? 179.99 : -179.99) : random.nextDouble() * 360 - 180;
+
+            double expected = Double.MAX_VALUE;
+            for (double[] place : places) {
+                expected = Math.min(expected, GeoIndex.distanceKm(lat, lon, place[0], place[1]));
+            }
+            // Stored coordinates are floats: allow a few metres
+            assertEquals("at " + lat + "," + lon, expected, index.nearest(lat, lon).distanceKm, 0.05);
+        }
+    }
+
+    @Test
+    public void lookupsTakeWellUnderAMillisecond() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            index.nearest(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+        }
+
+        int lookups = 100_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            index.nearest(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+        }
+        double averageMicros = (System.nanoTime() - start) / 1000.0 / lookups;
+
+        assertTrue("average lookup " + averageMicros + " us", averageMicros < 1000);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsBuffersThatAreNotAnIndex() throws IOException {
+        GeoIndex.open(ByteBuffer.allocate(64));
+    }
+
+    @Test(expected = IOException.class)
+    public void packRejectsUnknownCountryCodes() throws IOException {
+        GeoIndex.pack(
+            new BufferedReader(new StringReader("Atlantis\tNowhere\tXX\t0\t0\tUTC\n")),
+            new BufferedReader(new StringReader("IN\tIndia\n")),
+            new ByteArrayOutputStream());
+    }
+}
@@ -0,0 +1,148 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import androidx.biometric.BiometricPrompt;
+
+import com.getcapacitor.JSObject;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Time and allocations per call for the native hot paths, with allocation
+ * budgets so a regression fails the unit tests (and so the build)
+ *
+ * Budgets are bytes per op on HotSpot, set with headroom over what the code
+ * allocates today; raise one only together with the change that needs it.
+ * Times are printed for comparison between runs only when asked for:
+ *   ./gradlew :app:testDebugUnitTest --tests com.jackson.app.HotPathBenchmarkTest -i -Dmicrobench.print=true
+ *
+ * The same paths are measured on a device, with ART allocation counts, by
+ * NativeHotPathMicrobenchmark (androidTest).
+ */
+public class HotPathBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+    private static final int LARGE_ITERATIONS = 500;
+    private static final int WALLET_PAGE_ROWS = 500;
+
+    private String walletPage;
+
+    @Before
+    public void setUp() {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        walletPage = HotPathFixtures.walletPage(WALLET_PAGE_ROWS).toString();
+    }
+
+    private static void assertBudget(Microbench.Result result, long maxBytesPerOp) {
+        assertTrue(result.name + " allocates " + Math.round(result.bytesPerOp) + " B/op, budget " + maxBytesPerOp,
+            result.bytesPerOp <= maxBytesPerOp);
+    }
+
+    // ========================================================================
+    // Plugin bridge
+    // ========================================================================
+
+    @Test
+    public void pluginCallRoundTrip() throws Exception {
+        HotPathFixtures.PluginRoundTrip bridge =
+            new HotPathFixtures.PluginRoundTrip(new HotPathFixtures.BenchPlugin());
+        Microbench.Result result = Microbench.measure("plugin call round trip", ITERATIONS,
+            () -> bridge.call(HotPathFixtures.CALL_MESSAGE));
+        assertBudget(result, 8_000);
+    }
+
+    @Test
+    public void isAvailableResult() throws Exception {
+        BiometricCapabilities.Capability capability = new BiometricCapabilities.Capability(0, 3, false, 0);
+        Microbench.Result result = Microbench.measure("isAvailable result + serialize", ITERATIONS,
+            () -> NativeBiometricPlugin.availabilityResult(capability).toString());
+        assertBudget(result, 4_000);
+    }
+
+    @Test
+    public void largeResultSerialize() throws Exception {
+        Microbench.Result result = Microbench.measure("wallet page build + serialize", LARGE_ITERATIONS,
+            () -> HotPathFixtures.walletPage(WALLET_PAGE_ROWS).toString());
+        // ~100 KB of JSON, built as objects and written out
+        assertBudget(result, 1_500_000);
+    }
+
+    @Test
+    public void largeResultParse() throws Exception {
+        Microbench.Result result = Microbench.measure("wallet page parse", LARGE_ITERATIONS,
+            () -> new JSObject(walletPage));
+        assertBudget(result, 1_200_000);
+    }
+
+    // ========================================================================
+    // Native caches and stores
+    // ========================================================================
+
+    @Test
+    public void capabilityCacheHitAllocatesNothing() throws Exception {
+        BiometricCapabilities capabilities = new BiometricCapabilities(new BiometricCapabilities.Probe() {
+            @Override
+            public int canAuthenticate() {
+                return 0;
+            }
+
+            @Override
+            public int biometryType() {
+                return 3;
+            }
+        });
+        capabilities.get();
+        assertBudget(Microbench.measure("capability cache hit", ITERATIONS, capabilities::get), 0);
+    }
+
+    @Test
+    public void errorCodeMappingAllocatesNothing() throws Exception {
+        int[] codes = {
+            BiometricPrompt.ERROR_CANCELED, BiometricPrompt.ERROR_USER_CANCELED,
+            BiometricPrompt.ERROR_NEGATIVE_BUTTON, BiometricPrompt.ERROR_LOCKOUT,
+            BiometricPrompt.ERROR_LOCKOUT_PERMANENT, BiometricPrompt.ERROR_NO_BIOMETRICS,
+            BiometricPrompt.ERROR_HW_UNAVAILABLE, BiometricPrompt.ERROR_TIMEOUT,
+        };
+        int[] next = {0};
+        Microbench.Result result = Microbench.measure("mapErrorCode", ITERATIONS,
+            () -> NativeBiometricPlugin.mapErrorCode(codes[next[0]++ % codes.length]));
+        assertBudget(result, 0);
+    }
+
+    @Test
+    public void keyValueReadAllocatesNothing() throws Exception {
+        File file = new File(Files.createTempDirectory("kv-bench").toFile(), "store.bin");
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("authToken", HotPathFixtures.AUTH_TOKEN);
+        Microbench.Result result = Microbench.measure("key-value hot read", ITERATIONS,
+            () -> store.getString("authToken", null));
+        assertBudget(result, 0);
+    }
+
+    @Test
+    public void frameRecordAllocatesNothing() throws Exception {
+        FrameStats stats = new FrameStats();
+        stats.setRoute("/games");
+        long[] frame = {0};
+        Microbench.Result result = Microbench.measure("frame stats record", ITERATIONS, () -> {
+            stats.record(8_000_000 + (frame[0]++ % 20) * 1_000_000, 16_666_667);
+            return null;
+        });
+        assertBudget(result, 0);
+    }
+
+    @Test
+    public void binaryFrameEncode() throws Exception {
+        byte[] payload = HotPathFixtures.walletPage(50).toString().getBytes(StandardCharsets.UTF_8);
+        Microbench.Result result = Microbench.measure("binary frame encode " + payload.length / 1024 + " KB",
+            ITERATIONS, () -> BinaryFrame.encode(BinaryFrame.TYPE_CHUNK, 1, 0, payload, false));
+        // One header + payload copy
+        assertBudget(result, payload.length + 256);
+    }
+}
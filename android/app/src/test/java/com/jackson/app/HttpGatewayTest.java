@@ -0,0 +1,175 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * HttpGateway tests against a local MockWebServer
+ */
+public class HttpGatewayTest {
+
+    private MockWebServer server;
+    private HttpGateway gateway;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        gateway = new HttpGateway(new OkHttpClient());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void identicalInFlightGetsShareOneUpstreamCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setBody("{\"balance\":42}");
+            }
+        });
+
+        String url = server.url("/api/dashboard").toString();
+        List<CompletableFuture<HttpGateway.GatewayResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(gateway.execute(HttpGateway.GatewayRequest.get(url,
+                Collections.singletonMap("Authorization", "Bearer token-a"))));
+        }
+        release.countDown();
+
+        int coalesced = 0;
+        for (CompletableFuture<HttpGateway.GatewayResponse> future : futures) {
+            HttpGateway.GatewayResponse response = future.get(5, TimeUnit.SECONDS);
+            assertEquals(200, response.status);
+            assertEquals("{\"balance\":42}", response.bodyAsString());
+            if (response.coalesced) {
+                coalesced++;
+            }
+        }
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(4, coalesced);
+        assertEquals(Long.valueOf(4), gateway.getStats().get("coalesced"));
+    }
+
+    @Test
+    public void differentCredentialsAreNotCoalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody("a").setBodyDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("b").setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        String url = server.url("/api/profile").toString();
+        CompletableFuture<HttpGateway.GatewayResponse> first = gateway.execute(
+            HttpGateway.GatewayRequest.get(url, Collections.singletonMap("x-auth-token", "user-1")));
+        CompletableFuture<HttpGateway.GatewayResponse> second = gateway.execute(
+            HttpGateway.GatewayRequest.get(url, Collections.singletonMap("x-auth-token", "user-2")));
+
+        assertFalse(first.get(5, TimeUnit.SECONDS).coalesced);
+        assertFalse(second.get(5, TimeUnit.SECONDS).coalesced);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void postsAreNeverCoalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}").setBodyDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("{}").setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        String url = server.url("/api/spin/spin").toString();
+        HttpGateway.GatewayRequest post = new HttpGateway.GatewayRequest(
+            "POST", url, Collections.singletonMap("Content-Type", "application/json"), "{}", 0);
+        CompletableFuture<HttpGateway.GatewayResponse> first = gateway.execute(post);
+        CompletableFuture<HttpGateway.GatewayResponse> second = gateway.execute(post);
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(2, server.getRequestCount());
+        assertEquals("{}", server.takeRequest().getBody().readUtf8());
+    }
+
+    @Test
+    public void timingIsReportedAndConnectionsAreReused() throws Exception {
+        server.enqueue(new MockResponse().setBody("0123456789"));
+        server.enqueue(new MockResponse().setBody("0123456789"));
+
+        String url = server.url("/api/vip/status").toString();
+        HttpGateway.GatewayResponse first = gateway.execute(
+            HttpGateway.GatewayRequest.get(url, null)).get(5, TimeUnit.SECONDS);
+        HttpGateway.GatewayResponse second = gateway.execute(
+            HttpGateway.GatewayRequest.get(url, null)).get(5, TimeUnit.SECONDS);
+
+        assertFalse(first.timing.isConnectionReused());
+        assertEquals(10, first.timing.getBodyBytes());
+        assertTrue(first.timing.getTotalMs() >= first.timing.getTtfbMs());
+        assertEquals("http/1.1", first.timing.getProtocol());
+
+        assertTrue(second.timing.isConnectionReused());
+        assertEquals(0, second.timing.getConnectMs());
+        // Sequence numbers are per connection: both requests rode the same socket
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+    }
+
+    @Test
+    public void failuresCompleteExceptionallyAndReleaseTheSlot() throws Exception {
+        String url = server.url("/api/wallet").toString();
+        server.shutdown();
+
+        CompletableFuture<HttpGateway.GatewayResponse> failed =
+            gateway.execute(HttpGateway.GatewayRequest.get(url, null));
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            fail("Expected connection failure");
+        } catch (java.util.concurrent.ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof java.io.IOException);
+        }
+        assertEquals(Long.valueOf(0), gateway.getStats().get("inFlight"));
+    }
+
+    @Test
+    public void malformedRequestsFailInsteadOfHangingTheSlot() throws Exception {
+        for (String url : new String[] { "not a url", "not a url" }) {
+            CompletableFuture<HttpGateway.GatewayResponse> failed =
+                gateway.execute(HttpGateway.GatewayRequest.get(url, null));
+            try {
+                failed.get(5, TimeUnit.SECONDS);
+                fail("Expected a malformed URL to fail");
+            } catch (java.util.concurrent.ExecutionException expected) {
+                assertTrue(expected.getCause() instanceof IllegalArgumentException);
+            }
+        }
+        assertEquals(Long.valueOf(0), gateway.getStats().get("inFlight"));
+
+        server.enqueue(new MockResponse().setBody("ok"));
+        String url = server.url("/api/wallet").toString();
+        CompletableFuture<HttpGateway.GatewayResponse> badHeader = gateway.execute(
+            HttpGateway.GatewayRequest.get(url, Collections.singletonMap("X-Bad", "line\nbreak")));
+        try {
+            badHeader.get(5, TimeUnit.SECONDS);
+            fail("Expected an invalid header value to fail");
+        } catch (java.util.concurrent.ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalArgumentException);
+        }
+        assertEquals("ok", gateway.execute(HttpGateway.GatewayRequest.get(url, null))
+            .get(5, TimeUnit.SECONDS).bodyAsString());
+    }
+}
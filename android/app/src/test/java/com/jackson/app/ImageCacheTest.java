@@ -0,0 +1,195 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ImageCache tiers, sharing and eviction with a fake source and transcoder
+ */
+public class ImageCacheTest {
+
+    private static final int SOURCE_BYTES = 10_000;
+    private static final int SCREEN_WIDTH = 1080;
+
+    private File dir;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicInteger decodes = new AtomicInteger();
+    private volatile CountDownLatch fetchGate;
+    private volatile boolean sourceDown;
+
+    /** "Network": a 10 KB PNG per URL, or SVG for *.svg */
+    private final ImageCache.Source source = src -> {
+        fetches.incrementAndGet();
+        CountDownLatch gate = fetchGate;
+        if (gate != null) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+        if (sourceDown) {
+            throw new IOException("offline");
+        }
+        String mime = src.endsWith(".svg") ? "image/svg+xml" : "image/png";
+        return new ImageCache.Image(mime, new byte[SOURCE_BYTES]);
+    };
+
+    /** "WebP": one byte per pixel of width */
+    private final ImageCache.Transcoder transcoder = (bytes, width, quality) -> {
+        decodes.incrementAndGet();
+        return new byte[width];
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("images").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private ImageCache cache(long diskBudget) {
+        return new ImageCache(dir, diskBudget, 1024 * 1024, SCREEN_WIDTH, source, transcoder, 2);
+    }
+
+    @Test
+    public void missDownsamplesThenMemoryServesRepeats() throws Exception {
+        ImageCache cache = cache(1024 * 1024);
+
+        ImageCache.Image first = cache.load("https://cdn.example/a.png", 150, 85, 5_000);
+        ImageCache.Image second = cache.load("https://cdn.example/a.png", 150, 85, 5_000);
+
+        assertEquals(ImageCache.MIME_WEBP, first.mimeType);
+        assertEquals(192, first.bytes.length);
+        assertSame(first, second);
+        assertEquals(1, fetches.get());
+        assertEquals(1L, (long) cache.getStats().get("memoryHits"));
+        assertEquals((long) SOURCE_BYTES - 192, (long) cache.getStats().get("bytesSaved"));
+    }
+
+    @Test
+    public void nearbyWidthsShareABucketAndWidthIsCappedAtTheScreen() {
+        ImageCache cache = cache(1024 * 1024);
+
+        assertEquals(128, cache.bucket(100));
+        assertEquals(128, cache.bucket(128));
+        assertEquals(SCREEN_WIDTH, cache.bucket(0));
+        assertEquals(SCREEN_WIDTH, cache.bucket(4000));
+    }
+
+    @Test
+    public void concurrentLoadsOfOneImageShareAFetch() throws Exception {
+        ImageCache cache = cache(1024 * 1024);
+        fetchGate = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<Future<ImageCache.Image>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> cache.load("https://cdn.example/b.png", 300, 85, 5_000)));
+        }
+        Thread.sleep(100);
+        fetchGate.countDown();
+
+        for (Future<ImageCache.Image> result : results) {
+            assertEquals(320, result.get(5, TimeUnit.SECONDS).bytes.length);
+        }
+        callers.shutdown();
+        assertEquals(1, fetches.get());
+        assertEquals(1, decodes.get());
+        assertEquals(3L, (long) cache.getStats().get("sharedLoads"));
+    }
+
+    @Test
+    public void diskTierSurvivesANewProcess() throws Exception {
+        cache(1024 * 1024).load("https://cdn.example/c.png", 200, 85, 5_000);
+
+        ImageCache restarted = cache(1024 * 1024);
+        ImageCache.Image image = restarted.load("https://cdn.example/c.png", 200, 85, 5_000);
+
+        assertEquals(ImageCache.MIME_WEBP, image.mimeType);
+        assertEquals(256, image.bytes.length);
+        assertEquals(1, fetches.get());
+        assertEquals(1L, (long) restarted.getStats().get("diskHits"));
+    }
+
+    @Test
+    public void trimmingMemoryFallsBackToDisk() throws Exception {
+        ImageCache cache = cache(1024 * 1024);
+        cache.load("https://cdn.example/d.png", 200, 85, 5_000);
+
+        cache.trimMemory(0);
+        cache.load("https://cdn.example/d.png", 200, 85, 5_000);
+
+        assertEquals(1, fetches.get());
+        assertEquals(0L, (long) cache.getStats().get("memoryHits"));
+        assertEquals(1L, (long) cache.getStats().get("diskHits"));
+    }
+
+    @Test
+    public void diskCacheEvictsLeastRecentlyUsedOverBudget() throws Exception {
+        // Each entry is ~1 KB on disk; room for about three
+        ImageCache cache = cache(3_500);
+        for (int i = 0; i < 6; i++) {
+            cache.load("https://cdn.example/" + i + ".png", 1024, 85, 5_000);
+            // Distinct modification times for the LRU order
+            Thread.sleep(20);
+        }
+
+        long total = 0;
+        for (File file : dir.listFiles()) {
+            total += file.length();
+        }
+        assertTrue("disk usage " + total, total <= 3_500);
+        assertFalse(new File(dir, ImageCache.key("https://cdn.example/0.png", 1024, 85)).exists());
+        assertTrue(new File(dir, ImageCache.key("https://cdn.example/5.png", 1024, 85)).exists());
+    }
+
+    @Test
+    public void svgIsCachedWithoutTranscoding() throws Exception {
+        ImageCache.Image image = cache(1024 * 1024).load("https://cdn.example/logo.svg", 64, 85, 5_000);
+
+        assertEquals("image/svg+xml", image.mimeType);
+        assertEquals(SOURCE_BYTES, image.bytes.length);
+        assertEquals(0, decodes.get());
+    }
+
+    @Test
+    public void failedFetchIsNotCached() throws Exception {
+        ImageCache cache = cache(1024 * 1024);
+        sourceDown = true;
+        try {
+            cache.load("https://cdn.example/d.png", 64, 85, 5_000);
+            fail("Expected the fetch to fail");
+        } catch (IOException expected) {
+            assertEquals("offline", expected.getMessage());
+        }
+
+        sourceDown = false;
+        assertEquals(64, cache.load("https://cdn.example/d.png", 64, 85, 5_000).bytes.length);
+        assertEquals(2, fetches.get());
+        assertEquals(1L, (long) cache.getStats().get("failures"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * MappedKeyValueStore tests against a temp file
+ */
+public class MappedKeyValueStoreTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = new File(Files.createTempDirectory("kv-store").toFile(), "store.bin");
+    }
+
+    @Test
+    public void typedValuesRoundTrip() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("user", "{\"_id\":\"u1\",\"name\":\"Zoë\"}");
+        store.putLong("loginCount", 42L);
+        store.putDouble("balance", 12.5);
+        store.putBoolean("biometricEnabled", true);
+
+        assertEquals("{\"_id\":\"u1\",\"name\":\"Zoë\"}", store.getString("user", null));
+        assertEquals(42L, store.getLong("loginCount", 0));
+        assertEquals(12.5, store.getDouble("balance", 0), 0.0);
+        assertTrue(store.getBoolean("biometricEnabled", false));
+        // Wrong type or missing key falls back to the default
+        assertEquals(-1L, store.getLong("user", -1));
+        assertEquals("none", store.getString("missing", "none"));
+    }
+
+    @Test
+    public void valuesSurviveReopen() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("authToken", "t1");
+        store.putString("authToken", "t2");
+        store.putBoolean("biometricEnabled", true);
+        store.remove("biometricEnabled");
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file);
+        assertEquals("t2", reopened.getString("authToken", null));
+        assertFalse(reopened.contains("biometricEnabled"));
+        assertEquals(Long.valueOf(1), reopened.getStats().get("entries"));
+    }
+
+    @Test
+    public void batchesApplyTogether() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("stale", "x");
+        store.edit()
+            .put("biometricEnabled", true)
+            .put("biometricType", "fingerprint")
+            .put("attempts", 3)
+            .remove("stale")
+            .apply();
+
+        Map<String, Object> all = new MappedKeyValueStore(file).getAll();
+        assertEquals(3, all.size());
+        assertEquals(Boolean.TRUE, all.get("biometricEnabled"));
+        assertEquals("fingerprint", all.get("biometricType"));
+        // Integers are stored as LONG
+        assertEquals(3L, all.get("attempts"));
+    }
+
+    @Test
+    public void unpublishedRecordsAreIgnoredAfterCrash() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("authToken", "t1");
+        long dataEnd = store.getStats().get("logBytes") + 16;
+
+        // Simulate a torn write: garbage in the published range after the last record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(dataEnd);
+            raf.writeInt(20);
+            raf.writeInt(0xBAD);
+            raf.write(new byte[20]);
+            raf.seek(8);
+            raf.writeInt((int) dataEnd + 28);
+        }
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file);
+        assertEquals("t1", reopened.getString("authToken", null));
+        // The bad tail is dropped and new writes go after the good prefix
+        reopened.putString("user", "u");
+        assertEquals("u", new MappedKeyValueStore(file).getString("user", null));
+    }
+
+    @Test
+    public void growsBeyondInitialMapping() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 40_000; i++) {
+            big.append('a');
+        }
+        store.putString("big", big.toString());
+        store.putString("after", "ok");
+
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file);
+        assertEquals(40_000, reopened.getString("big", "").length());
+        assertEquals("ok", reopened.getString("after", null));
+    }
+
+    @Test
+    public void compactionDropsGarbageAndKeepsLiveValues() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        store.putString("keep", "value");
+        for (int i = 0; i < 100; i++) {
+            store.putLong("counter", i);
+        }
+        long before = store.getStats().get("logBytes");
+
+        store.compact();
+
+        Map<String, Long> stats = store.getStats();
+        assertTrue(stats.get("logBytes") < before);
+        assertEquals(stats.get("liveBytes"), stats.get("logBytes"));
+        MappedKeyValueStore reopened = new MappedKeyValueStore(file);
+        assertEquals("value", reopened.getString("keep", null));
+        assertEquals(99L, reopened.getLong("counter", -1));
+    }
+
+    @Test
+    public void compactsAutomaticallyWhenGarbageDominates() throws Exception {
+        MappedKeyValueStore store = new MappedKeyValueStore(file);
+        String user = "{\"_id\":\"u1\",\"email\":\"someone@example.com\",\"age\":30,\"gender\":\"female\"}";
+        for (int i = 0; i < 5_000; i++) {
+            store.putString("user", user + i);
+        }
+
+        Map<String, Long> stats = store.getStats();
+        assertTrue(stats.get("compactions") > 0);
+        assertTrue(stats.get("logBytes") <= 2 * 64 * 1024);
+        assertEquals(user + 4999, new MappedKeyValueStore(file).getString("user", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnsupportedTypes() throws Exception {
+        new MappedKeyValueStore(file).edit().put("list", new int[] {1}).apply();
+    }
+}
@@ -0,0 +1,144 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * MediaUploader multipart body, progress and retries against a local server,
+ * plus the MediaTransform sizing it relies on
+ */
+public class MediaUploaderTest {
+
+    private static final int FILE_BYTES = 100 * 1024;
+
+    private MockWebServer server;
+    private File file;
+    private final List<long[]> progress = new ArrayList<>();
+    private final List<Integer> retries = new ArrayList<>();
+
+    private final MediaUploader.Listener listener = new MediaUploader.Listener() {
+        @Override
+        public void onProgress(long sent, long total, int attempt) {
+            progress.add(new long[] {sent, total, attempt});
+        }
+
+        @Override
+        public void onRetry(int attempt, int status, long delayMs) {
+            retries.add(status);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        server = new MockWebServer();
+        server.start();
+        file = Files.createTempFile("avatar", ".jpg").toFile();
+        Files.write(file.toPath(), new byte[FILE_BYTES]);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        file.delete();
+    }
+
+    private MediaUploader.Outcome upload(int maxAttempts) throws Exception {
+        // Without OkHttp's own silent retry, so dropped connections reach the uploader
+        OkHttpClient client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+        MediaUploader uploader = new MediaUploader(client, maxAttempts, 10);
+        return uploader.upload(new MediaUploader.Job(file, "image/jpeg", server.url("/api/profile/avatar").toString(),
+            "avatar", "avatar.jpg", Collections.singletonMap("x-auth-token", "t0k"),
+            Collections.singletonMap("kind", "avatar")), listener);
+    }
+
+    @Test
+    public void streamsTheFileAsMultipartWithProgress() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+
+        MediaUploader.Outcome outcome = upload(3);
+
+        assertEquals(200, outcome.status);
+        assertEquals("{\"success\":true}", outcome.body);
+        assertEquals(1, outcome.attempts);
+        RecordedRequest request = server.takeRequest();
+        assertEquals("t0k", request.getHeader("x-auth-token"));
+        assertTrue(request.getHeader("Content-Type").startsWith("multipart/form-data"));
+        String body = request.getBody().readUtf8();
+        assertTrue(body.contains("name=\"avatar\"; filename=\"avatar.jpg\""));
+        assertTrue(body.contains("name=\"kind\""));
+        assertTrue(request.getBodySize() > FILE_BYTES);
+
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(last[1], last[0]);
+        assertTrue(progress.size() >= FILE_BYTES / MediaUploader.PROGRESS_STEP_BYTES);
+    }
+
+    @Test
+    public void retryableStatusesAndDroppedConnectionsAreRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        MediaUploader.Outcome outcome = upload(3);
+
+        assertEquals(200, outcome.status);
+        assertEquals(3, outcome.attempts);
+        assertEquals(503, (int) retries.get(0));
+        assertEquals(0, (int) retries.get(1));
+    }
+
+    @Test
+    public void clientErrorsAreReturnedWithoutRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(413).setBody("too large"));
+
+        MediaUploader.Outcome outcome = upload(3);
+
+        assertEquals(413, outcome.status);
+        assertEquals("too large", outcome.body);
+        assertTrue(retries.isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void networkFailureOnEveryAttemptThrows() throws Exception {
+        server.shutdown();
+        upload(2);
+    }
+
+    @Test
+    public void portraitPhotoStoredLandscapeIsFittedUpright() {
+        // 4000x3000 sensor image, EXIF rotate 90: displayed 3000x4000
+        int[] target = MediaTransform.targetSize(4000, 3000, MediaTransform.ORIENTATION_ROTATE_90, 512, 512);
+
+        assertArrayEquals(new int[] {384, 512}, target);
+        assertEquals(4, MediaTransform.sampleSize(4000, 3000, MediaTransform.ORIENTATION_ROTATE_90, target));
+        assertEquals(90, MediaTransform.rotationDegrees(MediaTransform.ORIENTATION_ROTATE_90));
+        assertFalse(MediaTransform.flipsHorizontally(MediaTransform.ORIENTATION_ROTATE_90));
+        assertTrue(MediaTransform.swapsAxes(MediaTransform.ORIENTATION_TRANSPOSE));
+        assertTrue(MediaTransform.flipsHorizontally(MediaTransform.ORIENTATION_TRANSPOSE));
+    }
+
+    @Test
+    public void smallImagesAreNeverUpscaled() {
+        int[] target = MediaTransform.targetSize(300, 200, MediaTransform.ORIENTATION_NORMAL, 640, 480);
+
+        assertArrayEquals(new int[] {300, 200}, target);
+        assertEquals(1, MediaTransform.sampleSize(300, 200, MediaTransform.ORIENTATION_NORMAL, target));
+    }
+}
@@ -0,0 +1,65 @@
+package com.jackson.app;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Minimal JVM benchmark loop for HotPathBenchmarkTest
+ *
+ * Runs the op until the JIT has compiled it, then measures the mean time and
+ * the bytes allocated per op on the calling thread (HotSpot's per-thread
+ * allocation counter). Every result is written to a volatile sink so the
+ * compiler cannot drop the work. Times depend on the machine and are only
+ * printed, and only with -Dmicrobench.print=true (forwarded to the test JVM by
+ * build.gradle); allocations are stable enough to assert on.
+ */
+final class Microbench {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final boolean PRINT = Boolean.getBoolean("microbench.print");
+
+    @SuppressWarnings("unused")
+    private static volatile Object sink;
+
+    interface Op {
+        Object run() throws Exception;
+    }
+
+    static final class Result {
+        final String name;
+        final double nanosPerOp;
+        final double bytesPerOp;
+
+        Result(String name, double nanosPerOp, double bytesPerOp) {
+            this.name = name;
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    private Microbench() {
+    }
+
+    /**
+     * @param iterations Measured runs; as many again are run first as warm-up
+     */
+    static Result measure(String name, int iterations, Op op) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            sink = op.run();
+        }
+        long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = op.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        Result result = new Result(name, (double) nanos / iterations, (double) bytes / iterations);
+        if (PRINT) {
+            System.out.println(String.format("%-36s %10.1f ns/op %10.1f B/op", name, result.nanosPerOp, result.bytesPerOp));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,294 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * MutationOutbox tests against a local MockWebServer, with an in-memory store
+ * standing in for SQLite
+ */
+public class MutationOutboxTest {
+
+    private static final Map<String, String> AUTH =
+        Collections.singletonMap("Authorization", "Bearer token-a");
+
+    private MockWebServer server;
+    private MemoryStore store;
+    private BlockingQueue<MutationOutbox.Item> terminal;
+    private MutationOutbox outbox;
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        // Keep logcat (android.util.Log) out of JVM tests
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        server = new MockWebServer();
+        server.start();
+        url = server.url("/api/daily-rewards/claim").toString();
+        store = new MemoryStore();
+        terminal = new LinkedBlockingQueue<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (outbox != null) {
+            outbox.shutdown();
+        }
+        server.shutdown();
+    }
+
+    private void openOutbox() {
+        // No silent OkHttp retries, so each MockResponse is exactly one attempt
+        HttpGateway gateway = new HttpGateway(new OkHttpClient.Builder()
+            .retryOnConnectionFailure(false)
+            .build());
+        outbox = new MutationOutbox(store, gateway, item -> {
+            if (item.isTerminal()) {
+                terminal.add(item);
+            }
+        }, 10, 50);
+    }
+
+    private MutationOutbox.Item nextTerminal() throws InterruptedException {
+        MutationOutbox.Item item = terminal.poll(3, TimeUnit.SECONDS);
+        assertNotNull("timed out waiting for a delivered item", item);
+        return item;
+    }
+
+    @Test
+    public void deliversWithIdempotencyKeyAndKeepsResponse() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"success\":true,\"data\":{\"coins\":50}}"));
+        openOutbox();
+
+        outbox.enqueue("key-1", "POST", url, AUTH, "{\"dayNumber\":3}");
+        MutationOutbox.Item item = nextTerminal();
+
+        assertEquals(MutationOutbox.STATUS_DONE, item.status);
+        assertEquals(200, item.httpStatus);
+        assertEquals("{\"success\":true,\"data\":{\"coins\":50}}", item.response);
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("key-1", request.getHeader("Idempotency-Key"));
+        assertEquals("Bearer token-a", request.getHeader("Authorization"));
+        assertEquals("{\"dayNumber\":3}", request.getBody().readUtf8());
+    }
+
+    @Test
+    public void duplicateKeyReturnsExistingItem() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        openOutbox();
+
+        MutationOutbox.Item first = outbox.enqueue("key-1", "POST", url, AUTH, "{}");
+        MutationOutbox.Item second = outbox.enqueue("key-1", "POST", url, AUTH, "{}");
+        nextTerminal();
+        outbox.awaitIdle(1000);
+
+        assertEquals(first.id, second.id);
+        assertEquals(1, store.all().size());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void serverErrorsAreRetriedWithTheSameKey() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+        openOutbox();
+
+        outbox.enqueue("key-1", "POST", url, AUTH, "{}");
+        MutationOutbox.Item item = nextTerminal();
+
+        assertEquals(MutationOutbox.STATUS_DONE, item.status);
+        assertEquals(2, item.attempts);
+        assertEquals("key-1", server.takeRequest(1, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+        assertEquals("key-1", server.takeRequest(1, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    public void clientErrorsFailWithoutRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400)
+            .setBody("{\"error\":\"Reward already claimed\"}"));
+        openOutbox();
+
+        outbox.enqueue("key-1", "POST", url, AUTH, "{}");
+        MutationOutbox.Item item = nextTerminal();
+        outbox.awaitIdle(1000);
+
+        assertEquals(MutationOutbox.STATUS_FAILED, item.status);
+        assertEquals(400, item.httpStatus);
+        assertEquals("{\"error\":\"Reward already claimed\"}", item.response);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void networkErrorHoldsTheRestOfTheBatchAndKeepsOrder() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        // Queued while "offline" (before the outbox opens), flushed as one batch
+        long now = System.currentTimeMillis();
+        for (String key : new String[] { "a", "b", "c" }) {
+            store.insert(MutationOutbox.Item.pending(key, "POST", url,
+                Collections.singletonMap("Idempotency-Key", key), "{}", now));
+        }
+        openOutbox();
+
+        assertEquals("a", nextTerminal().key);
+        assertEquals("b", nextTerminal().key);
+        assertEquals("c", nextTerminal().key);
+
+        // Only the first item was tried (and dropped) before the batch backed off
+        assertEquals(4, server.getRequestCount());
+        server.takeRequest(1, TimeUnit.SECONDS);
+        List<String> sent = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sent.add(server.takeRequest(1, TimeUnit.SECONDS).getHeader("Idempotency-Key"));
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), sent);
+    }
+
+    @Test
+    public void itemsInterruptedMidSendAreResentOnOpen() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        MutationOutbox.Item item = store.insert(MutationOutbox.Item.pending("key-1", "POST", url,
+            Collections.singletonMap("Idempotency-Key", "key-1"), "{}", System.currentTimeMillis()));
+        item.status = MutationOutbox.STATUS_SENDING;
+        item.attempts = 1;
+
+        openOutbox();
+        MutationOutbox.Item delivered = nextTerminal();
+
+        assertEquals(MutationOutbox.STATUS_DONE, delivered.status);
+        assertEquals(2, delivered.attempts);
+    }
+
+    @Test
+    public void clearDropsItemsWaitingForRetry() throws Exception {
+        MutationOutbox.Item item = MutationOutbox.Item.pending("key-1", "POST", url, AUTH, "{}",
+            System.currentTimeMillis());
+        item.nextAttemptAt = item.createdAt + 60_000;
+        store.insert(item);
+        openOutbox();
+
+        assertEquals(1, (int) outbox.clear().get(1, TimeUnit.SECONDS));
+        outbox.flushSoon();
+        outbox.awaitIdle(1000);
+
+        assertTrue(store.all().isEmpty());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void retryAfterParsesDeltaSecondsOnly() {
+        assertEquals(3000, MutationOutbox.retryAfterMs("3"));
+        assertEquals(-1, MutationOutbox.retryAfterMs("Wed, 21 Oct 2026 07:28:00 GMT"));
+        assertEquals(-1, MutationOutbox.retryAfterMs(null));
+        assertTrue(MutationOutbox.isRetryable(429));
+        assertFalse(MutationOutbox.isRetryable(409));
+    }
+
+    /**
+     * Store with the same contract as OutboxDatabase (android.database is not
+     * available on the JVM)
+     */
+    private static final class MemoryStore implements MutationOutbox.Store {
+        private final Map<String, MutationOutbox.Item> items = new LinkedHashMap<>();
+        private long nextId = 1;
+
+        @Override
+        public synchronized MutationOutbox.Item insert(MutationOutbox.Item item) {
+            MutationOutbox.Item existing = items.get(item.key);
+            if (existing != null) {
+                return existing;
+            }
+            item.id = nextId++;
+            items.put(item.key, item);
+            return item;
+        }
+
+        @Override
+        public synchronized MutationOutbox.Item find(String key) {
+            return items.get(key);
+        }
+
+        @Override
+        public synchronized List<MutationOutbox.Item> due(long now, int limit) {
+            List<MutationOutbox.Item> due = new ArrayList<>();
+            for (MutationOutbox.Item item : items.values()) {
+                if (due.size() < limit && MutationOutbox.STATUS_PENDING.equals(item.status)
+                    && item.nextAttemptAt <= now) {
+                    due.add(item);
+                }
+            }
+            return due;
+        }
+
+        @Override
+        public synchronized long nextDueAt() {
+            long next = -1;
+            for (MutationOutbox.Item item : items.values()) {
+                if (MutationOutbox.STATUS_PENDING.equals(item.status)
+                    && (next < 0 || item.nextAttemptAt < next)) {
+                    next = item.nextAttemptAt;
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public synchronized List<MutationOutbox.Item> all() {
+            return new ArrayList<>(items.values());
+        }
+
+        @Override
+        public synchronized void update(MutationOutbox.Item item) {
+            // UPDATE ... WHERE id = ?: a cleared row stays gone
+            items.replace(item.key, item);
+        }
+
+        @Override
+        public synchronized int recoverInterrupted(long now) {
+            int recovered = 0;
+            for (MutationOutbox.Item item : items.values()) {
+                if (MutationOutbox.STATUS_SENDING.equals(item.status)) {
+                    item.status = MutationOutbox.STATUS_PENDING;
+                    item.nextAttemptAt = now;
+                    recovered++;
+                }
+            }
+            return recovered;
+        }
+
+        @Override
+        public synchronized int pruneTerminal(long cutoff) {
+            int before = items.size();
+            items.values().removeIf(item -> item.isTerminal() && item.updatedAt < cutoff);
+            return before - items.size();
+        }
+
+        @Override
+        public synchronized int clear() {
+            int removed = items.size();
+            items.clear();
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * NativeTrace ring buffer and level gating
+ *
+ * The buffer is process-wide, so each test reads from the cursor it starts at.
+ */
+public class NativeTraceTest {
+
+    private static final int TAG = NativeTrace.tag("test");
+    private static final int EV_A = NativeTrace.event("a");
+    private static final int EV_B = NativeTrace.event("b");
+
+    private long cursor;
+
+    @Before
+    public void setUp() {
+        // Keep logcat (android.util.Log) out of JVM tests
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        NativeTrace.setLevel(NativeTrace.VERBOSE);
+        cursor = NativeTrace.nextSeq();
+    }
+
+    @After
+    public void tearDown() {
+        NativeTrace.setLevel(NativeTrace.VERBOSE);
+    }
+
+    @Test
+    public void recordsStructuredEvents() {
+        NativeTrace.trace(NativeTrace.INFO, TAG, EV_A, 7, -1);
+        NativeTrace.trace(NativeTrace.WARN, TAG, EV_B);
+
+        NativeTrace.Snapshot snapshot = NativeTrace.snapshot(cursor);
+        assertEquals(2, snapshot.events.size());
+        assertEquals(0, snapshot.dropped);
+        assertEquals(cursor + 2, snapshot.nextSeq);
+
+        NativeTrace.Event first = snapshot.events.get(0);
+        assertEquals(NativeTrace.INFO, first.level);
+        assertEquals("test", first.tag);
+        assertEquals("a", first.event);
+        assertArrayEquals(new long[] {7, -1}, first.args);
+        assertEquals(0, snapshot.events.get(1).args.length);
+        assertTrue(snapshot.events.get(1).timeNanos >= first.timeNanos);
+    }
+
+    @Test
+    public void eventsBelowRuntimeLevelAreNotRecorded() {
+        NativeTrace.setLevel(NativeTrace.WARN);
+        NativeTrace.trace(NativeTrace.DEBUG, TAG, EV_A, 1);
+        NativeTrace.trace(NativeTrace.INFO, TAG, EV_A, 2);
+        NativeTrace.trace(NativeTrace.ERROR, TAG, EV_A, 3);
+
+        List<NativeTrace.Event> events = NativeTrace.snapshot(cursor).events;
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).args[0]);
+        assertFalse(NativeTrace.isEnabled(NativeTrace.INFO));
+        assertTrue(NativeTrace.isEnabled(NativeTrace.ERROR));
+    }
+
+    @Test
+    public void oldestEventsAreOverwrittenWhenTheRingWraps() {
+        int total = NativeTrace.CAPACITY + 10;
+        for (int i = 0; i < total; i++) {
+            NativeTrace.trace(NativeTrace.DEBUG, TAG, EV_A, i);
+        }
+
+        NativeTrace.Snapshot snapshot = NativeTrace.snapshot(cursor);
+        assertEquals(NativeTrace.CAPACITY, snapshot.events.size());
+        assertEquals(10, snapshot.dropped);
+        assertEquals(10, snapshot.events.get(0).args[0]);
+        assertEquals(total - 1, snapshot.events.get(NativeTrace.CAPACITY - 1).args[0]);
+    }
+
+    @Test
+    public void cursorReturnsOnlyNewEvents() {
+        NativeTrace.trace(NativeTrace.DEBUG, TAG, EV_A, 1);
+        long next = NativeTrace.snapshot(cursor).nextSeq;
+        NativeTrace.trace(NativeTrace.DEBUG, TAG, EV_A, 2);
+
+        List<NativeTrace.Event> events = NativeTrace.snapshot(next).events;
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).args[0]);
+    }
+
+    @Test
+    public void concurrentWritersNeverProduceTornEvents() throws Exception {
+        int threads = 4;
+        int perThread = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long id = t;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    // Both args derive from the same value so a torn slot is detectable
+                    NativeTrace.trace(NativeTrace.DEBUG, TAG, EV_B, id * 1000 + i, -(id * 1000 + i));
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        NativeTrace.Snapshot snapshot = NativeTrace.snapshot(cursor);
+        assertEquals(threads * perThread, snapshot.events.size());
+        for (NativeTrace.Event event : snapshot.events) {
+            assertEquals(event.args[0], -event.args[1]);
+        }
+    }
+
+    @Test
+    public void runtimeLevelCannotGoBelowCompiledLevel() {
+        NativeTrace.setLevel(Integer.MIN_VALUE);
+        assertEquals(NativeTrace.COMPILE_LEVEL, NativeTrace.getLevel());
+        assertEquals(NativeTrace.DEBUG, NativeTrace.parseLevel("Debug"));
+        assertEquals("warn", NativeTrace.levelName(NativeTrace.WARN));
+    }
+}
@@ -0,0 +1,83 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * NetworkPolicy tiers and adjustments
+ */
+public class NetworkPolicyTest {
+
+    private static NetworkPolicy.NetworkStatus network(String transport, boolean vpn, boolean metered,
+                                                       int downKbps, boolean dataSaver) {
+        return new NetworkPolicy.NetworkStatus(true, transport, vpn, metered, true, downKbps, downKbps / 4,
+            dataSaver);
+    }
+
+    @Test
+    public void offlineAllowsOneRequestAndNoPrefetch() {
+        NetworkPolicy policy = NetworkPolicy.forStatus(NetworkPolicy.NetworkStatus.OFFLINE);
+
+        assertEquals(NetworkPolicy.QUALITY_OFFLINE, policy.quality);
+        assertEquals(1, policy.maxInFlight);
+        assertFalse(policy.prefetch);
+    }
+
+    @Test
+    public void bandwidthEstimateSelectsTheTier() {
+        assertEquals(NetworkPolicy.QUALITY_POOR,
+            NetworkPolicy.forStatus(network("cellular", false, false, 150, false)).quality);
+        assertEquals(NetworkPolicy.QUALITY_FAIR,
+            NetworkPolicy.forStatus(network("cellular", false, false, 2_000, false)).quality);
+        assertEquals(NetworkPolicy.QUALITY_GOOD,
+            NetworkPolicy.forStatus(network("wifi", false, false, 10_000, false)).quality);
+        assertEquals(NetworkPolicy.QUALITY_EXCELLENT,
+            NetworkPolicy.forStatus(network("wifi", false, false, 100_000, false)).quality);
+        // No estimate at all: usable, not optimistic
+        assertEquals(NetworkPolicy.QUALITY_FAIR,
+            NetworkPolicy.forStatus(network("other", false, false, 0, false)).quality);
+    }
+
+    @Test
+    public void betterLinksGetShorterTimeoutsAndMoreConcurrency() {
+        NetworkPolicy poor = NetworkPolicy.forStatus(network("cellular", false, false, 150, false));
+        NetworkPolicy excellent = NetworkPolicy.forStatus(network("wifi", false, false, 100_000, false));
+
+        assertTrue(poor.timeoutMs > excellent.timeoutMs);
+        assertTrue(poor.maxInFlight < excellent.maxInFlight);
+        assertEquals(NetworkPolicy.IMAGE_LOW, poor.imageQuality);
+        assertEquals(NetworkPolicy.IMAGE_HIGH, excellent.imageQuality);
+        assertTrue(excellent.prefetch);
+    }
+
+    @Test
+    public void vpnStretchesTimeoutsWithoutDowngradingTheTier() {
+        NetworkPolicy direct = NetworkPolicy.forStatus(network("wifi", false, false, 10_000, false));
+        NetworkPolicy tunnelled = NetworkPolicy.forStatus(network("wifi", true, false, 10_000, false));
+
+        assertEquals(direct.quality, tunnelled.quality);
+        assertEquals(direct.maxInFlight, tunnelled.maxInFlight);
+        assertEquals(direct.timeoutMs * 3 / 2, tunnelled.timeoutMs);
+        assertEquals(direct.retryBaseMs * 3 / 2, tunnelled.retryBaseMs);
+    }
+
+    @Test
+    public void meteredAndDataSaverLinksSkipPrefetchAndCapImages() {
+        NetworkPolicy metered = NetworkPolicy.forStatus(network("cellular", false, true, 50_000, false));
+        NetworkPolicy saver = NetworkPolicy.forStatus(network("cellular", false, true, 50_000, true));
+
+        assertFalse(metered.prefetch);
+        assertEquals(NetworkPolicy.IMAGE_MEDIUM, metered.imageQuality);
+        assertFalse(saver.prefetch);
+        assertEquals(NetworkPolicy.IMAGE_LOW, saver.imageQuality);
+    }
+
+    @Test
+    public void unvalidatedNetworkIsTreatedAsPoor() {
+        NetworkPolicy.NetworkStatus captivePortal =
+            new NetworkPolicy.NetworkStatus(true, "wifi", false, false, false, 100_000, 20_000, false);
+
+        assertEquals(NetworkPolicy.QUALITY_POOR, NetworkPolicy.forStatus(captivePortal).quality);
+    }
+}
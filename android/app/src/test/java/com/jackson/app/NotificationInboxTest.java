@@ -0,0 +1,290 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * NotificationInbox tests against a local MockWebServer, with an in-memory store
+ * standing in for SQLite
+ */
+public class NotificationInboxTest {
+
+    private static final Map<String, String> AUTH =
+        Collections.singletonMap("Authorization", "Bearer token-a");
+
+    private MockWebServer server;
+    private MemoryStore store;
+    private AtomicInteger changes;
+    private NotificationInbox inbox;
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        server = new MockWebServer();
+        server.start();
+        url = server.url("/api/profile/notifications").toString();
+        store = new MemoryStore();
+        changes = new AtomicInteger();
+        HttpGateway gateway = new HttpGateway(new OkHttpClient.Builder()
+            .retryOnConnectionFailure(false)
+            .build());
+        inbox = new NotificationInbox(store, gateway, snapshot -> changes.incrementAndGet(), 50);
+        inbox.configure("user-1", url, AUTH);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        inbox.shutdown();
+        server.shutdown();
+    }
+
+    private static String notification(String id, String createdAt, boolean read) {
+        return "{\"_id\":\"" + id + "\",\"message\":\"m-" + id + "\",\"createdAt\":\"" + createdAt
+            + "\",\"read\":" + read + "}";
+    }
+
+    private static MockResponse list(String... notifications) {
+        return new MockResponse().setBody("{\"success\":true,\"data\":[" + String.join(",", notifications) + "]}");
+    }
+
+    @Test
+    public void syncStoresNewestFirstAndSkipsUnchangedRows() throws Exception {
+        String a = notification("a", "2026-10-01T10:00:00.000Z", false);
+        String b = notification("b", "2026-10-02T10:00:00.000Z", true);
+        server.enqueue(list(a, b, a));
+        server.enqueue(list(b, a));
+
+        NotificationInbox.SyncResult first = inbox.sync().get(3, TimeUnit.SECONDS);
+        assertEquals(2, first.received);
+        assertEquals(2, first.changed);
+        assertEquals(1, changes.get());
+
+        NotificationInbox.Snapshot snapshot = inbox.cached("user-1");
+        assertEquals("b", snapshot.entries.get(0).id);
+        assertEquals(1, snapshot.unreadCount);
+
+        NotificationInbox.SyncResult second = inbox.sync().get(3, TimeUnit.SECONDS);
+        assertEquals(0, second.changed);
+        assertEquals(0, second.removed);
+        assertEquals("unchanged response must not notify", 1, changes.get());
+
+        server.takeRequest();
+        RecordedRequest again = server.takeRequest();
+        assertEquals("2026-10-02T10:00:00.000Z", again.getRequestUrl().queryParameter("since"));
+        assertEquals("Bearer token-a", again.getHeader("Authorization"));
+    }
+
+    @Test
+    public void fullListDropsMissingRowsButDeltaKeepsThem() throws Exception {
+        String a = notification("a", "2026-10-01T10:00:00.000Z", false);
+        String b = notification("b", "2026-10-02T10:00:00.000Z", false);
+        server.enqueue(list(a, b));
+        server.enqueue(new MockResponse().setBody("{\"success\":true,\"delta\":true,\"cursor\":\"c-9\",\"data\":["
+            + notification("c", "2026-10-03T10:00:00.000Z", false) + "]}"));
+        server.enqueue(list(b));
+
+        inbox.sync().get(3, TimeUnit.SECONDS);
+        NotificationInbox.SyncResult delta = inbox.sync().get(3, TimeUnit.SECONDS);
+        assertEquals(0, delta.removed);
+        assertEquals(3, inbox.snapshot().entries.size());
+        assertEquals("c-9", store.cursor());
+
+        NotificationInbox.SyncResult full = inbox.sync().get(3, TimeUnit.SECONDS);
+        assertEquals(2, full.removed);
+        assertEquals(1, inbox.snapshot().entries.size());
+    }
+
+    @Test
+    public void dismissalsHideAtOnceAndAreSentTogether() throws Exception {
+        server.enqueue(list(
+            notification("a", "2026-10-01T10:00:00.000Z", false),
+            notification("b", "2026-10-02T10:00:00.000Z", false),
+            notification("c", "2026-10-03T10:00:00.000Z", false)));
+        inbox.sync().get(3, TimeUnit.SECONDS);
+        server.takeRequest();
+
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+        assertTrue(inbox.dismiss("a"));
+        assertTrue(inbox.dismiss("c"));
+        assertFalse("second dismissal of the same row", inbox.dismiss("a"));
+        assertEquals(1, inbox.snapshot().entries.size());
+        assertEquals(1, inbox.snapshot().unreadCount);
+
+        Set<String> paths = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            RecordedRequest request = server.takeRequest(3, TimeUnit.SECONDS);
+            assertNotNull(request);
+            assertEquals("POST", request.getMethod());
+            paths.add(request.getPath());
+        }
+        assertTrue(paths.contains("/api/profile/notifications/a/dismiss"));
+        assertTrue(paths.contains("/api/profile/notifications/c/dismiss"));
+        inbox.awaitIdle(3000);
+        assertTrue(store.pendingDismissals(10).isEmpty());
+    }
+
+    @Test
+    public void retryableDismissalFailuresStayQueued() throws Exception {
+        server.enqueue(list(notification("a", "2026-10-01T10:00:00.000Z", false)));
+        inbox.sync().get(3, TimeUnit.SECONDS);
+        server.takeRequest();
+
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+        inbox.dismiss("a");
+        assertEquals("/api/profile/notifications/a/dismiss", server.takeRequest(3, TimeUnit.SECONDS).getPath());
+        assertEquals("/api/profile/notifications/a/dismiss", server.takeRequest(3, TimeUnit.SECONDS).getPath());
+        inbox.awaitIdle(3000);
+        assertTrue(store.pendingDismissals(10).isEmpty());
+    }
+
+    @Test
+    public void pendingDismissalIsNotRevivedBySync() throws Exception {
+        String a = notification("a", "2026-10-01T10:00:00.000Z", false);
+        store.apply(Collections.singletonList(
+            new NotificationInbox.Entry("a", "{\"_id\":\"a\"}", "2026-10-01", false, false)),
+            Collections.emptyList(), null, 1);
+        store.dismiss("a", 1);
+        // Server has not seen the dismissal yet and sends the row again (edited)
+        server.enqueue(list(a));
+        server.enqueue(new MockResponse().setBody("{\"success\":true}"));
+        inbox.sync().get(3, TimeUnit.SECONDS);
+        assertTrue(inbox.snapshot().entries.isEmpty());
+    }
+
+    @Test
+    public void anotherAccountClearsTheInbox() throws Exception {
+        server.enqueue(list(notification("a", "2026-10-01T10:00:00.000Z", false)));
+        inbox.sync().get(3, TimeUnit.SECONDS);
+        assertEquals(1, inbox.cached("user-1").entries.size());
+        assertTrue(inbox.cached("user-2").entries.isEmpty());
+
+        inbox.configure("user-2", url, AUTH);
+        assertTrue(inbox.snapshot().entries.isEmpty());
+        assertNull(store.cursor());
+    }
+
+    private static final class MemoryStore implements NotificationInbox.Store {
+        private final Map<String, NotificationInbox.Entry> rows = new LinkedHashMap<>();
+        private final Set<String> dismissals = new LinkedHashSet<>();
+        private String account;
+        private String cursor;
+        private long syncedAt;
+
+        @Override
+        public synchronized String account() {
+            return account;
+        }
+
+        @Override
+        public synchronized void reset(String account) {
+            rows.clear();
+            dismissals.clear();
+            cursor = null;
+            syncedAt = 0;
+            this.account = account;
+        }
+
+        @Override
+        public synchronized String cursor() {
+            return cursor;
+        }
+
+        @Override
+        public synchronized long syncedAt() {
+            return syncedAt;
+        }
+
+        @Override
+        public synchronized Map<String, String> payloads() {
+            Map<String, String> payloads = new HashMap<>();
+            for (NotificationInbox.Entry entry : rows.values()) {
+                payloads.put(entry.id, entry.payload);
+            }
+            return payloads;
+        }
+
+        @Override
+        public synchronized void apply(List<NotificationInbox.Entry> upserts, Collection<String> removals,
+                                       String cursor, long syncedAt) {
+            for (NotificationInbox.Entry entry : upserts) {
+                rows.put(entry.id, entry);
+            }
+            for (String id : removals) {
+                rows.remove(id);
+            }
+            if (cursor != null) {
+                this.cursor = cursor;
+            }
+            this.syncedAt = syncedAt;
+        }
+
+        @Override
+        public synchronized List<NotificationInbox.Entry> visible(int limit) {
+            List<NotificationInbox.Entry> visible = new ArrayList<>();
+            for (NotificationInbox.Entry entry : rows.values()) {
+                if (!entry.dismissed) {
+                    visible.add(entry);
+                }
+            }
+            visible.sort((x, y) -> y.sortKey.compareTo(x.sortKey));
+            return visible.subList(0, Math.min(limit, visible.size()));
+        }
+
+        @Override
+        public synchronized int unreadCount() {
+            int unread = 0;
+            for (NotificationInbox.Entry entry : rows.values()) {
+                if (!entry.dismissed && !entry.read) {
+                    unread++;
+                }
+            }
+            return unread;
+        }
+
+        @Override
+        public synchronized boolean dismiss(String id, long now) {
+            NotificationInbox.Entry entry = rows.get(id);
+            if (entry == null || entry.dismissed) {
+                return false;
+            }
+            rows.put(id, new NotificationInbox.Entry(id, entry.payload, entry.sortKey, entry.read, true));
+            dismissals.add(id);
+            return true;
+        }
+
+        @Override
+        public synchronized List<String> pendingDismissals(int limit) {
+            List<String> ids = new ArrayList<>(dismissals);
+            return ids.subList(0, Math.min(limit, ids.size()));
+        }
+
+        @Override
+        public synchronized void removeDismissals(Collection<String> ids) {
+            dismissals.removeAll(ids);
+        }
+    }
+}
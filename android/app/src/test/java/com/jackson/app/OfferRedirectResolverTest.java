@@ -0,0 +1,174 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * OfferRedirectResolver tests against a local stand-in for the tracking redirects
+ */
+public class OfferRedirectResolverTest {
+
+    private static final String STORE_TARGET = "market://details?id=com.example.game&referrer=click%3D42";
+
+    private MockWebServer server;
+    private final AtomicInteger offerHits = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                switch (request.getPath()) {
+                    case "/offer":
+                        offerHits.incrementAndGet();
+                        return redirect("/click?id=42");
+                    case "/click?id=42":
+                        return redirect("/track");
+                    case "/track":
+                        return redirect(STORE_TARGET);
+                    case "/landing":
+                        return new MockResponse().setBody("<meta http-equiv=\"refresh\">");
+                    case "/loop":
+                        return redirect("/loop");
+                    default:
+                        return new MockResponse().setResponseCode(404);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private static MockResponse redirect(String location) {
+        return new MockResponse().setResponseCode(302).setHeader("Location", location);
+    }
+
+    private OfferRedirectResolver resolver(long ttlMs) {
+        return new OfferRedirectResolver(new OkHttpClient(), ttlMs, 2);
+    }
+
+    @Test
+    public void followsEveryHopToTheStoreTarget() throws Exception {
+        String offer = server.url("/offer").toString();
+
+        OfferRedirectResolver.Chain chain = resolver(60_000).resolve(offer).get(5, TimeUnit.SECONDS);
+
+        assertEquals(STORE_TARGET, chain.targetUrl);
+        assertTrue(chain.storeTarget);
+        assertEquals(4, chain.hops.size());
+        assertEquals(server.url("/click?id=42").toString(), chain.hops.get(1));
+        assertEquals(3, chain.hopMs.size());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void freshChainIsServedFromCacheUntilTheTtl() throws Exception {
+        String offer = server.url("/offer").toString();
+        OfferRedirectResolver shortLived = resolver(200);
+
+        shortLived.resolve(offer).get(5, TimeUnit.SECONDS);
+        assertNotNull(shortLived.peek(offer));
+        shortLived.resolve(offer).get(5, TimeUnit.SECONDS);
+        assertEquals(1, offerHits.get());
+
+        Thread.sleep(300);
+        assertNull(shortLived.peek(offer));
+        shortLived.resolve(offer).get(5, TimeUnit.SECONDS);
+        assertEquals(2, offerHits.get());
+    }
+
+    @Test
+    public void concurrentRequestsForOneOfferShareAResolution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Dispatcher chainDispatcher = server.getDispatcher();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return chainDispatcher.dispatch(request);
+            }
+        });
+        String offer = server.url("/offer").toString();
+        OfferRedirectResolver resolver = resolver(60_000);
+
+        List<CompletableFuture<OfferRedirectResolver.Chain>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(resolver.resolve(offer));
+        }
+        release.countDown();
+        for (CompletableFuture<OfferRedirectResolver.Chain> future : futures) {
+            assertEquals(STORE_TARGET, future.get(5, TimeUnit.SECONDS).targetUrl);
+        }
+        assertEquals(1, offerHits.get());
+    }
+
+    @Test
+    public void prefetchSkipsCachedOffers() throws Exception {
+        String offer = server.url("/offer").toString();
+        String landing = server.url("/landing").toString();
+        OfferRedirectResolver resolver = resolver(60_000);
+        resolver.resolve(offer).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, resolver.prefetch(Arrays.asList(offer, landing)));
+        resolver.resolve(landing).get(5, TimeUnit.SECONDS);
+        assertEquals(0, resolver.prefetch(Arrays.asList(offer, landing)));
+    }
+
+    @Test
+    public void chainEndingOnAPageIsNotAStoreTarget() throws Exception {
+        String landing = server.url("/landing").toString();
+
+        OfferRedirectResolver.Chain chain = resolver(60_000).resolve(landing).get(5, TimeUnit.SECONDS);
+
+        assertEquals(landing, chain.targetUrl);
+        assertFalse(chain.storeTarget);
+    }
+
+    @Test
+    public void redirectLoopFailsAndIsNotCached() throws Exception {
+        String loop = server.url("/loop").toString();
+        OfferRedirectResolver resolver = resolver(60_000);
+
+        try {
+            resolver.resolve(loop).get(5, TimeUnit.SECONDS);
+            fail("Expected the loop to fail");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause().getMessage().contains("redirects"));
+        }
+        assertNull(resolver.peek(loop));
+        assertEquals(1L, (long) resolver.getStats().get("failures"));
+    }
+
+    @Test
+    public void recognisesPlayStoreListings() {
+        assertTrue(OfferRedirectResolver.isStoreUrl(
+            "https://play.google.com/store/apps/details?id=com.example.game&referrer=x"));
+        assertTrue(OfferRedirectResolver.isStoreUrl("market://details?id=com.example.game"));
+        assertFalse(OfferRedirectResolver.isStoreUrl("https://play.google.com/store/search?q=game"));
+        assertFalse(OfferRedirectResolver.isStoreUrl("https://wall.besitos.ai/redirect/1"));
+    }
+}
@@ -0,0 +1,234 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ResponseCache tests against a local MockWebServer
+ */
+public class ResponseCacheTest {
+
+    private MockWebServer server;
+    private HttpGateway gateway;
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        gateway = new HttpGateway(new OkHttpClient());
+        directory = Files.createTempDirectory("response-cache").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private ResponseCache newCache(long ttlMs, long maxStaleMs, long maxBytes) {
+        CacheRules rules = new CacheRules.Builder()
+            .noCache("/api/profile/notifications")
+            .addEvictedByWrites("/api/wallet", ttlMs, maxStaleMs)
+            .add("/api", ttlMs, maxStaleMs)
+            .build();
+        return new ResponseCache(directory, maxBytes, rules, gateway, Runnable::run);
+    }
+
+    private HttpGateway.GatewayResponse get(ResponseCache cache, String path, String token) throws Exception {
+        Map<String, String> headers = token == null
+            ? Collections.emptyMap()
+            : Collections.singletonMap("Authorization", "Bearer " + token);
+        return cache.fetch(HttpGateway.GatewayRequest.get(server.url(path).toString(), headers))
+            .get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void freshEntriesAreServedWithoutNetwork() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setBody("{\"coins\":1}").setHeader("Content-Type", "application/json"));
+
+        assertEquals("network", get(cache, "/api/dashboard", "t1").source);
+        HttpGateway.GatewayResponse cached = get(cache, "/api/dashboard", "t1");
+
+        assertEquals("cache", cached.source);
+        assertEquals("{\"coins\":1}", cached.bodyAsString());
+        assertEquals("application/json", cached.header("Content-Type"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(Long.valueOf(1), cache.getStats().get("hits"));
+        assertEquals(Long.valueOf(1), cache.getStats().get("misses"));
+        assertEquals(Long.valueOf(11), cache.getStats().get("bytesServed"));
+    }
+
+    @Test
+    public void staleEntriesAreServedAndRevalidatedWithEtag() throws Exception {
+        ResponseCache cache = newCache(0, 60_000, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setBody("v1").setHeader("ETag", "\"abc\""));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        get(cache, "/api/wallet-screen", "t1");
+        HttpGateway.GatewayResponse stale = get(cache, "/api/wallet-screen", "t1");
+        assertEquals("stale", stale.source);
+        assertEquals("v1", stale.bodyAsString());
+
+        server.takeRequest();
+        RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(revalidation);
+        assertEquals("\"abc\"", revalidation.getHeader("If-None-Match"));
+        waitFor(() -> cache.getStats().get("notModified") == 1);
+    }
+
+    @Test
+    public void usersAreCachedSeparatelyAndEvictedOnLogout() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setBody("alice"));
+        server.enqueue(new MockResponse().setBody("bob"));
+
+        assertEquals("alice", get(cache, "/api/profile", "alice-token").bodyAsString());
+        assertEquals("bob", get(cache, "/api/profile", "bob-token").bodyAsString());
+        assertEquals("alice", get(cache, "/api/profile", "alice-token").bodyAsString());
+
+        assertEquals(1, cache.evictUser("alice-token"));
+        server.enqueue(new MockResponse().setBody("alice-2"));
+        assertEquals("alice-2", get(cache, "/api/profile", "alice-token").bodyAsString());
+        assertEquals("cache", get(cache, "/api/profile", "bob-token").source);
+    }
+
+    @Test
+    public void entriesSurviveRestart() throws Exception {
+        server.enqueue(new MockResponse().setBody("persisted"));
+        get(newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES), "/api/vip/status", "t1");
+
+        ResponseCache restarted = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        HttpGateway.GatewayResponse response = get(restarted, "/api/vip/status", "t1");
+
+        assertEquals("cache", response.source);
+        assertEquals("persisted", response.bodyAsString());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedOverBudget() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, 20);
+        server.enqueue(new MockResponse().setBody("0123456789"));
+        server.enqueue(new MockResponse().setBody("0123456789"));
+        server.enqueue(new MockResponse().setBody("0123456789"));
+
+        get(cache, "/api/a", "t1");
+        get(cache, "/api/b", "t1");
+        get(cache, "/api/a", "t1");
+        get(cache, "/api/c", "t1");
+
+        assertEquals(Long.valueOf(1), cache.getStats().get("evictions"));
+        assertEquals("cache", get(cache, "/api/a", "t1").source);
+        server.enqueue(new MockResponse().setBody("0123456789"));
+        assertEquals("network", get(cache, "/api/b", "t1").source);
+    }
+
+    @Test
+    public void uncacheableResponsesAreNotStored() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody("ok").setHeader("Cache-Control", "no-store"));
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        get(cache, "/api/dashboard", "t1");
+        get(cache, "/api/dashboard", "t1");
+        get(cache, "/api/profile/notifications", "t1");
+        get(cache, "/api/profile/notifications", "t1");
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals(Long.valueOf(0), cache.getStats().get("entries"));
+    }
+
+    @Test
+    public void serverNoCacheResponsesAreNotStored() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setBody("a").setHeader("Cache-Control", "no-cache"));
+        server.enqueue(new MockResponse().setBody("b").setHeader("Cache-Control", "private, max-age=300"));
+        server.enqueue(new MockResponse().setBody("c").setHeader("Cache-Control", "max-age=0"));
+        server.enqueue(new MockResponse().setBody("d").setHeader("Cache-Control", "max-age=05"));
+
+        get(cache, "/api/dashboard", "t1");
+        get(cache, "/api/dashboard", "t1");
+        get(cache, "/api/dashboard", "t1");
+        get(cache, "/api/dashboard", "t1");
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals(Long.valueOf(1), cache.getStats().get("entries"));
+    }
+
+    @Test
+    public void noCacheRequestsBypassAndReplaceTheStoredCopy() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setBody("before"));
+        server.enqueue(new MockResponse().setBody("after"));
+        String url = server.url("/api/dashboard").toString();
+
+        get(cache, "/api/dashboard", "t1");
+        HttpGateway.GatewayResponse forced = cache.fetch(HttpGateway.GatewayRequest.get(url,
+            Map.of("Authorization", "Bearer t1", "Cache-Control", "no-cache"))).get(5, TimeUnit.SECONDS);
+
+        assertEquals("network", forced.source);
+        assertEquals("after", forced.bodyAsString());
+        assertEquals("after", get(cache, "/api/dashboard", "t1").bodyAsString());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(Long.valueOf(1), cache.getStats().get("bypasses"));
+    }
+
+    @Test
+    public void writesEvictThatUsersBalances() throws Exception {
+        ResponseCache cache = newCache(60_000, 0, ResponseCache.DEFAULT_MAX_BYTES);
+        server.enqueue(new MockResponse().setBody("100"));
+        server.enqueue(new MockResponse().setBody("other user"));
+        server.enqueue(new MockResponse().setBody("profile"));
+        server.enqueue(new MockResponse().setBody("{\"ok\":true}"));
+        server.enqueue(new MockResponse().setBody("150"));
+
+        get(cache, "/api/wallet-screen", "t1");
+        get(cache, "/api/wallet-screen", "t2");
+        get(cache, "/api/profile", "t1");
+        gateway.execute(new HttpGateway.GatewayRequest("POST", server.url("/api/daily-rewards/claim").toString(),
+            Collections.singletonMap("Authorization", "Bearer t1"), "{}", 0)).get(5, TimeUnit.SECONDS);
+
+        assertEquals("150", get(cache, "/api/wallet-screen", "t1").bodyAsString());
+        assertEquals("cache", get(cache, "/api/wallet-screen", "t2").source);
+        assertEquals("cache", get(cache, "/api/profile", "t1").source);
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    public void defaultRulesEvictProfileAndVipStateOnWrites() {
+        CacheRules rules = CacheRules.defaults();
+
+        assertTrue(rules.match("/api/profile").evictedByWrites);
+        assertTrue(rules.match("/api/profile/stats").evictedByWrites);
+        assertTrue(rules.match("/api/vip/status").evictedByWrites);
+        assertTrue(rules.match("/api/wallet-screen").evictedByWrites);
+        assertFalse(rules.match("/api/vip/tiers").evictedByWrites);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 5s");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ServerClock offset bounds from one-second Date headers, convergence with
+ * boundary-timed probes, drift and resets
+ */
+public class ServerClockTest {
+
+    /** Server time minus local (elapsedRealtime) time, with a sub-second part the Date header hides */
+    private static final long TRUE_OFFSET = 1_760_000_000_437L;
+    /** Device wall clock minus local time: the device runs 2.5 s behind the server */
+    private static final long WALL_OFFSET = TRUE_OFFSET - 2_500;
+
+    private long local;
+    private ServerClock clock;
+
+    @Before
+    public void setUp() {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        local = 50_000;
+        clock = new ServerClock(() -> local, () -> local + WALL_OFFSET);
+    }
+
+    /** Request sent now; the server stamps Date halfway through the round trip */
+    private void respond(long roundTripMs, long trueOffset) {
+        long sent = local;
+        long stampedAt = sent + roundTripMs / 2;
+        long date = Math.floorDiv(stampedAt + trueOffset, 1_000) * 1_000;
+        local += roundTripMs;
+        clock.addSample(date, sent, local);
+    }
+
+    private void assertWithinUncertainty(long trueOffset) {
+        long error = Math.abs(clock.now() - (local + trueOffset));
+        assertTrue("off by " + error + " ms, claims " + clock.uncertaintyMs(), error <= clock.uncertaintyMs());
+    }
+
+    @Test
+    public void unsyncedClockIsTheWallClock() {
+        assertFalse(clock.isSynced());
+        assertEquals(local + WALL_OFFSET, clock.now());
+        assertEquals(0, clock.skewMs());
+        assertEquals(-1, clock.uncertaintyMs());
+    }
+
+    @Test
+    public void oneResponseBoundsTheOffsetToASecondPlusTheRoundTrip() {
+        respond(100, TRUE_OFFSET);
+
+        assertTrue(clock.isSynced());
+        assertEquals(550, clock.uncertaintyMs());
+        assertWithinUncertainty(TRUE_OFFSET);
+        // Skew is what JS adds to Date.now()
+        assertEquals(clock.now() - (local + WALL_OFFSET), clock.skewMs());
+    }
+
+    @Test
+    public void probesTimedOnSecondBoundariesConverge() {
+        respond(80, TRUE_OFFSET);
+        for (int i = 0; i < 8; i++) {
+            local += clock.nextProbeDelayMs(80);
+            respond(80, TRUE_OFFSET);
+            assertWithinUncertainty(TRUE_OFFSET);
+        }
+
+        assertTrue("uncertainty " + clock.uncertaintyMs(), clock.uncertaintyMs() <= ServerClockPlugin.TARGET_UNCERTAINTY_MS);
+        assertEquals(2_500, clock.skewMs(), clock.uncertaintyMs());
+    }
+
+    @Test
+    public void probeDelayIsUnderASecond() {
+        assertEquals(0, clock.nextProbeDelayMs(80));
+        respond(80, TRUE_OFFSET);
+        for (int i = 0; i < 20; i++) {
+            local += 37;
+            long delay = clock.nextProbeDelayMs(80);
+            assertTrue(delay >= 0 && delay < 1_000);
+        }
+    }
+
+    @Test
+    public void uncertaintyGrowsWithTimeSinceTheLastSample() {
+        respond(100, TRUE_OFFSET);
+        long fresh = clock.uncertaintyMs();
+
+        local += 3_600_000;
+
+        assertEquals(fresh + 3_600_000 * ServerClock.DRIFT_PPM / 1_000_000, clock.uncertaintyMs());
+    }
+
+    @Test
+    public void sampleThatContradictsTheBoundsStartsOver() {
+        respond(100, TRUE_OFFSET);
+        respond(100, TRUE_OFFSET);
+        assertEquals(2, clock.sampleCount());
+
+        // Server clock stepped forward by 10 s
+        local += 5_000;
+        respond(100, TRUE_OFFSET + 10_000);
+
+        assertEquals(1, clock.sampleCount());
+        assertWithinUncertainty(TRUE_OFFSET + 10_000);
+    }
+
+    @Test
+    public void deviceClockChangesDoNotMoveServerTime() {
+        long[] wall = {local + WALL_OFFSET};
+        clock = new ServerClock(() -> local, () -> wall[0]);
+        respond(100, TRUE_OFFSET);
+        long before = clock.now();
+
+        // User sets the device clock an hour ahead
+        wall[0] += 3_600_000;
+
+        assertEquals(before, clock.now());
+        assertEquals(clock.now() - wall[0], clock.skewMs());
+    }
+}
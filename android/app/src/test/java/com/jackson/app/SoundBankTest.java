@@ -0,0 +1,72 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * SoundBank registration, load states and per-effect voice limits
+ */
+public class SoundBankTest {
+
+    private final SoundBank bank = new SoundBank();
+
+    private SoundBank.Sound loaded(String id, int maxVoices, int handle) {
+        SoundBank.Sound sound = bank.register(id, "/" + id + ".mp3", maxVoices, 0.7f);
+        bank.setHandle(sound, handle);
+        assertSame(sound, bank.loaded(handle, true));
+        return sound;
+    }
+
+    @Test
+    public void reRegisteringTheSamePathLoadsOnce() {
+        SoundBank.Sound sound = bank.register("coin", "/coin.mp3", 3, 1f);
+
+        assertNotNull(sound);
+        assertNull(bank.register("coin", "/coin.mp3", 3, 1f));
+        assertEquals(SoundBank.STATE_LOADING, bank.get("coin").state);
+        // A different file under the same id replaces the effect
+        assertNotNull(bank.register("coin", "/coin-v2.mp3", 3, 1f));
+    }
+
+    @Test
+    public void failedEffectsCanBeRetried() {
+        SoundBank.Sound sound = bank.register("coin", "/coin.mp3", 3, 1f);
+        bank.setHandle(sound, 7);
+        bank.loaded(7, false);
+
+        assertEquals(SoundBank.STATE_FAILED, sound.state);
+        assertNotNull(bank.register("coin", "/coin.mp3", 3, 1f));
+        assertNull(bank.loaded(99, true));
+    }
+
+    @Test
+    public void voicesPastTheLimitReplaceTheOldest() {
+        SoundBank.Sound coin = loaded("coin", 2, 1);
+
+        assertEquals(0, bank.voiceToReplace(coin));
+        bank.voiceStarted(coin, 101, 1_000);
+        assertEquals(0, bank.voiceToReplace(coin));
+        bank.voiceStarted(coin, 102, 1_000);
+        assertEquals(101, bank.voiceToReplace(coin));
+        bank.voiceStarted(coin, 103, 1_000);
+        assertEquals(102, bank.voiceToReplace(coin));
+
+        assertEquals(3L, (long) bank.getStats().get("plays"));
+        assertEquals(2L, (long) bank.getStats().get("replacedVoices"));
+    }
+
+    @Test
+    public void limitsAreClampedAndVoicesCanBeCleared() {
+        SoundBank.Sound loud = loaded("loud", 50, 2);
+        assertEquals(SoundBank.MAX_VOICES_LIMIT, loud.maxVoices);
+        assertEquals(1, bank.register("quiet", "/quiet.mp3", 0, 2f).maxVoices);
+
+        bank.voiceStarted(loud, 201, 0);
+        bank.voiceStarted(loud, 202, 0);
+        int[] voices = bank.takeVoices(loud);
+        assertEquals(201, voices[0]);
+        assertEquals(202, voices[1]);
+        assertEquals(0, bank.voiceToReplace(loud));
+    }
+}
@@ -0,0 +1,59 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * StateSnapshotStore.preparse: only well-formed JSON may reach the startup script
+ */
+public class StateSnapshotStoreTest {
+
+    @Test
+    public void persistedFieldsAreInlinedAsLiterals() throws Exception {
+        JSONObject stored = new JSONObject()
+            .put("user", "{\"id\":7,\"name\":\"Ann\"}")
+            .put("coins", "120")
+            .put("_persist", "{\"version\":-1,\"rehydrated\":true}");
+
+        JSONObject parsed = parse(StateSnapshotStore.preparse(stored.toString()));
+
+        assertEquals(7, parsed.getJSONObject("user").getInt("id"));
+        assertEquals(120, parsed.getInt("coins"));
+        assertTrue(parsed.getJSONObject("_persist").getBoolean("rehydrated"));
+    }
+
+    @Test
+    public void trailingTextIsRejected() throws Exception {
+        JSONObject stored = new JSONObject().put("user", "{\"id\":7});alert(1);({");
+
+        assertNull(StateSnapshotStore.preparse(stored.toString()));
+    }
+
+    @Test
+    public void lenientSyntaxIsReserialized() throws Exception {
+        JSONObject stored = new JSONObject().put("user", "{'id':7, name:Ann}");
+
+        String literal = StateSnapshotStore.preparse(stored.toString());
+
+        assertFalse(literal.contains("'"));
+        assertEquals("Ann", parse(literal).getJSONObject("user").getString("name"));
+    }
+
+    @Test
+    public void stringFieldsStayStringsInsideTheMarker() throws Exception {
+        JSONObject stored = new JSONObject()
+            .put("token", JSONObject.quote("abc.def"))
+            .put("status", JSONObject.quote("{not json}"));
+
+        JSONObject parsed = parse(StateSnapshotStore.preparse(stored.toString()));
+
+        assertEquals("abc.def", parsed.getString("token"));
+        assertEquals("{not json}", parsed.getString("status"));
+    }
+
+    private static JSONObject parse(String literal) throws Exception {
+        return new JSONObject(literal).getJSONObject(StateSnapshotStore.PARSED_MARKER);
+    }
+}
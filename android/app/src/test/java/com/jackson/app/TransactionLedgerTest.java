@@ -0,0 +1,271 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * TransactionLedger sync and windowing against a local MockWebServer, with an
+ * in-memory store standing in for SQLite (LedgerLoadTest covers the real store
+ * on a device)
+ */
+public class TransactionLedgerTest {
+
+    private static final int PAGE = 3;
+    private static final Map<String, String> AUTH =
+        Collections.singletonMap("Authorization", "Bearer token-a");
+
+    private MockWebServer server;
+    private MemoryStore store;
+    private AtomicInteger changes;
+    private TransactionLedger ledger;
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        server = new MockWebServer();
+        server.start();
+        url = server.url("/api/wallet/transactions?type=all").toString();
+        store = new MemoryStore();
+        changes = new AtomicInteger();
+        HttpGateway gateway = new HttpGateway(new OkHttpClient.Builder()
+            .retryOnConnectionFailure(false)
+            .build());
+        ledger = new TransactionLedger(store, gateway, (kind, added, updated) -> changes.incrementAndGet(), PAGE);
+        ledger.setAccount("user-1");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    /** Transaction n, created n minutes after a fixed start (higher n is newer) */
+    private static String tx(int n, String type, int amount, String updatedAt) {
+        String created = String.format("2026-10-01T10:%02d:00.000Z", n);
+        return "{\"_id\":\"t" + n + "\",\"type\":\"" + type + "\",\"balanceType\":\"coins\",\"amount\":" + amount
+            + ",\"status\":\"completed\",\"referenceId\":\"R" + n + "\",\"createdAt\":\"" + created
+            + "\",\"updatedAt\":\"" + (updatedAt != null ? updatedAt : created) + "\"}";
+    }
+
+    private static MockResponse page(String... rows) {
+        return new MockResponse().setBody("[" + String.join(",", rows) + "]");
+    }
+
+    @Test
+    public void firstSyncBackfillsEveryPage() throws Exception {
+        server.enqueue(page(tx(7, "credit", 10, null), tx(6, "credit", 10, null), tx(5, "debit", 4, null)));
+        server.enqueue(page(tx(4, "credit", 10, null), tx(3, "credit", 10, null), tx(2, "credit", 10, null)));
+        server.enqueue(page(tx(1, "credit", 10, null)));
+
+        TransactionLedger.SyncResult result = ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertTrue(result.complete);
+        assertEquals(3, result.pages);
+        assertEquals(7, result.added);
+        assertEquals(1, changes.get());
+
+        RecordedRequest first = server.takeRequest();
+        assertEquals("all", first.getRequestUrl().queryParameter("type"));
+        assertEquals("1", first.getRequestUrl().queryParameter("page"));
+        assertEquals(String.valueOf(PAGE), first.getRequestUrl().queryParameter("limit"));
+        assertEquals("Bearer token-a", first.getHeader("Authorization"));
+    }
+
+    @Test
+    public void laterSyncStopsAtTheFirstUnchangedPage() throws Exception {
+        server.enqueue(page(tx(6, "credit", 10, null), tx(5, "credit", 10, null), tx(4, "credit", 10, null)));
+        server.enqueue(page(tx(3, "credit", 10, null), tx(2, "credit", 10, null), tx(1, "credit", 10, null)));
+        server.enqueue(page());
+        ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertEquals(3, server.getRequestCount());
+
+        // One new row pushes t4 to page 2; page 2 is then entirely known
+        server.enqueue(page(tx(7, "credit", 10, null), tx(6, "credit", 10, null), tx(5, "credit", 10, null)));
+        server.enqueue(page(tx(4, "credit", 10, null), tx(3, "credit", 10, null), tx(2, "credit", 10, null)));
+        TransactionLedger.SyncResult result = ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertEquals(1, result.added);
+        assertEquals(2, result.pages);
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    public void changedUpdatedAtIsRewritten() throws Exception {
+        server.enqueue(page(tx(2, "debit", 5, null), tx(1, "credit", 10, null)));
+        ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+
+        server.enqueue(page(tx(2, "debit", 5, "2026-10-02T08:00:00.000Z"), tx(1, "credit", 10, null)));
+        TransactionLedger.SyncResult result = ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertEquals(0, result.added);
+        assertEquals(1, result.updated);
+    }
+
+    @Test
+    public void interruptedBackfillResumesWhereItStopped() throws Exception {
+        server.enqueue(page(tx(9, "credit", 1, null), tx(8, "credit", 1, null), tx(7, "credit", 1, null)));
+        server.enqueue(page(tx(6, "credit", 1, null), tx(5, "credit", 1, null), tx(4, "credit", 1, null)));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        TransactionLedger.SyncResult failed = ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertFalse(failed.complete);
+        assertEquals(503, failed.status);
+        assertEquals(6, store.rows.size());
+
+        server.enqueue(page(tx(9, "credit", 1, null), tx(8, "credit", 1, null), tx(7, "credit", 1, null)));
+        server.enqueue(page(tx(3, "credit", 1, null), tx(2, "credit", 1, null), tx(1, "credit", 1, null)));
+        server.enqueue(page());
+        TransactionLedger.SyncResult resumed = ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertTrue(resumed.complete);
+        assertEquals(9, store.rows.size());
+
+        for (int i = 0; i < 3; i++) {
+            server.takeRequest();
+        }
+        assertEquals("1", server.takeRequest().getRequestUrl().queryParameter("page"));
+        assertEquals("page 2 was already stored", "3", server.takeRequest().getRequestUrl().queryParameter("page"));
+    }
+
+    @Test
+    public void windowCarriesTotalsAndRunningSums() throws Exception {
+        server.enqueue(page(tx(4, "credit", 10, null), tx(3, "debit", 3, null), tx(2, "credit", 5, null)));
+        server.enqueue(page(tx(1, "credit", 1, null)));
+        ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+
+        TransactionLedger.Window window = ledger.query(new TransactionLedger.Query().window(1, 2));
+        assertEquals(4, window.total);
+        assertEquals(16, window.credits, 0.001);
+        assertEquals(3, window.debits, 0.001);
+        assertEquals("t3", window.rows.get(0).id);
+        assertArrayEquals(new double[] { 7, 12 }, window.runningTotals(), 0.001);
+
+        TransactionLedger.Window debits = ledger.query(new TransactionLedger.Query().type("debit"));
+        assertEquals(1, debits.total);
+    }
+
+    @Test
+    public void parsesWrappedListsAndSkipsRowsWithoutId() throws Exception {
+        List<TransactionLedger.Row> rows = TransactionLedger.parseRows(TransactionLedger.KIND_WITHDRAWAL,
+            "{\"success\":true,\"data\":{\"withdrawals\":[{\"orderId\":\"o1\",\"amount\":5,"
+                + "\"status\":\"PENDING\",\"createdAt\":\"2026-10-01T10:00:00Z\"},{\"amount\":1}]}}");
+        assertEquals(1, rows.size());
+        assertEquals("o1", rows.get(0).id);
+        assertEquals("pending", rows.get(0).status);
+        assertEquals(-5, rows.get(0).signedAmount, 0.001);
+        assertEquals(rows.get(0).createdAt, rows.get(0).updatedAt);
+        assertEquals(0, TransactionLedger.parseTime("yesterday"));
+    }
+
+    @Test
+    public void anotherAccountStartsEmpty() throws Exception {
+        server.enqueue(page(tx(1, "credit", 1, null)));
+        ledger.sync(TransactionLedger.KIND_TRANSACTION, url, AUTH);
+        assertTrue(ledger.isAccount("user-1"));
+
+        ledger.setAccount("user-2");
+        assertEquals(0, ledger.count(TransactionLedger.KIND_TRANSACTION));
+        assertNull(store.meta(TransactionLedger.META_BACKFILL_DONE + TransactionLedger.KIND_TRANSACTION));
+    }
+
+    private static final class MemoryStore implements TransactionLedger.Store {
+        final Map<String, TransactionLedger.Row> rows = new LinkedHashMap<>();
+        private final Map<String, String> meta = new HashMap<>();
+        private String account;
+
+        @Override
+        public synchronized String account() {
+            return account;
+        }
+
+        @Override
+        public synchronized void reset(String account) {
+            rows.clear();
+            meta.clear();
+            this.account = account;
+        }
+
+        @Override
+        public synchronized String meta(String key) {
+            return meta.get(key);
+        }
+
+        @Override
+        public synchronized void putMeta(String key, String value) {
+            meta.put(key, value);
+        }
+
+        @Override
+        public synchronized Map<String, Long> versions(String kind, Collection<String> ids) {
+            Map<String, Long> versions = new HashMap<>();
+            for (String id : ids) {
+                TransactionLedger.Row row = rows.get(kind + "/" + id);
+                if (row != null) {
+                    versions.put(id, row.updatedAt);
+                }
+            }
+            return versions;
+        }
+
+        @Override
+        public synchronized void upsert(List<TransactionLedger.Row> upserts) {
+            for (TransactionLedger.Row row : upserts) {
+                rows.put(row.kind + "/" + row.id, row);
+            }
+        }
+
+        @Override
+        public synchronized TransactionLedger.Window query(TransactionLedger.Query query) {
+            List<TransactionLedger.Row> matches = new ArrayList<>();
+            for (TransactionLedger.Row row : rows.values()) {
+                if (row.kind.equals(query.kind) && (query.type == null || row.type.equals(query.type))) {
+                    matches.add(row);
+                }
+            }
+            matches.sort((a, b) -> Long.compare(b.createdAt, a.createdAt));
+            double credits = 0;
+            double debits = 0;
+            double before = 0;
+            for (int i = 0; i < matches.size(); i++) {
+                double signed = matches.get(i).signedAmount;
+                if (signed > 0) {
+                    credits += signed;
+                } else {
+                    debits -= signed;
+                }
+                if (i < query.offset) {
+                    before += signed;
+                }
+            }
+            int end = Math.min(matches.size(), query.offset + query.limit);
+            List<TransactionLedger.Row> window = query.offset < end
+                ? new ArrayList<>(matches.subList(query.offset, end))
+                : new ArrayList<>();
+            return new TransactionLedger.Window(window, query.offset, matches.size(), credits, debits, before);
+        }
+
+        @Override
+        public synchronized int count(String kind) {
+            int count = 0;
+            for (TransactionLedger.Row row : rows.values()) {
+                if (row.kind.equals(kind)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * WalletDeltaStream tests against a local MockWebServer standing in for the
+ * wallet event stream
+ */
+public class WalletDeltaStreamTest {
+
+    private MockWebServer server;
+    private RecordingListener listener;
+    private WalletDeltaStream stream;
+
+    @Before
+    public void setUp() throws Exception {
+        // Keep logcat (android.util.Log) out of JVM tests
+        NativeTrace.setLogcatLevel(NativeTrace.OFF);
+        server = new MockWebServer();
+        server.start();
+        listener = new RecordingListener();
+        stream = new WalletDeltaStream(new OkHttpClient(), server.url("/api/wallet/stream").toString(),
+            listener, 10, 50);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        stream.stop();
+        server.shutdown();
+    }
+
+    private static MockResponse events(String body) {
+        return new MockResponse()
+            .setHeader("Content-Type", "text/event-stream")
+            .setBody(body);
+    }
+
+    @Test
+    public void appliesDeltasToSeededSnapshot() throws Exception {
+        stream.seed(1000, 3400, 7);
+        server.enqueue(events(
+            ": heartbeat\n\n"
+                + "id: 1\nevent: wallet\ndata: {\"balanceDelta\":25,\"xpDelta\":10,\"reason\":\"game_earning\"}\n\n"
+                + "event: wallet\ndata: {\"rev\":2,\"balanceDelta\":5,\"xpDelta\":100,\"level\":8}\n\n"));
+
+        stream.start("token-a");
+        Received first = listener.next();
+        Received second = listener.next();
+
+        assertEquals(1, first.delta.rev);
+        assertEquals("game_earning", first.delta.reason);
+        assertEquals(1025, first.snapshot.balance, 0.0);
+        assertFalse(first.resync);
+        assertEquals(1030, second.snapshot.balance, 0.0);
+        assertEquals(3510, second.snapshot.xp);
+        assertEquals(8, second.snapshot.level);
+        assertTrue(second.snapshot.complete);
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("text/event-stream", request.getHeader("Accept"));
+        assertEquals("token-a", request.getHeader("x-auth-token"));
+        assertNull(request.getHeader("Last-Event-ID"));
+    }
+
+    @Test
+    public void reconnectsWithLastEventIdAndDropsReplayedDuplicates() throws Exception {
+        server.enqueue(events("id: 4\ndata: {\"balance\":50,\"xp\":10,\"level\":1}\n\n"));
+        // Server replays rev 4 after the reconnect, then continues
+        server.enqueue(events("id: 4\ndata: {\"balance\":50,\"xp\":10,\"level\":1}\n\n"
+            + "id: 5\ndata: {\"balanceDelta\":1}\n\n"));
+
+        stream.start("token-a");
+        assertEquals(4, listener.next().delta.rev);
+        Received next = listener.next();
+
+        assertEquals(5, next.delta.rev);
+        assertEquals(51, next.snapshot.balance, 0.0);
+        server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("4", server.takeRequest(1, TimeUnit.SECONDS).getHeader("Last-Event-ID"));
+        assertTrue(listener.states.contains(WalletDeltaStream.STATE_BACKOFF));
+    }
+
+    @Test
+    public void gapsAndResyncEventsAskForFullFetch() throws Exception {
+        server.enqueue(events("id: 1\ndata: {\"balanceDelta\":1}\n\n"
+            + "id: 3\ndata: {\"balanceDelta\":1}\n\n"
+            + "event: resync\ndata: {}\n\n"));
+
+        stream.start("token-a");
+
+        assertFalse(listener.next().resync);
+        assertTrue(listener.next().resync);
+        assertTrue(listener.next().resync);
+    }
+
+    @Test
+    public void missingEndpointStopsAsUnsupported() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        stream.start("token-a");
+
+        assertTrue(listener.awaitState(WalletDeltaStream.STATE_UNSUPPORTED));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void unauthorizedWaitsForNewToken() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(401));
+        server.enqueue(events("id: 1\ndata: {\"balanceDelta\":2}\n\n"));
+
+        stream.start("expired");
+        assertTrue(listener.awaitState(WalletDeltaStream.STATE_UNAUTHORIZED));
+        Thread.sleep(100);
+        assertEquals(1, server.getRequestCount());
+
+        stream.start("fresh");
+        assertEquals(1, listener.next().delta.rev);
+        server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("fresh", server.takeRequest(1, TimeUnit.SECONDS).getHeader("x-auth-token"));
+    }
+
+    @Test
+    public void pauseHoldsConnectionUntilResume() throws Exception {
+        stream.pause();
+        server.enqueue(events("id: 1\ndata: {\"balanceDelta\":2}\n\n"));
+
+        stream.start("token-a");
+        Thread.sleep(100);
+        assertEquals(0, server.getRequestCount());
+
+        stream.resume();
+        assertEquals(1, listener.next().delta.rev);
+    }
+
+    @Test
+    public void parserHandlesMultilineDataAndRetry() {
+        WalletDeltaStream.EventParser parser = new WalletDeltaStream.EventParser();
+        assertNull(parser.line("retry: 2500"));
+        assertNull(parser.line("data: {\"a\":"));
+        assertNull(parser.line("data:1}"));
+        assertNull(parser.line(": keep-alive"));
+        WalletDeltaStream.EventParser.Event event = parser.line("");
+
+        assertEquals("message", event.type);
+        assertEquals("{\"a\":\n1}", event.data);
+        assertEquals(2500, event.retryMs);
+        // A blank line with nothing buffered dispatches nothing
+        assertNull(parser.line(""));
+    }
+
+    private static final class Received {
+        final WalletDeltaStream.Delta delta;
+        final WalletDeltaStream.Snapshot snapshot;
+        final boolean resync;
+
+        Received(WalletDeltaStream.Delta delta, WalletDeltaStream.Snapshot snapshot, boolean resync) {
+            this.delta = delta;
+            this.snapshot = snapshot;
+            this.resync = resync;
+        }
+    }
+
+    private static final class RecordingListener implements WalletDeltaStream.Listener {
+        final BlockingQueue<Received> deltas = new LinkedBlockingQueue<>();
+        final List<String> states = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onDelta(WalletDeltaStream.Delta delta, WalletDeltaStream.Snapshot snapshot, boolean resync) {
+            deltas.add(new Received(delta, snapshot, resync));
+        }
+
+        @Override
+        public void onStateChanged(String state, long retryInMs) {
+            states.add(state);
+        }
+
+        Received next() throws InterruptedException {
+            Received received = deltas.poll(2, TimeUnit.SECONDS);
+            assertNotNull("timed out waiting for a delta", received);
+            return received;
+        }
+
+        boolean awaitState(String state) throws InterruptedException {
+            for (int i = 0; i < 200 && !states.contains(state); i++) {
+                Thread.sleep(10);
+            }
+            return states.contains(state);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.jackson.app;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * WebAssetStore routing, headers and mapped reads over a packed stand-in for the APK
+ */
+public class WebAssetStoreTest {
+
+    private static final String CHUNK = "/_next/static/chunks/main-3f2a.js";
+    private static final String CHUNK_BODY = "console.log('main');";
+    private static final String IMAGE = "/images/coin.png";
+    private static final String IMAGE_BODY = "\u0089PNG fake";
+
+    private static final String MANIFEST = "{\"version\":1,\"files\":{"
+        + "\"" + CHUNK + "\":{\"size\":20,\"sha256\":\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\"},"
+        + "\"" + IMAGE + "\":{\"size\":9,\"sha256\":\"bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\"},"
+        + "\"/index.html\":{\"size\":7,\"sha256\":\"cccccccccccccccccccccccccccccccccccccccc\"}}}";
+
+    private Path apk;
+    private RandomAccessFile file;
+    private final Map<String, long[]> regions = new HashMap<>();
+    private final AtomicInteger maps = new AtomicInteger();
+    private WebAssetStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        // Assets laid end to end like stored (uncompressed) entries in an APK
+        apk = Files.createTempFile("web", ".apk");
+        ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        packed.write(new byte[100]);
+        for (String[] asset : new String[][] {{CHUNK, CHUNK_BODY}, {IMAGE, IMAGE_BODY}}) {
+            byte[] bytes = asset[1].getBytes(StandardCharsets.ISO_8859_1);
+            regions.put(asset[0], new long[] {packed.size(), bytes.length});
+            packed.write(bytes);
+        }
+        Files.write(apk, packed.toByteArray());
+        file = new RandomAccessFile(apk.toFile(), "r");
+
+        FileChannel channel = file.getChannel();
+        store = new WebAssetStore(WebAssetStore.parseManifest(MANIFEST), path -> {
+            maps.incrementAndGet();
+            long[] region = regions.get(path);
+            if (region == null) {
+                throw new IOException("not packed: " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, region[0], region[1]);
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.close();
+        Files.deleteIfExists(apk);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void hashedChunksAreServedImmutableFromTheMapping() throws Exception {
+        WebAssetStore.Asset asset = store.open(CHUNK, null);
+
+        assertEquals(200, asset.status);
+        assertEquals("application/javascript", asset.mimeType);
+        assertEquals("utf-8", asset.encoding);
+        assertEquals(WebAssetStore.CACHE_IMMUTABLE, asset.headers.get("Cache-Control"));
+        assertEquals("\"aaaaaaaaaaaaaaaa\"", asset.headers.get("ETag"));
+        assertEquals(CHUNK_BODY, read(asset.body));
+    }
+
+    @Test
+    public void unhashedFilesMustRevalidate() throws Exception {
+        WebAssetStore.Asset asset = store.open(IMAGE, null);
+
+        assertEquals("image/png", asset.mimeType);
+        assertNull(asset.encoding);
+        assertEquals(WebAssetStore.CACHE_REVALIDATE, asset.headers.get("Cache-Control"));
+        assertEquals(IMAGE_BODY, read(asset.body));
+    }
+
+    @Test
+    public void matchingEtagAnswers304WithoutMapping() throws Exception {
+        WebAssetStore.Asset asset = store.open(CHUNK, "\"aaaaaaaaaaaaaaaa\"");
+
+        assertEquals(304, asset.status);
+        assertEquals(-1, asset.body.read());
+        assertEquals(0, maps.get());
+        assertEquals(1L, (long) store.getStats().get("notModified"));
+    }
+
+    @Test
+    public void eachAssetIsMappedOnceAndReadIndependently() throws Exception {
+        InputStream first = store.open(CHUNK, null).body;
+        InputStream second = store.open(CHUNK, null).body;
+
+        assertEquals(CHUNK_BODY, read(first));
+        assertEquals(CHUNK_BODY, read(second));
+        assertEquals(1, maps.get());
+        assertEquals(2L, (long) store.getStats().get("served"));
+        assertEquals(40L, (long) store.getStats().get("bytesServed"));
+    }
+
+    @Test
+    public void documentsAndUnknownPathsAreLeftToCapacitor() throws Exception {
+        assertNull(store.open("/index.html", null));
+        assertNull(store.open("/", null));
+        assertNull(store.open("/homepage/", null));
+        assertNull(store.open("/homepage", null));
+        assertNull(store.open("/_next/static/chunks/unknown.js", null));
+        assertEquals(0, maps.get());
+    }
+
+    @Test
+    public void byteBufferStreamSupportsSkipAndAvailable() throws Exception {
+        InputStream in = new WebAssetStore.ByteBufferInputStream(
+            ByteBuffer.wrap("abcdef".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(6, in.available());
+        assertEquals(2, in.skip(2));
+        assertEquals('c', in.read());
+        assertEquals("def", read(in));
+        assertEquals(-1, in.read());
+    }
+}
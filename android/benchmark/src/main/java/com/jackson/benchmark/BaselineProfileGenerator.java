@@ -0,0 +1,45 @@
+package com.jackson.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Records the Baseline Profile (and startup profile) for :app from the same
+ * journeys the benchmarks measure: cold start to the homepage, the games list,
+ * the wallet and the spin wheel
+ *
+ * Not run directly; the baselineprofile plugin runs it on the managed device
+ * and copies the result to app/src/release/generated/baselineProfiles:
+ *   ./gradlew :app:generateReleaseBaselineProfile
+ *
+ * The first iteration starts signed out on a fresh install, so sign-in and the
+ * gates after it are recorded too (needs jacksonAuthToken, see {@link Journeys}).
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public final BaselineProfileRule rule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        rule.collect(Journeys.PACKAGE, 15, 3, null, true, scope -> {
+            UiDevice device = scope.getDevice();
+            Journeys.grantPermissions(device);
+            scope.pressHome();
+            scope.startActivityAndWait();
+            Journeys.signIn(device);
+            Journeys.scrollGames(device);
+            Journeys.openWallet(device);
+            Journeys.openSpinWheel(device);
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.jackson.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Frame timing (frameDurationCpuMs, frameOverrunMs percentiles) along the
+ * scripted journeys, without and with the Baseline Profile
+ *
+ * - signInToSpinWheel: signed-out launch, sign-in, homepage, wallet, spin wheel;
+ *   app data is cleared before each run, so it talks to the real backend and
+ *   needs the jacksonAuthToken argument (see {@link Journeys})
+ * - scrollGames: the games list flung down and back up, signed in
+ *
+ *   ./gradlew :benchmark:pixel6Api34BenchmarkReleaseAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.jackson.benchmark.JourneyBenchmark
+ */
+@RunWith(Parameterized.class)
+public class JourneyBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        return Arrays.asList(
+            new Object[] { new CompilationMode.None() },
+            new Object[] { new CompilationMode.Partial(BaselineProfileMode.UseIfAvailable) });
+    }
+
+    @Rule
+    public final MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public JourneyBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Test
+    public void signInToSpinWheel() {
+        rule.measureRepeated(
+            Journeys.PACKAGE,
+            Collections.singletonList(new FrameTimingMetric()),
+            compilationMode,
+            StartupMode.COLD,
+            ITERATIONS,
+            scope -> {
+                Journeys.clearData(scope.getDevice());
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                scope.startActivityAndWait();
+                Journeys.signIn(scope.getDevice());
+                Journeys.openWallet(scope.getDevice());
+                Journeys.openSpinWheel(scope.getDevice());
+                return Unit.INSTANCE;
+            });
+    }
+
+    @Test
+    public void scrollGames() {
+        rule.measureRepeated(
+            Journeys.PACKAGE,
+            Collections.singletonList(new FrameTimingMetric()),
+            compilationMode,
+            StartupMode.WARM,
+            ITERATIONS,
+            scope -> {
+                scope.pressHome();
+                scope.startActivityAndWait();
+                Journeys.signIn(scope.getDevice());
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                Journeys.scrollGames(scope.getDevice());
+                return Unit.INSTANCE;
+            });
+    }
+}
@@ -0,0 +1,161 @@
+package com.jackson.benchmark;
+
+import android.net.Uri;
+import android.os.SystemClock;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Scripted steps through the app, shared by the benchmarks and the Baseline
+ * Profile generator
+ *
+ * The app is one WebView, so everything is found through the accessibility
+ * tree Chromium exposes: aria-labels as content descriptions, text as text.
+ * Selectors mirror the web pages (components/HomeIndicator.jsx bottom nav,
+ * app/homepage/components/HeaderSection.jsx, app/myprofile/components/SpinWin.jsx).
+ *
+ * A fresh install opens onboarding, not the login form, so a signed-out app is
+ * signed in through the social-auth deep link (contexts/AuthContext.js) with
+ * the token passed as the "jacksonAuthToken" instrumentation argument, then
+ * walked through the permission / location / face-verification gates.
+ */
+final class Journeys {
+
+    static final String PACKAGE = "com.jackson.app";
+    static final String ARG_AUTH_TOKEN = "jacksonAuthToken";
+
+    private static final long PAGE_TIMEOUT_MS = 30_000;
+    private static final long SIGN_IN_TIMEOUT_MS = 120_000;
+    private static final int FLINGS = 3;
+
+    private static final BySelector HOME_NAV = By.desc("Navigate to Home");
+    private static final BySelector GAMES_NAV = By.desc("Navigate to My Games");
+    private static final BySelector WALLET_NAV = By.desc("Navigate to My Wallet");
+    private static final BySelector PROFILE = By.desc("Go to My Profile");
+    private static final BySelector WEB_VIEW = By.clazz("android.webkit.WebView");
+
+    /** Buttons between sign-in and the homepage, tapped in whatever order they show up */
+    private static final BySelector[] SIGN_IN_GATES = {
+        By.desc("Agree to permissions"),
+        By.text("Continue"),
+        By.text("Skip for now"),
+    };
+
+    private Journeys() {
+    }
+
+    /** Location is asked for on the way to the homepage; grant it up front instead of a system dialog */
+    static void grantPermissions(UiDevice device) {
+        shell(device, "pm grant " + PACKAGE + " android.permission.ACCESS_FINE_LOCATION");
+        shell(device, "pm grant " + PACKAGE + " android.permission.ACCESS_COARSE_LOCATION");
+    }
+
+    /** Wipes the app's data, so the next launch is signed out; compiled code and profiles stay */
+    static void clearData(UiDevice device) {
+        shell(device, "pm clear " + PACKAGE);
+        grantPermissions(device);
+    }
+
+    /** Launches the app outside a measurement and makes sure it is signed in */
+    static void ensureSignedIn(UiDevice device) {
+        grantPermissions(device);
+        shell(device, "am start -W -n " + PACKAGE + "/.MainActivity");
+        signIn(device);
+        device.pressHome();
+    }
+
+    /**
+     * Brings the launched app to the homepage, signing in through the deep link
+     * if it lands anywhere else
+     */
+    static void signIn(UiDevice device) {
+        if (device.wait(Until.hasObject(HOME_NAV), PAGE_TIMEOUT_MS)) {
+            return;
+        }
+        String token = InstrumentationRegistry.getArguments().getString(ARG_AUTH_TOKEN);
+        if (token == null || token.isEmpty()) {
+            throw new IllegalStateException("App is signed out; pass -Pandroid.testInstrumentationRunnerArguments."
+                + ARG_AUTH_TOKEN + "=<token>");
+        }
+        shell(device, "am start -W -a android.intent.action.VIEW -d '" + PACKAGE
+            + "://auth/callback?token=" + Uri.encode(token) + "' " + PACKAGE);
+
+        long deadline = SystemClock.uptimeMillis() + SIGN_IN_TIMEOUT_MS;
+        while (!device.wait(Until.hasObject(HOME_NAV), 1_000)) {
+            if (SystemClock.uptimeMillis() > deadline) {
+                throw new AssertionError("Homepage not reached after signing in");
+            }
+            for (BySelector gate : SIGN_IN_GATES) {
+                UiObject2 button = device.findObject(gate);
+                if (button != null) {
+                    button.click();
+                    break;
+                }
+            }
+        }
+    }
+
+    static void waitForHome(UiDevice device) {
+        require(device, HOME_NAV);
+    }
+
+    /** Games list, flung down and back up */
+    static void scrollGames(UiDevice device) {
+        tap(device, GAMES_NAV);
+        require(device, By.text("My Games"));
+        fling(device);
+    }
+
+    static void openWallet(UiDevice device) {
+        tap(device, WALLET_NAV);
+        require(device, By.text("Disclaimer"));
+        fling(device);
+    }
+
+    /** Profile, then its Spin & Win card, until the wheel page is up */
+    static void openSpinWheel(UiDevice device) {
+        tap(device, HOME_NAV);
+        tap(device, PROFILE);
+        tap(device, By.text("Spin & Win"));
+        require(device, By.text("Spin and Win"));
+    }
+
+    private static void tap(UiDevice device, BySelector selector) {
+        require(device, selector);
+        device.findObject(selector).click();
+    }
+
+    private static void require(UiDevice device, BySelector selector) {
+        if (!device.wait(Until.hasObject(selector), PAGE_TIMEOUT_MS)) {
+            throw new AssertionError("Timed out waiting for " + selector);
+        }
+    }
+
+    private static void fling(UiDevice device) {
+        UiObject2 webView = device.findObject(WEB_VIEW);
+        // Stay clear of the gesture-navigation edges
+        webView.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < FLINGS; i++) {
+            webView.fling(Direction.DOWN);
+        }
+        webView.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    private static void shell(UiDevice device, String command) {
+        try {
+            device.executeShellCommand(command);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
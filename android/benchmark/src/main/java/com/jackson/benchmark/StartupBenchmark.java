@@ -0,0 +1,89 @@
+package com.jackson.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * MainActivity startup, cold / warm / hot, without and with the Baseline Profile
+ *
+ * StartupTimingMetric reports two numbers per run:
+ * - timeToInitialDisplayMs: launch until the first frame (the splash screen)
+ * - timeToFullDisplayMs: launch until the homepage has rendered real data; the
+ *   app calls reportFullyDrawn() when JS marks firstMeaningfulPaint
+ *   (StartupPlugin.mark), so this is splash-to-interactive
+ *
+ * The two compilation modes are the before / after of the profile:
+ * None() is a fresh install with nothing precompiled, Partial() installs the
+ * profile from src/release/generated/baselineProfiles when one has been
+ * generated (BaselineProfileGenerator); until then it measures the same as None().
+ *
+ *   ./gradlew :benchmark:pixel6Api34BenchmarkReleaseAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.jackson.benchmark.StartupBenchmark
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Parameterized.Parameters(name = "{0} {1}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (StartupMode mode : new StartupMode[] { StartupMode.COLD, StartupMode.WARM, StartupMode.HOT }) {
+            parameters.add(new Object[] { mode, new CompilationMode.None() });
+            parameters.add(new Object[] { mode, new CompilationMode.Partial(BaselineProfileMode.UseIfAvailable) });
+        }
+        return parameters;
+    }
+
+    @Rule
+    public final MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    private final StartupMode startupMode;
+    private final CompilationMode compilationMode;
+
+    public StartupBenchmark(StartupMode startupMode, CompilationMode compilationMode) {
+        this.startupMode = startupMode;
+        this.compilationMode = compilationMode;
+    }
+
+    @Before
+    public void signIn() {
+        // A signed-out start ends on onboarding and never reports fully drawn
+        Journeys.ensureSignedIn(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void startup() {
+        rule.measureRepeated(
+            Journeys.PACKAGE,
+            Collections.singletonList(new StartupTimingMetric()),
+            compilationMode,
+            startupMode,
+            ITERATIONS,
+            scope -> {
+                scope.pressHome();
+                return Unit.INSTANCE;
+            },
+            scope -> {
+                scope.startActivityAndWait();
+                Journeys.waitForHome(scope.getDevice());
+                return Unit.INSTANCE;
+            });
+    }
+}
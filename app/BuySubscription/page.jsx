@@ -229,7 +229,7 @@ export default function BuySubscription() {
             // Refresh VIP status to update membership status across the app
             // This updates: homepage banner, profile page, and wallet page
             // All components use state.profile.vipStatus to display membership status
-            dispatch(fetchVipStatus(token));
+            dispatch(fetchVipStatus({ token, force: true }));
 
             // Show success message
             dispatch(setPurchaseStatus({
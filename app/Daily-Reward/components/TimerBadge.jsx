@@ -1,77 +1,41 @@
 "use client";
 
-import React, { useState, useEffect } from "react";
+import React, { useMemo } from "react";
+import { serverNow } from "@/lib/serverClock";
+import { useServerCountdown } from "@/hooks/useServerCountdown";
 
 export const TimerBadge = ({ nextUnlockTime, isClaimed, countdown }) => {
-    const [timeLeft, setTimeLeft] = useState("");
-    const [isExpired, setIsExpired] = useState(false);
-    const [isLoading, setIsLoading] = useState(true);
-    const [initialCountdown, setInitialCountdown] = useState(null);
-    const [countdownStartTime, setCountdownStartTime] = useState(null);
-
-    useEffect(() => {
-        // Only show timer if we have valid data
-        if (!countdown && !nextUnlockTime) {
-            setIsLoading(false);
-            setInitialCountdown(null);
-            setCountdownStartTime(null);
-            return;
-        }
-
-        setIsLoading(false);
-
-        // Initialize countdown from API or calculate from nextUnlockTime
+    // Server-time deadline from the API countdown (ms from now) or nextUnlockTime
+    const deadline = useMemo(() => {
         if (countdown && countdown > 0) {
-            // Store the initial countdown value and when we received it
-            setInitialCountdown(countdown);
-            setCountdownStartTime(Date.now());
-        } else if (nextUnlockTime) {
-            // Use nextUnlockTime if countdown not available
-            const now = new Date().getTime();
-            const unlockTime = new Date(nextUnlockTime).getTime();
-            const timeUntilUnlock = Math.max(0, unlockTime - now);
-            setInitialCountdown(timeUntilUnlock);
-            setCountdownStartTime(now);
+            return serverNow() + countdown;
         }
-    }, [nextUnlockTime, isClaimed, countdown]);
-
-    // Calculate and update countdown every second
-    useEffect(() => {
-        if (initialCountdown === null || countdownStartTime === null) {
-            return;
+        if (nextUnlockTime) {
+            const unlockTime = new Date(nextUnlockTime).getTime();
+            return Number.isFinite(unlockTime) ? unlockTime : null;
         }
+        return null;
+    }, [nextUnlockTime, countdown]);
 
-        const calculateTimeLeft = () => {
-            const now = Date.now();
-            const elapsed = now - countdownStartTime;
-            const remaining = Math.max(0, initialCountdown - elapsed);
+    // The badge shows hours and minutes, so it only needs a tick per minute
+    const remaining = useServerCountdown(deadline, "minute");
 
-            if (remaining <= 0) {
-                setIsExpired(true);
-                setTimeLeft(isClaimed ? "Next reward ready!" : "Ready!");
-                return;
-            }
+    // Only show timer if we have valid countdown data
+    if (!countdown && !nextUnlockTime) return null;
 
+    let timeLeft = "";
+    if (remaining !== null) {
+        if (remaining <= 0) {
+            timeLeft = isClaimed ? "Next reward ready!" : "Ready!";
+        } else {
             const hours = Math.floor(remaining / (1000 * 60 * 60));
             const minutes = Math.floor((remaining % (1000 * 60 * 60)) / (1000 * 60));
 
             // Format: "23h:30m" for clear countdown display
             // For claimed rewards, show "Next: 23h:30m"
-            if (isClaimed) {
-                setTimeLeft(`Next: ${hours}h:${minutes.toString().padStart(2, '0')}m`);
-            } else {
-                setTimeLeft(`${hours}h:${minutes.toString().padStart(2, '0')}m`);
-            }
-        };
-
-        calculateTimeLeft();
-        const interval = setInterval(calculateTimeLeft, 1000);
-
-        return () => clearInterval(interval);
-    }, [initialCountdown, countdownStartTime, isClaimed]);
-
-    // Only show timer if we have valid countdown data
-    if (!countdown && !nextUnlockTime) return null;
+            timeLeft = `${isClaimed ? "Next: " : ""}${hours}h:${minutes.toString().padStart(2, '0')}m`;
+        }
+    }
 
     return (
         <div className="absolute bottom-[6px] left-1/2 transform -translate-x-1/2 w-[120px] h-8 bg-gradient-to-r from-purple-600 to-purple-700 rounded-lg flex items-center justify-center shadow-lg border border-purple-400 z-10">
@@ -81,7 +45,7 @@ export const TimerBadge = ({ nextUnlockTime, isClaimed, countdown }) => {
 
                 {/* Timer Text */}
                 <span className="text-white text-xs font-bold">
-                    {isLoading ? "Loading..." : timeLeft}
+                    {timeLeft}
                 </span>
             </div>
         </div>
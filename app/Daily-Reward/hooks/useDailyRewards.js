@@ -229,6 +229,28 @@ export const useDailyRewards = () => {
           );
         }
 
+        // Android outbox: the claim is saved but not yet confirmed; the real
+        // answer (or a rejection) arrives through data.settled
+        if (data.queued) {
+          setSuccessMessage(data.message);
+          setError(null);
+          data.settled?.then(async (settled) => {
+            if (settled.success) {
+              setSuccessMessage("Reward claimed!");
+              await Promise.all([
+                dispatch(fetchWalletScreen({ token, force: true })),
+                dispatch(fetchProfileStats({ token, force: true })),
+              ]);
+            } else {
+              setSuccessMessage(null);
+              setError(settled.error || "Failed to claim reward");
+            }
+            localStorage.removeItem(`daily_rewards_current_week`);
+            await fetchWeekData(currentWeekStartRef.current, true);
+          });
+          return data.data;
+        }
+
         if (data.success && data.data) {
           // Update Redux store with new coins and XP from reward response
           // Use xp value from response (includes multipliers) for reward model
@@ -241,7 +263,7 @@ export const useDailyRewards = () => {
 
           // Refresh wallet screen data for real-time updates
           try {
-            await dispatch(fetchWalletScreen(token));
+            await dispatch(fetchWalletScreen({ token, force: true }));
           } catch (walletError) {
             console.warn("⚠️ Failed to refresh wallet screen:", walletError);
             // Don't throw error - reward was still claimed successfully
@@ -250,13 +272,14 @@ export const useDailyRewards = () => {
           // Refresh transaction history immediately after reward claim
           try {
             await Promise.all([
-              dispatch(fetchWalletTransactions({ token, limit: 5 })),
+              dispatch(fetchWalletTransactions({ token, limit: 5, force: true })),
               dispatch(
                 fetchFullWalletTransactions({
                   token,
                   page: 1,
                   limit: 20,
                   type: "all",
+                  force: true,
                 })
               ),
             ]);
@@ -271,7 +294,7 @@ export const useDailyRewards = () => {
 
           // Refresh profile stats for homepage components (RewardProgress, XPTierTracker)
           try {
-            await dispatch(fetchProfileStats(token));
+            await dispatch(fetchProfileStats({ token, force: true }));
           } catch (statsError) {
             console.warn("⚠️ Failed to refresh profile stats:", statsError);
             // Don't throw error - reward was still claimed successfully
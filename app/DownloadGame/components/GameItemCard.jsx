@@ -1,4 +1,5 @@
 import React from 'react'
+import { sizedImageUrl } from '@/lib/imageCache'
 
 const GameItemCard = ({
     game,
@@ -79,7 +80,7 @@ const GameItemCard = ({
                     <img
                         className="w-full h-full object-cover cursor-pointer hover:opacity-80 transition-opacity"
                         alt={`${cleanGameName} game icon`}
-                        src={game.image || game.overlayImage || "/placeholder-game.png"}
+                        src={sizedImageUrl(game.image || game.overlayImage, 55) || "/placeholder-game.png"}
                         onError={(e) => {
                             e.target.src = "/placeholder-game.png";
                         }}
@@ -3,6 +3,7 @@ import React, { useState, useEffect, useCallback, useMemo } from "react";
 import { useSelector, useDispatch } from "react-redux";
 import { useRouter, useSearchParams } from "next/navigation";
 import Image from "next/image";
+import { sizedImageUrl } from "@/lib/imageCache";
 import { fetchGamesBySection } from "@/lib/redux/slice/gameSlice";
 // Removed getAgeGroupFromProfile and getGenderFromProfile - now passing user object directly
 
@@ -14,7 +15,7 @@ const RecommendationCard = React.memo(({ card, onCardClick }) => {
     }, []);
 
     // Pre-compute image source for better performance - use API image
-    const imageSrc = card.image || card.backgroundImage || '/game.png';
+    const imageSrc = sizedImageUrl(card.image || card.backgroundImage, 158) || '/game.png';
 
     return (
         <article
@@ -27,11 +27,11 @@ export const Card = ({ isOpen, onClose, methods, fundingSources, token }) => {
     const refetchWalletData = async () => {
         try {
             // Fetch wallet screen data for real-time balance updates
-            await dispatch(fetchWalletScreen(token));
+            await dispatch(fetchWalletScreen({ token, force: true }));
 
             // Fetch both wallet transactions and full wallet transactions
-            await dispatch(fetchWalletTransactions({ token, limit: 5 }));
-            await dispatch(fetchFullWalletTransactions({ token, page: 1, limit: 20, type: "all" }));
+            await dispatch(fetchWalletTransactions({ token, limit: 5, force: true }));
+            await dispatch(fetchFullWalletTransactions({ token, page: 1, limit: 20, type: "all", force: true }));
 
         } catch (error) {
             console.error('❌ Error refetching wallet data:', error);
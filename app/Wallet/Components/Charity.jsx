@@ -26,9 +26,9 @@ export const Charity = ({ isOpen, onClose, methods, fundingSources, token }) =>
     // Function to refetch wallet data after successful payout
     const refetchWalletData = async () => {
         try {
-            await dispatch(fetchWalletScreen(token));
-            await dispatch(fetchWalletTransactions({ token, limit: 5 }));
-            await dispatch(fetchFullWalletTransactions({ token, page: 1, limit: 20, type: "all" }));
+            await dispatch(fetchWalletScreen({ token, force: true }));
+            await dispatch(fetchWalletTransactions({ token, limit: 5, force: true }));
+            await dispatch(fetchFullWalletTransactions({ token, page: 1, limit: 20, type: "all", force: true }));
         } catch (error) {
             console.error('❌ Error refetching wallet data:', error);
         }
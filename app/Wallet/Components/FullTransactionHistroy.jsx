@@ -5,6 +5,10 @@ import { useRouter } from 'next/navigation';
 import { fetchFullWalletTransactions } from '@/lib/redux/slice/walletTransactionsSlice';
 import { useAuth } from '@/contexts/AuthContext';
 import { HighestTransctionCard } from './HighestTransctionCard';
+import { useLedgerWindow } from '@/hooks/useLedgerWindow';
+
+// HighestTransctionCard height (92px) + gap-4
+const ROW_HEIGHT = 108;
 
 const FullTransactionHistroy = () => {
     const dispatch = useDispatch();
@@ -14,6 +18,15 @@ const FullTransactionHistroy = () => {
     // Get full transactions from Redux store
     const { fullTransactions, fullTransactionsStatus, pagination } = useSelector((state) => state.walletTransactions);
 
+    // Android app: only the visible part of the stored history is queried
+    const ledger = useLedgerWindow(ROW_HEIGHT);
+
+    // Pick up anything newer than the stored history (one request when nothing changed)
+    useEffect(() => {
+        if (ledger.enabled && token) {
+            dispatch(fetchFullWalletTransactions({ token }));
+        }
+    }, [ledger.enabled, token, dispatch]);
 
     const handleBack = () => {
         router.back();
@@ -63,6 +76,28 @@ const FullTransactionHistroy = () => {
                             </div>
                         </div>
                     </header>
+                    {ledger.enabled ? (
+                        <div ref={ledger.listRef} className="w-full flex flex-col items-center">
+                            {ledger.total > 0 ? (
+                                <>
+                                    <div style={{ height: ledger.topSpacer }} />
+                                    <div className="w-full flex flex-col items-center gap-4">
+                                        {ledger.rows.map((data) => (
+                                            <HighestTransctionCard
+                                                key={data.id}
+                                                {...data}
+                                            />
+                                        ))}
+                                    </div>
+                                    <div style={{ height: ledger.bottomSpacer }} />
+                                </>
+                            ) : !ledger.loading && (
+                                <div className="text-center text-gray-400 mt-8">
+                                    <p>No transactions found</p>
+                                </div>
+                            )}
+                        </div>
+                    ) : (
                     <div className="w-full flex flex-col items-center gap-4">
                         {fullTransactions.length > 0 ? (
                             fullTransactions.map((data) => (
@@ -77,6 +112,7 @@ const FullTransactionHistroy = () => {
                             </div>
                         )}
                     </div>
+                    )}
                 </div>
             </section>
         </div>
@@ -1,5 +1,5 @@
 "use client";
-import React, { useEffect, useRef } from "react";
+import React, { useEffect } from "react";
 import { useSelector, useDispatch } from "react-redux";
 import { useAuth } from "@/contexts/AuthContext";
 import { useRouter } from "next/navigation";
@@ -8,6 +8,7 @@ import { EarningsOverviewSection } from "./components/EarningsOverviewSection";
 import { GoalsAndTargetsSection } from "./components/GoalsAndTargetsSection";
 import { HomeIndicator } from "@/components/HomeIndicator";
 import { PageHeader } from "@/components/PageHeader";
+import { preloadSoundEffects, playSoundEffect } from "@/lib/soundEffects";
 
 export default function CashCoachPage() {
     const dispatch = useDispatch();
@@ -15,9 +16,6 @@ export default function CashCoachPage() {
     const { token } = useAuth();
     const { status, error } = useSelector((state) => state.cashCoach);
 
-    // Audio ref for coin sound effect
-    const audioRef = useRef(null);
-
     // Get wallet screen data from Redux store for coin balance
     const { walletScreen } = useSelector((state) => state.walletTransactions);
     const coinBalance = walletScreen?.wallet?.balance || 0;
@@ -28,13 +26,9 @@ export default function CashCoachPage() {
         }
     }, [dispatch, token, status]);
 
-    // Initialize audio element when component mounts
+    // Decode the coin sound when the page mounts so the first tap plays immediately
     useEffect(() => {
-        // Ensure audio is ready to play
-        if (audioRef.current) {
-            audioRef.current.volume = 0.7; // Set volume (0.0 to 1.0)
-            audioRef.current.load();
-        }
+        preloadSoundEffects();
     }, []);
 
     if (status === 'loading' || status === 'idle') {
@@ -60,30 +54,7 @@ export default function CashCoachPage() {
     // Function to play coin sound effect
     const playCoinSound = () => {
         try {
-            if (audioRef.current) {
-                // Reset audio to beginning
-                audioRef.current.currentTime = 0;
-                // Play the sound
-                const playPromise = audioRef.current.play();
-
-                if (playPromise !== undefined) {
-                    playPromise
-                        .then(() => {
-                            // Audio playing successfully
-                            console.log("Coin sound playing");
-                        })
-                        .catch(error => {
-                            // Autoplay was prevented or other error
-                            console.log("Audio play failed:", error);
-                            // Try to play again after user interaction
-                            if (audioRef.current) {
-                                audioRef.current.play().catch(err => {
-                                    console.log("Retry audio play failed:", err);
-                                });
-                            }
-                        });
-                }
-            }
+            playSoundEffect("coin", { volume: 0.7 });
         } catch (error) {
             console.log("Sound effect error:", error);
         }
@@ -135,13 +106,6 @@ export default function CashCoachPage() {
             <EarningsOverviewSection />
             <GoalsAndTargetsSection />
             <HomeIndicator />
-
-            {/* Audio element for coin sound effect */}
-            <audio
-                ref={audioRef}
-                preload="auto"
-                src="/spinning-coin-on-table-352448.mp3"
-            />
         </div>
     );
 }
\ No newline at end of file
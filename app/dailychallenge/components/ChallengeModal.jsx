@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useMemo } from "react";
 import { useDispatch } from "react-redux";
 import { useRouter } from "next/navigation";
 import { useAuth } from "../../../contexts/AuthContext";
@@ -11,6 +11,23 @@ import {
 } from "../../../lib/redux/slice/dailyChallengeSlice";
 import { SimpleSpinWheel } from "./SimpleSpinWheel";
 import { spinForChallenge } from "../../../lib/api";
+import { serverNow } from "../../../lib/serverClock";
+import { useServerCountdown } from "../../../hooks/useServerCountdown";
+
+// Rewards of non-spin challenges can be claimed this long after the start
+const CLAIM_WAIT_MS = 10 * 60 * 1000;
+
+// "M:SS" for the short challenge timers
+const toMinutesSeconds = (remaining) => {
+    const minutes = Math.floor(remaining / (1000 * 60));
+    const seconds = Math.floor((remaining % (1000 * 60)) / 1000);
+    return {
+        minutes,
+        seconds,
+        formatted: `${minutes}:${seconds.toString().padStart(2, '0')}`,
+        totalSeconds: Math.floor(remaining / 1000)
+    };
+};
 
 export const ChallengeModal = ({
     isOpen,
@@ -21,16 +38,13 @@ export const ChallengeModal = ({
     const dispatch = useDispatch();
     const router = useRouter();
     const { user, token } = useAuth();
-    const [countdown, setCountdown] = useState("");
     const [selectedGameId, setSelectedGameId] = useState(null);
     const [isSelecting, setIsSelecting] = useState(false);
     const [isStarting, setIsStarting] = useState(false);
     const [isCompleting, setIsCompleting] = useState(false);
     const [isClaiming, setIsClaiming] = useState(false);
-    const [timeUntilClaimable, setTimeUntilClaimable] = useState(null);
     const [isSpinning, setIsSpinning] = useState(false);
     const [challengeStartTime, setChallengeStartTime] = useState(null);
-    const [timeLimitCountdown, setTimeLimitCountdown] = useState(null);
     const [showCompletionSuccess, setShowCompletionSuccess] = useState(false);
     const [spinSuccess, setSpinSuccess] = useState(false);
 
@@ -52,168 +66,68 @@ export const ChallengeModal = ({
         });
     }, [isOpen, today]);
 
-    // Calculate countdown timer for challenge expiration
-    useEffect(() => {
-        if (!today?.countdown) {
-            setCountdown("");
-            return;
+    // Challenge expiration as a server-time deadline
+    const countdownDeadline = useMemo(() => {
+        if (!today?.countdown) return null;
+        // Priority 1: Use endsAt (most accurate - absolute time)
+        if (today.countdown.endsAt) {
+            return new Date(today.countdown.endsAt).getTime();
         }
-
-        const updateCountdown = () => {
-            const now = new Date();
-            let endTime = null;
-
-            // Priority 1: Use endsAt (most accurate - absolute time)
-            if (today.countdown.endsAt) {
-                endTime = new Date(today.countdown.endsAt);
-            }
-            // Priority 2: Use timeRemaining (relative time from when data was fetched)
-            else if (today.countdown.timeRemaining) {
-                // Calculate end time from timeRemaining
-                // Note: This is less accurate as it's based on when the data was fetched
-                endTime = new Date(now.getTime() + today.countdown.timeRemaining);
-            }
-            // Priority 3: Fallback to formatted (static, won't update)
-            else if (today.countdown.formatted) {
-                setCountdown(today.countdown.formatted);
-                return;
-            }
-            else {
-                console.warn("🔔 [CHALLENGE MODAL] No valid countdown data available");
-                setCountdown("");
-                return;
-            }
-
-            // Calculate difference
-            const diff = endTime - now;
-
-            if (diff <= 0) {
-                setCountdown("Challenge expired");
-                return;
-            }
-
-            // Calculate hours, minutes, seconds
-            const hours = Math.floor(diff / (1000 * 60 * 60));
-            const minutes = Math.floor((diff % (1000 * 60 * 60)) / (1000 * 60));
-            const seconds = Math.floor((diff % (1000 * 60)) / 1000);
-
-            // Format and set countdown
-            const formatted = `${hours.toString().padStart(2, '0')}:${minutes.toString().padStart(2, '0')}:${seconds.toString().padStart(2, '0')}`;
-            setCountdown(formatted);
-        };
-
-        // Initial update
-        updateCountdown();
-
-        // Update every second for live countdown
-        const interval = setInterval(updateCountdown, 1000);
-
-        return () => clearInterval(interval);
+        // Priority 2: Use timeRemaining (relative to when this data arrived)
+        if (today.countdown.timeRemaining) {
+            return serverNow() + today.countdown.timeRemaining;
+        }
+        // Priority 3: today.countdown.formatted is shown as is (static, won't update)
+        if (!today.countdown.formatted) {
+            console.warn("🔔 [CHALLENGE MODAL] No valid countdown data available");
+        }
+        return null;
     }, [today?.countdown]);
 
-    // Track challenge start time and calculate time limit countdown
+    const countdownMs = useServerCountdown(countdownDeadline);
+
+    let countdown = "";
+    if (countdownMs === null) {
+        countdown = today?.countdown?.formatted || "";
+    } else if (countdownMs <= 0) {
+        countdown = "Challenge expired";
+    } else {
+        // Calculate hours, minutes, seconds
+        const hours = Math.floor(countdownMs / (1000 * 60 * 60));
+        const minutes = Math.floor((countdownMs % (1000 * 60 * 60)) / (1000 * 60));
+        const seconds = Math.floor((countdownMs % (1000 * 60)) / 1000);
+        countdown = `${hours.toString().padStart(2, '0')}:${minutes.toString().padStart(2, '0')}:${seconds.toString().padStart(2, '0')}`;
+    }
+
+    // Track challenge start time for the time limit countdown
     useEffect(() => {
         if (today?.progress?.startedAt && !today?.progress?.isCompleted) {
             const startedAt = new Date(today.progress.startedAt);
             setChallengeStartTime(startedAt);
         } else if (today?.progress?.isCompleted) {
             setChallengeStartTime(null);
-            setTimeLimitCountdown(null);
         }
     }, [today?.progress?.startedAt, today?.progress?.isCompleted]);
 
-    // Calculate countdown for time limit (e.g., 3 minutes)
-    useEffect(() => {
-        if (!challengeStartTime || !today?.challenge?.requirements?.timeLimit) {
-            setTimeLimitCountdown(null);
-            return;
-        }
-
-        const updateTimeLimitCountdown = () => {
-            const now = new Date();
-            const timeLimitMinutes = today.challenge.requirements.timeLimit;
-            const timeLimitMs = timeLimitMinutes * 60 * 1000; // Convert minutes to milliseconds
-            const elapsed = now - challengeStartTime;
-            const remaining = timeLimitMs - elapsed;
-
-            if (remaining <= 0) {
-                setTimeLimitCountdown(null); // Time limit reached
-                return;
-            }
-
-            // Calculate minutes and seconds
-            const minutes = Math.floor(remaining / (1000 * 60));
-            const seconds = Math.floor((remaining % (1000 * 60)) / 1000);
-
-            setTimeLimitCountdown({
-                minutes,
-                seconds,
-                formatted: `${minutes}:${seconds.toString().padStart(2, '0')}`,
-                totalSeconds: Math.floor(remaining / 1000)
-            });
-        };
-
-        // Initial update
-        updateTimeLimitCountdown();
-
-        // Update every second
-        const interval = setInterval(updateTimeLimitCountdown, 1000);
-
-        return () => clearInterval(interval);
-    }, [challengeStartTime, today?.challenge?.requirements?.timeLimit]);
-
-    // Calculate time until rewards can be claimed (10 minutes from start)
-    useEffect(() => {
-        // Skip wait timer for spin challenges - they can claim immediately
-        if (today?.challenge?.type === 'spin') {
-            setTimeUntilClaimable(null);
-            return;
-        }
-
-        // Only show countdown if challenge is completed but rewards can't be claimed yet
-        if (!today?.progress?.isCompleted || !today?.progress?.startedAt) {
-            setTimeUntilClaimable(null);
-            return;
-        }
-
-        const updateTimeUntilClaimable = () => {
-            // Use server time if available (more accurate), otherwise use client time
-            const serverTime = today?.countdown?.serverTime
-                ? new Date(today.countdown.serverTime)
-                : new Date();
-            const now = new Date();
-            const startedAt = new Date(today.progress.startedAt);
-
-            // Calculate time difference using server time if available
-            const timeDiff = serverTime - startedAt;
-            const timeLimitMs = 10 * 60 * 1000; // 10 minutes in milliseconds
-            const remaining = timeLimitMs - timeDiff;
-
-            if (remaining <= 0) {
-                setTimeUntilClaimable(null); // Time limit passed, can claim
-                return;
-            }
-
-            // Calculate minutes and seconds
-            const minutes = Math.floor(remaining / (1000 * 60));
-            const seconds = Math.floor((remaining % (1000 * 60)) / 1000);
-
-            setTimeUntilClaimable({
-                minutes,
-                seconds,
-                formatted: `${minutes}:${seconds.toString().padStart(2, '0')}`,
-                canClaim: false
-            });
-        };
-
-        // Initial update
-        updateTimeUntilClaimable();
-
-        // Update every second for live countdown
-        const interval = setInterval(updateTimeUntilClaimable, 1000);
-
-        return () => clearInterval(interval);
-    }, [today?.progress?.isCompleted, today?.progress?.startedAt, today?.countdown?.serverTime, today?.challenge?.type]);
+    // Countdown for the time limit (e.g., 3 minutes); null once it is reached
+    const timeLimitMinutes = today?.challenge?.requirements?.timeLimit;
+    const timeLimitMs = useServerCountdown(
+        challengeStartTime && timeLimitMinutes
+            ? challengeStartTime.getTime() + timeLimitMinutes * 60 * 1000
+            : null
+    );
+    const timeLimitCountdown = timeLimitMs ? toMinutesSeconds(timeLimitMs) : null;
+
+    // Time until rewards can be claimed (10 minutes from start); spin challenges
+    // can claim immediately. null once claimable.
+    const claimableAt =
+        today?.challenge?.type !== 'spin' && today?.progress?.isCompleted && today?.progress?.startedAt
+            ? new Date(today.progress.startedAt).getTime() + CLAIM_WAIT_MS
+            : null;
+    const claimableMs = useServerCountdown(claimableAt);
+    const timeUntilClaimable = claimableMs
+        ? { ...toMinutesSeconds(claimableMs), canClaim: false }
+        : null;
 
     if (!isOpen) return null;
 
@@ -432,13 +346,11 @@ export const ChallengeModal = ({
 
         // VALIDATION: Check if 10 minutes have passed since start
         if (today?.progress?.startedAt) {
-            const now = new Date();
-            const startedAt = new Date(today.progress.startedAt);
-            const timeLimitMs = 10 * 60 * 1000; // 10 minutes
-            const elapsed = now - startedAt;
+            const startedAt = new Date(today.progress.startedAt).getTime();
+            const elapsed = serverNow() - startedAt;
 
-            if (elapsed < timeLimitMs) {
-                const remaining = timeLimitMs - elapsed;
+            if (elapsed < CLAIM_WAIT_MS) {
+                const remaining = CLAIM_WAIT_MS - elapsed;
                 const minutes = Math.floor(remaining / (1000 * 60));
                 const seconds = Math.floor((remaining % (1000 * 60)) / 1000);
                 alert(`Please wait ${minutes} minute(s) and ${seconds} second(s) before claiming rewards.`);
@@ -509,15 +421,10 @@ export const ChallengeModal = ({
 
         // Condition 2: 10 minutes must have passed since start (for non-spin challenges)
         if (today?.progress?.startedAt) {
-            // Use server time if available (more accurate), otherwise use client time
-            const serverTime = today?.countdown?.serverTime
-                ? new Date(today.countdown.serverTime)
-                : new Date();
-            const startedAt = new Date(today.progress.startedAt);
-            const timeLimitMs = 10 * 60 * 1000; // 10 minutes
-            const elapsed = serverTime - startedAt;
+            const startedAt = new Date(today.progress.startedAt).getTime();
+            const elapsed = serverNow() - startedAt;
 
-            if (elapsed < timeLimitMs) {
+            if (elapsed < CLAIM_WAIT_MS) {
                 return false;
             }
         } else {
@@ -7,6 +7,8 @@ import { registerFace, toggleBiometric } from "@/lib/api";
 import { NativeBiometric } from "capacitor-native-biometric";
 import { Camera } from "@capacitor/camera";
 import { Filesystem, Directory } from "@capacitor/filesystem";
+import { kvSetMany } from "@/lib/keyValue";
+import { isMediaUploadAvailable, processImage } from "@/lib/mediaUpload";
 
 // Import the new Native BiometricPrompt plugin (uses androidx.biometric.BiometricPrompt)
 import {
@@ -182,6 +184,38 @@ export default function FaceVerificationPage() {
             setLoadingStep("Opening camera...");
             console.log("📷 [CAMERA] Opening camera...");
 
+            if (isMediaUploadAvailable()) {
+                // Resized natively from the camera file; no base64 crosses the bridge
+                const photo = await Camera.getPhoto({
+                    quality: 90,
+                    allowEditing: false,
+                    resultType: "uri",
+                    source: "CAMERA",
+                    correctOrientation: false,
+                    promptLabelHeader: "Face Verification",
+                    promptLabelPhoto: "Take Photo",
+                    promptLabelPicture: "Use Camera",
+                });
+
+                setLoadingStep("Processing face data...");
+                const processed = await processImage(
+                    { path: photo.path, maxWidth: 640, maxHeight: 480, format: "jpeg", quality: 60 },
+                    "data"
+                );
+                console.log(
+                    `📷 [CAMERA] Photo processed: ${processed.width}x${processed.height}, ${processed.bytes} bytes in ${processed.processMs} ms`
+                );
+                if (typeof window !== "undefined") {
+                    localStorage.setItem("cameraFacePhotoPath", processed.path);
+                    localStorage.removeItem("cameraFacePhoto");
+                }
+                return {
+                    success: true,
+                    photoData: null,
+                    format: "jpeg",
+                };
+            }
+
             // Capture photo using camera with lower quality and size to reduce file size
             const photo = await Camera.getPhoto({
                 quality: 10,
@@ -481,8 +515,10 @@ export default function FaceVerificationPage() {
 
             // Mark verification as completed
             console.log("✅ [CONTINUE] Marking verification as completed");
-            localStorage.setItem("faceVerificationCompleted", "true");
-            localStorage.setItem("biometricType", biometricTypeString);
+            kvSetMany({
+                faceVerificationCompleted: "true",
+                biometricType: biometricTypeString,
+            });
             localStorage.setItem("biometricSecurityLevel", securityLevel || "BIOMETRIC_STRONG");
             localStorage.setItem("biometricHardwareTEE", String(hardwareTEE));
             
@@ -21,6 +21,7 @@ export const Coin = ({
     const [showClaimWarning, setShowClaimWarning] = useState(false);
     const [claiming, setClaiming] = useState(false);
     const [locallyClaimed, setLocallyClaimed] = useState(false);
+    const [syncingClaim, setSyncingClaim] = useState(false); // Saved in the outbox, not yet confirmed
     const [showOptInModal, setShowOptInModal] = useState(false);
     const [showSuccessMessage, setShowSuccessMessage] = useState(false);
     const [claimedCoins, setClaimedCoins] = useState(0);
@@ -160,7 +161,17 @@ export const Coin = ({
                 await onClaimRewards();
             } else {
                 // Fallback to direct transfer if parent handler not provided
-                const response = await transferGameEarnings(earningData, token);
+                let response = await transferGameEarnings(earningData, token);
+                // Android outbox: saved but not yet confirmed - wait for the real
+                // answer so a later rejection rolls the claim back
+                if (response.queued && response.settled) {
+                    setSyncingClaim(true);
+                    try {
+                        response = await response.settled;
+                    } finally {
+                        setSyncingClaim(false);
+                    }
+                }
                 if (response.success === false) {
                     // Use the user-friendly error message function for API responses too
                     const userFriendlyError = getUserFriendlyErrorMessage(response.error || 'Failed to transfer earnings');
@@ -178,8 +189,8 @@ export const Coin = ({
             // Refresh transaction history immediately after reward claim
             try {
                 await Promise.all([
-                    dispatch(fetchWalletTransactions({ token, limit: 5 })),
-                    dispatch(fetchFullWalletTransactions({ token, page: 1, limit: 20, type: "all" }))
+                    dispatch(fetchWalletTransactions({ token, limit: 5, force: true })),
+                    dispatch(fetchFullWalletTransactions({ token, page: 1, limit: 20, type: "all", force: true }))
                 ]);
                 console.log("✅ Transaction history refreshed after reward claim");
             } catch (transactionError) {
@@ -235,7 +246,8 @@ export const Coin = ({
                     }
                 >
                     <span className="[font-family:'Poppins',Helvetica] font-semibold text-white text-sm text-center tracking-[0] leading-[normal]">
-                        {claiming ? 'Claiming...' :
+                        {syncingClaim ? '⏳ Syncing claim...' :
+                            claiming ? 'Claiming...' :
                             locallyClaimed ? '✅ Rewards Claimed' :
                                 availableGroups === 0 ? '🔒 Claim Rewards Now' :
                                     `🎉 Claim ${availableGroups} Group${availableGroups > 1 ? 's' : ''}!`}
@@ -46,7 +46,7 @@ const OptimizedGameImage = ({ game, isLoaded, onLoad, onError, className }) => {
 };
 
 // Utility imports
-import { handleGameDownload, getUserId } from "@/lib/gameDownloadUtils";
+import { handleGameDownload, getUserId, prefetchGameRedirects } from "@/lib/gameDownloadUtils";
 import sessionManager from "@/lib/sessionManager";
 import { fetchGameById, fetchUserData } from "@/lib/redux/slice/gameSlice";
 import { fetchWalletTransactions, fetchFullWalletTransactions } from "@/lib/redux/slice/walletTransactionsSlice";
@@ -386,6 +386,12 @@ function GameDetailsContent() {
         return rawGame;
     }, [rawGame]);
 
+    // Resolve the offer redirects while the user reads the details page
+    useEffect(() => {
+        const game = displayGame || selectedGame;
+        if (game) prefetchGameRedirects([game]);
+    }, [displayGame, selectedGame]);
+
     // Update selectedTier based on userXpTier from displayGame or userData
     // Priority: displayGame.userXpTier (from game discovery API) > userData.userXpTier (from getUserData API)
     useEffect(() => {
@@ -1,5 +1,6 @@
 import React from 'react'
 import Image from 'next/image'
+import { sizedImageUrl } from '@/lib/imageCache'
 
 
 const GameItemCard = ({
@@ -59,7 +60,7 @@ const GameItemCard = ({
                         <Image
                             className="w-full h-full object-cover"
                             alt={cleanGameName}
-                            src={game.image}
+                            src={sizedImageUrl(game.image, 55)}
                             width={55}
                             height={55}
                         />
@@ -3,7 +3,8 @@ import React, { useState, useRef, useEffect, useMemo, useCallback } from "react"
 import { useDispatch, useSelector } from "react-redux";
 import { fetchGamesBySection } from "@/lib/redux/slice/gameSlice";
 import { useRouter } from "next/navigation";
-import { handleGameDownload } from "@/lib/gameDownloadUtils";
+import { handleGameDownload, prefetchGameRedirects } from "@/lib/gameDownloadUtils";
+import { sizedImageUrl } from "@/lib/imageCache";
 // Removed getAgeGroupFromProfile and getGenderFromProfile - now passing user object directly
 
 const GameCard = ({ onClose: onCloseProp }) => {
@@ -541,6 +542,11 @@ const GameCard = ({ onClose: onCloseProp }) => {
         return swipeGames[currentGameIndex];
     }, [swipeGames, currentGameIndex]);
 
+    // Resolve offer redirects for the visible card and the next two
+    useEffect(() => {
+        prefetchGameRedirects(swipeGames.slice(currentGameIndex, currentGameIndex + 3));
+    }, [swipeGames, currentGameIndex]);
+
     // Calculate coins and total XP for current game (same logic as TaskListSection and HighestEarningGame)
     const currentGameRewards = useMemo(() => {
         if (!currentGame) return { coins: 0, totalXP: 0 };
@@ -681,7 +687,7 @@ const GameCard = ({ onClose: onCloseProp }) => {
                         <img
                             className="absolute w-[400px] h-[344px] top-[-2px]  aspect-[1] object-cover "
                             alt={`${gameData?.title || 'Game'} artwork`}
-                            src={gameData?.image || "https://c.animaapp.com/DfFsihWg/img/image-3930@2x.png"}
+                            src={sizedImageUrl(gameData?.image, 400) || "https://c.animaapp.com/DfFsihWg/img/image-3930@2x.png"}
                             loading="eager"
                             decoding="async"
                             onLoad={() => setImageLoading(false)}
@@ -888,7 +894,7 @@ const GameCard = ({ onClose: onCloseProp }) => {
                         <img
                             className="absolute w-[400px] h-[344px] top-[-2px] object-cover  "
                             alt={`${gameData?.title || 'Game'} artwork`}
-                            src={gameData?.image || "https://c.animaapp.com/DfFsihWg/img/image-3930@2x.png"}
+                            src={sizedImageUrl(gameData?.image, 400) || "https://c.animaapp.com/DfFsihWg/img/image-3930@2x.png"}
                             loading="eager"
                             decoding="async"
                             onLoad={() => setImageLoading(false)}
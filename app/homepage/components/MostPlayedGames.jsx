@@ -4,6 +4,7 @@ import { useSelector, useDispatch } from "react-redux";
 import { useRouter } from "next/navigation";
 import Link from "next/link";
 import { fetchGamesBySection } from "@/lib/redux/slice/gameSlice";
+import { sizedImageUrl } from "@/lib/imageCache";
 // Removed getAgeGroupFromProfile and getGenderFromProfile - now passing user object directly
 
 const MostPlayedGames = () => {
@@ -53,7 +54,7 @@ const MostPlayedGames = () => {
             const firstGame = filteredGames[0];
             if (firstGame?.optimizedImage && firstGame.optimizedImage !== "/placeholder-game.png") {
                 const img = new Image();
-                img.src = firstGame.optimizedImage;
+                img.src = sizedImageUrl(firstGame.optimizedImage, 72);
             }
         }
     }, [filteredGames]);
@@ -213,7 +214,7 @@ const MostPlayedGames = () => {
                                         <img
                                             className="w-full h-full object-cover rounded-full"
                                             alt={game.displayTitle || game.details?.name}
-                                            src={game.optimizedImage || "/placeholder-game.png"}
+                                            src={sizedImageUrl(game.optimizedImage, 72) || "/placeholder-game.png"}
                                             loading="lazy"
                                             decoding="async"
                                             onError={(e) => {
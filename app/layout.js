@@ -2,6 +2,7 @@ import "./globals.css";
 import { AuthProvider } from "@/contexts/AuthContext";
 import { ReduxProvider } from "@/lib/redux/ReduxProvider";
 import StatusBarSetter from "@/components/StatusBarSetter";
+import FrameRouteReporter from "@/components/FrameRouteReporter";
 import SplashScreen from "@/components/SplashScreen";
 
 export const metadata = {
@@ -78,6 +79,7 @@ export default function RootLayout({ children }) {
           <ReduxProvider>
             <AuthProvider>
               <StatusBarSetter />
+              <FrameRouteReporter />
               {children}
             </AuthProvider>
           </ReduxProvider>
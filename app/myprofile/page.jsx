@@ -73,7 +73,7 @@ export default function MyProfile() {
     const refreshTimer = setTimeout(() => {
       console.log("🔄 [MyProfile] Refreshing profile, wallet, and VIP data in background to get admin updates...");
       dispatch(fetchUserProfile({ token, force: true }));
-      dispatch(fetchVipStatus(token));
+      dispatch(fetchVipStatus({ token, force: true }));
       // Also refresh wallet/balance/XP to get admin coin/XP updates
       dispatch(fetchWalletScreen({ token, force: true }));
       dispatch(fetchProfileStats({ token, force: true }));
@@ -89,7 +89,7 @@ export default function MyProfile() {
     const handleFocus = () => {
       console.log("🔄 [MyProfile] App focused - refreshing profile, wallet, and VIP to get admin updates");
       dispatch(fetchUserProfile({ token, force: true }));
-      dispatch(fetchVipStatus(token));
+      dispatch(fetchVipStatus({ token, force: true }));
       // Also refresh wallet/balance/XP to get admin coin/XP updates
       dispatch(fetchWalletScreen({ token, force: true }));
       dispatch(fetchProfileStats({ token, force: true }));
@@ -1,6 +1,7 @@
 "use client";
 import { useRouter } from "next/navigation";
 import { useEffect } from "react";
+import { kvGetBoolean } from "@/lib/keyValue";
 
 export default function AppLoader() {
   const router = useRouter();
@@ -14,8 +15,7 @@ export default function AppLoader() {
       localStorage.getItem("permissionsAccepted") === "true";
     const locationCompleted =
       localStorage.getItem("locationCompleted") === "true";
-    const faceVerificationCompleted =
-      localStorage.getItem("faceVerificationCompleted") === "true";
+    const faceVerificationCompleted = kvGetBoolean("faceVerificationCompleted");
     const faceVerificationSkipped =
       localStorage.getItem("faceVerificationSkipped") === "true";
 
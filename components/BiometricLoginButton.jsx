@@ -7,6 +7,11 @@ import {
     hasBiometricCredentials,
     getBiometricType,
 } from "@/lib/biometricAuth";
+import {
+    getBiometricErrorMessage,
+    hasBiometricSession,
+    resumeBiometricSession,
+} from "@/lib/nativeBiometricPrompt";
 import { Capacitor } from "@capacitor/core";
 import { useAuth } from "@/contexts/AuthContext";
 
@@ -14,11 +19,14 @@ import { useAuth } from "@/contexts/AuthContext";
  * Biometric Login Button Component
  * Uses capacitor-native-biometric properly following documentation
  * Flow: Check availability -> Verify identity -> Retrieve credentials -> Login
+ * Android fast path: one CryptoObject-bound prompt decrypts the sealed session
+ * (lib/nativeBiometricPrompt.ts) and the session is restored from it directly
  */
 export default function BiometricLoginButton({ onSuccess, onError }) {
     const [biometryType, setBiometryType] = useState("");
     const [isAuthenticating, setIsAuthenticating] = useState(false);
     const [hasCredentials, setHasCredentials] = useState(false);
+    const [hasSealedSession, setHasSealedSession] = useState(false);
     const { refreshSession } = useAuth();
 
     useEffect(() => {
@@ -42,9 +50,13 @@ export default function BiometricLoginButton({ onSuccess, onError }) {
             console.log("✅ [LOGIN-BTN] Biometry type:", availability.biometryTypeName);
 
             // Step 2: Check if user has stored credentials
-            const credentialsExist = await hasBiometricCredentials();
+            const [credentialsExist, sealedSessionExists] = await Promise.all([
+                hasBiometricCredentials(),
+                hasBiometricSession(),
+            ]);
             setHasCredentials(credentialsExist);
-            console.log("🔍 [LOGIN-BTN] Has stored credentials:", credentialsExist);
+            setHasSealedSession(sealedSessionExists);
+            console.log("🔍 [LOGIN-BTN] Has stored credentials:", credentialsExist, "sealed session:", sealedSessionExists);
         } catch (error) {
             console.error("❌ [LOGIN-BTN] Error checking availability:", error);
         }
@@ -61,6 +73,38 @@ export default function BiometricLoginButton({ onSuccess, onError }) {
         try {
             console.log("🔐 [LOGIN-BTN] Starting biometric login flow...");
 
+            // Fast path: unlock the sealed session with a single prompt, no
+            // credential lookup and no login request
+            if (hasSealedSession) {
+                const resumed = await resumeBiometricSession({
+                    title: "Biometric Login",
+                    subtitle: "Verify your identity to log in",
+                    description: "Use your biometric to access your account",
+                });
+
+                if (resumed.success && resumed.payload) {
+                    const { token: resumedToken, user: resumedUser } = JSON.parse(resumed.payload);
+                    const refreshResult = await refreshSession({
+                        token: resumedToken,
+                        user: resumedUser,
+                    });
+                    if (refreshResult?.ok) {
+                        console.log("✅ [LOGIN-BTN] Session resumed from sealed copy");
+                        onSuccess?.({ token: resumedToken, user: resumedUser });
+                        return;
+                    }
+                } else if (resumed.errorType === "enrollment_changed") {
+                    setHasSealedSession(false);
+                    onError?.(resumed.errorMessage);
+                    return;
+                } else if (resumed.errorType !== "no_session") {
+                    onError?.(getBiometricErrorMessage(resumed));
+                    return;
+                }
+                // Nothing sealed after all: fall back to the stored credentials
+                setHasSealedSession(false);
+            }
+
             // Check if credentials are stored
             if (!hasCredentials) {
                 console.warn("⚠️ [LOGIN-BTN] No credentials stored");
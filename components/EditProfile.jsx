@@ -3,6 +3,8 @@ import React, { useState, useEffect, useRef } from "react";
 import { useRouter } from "next/navigation";
 import { useAuth } from "@/contexts/AuthContext";
 import { uploadAvatar } from "@/lib/api";
+import { isMediaUploadAvailable } from "@/lib/mediaUpload";
+import { Camera } from "@capacitor/camera";
 import { useSelector, useDispatch } from "react-redux";
 import { updateUserProfile, fetchUserProfile } from "@/lib/redux/slice/profileSlice";
 
@@ -199,7 +201,7 @@ export const EditProfile = () => {
       const upload = async () => {
         try {
           await uploadAvatar(file, token);
-          dispatch(fetchUserProfile(token));
+          dispatch(fetchUserProfile({ token, force: true }));
           alert("Avatar updated successfully!");
         } catch (err) {
           setError(err.message || "Failed to upload avatar.");
@@ -211,7 +213,43 @@ export const EditProfile = () => {
     }
   };
 
-  const triggerFileInput = () => fileInputRef.current.click();
+  // In the app, the photo is resized and uploaded natively from its file path
+  const pickNativeAvatar = async () => {
+    let photo;
+    try {
+      photo = await Camera.getPhoto({
+        quality: 90,
+        allowEditing: false,
+        resultType: "uri",
+        source: "PROMPT",
+        correctOrientation: false,
+        promptLabelHeader: "Profile Picture",
+      });
+    } catch (err) {
+      // Cancelled
+      return;
+    }
+    if (!photo?.path) return;
+    setAvatarPreview(photo.webPath);
+    if (!token) return;
+    try {
+      await uploadAvatar({ path: photo.path }, token);
+      dispatch(fetchUserProfile({ token, force: true }));
+      alert("Avatar updated successfully!");
+    } catch (err) {
+      setError(err.message || "Failed to upload avatar.");
+      setAvatarPreview(originalAvatar);
+      console.error("Failed to upload avatar:", err);
+    }
+  };
+
+  const triggerFileInput = () => {
+    if (isMediaUploadAvailable()) {
+      pickNativeAvatar();
+      return;
+    }
+    fileInputRef.current.click();
+  };
   const handleClose = () => router.back();
 
   // Only show loading if we don't have any profile data at all
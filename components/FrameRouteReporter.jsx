@@ -0,0 +1,17 @@
+"use client";
+import { useEffect } from "react";
+import { usePathname } from "next/navigation";
+import { setFrameRoute } from "@/lib/frameMetrics";
+
+// Tags native frame metrics with the current route (see lib/frameMetrics.ts)
+export default function FrameRouteReporter() {
+    const pathname = usePathname();
+
+    useEffect(() => {
+        if (pathname) {
+            setFrameRoute(pathname);
+        }
+    }, [pathname]);
+
+    return null;
+}
@@ -2,8 +2,11 @@
 import React, { useMemo } from "react";
 import { useSelector } from "react-redux";
 import { useWalletUpdates } from "@/hooks/useWalletUpdates";
+import { useFrameScene } from "@/hooks/useFrameScene";
 
 export const RaceModal = ({ isOpen, isAnimating, onClose, token }) => {
+    // Frame metrics while the modal is up, reported separately from the page
+    useFrameScene("race", isOpen);
     if (!isOpen) return null;
 
     // Get real-time XP data
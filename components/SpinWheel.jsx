@@ -1,15 +1,21 @@
-import React, { useState, useEffect, useRef } from "react";
+import React, { useState, useEffect } from "react";
 import { motion } from "framer-motion";
 import { useAuth } from "@/contexts/AuthContext";
 import { getSpinConfig, getSpinStatus, performSpin, redeemSpinReward } from "@/lib/api";
 import { useDispatch } from "react-redux";
 import { fetchWalletScreen } from "@/lib/redux/slice/walletTransactionsSlice";
 import { fetchProfileStats } from "@/lib/redux/slice/profileSlice";
+import { useFrameScene } from "@/hooks/useFrameScene";
+import { preloadSoundEffects, playSoundEffect } from "@/lib/soundEffects";
+import { serverNow } from "@/lib/serverClock";
+import { useServerCountdown } from "@/hooks/useServerCountdown";
 
 export default function SpinWheel() {
     const { token } = useAuth();
     const dispatch = useDispatch();
     const [isSpinning, setIsSpinning] = useState(false);
+    // Frame metrics for the spin animation, reported separately from the page
+    useFrameScene("spin", isSpinning);
     const [isLoading, setIsLoading] = useState(true);
     const [spins, setSpins] = useState(0);
     const [showResult, setShowResult] = useState(false);
@@ -26,10 +32,14 @@ export default function SpinWheel() {
     const [spinConfig, setSpinConfig] = useState(null);
     const [spinStatus, setSpinStatus] = useState(null);
     const [error, setError] = useState(null);
-    const [cooldownRemaining, setCooldownRemaining] = useState(0); // Cooldown in minutes
+    const [cooldownEndsAt, setCooldownEndsAt] = useState(null); // Server time the cooldown ends
+    const cooldownMs = useServerCountdown(cooldownEndsAt, "minute");
+    const cooldownRemaining = cooldownMs ? Math.ceil(cooldownMs / 60000) : 0; // Cooldown in minutes
 
-    // Audio ref for sound effects
-    const audioRef = useRef(null);
+    // Decode the spin sound up front so the first spin plays without delay
+    useEffect(() => {
+        preloadSoundEffects();
+    }, []);
 
     // Load spin config and status on mount
     useEffect(() => {
@@ -38,25 +48,15 @@ export default function SpinWheel() {
         }
     }, [token]);
 
-    // Countdown timer for cooldown
+    // Cooldown finished, reload status
     useEffect(() => {
-        if (cooldownRemaining > 0) {
-            const interval = setInterval(() => {
-                setCooldownRemaining((prev) => {
-                    if (prev <= 1) {
-                        // Cooldown finished, reload status
-                        if (token) {
-                            loadSpinData();
-                        }
-                        return 0;
-                    }
-                    return prev - 1;
-                });
-            }, 60000); // Update every minute
-
-            return () => clearInterval(interval);
+        if (cooldownEndsAt !== null && cooldownMs === 0) {
+            setCooldownEndsAt(null);
+            if (token) {
+                loadSpinData();
+            }
         }
-    }, [cooldownRemaining, token]);
+    }, [cooldownEndsAt, cooldownMs, token]);
 
     const loadSpinData = async () => {
         if (!token) return;
@@ -86,7 +86,9 @@ export default function SpinWheel() {
                 setCanSpin(status.canSpin || false);
                 setSpins(status.remainingSpins || 0);
                 setDailySpinsUsed((status.dailyLimit || 5) - (status.remainingSpins || 0));
-                setCooldownRemaining(status.cooldownRemaining || 0);
+                setCooldownEndsAt(status.cooldownRemaining > 0
+                    ? serverNow() + status.cooldownRemaining * 60000
+                    : null);
                 console.log("✅ [SPIN] Status loaded:", status);
             }
         } catch (err) {
@@ -100,12 +102,7 @@ export default function SpinWheel() {
     // Function to play sound effect
     const playSpinSound = () => {
         try {
-            if (audioRef.current) {
-                audioRef.current.currentTime = 0; // Reset to beginning
-                audioRef.current.play().catch(error => {
-                    console.log("Audio play failed:", error);
-                });
-            }
+            playSoundEffect("coin");
         } catch (error) {
             console.log("Sound effect error:", error);
         }
@@ -192,7 +189,7 @@ export default function SpinWheel() {
 
                             // Refresh Redux store with updated balance/XP
                             if (token) {
-                                dispatch(fetchWalletScreen({ token, force: true }));
+                                dispatch(fetchWalletScreen({ token, force: true, balanceOnly: true }));
                                 dispatch(fetchProfileStats({ token, force: true }));
                             }
 
@@ -300,7 +297,7 @@ export default function SpinWheel() {
 
                     // Refresh Redux store with updated balance/XP
                     if (token) {
-                        dispatch(fetchWalletScreen({ token, force: true }));
+                        dispatch(fetchWalletScreen({ token, force: true, balanceOnly: true }));
                         dispatch(fetchProfileStats({ token, force: true }));
                     }
 
@@ -1040,13 +1037,6 @@ export default function SpinWheel() {
                 </motion.div>
             )}
 
-            {/* Audio element for sound effects */}
-            <audio
-                ref={audioRef}
-                preload="auto"
-                src="/spinning-coin-on-table-352448.mp3"
-            />
-
         </div>
     );
 }
@@ -10,6 +10,12 @@ import {
 } from "@/lib/api";
 import useOnboardingStore from "@/stores/useOnboardingStore";
 import { App } from "@capacitor/app";
+import { evictCachedResponses } from "@/lib/responseCache";
+import { syncNativeSession, clearNativeSession } from "@/lib/startup";
+import { clearStateSnapshot, getStoredUser } from "@/lib/stateSnapshot";
+import { startWalletStream, stopWalletStream } from "@/lib/walletStream";
+import { clearOutbox } from "@/lib/outbox";
+import { kvGetBoolean, kvRemove } from "@/lib/keyValue";
 import { useDispatch, useSelector } from "react-redux";
 import {
   fetchUserProfile,
@@ -33,7 +39,10 @@ import {
   clearAccountOverview,
 } from "@/lib/redux/slice/accountOverviewSlice";
 import { fetchUserData, clearGames } from "@/lib/redux/slice/gameSlice";
-import { clearWalletTransactions } from "@/lib/redux/slice/walletTransactionsSlice";
+import {
+  clearWalletTransactions,
+  applyWalletDelta,
+} from "@/lib/redux/slice/walletTransactionsSlice";
 import { store, persistor } from "@/lib/redux/store";
 import {
   fetchCalendar as fetchDailyCalendar,
@@ -171,8 +180,12 @@ export function AuthProvider({ children }) {
       const storedToken = localStorage.getItem("authToken");
       const storedUser = localStorage.getItem("user");
       if (storedToken && storedUser) {
+        // Usually answered by the natively injected snapshot without a JSON.parse
+        const parsedUser = getStoredUser();
         setToken(storedToken);
-        setUser(JSON.parse(storedUser));
+        setUser(parsedUser);
+        // Keep the native copy current so the next cold start can warm up behind the splash
+        syncNativeSession(storedToken, parsedUser);
       }
     } catch (error) {
       console.error("❌ Failed to load session from storage", error);
@@ -314,6 +327,17 @@ export function AuthProvider({ children }) {
     }, 500);
   }, [token, dispatch, user]);
 
+  // Wallet push channel (Android): balance / XP deltas are applied to Redux as they
+  // arrive; a missed event or a reconnect falls back to one background wallet-screen fetch
+  useEffect(() => {
+    if (!token) return;
+
+    startWalletStream(token, {
+      onDelta: (delta) => dispatch(applyWalletDelta(delta)),
+      onResync: () => dispatch(fetchWalletScreen({ token, background: true })),
+    });
+  }, [token, dispatch]);
+
   // Refresh profile and wallet when app comes to foreground (to get admin updates)
   useEffect(() => {
     if (!token) return;
@@ -323,7 +347,7 @@ export function AuthProvider({ children }) {
         "🔄 [AuthContext] App focused - refreshing profile, wallet, and VIP to get admin updates"
       );
       dispatch(fetchUserProfile({ token, force: true }));
-      dispatch(fetchVipStatus(token));
+      dispatch(fetchVipStatus({ token, force: true }));
       // Also refresh wallet/balance/XP when app comes to foreground
       dispatch(fetchWalletScreen({ token, force: true }));
       dispatch(fetchProfileStats({ token, force: true }));
@@ -370,8 +394,7 @@ export function AuthProvider({ children }) {
         localStorage.getItem("permissionsAccepted") === "true";
       const locationCompleted =
         localStorage.getItem("locationCompleted") === "true";
-      const faceVerificationCompleted =
-        localStorage.getItem("faceVerificationCompleted") === "true";
+      const faceVerificationCompleted = kvGetBoolean("faceVerificationCompleted");
       const faceVerificationSkipped =
         localStorage.getItem("faceVerificationSkipped") === "true";
       const hasCompletedOnboarding =
@@ -534,6 +557,7 @@ export function AuthProvider({ children }) {
 
     setUser(user);
     setToken(token); // Setting the token here triggers the Redux fetch effect above
+    syncNativeSession(token, user);
 
     // IMPORTANT: Store user data in Redux profile immediately after login
     // This ensures age and gender are available immediately for game fetching
@@ -642,6 +666,9 @@ export function AuthProvider({ children }) {
             enableBiometricLocally,
             checkBiometricAvailability,
           } = await import("@/lib/biometricAuth");
+          const { enrollBiometricSession } = await import(
+            "@/lib/nativeBiometricPrompt"
+          );
 
           // Check if biometric is available before saving
           const availability = await checkBiometricAvailability();
@@ -672,6 +699,9 @@ export function AuthProvider({ children }) {
             if (credentialResult.success) {
               // Enable biometric locally
               enableBiometricLocally(availability.biometryTypeName);
+              // Android: also seal the session behind a biometric-bound key so
+              // biometric login can resume it with a single prompt
+              enrollBiometricSession(JSON.stringify(credentialPayload));
               console.log(
                 "✅ [AuthContext] Biometric credentials saved successfully"
               );
@@ -714,7 +744,7 @@ export function AuthProvider({ children }) {
       // Clear permission/location flags for new signups so they go through the flow
       localStorage.removeItem("permissionsAccepted");
       localStorage.removeItem("locationCompleted");
-      localStorage.removeItem("faceVerificationCompleted");
+      kvRemove("faceVerificationCompleted");
       localStorage.removeItem("faceVerificationSkipped");
 
       // DON'T save biometric credentials here for new users
@@ -736,6 +766,12 @@ export function AuthProvider({ children }) {
     dispatch(clearGames()); // NEW: Clear games data when logging out
     dispatch(clearWalletTransactions());
     dispatch(clearAccountOverview());
+    // Drop this user's natively cached API responses so the next account starts clean
+    evictCachedResponses(token);
+    clearNativeSession();
+    clearStateSnapshot();
+    clearOutbox();
+    stopWalletStream();
     setUser(null);
     setToken(null);
 
@@ -839,6 +875,7 @@ export function AuthProvider({ children }) {
   const updateUserInContext = (newUserData) => {
     setUser(newUserData);
     localStorage.setItem("user", JSON.stringify(newUserData));
+    syncNativeSession(token, newUserData);
   };
 
   const value = {
@@ -0,0 +1,13 @@
+import { useEffect } from "react";
+import { pushFrameScene } from "@/lib/frameMetrics";
+
+/**
+ * Attribute native frame metrics to a named scene while `active` is true,
+ * e.g. useFrameScene("spin", isSpinning) reports frames as "/homepage#spin"
+ */
+export const useFrameScene = (scene, active = true) => {
+  useEffect(() => {
+    if (!active) return undefined;
+    return pushFrameScene(scene);
+  }, [scene, active]);
+};
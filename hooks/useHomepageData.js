@@ -3,6 +3,7 @@ import { useSelector, useDispatch } from "react-redux";
 import { fetchUserData } from "@/lib/redux/slice/gameSlice";
 import { fetchWalletScreen } from "@/lib/redux/slice/walletTransactionsSlice";
 import { fetchProfileStats } from "@/lib/redux/slice/profileSlice";
+import { markStartup, logStartupTimeline } from "@/lib/startup";
 
 /**
  * Custom hook to manage homepage data efficiently
@@ -65,6 +66,14 @@ export const useHomepageData = (token, user) => {
     dashboardStatus,
   ]);
 
+  // Startup timeline: first homepage render that shows real data instead of loaders
+  useEffect(() => {
+    if (!dataAvailability.shouldShowLoading) {
+      markStartup("firstMeaningfulPaint");
+      logStartupTimeline();
+    }
+  }, [dataAvailability.shouldShowLoading]);
+
   // STALE-WHILE-REVALIDATE: Always fetch stats and wallet screen - will use cache if available and fresh
   useEffect(() => {
     if (!token || !user?._id) return;
@@ -100,9 +109,10 @@ export const useHomepageData = (token, user) => {
       console.log(
         "🔄 [useHomepageData] App focused - refreshing balance and XP"
       );
-      // Force refresh to get latest admin changes
+      // Force refresh to get latest admin changes (the homepage only shows
+      // balance / XP from the wallet screen)
       dispatch(fetchProfileStats({ token, force: true }));
-      dispatch(fetchWalletScreen({ token, force: true }));
+      dispatch(fetchWalletScreen({ token, force: true, balanceOnly: true }));
     };
 
     // Listen for window focus (app comes to foreground)
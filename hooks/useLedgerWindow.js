@@ -0,0 +1,120 @@
+import { useCallback, useEffect, useRef, useState } from "react";
+import {
+  isLedgerAvailable,
+  queryLedger,
+  onLedgerChanged,
+} from "@/lib/ledger";
+import {
+  getLedgerAccount,
+  toFullTransaction,
+  HIDDEN_REFERENCE_PREFIX,
+} from "@/lib/redux/slice/walletTransactionsSlice";
+
+// Rows kept in JS at a time, and the step the window moves in; a window is
+// re-queried only when scrolling crosses a step boundary
+const WINDOW_SIZE = 60;
+const WINDOW_STEP = 20;
+
+/**
+ * Custom hook for the native transaction ledger (Android app)
+ * Renders a window of the stored history around the scroll position, with
+ * spacers standing in for the rows above and below it
+ *
+ * @param rowHeight Height of one row including the gap between rows (px)
+ * @returns listRef for the list container, rows (HighestTransctionCard props
+ *   plus running total), spacer heights, total and loading
+ */
+export const useLedgerWindow = (rowHeight) => {
+  const enabled = isLedgerAvailable();
+  const listRef = useRef(null);
+  const querySeq = useRef(0);
+  const [offset, setOffset] = useState(0);
+  const [ledgerWindow, setLedgerWindow] = useState({
+    rows: [],
+    offset: 0,
+    total: 0,
+  });
+  const [loading, setLoading] = useState(enabled);
+
+  const loadWindow = useCallback(async (windowOffset) => {
+    const account = getLedgerAccount();
+    if (!account) return;
+    const seq = ++querySeq.current;
+    try {
+      const result = await queryLedger(account, {
+        kind: "transaction",
+        excludeReferencePrefix: HIDDEN_REFERENCE_PREFIX,
+        offset: windowOffset,
+        limit: WINDOW_SIZE,
+      });
+      // A newer query (scroll or sync) was issued meanwhile
+      if (seq !== querySeq.current) return;
+      setLedgerWindow({
+        rows: result.rows.map((row, i) => ({
+          ...toFullTransaction(row),
+          runningTotal: result.running[i],
+        })),
+        offset: result.offset,
+        total: result.total,
+      });
+    } catch (error) {
+      console.error("❌ [useLedgerWindow] Query failed:", error);
+    } finally {
+      if (seq === querySeq.current) setLoading(false);
+    }
+  }, []);
+
+  // Follow the scroll position
+  useEffect(() => {
+    if (!enabled) return;
+    let frame = 0;
+    const onScroll = () => {
+      if (frame) return;
+      frame = requestAnimationFrame(() => {
+        frame = 0;
+        const list = listRef.current;
+        if (!list) return;
+        const listTop = list.getBoundingClientRect().top + window.scrollY;
+        const firstVisible = Math.max(
+          0,
+          Math.floor((window.scrollY - listTop) / rowHeight)
+        );
+        // Keep a step of rows above the viewport, the rest below
+        const next = Math.max(
+          0,
+          (Math.floor(firstVisible / WINDOW_STEP) - 1) * WINDOW_STEP
+        );
+        setOffset((current) => (current === next ? current : next));
+      });
+    };
+    window.addEventListener("scroll", onScroll, { passive: true });
+    return () => {
+      window.removeEventListener("scroll", onScroll);
+      if (frame) cancelAnimationFrame(frame);
+    };
+  }, [enabled, rowHeight]);
+
+  useEffect(() => {
+    if (enabled) loadWindow(offset);
+  }, [enabled, offset, loadWindow]);
+
+  // New rows from a background sync: refresh the rows on screen
+  useEffect(() => {
+    if (!enabled) return;
+    return onLedgerChanged((event) => {
+      if (event.kind === "transaction") loadWindow(offset);
+    });
+  }, [enabled, offset, loadWindow]);
+
+  const { rows, total } = ledgerWindow;
+  return {
+    enabled,
+    listRef,
+    rows,
+    total,
+    loading,
+    topSpacer: ledgerWindow.offset * rowHeight,
+    bottomSpacer:
+      Math.max(0, total - ledgerWindow.offset - rows.length) * rowHeight,
+  };
+};
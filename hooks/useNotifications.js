@@ -1,12 +1,33 @@
 "use client";
-import { useState, useEffect } from "react";
-import { getUserNotifications, dismissNotification } from "@/lib/api";
+import { useState, useEffect, useRef } from "react";
+import {
+  getUserNotifications,
+  dismissNotification,
+  getNotificationsSyncTarget,
+} from "@/lib/api";
+import { getUserFromLocalStorage } from "@/lib/utils";
+import {
+  isInboxAvailable,
+  readInbox,
+  syncInbox,
+  dismissInboxItem,
+  onInboxChanged,
+} from "@/lib/notificationInbox";
 import { useSelector } from "react-redux";
 
+// Inbox rows belong to one user; the stored user is there before the profile loads
+const getInboxAccount = (profile) => {
+  const user = getUserFromLocalStorage();
+  return profile?._id || user?._id || user?.id || null;
+};
+
 /**
  * Custom hook to manage user notifications
  * Fetches notifications on mount and provides dismiss functionality
  * Only shows notifications if user has notifications enabled in profile
+ *
+ * In the Android app the native inbox (lib/notificationInbox.ts) is read at once
+ * on mount and synced in the background; dismissals are batched natively.
  */
 export const useNotifications = (token) => {
   const [notifications, setNotifications] = useState([]);
@@ -18,7 +39,35 @@ export const useNotifications = (token) => {
   const notificationsEnabled =
     (profile?.profile?.notifications ?? false) === true;
 
+  const useInbox = isInboxAvailable();
+  // Bumped by every inbox event, so a slower cached read can't overwrite newer rows
+  const inboxVersion = useRef(0);
+
+  const syncNativeInbox = async () => {
+    const account = getInboxAccount(profile);
+    if (!token || !account) return;
+    const { url, headers } = getNotificationsSyncTarget(token);
+    try {
+      setLoading(true);
+      const result = await syncInbox(account, url, headers);
+      setError(
+        result.status === 0 || result.status >= 400
+          ? "Failed to fetch notifications"
+          : null
+      );
+    } catch (err) {
+      console.error("🔔 [Notifications] Inbox sync failed:", err);
+      setError(err.message || "Failed to fetch notifications");
+    } finally {
+      setLoading(false);
+    }
+  };
+
   const fetchNotifications = async () => {
+    if (useInbox) {
+      return syncNativeInbox();
+    }
+
     if (!token) {
       console.log("🔔 [Notifications] No token available");
       setNotifications([]);
@@ -91,6 +140,17 @@ export const useNotifications = (token) => {
   const handleDismiss = async (notificationId) => {
     if (!token) return;
 
+    if (useInbox) {
+      // Hidden natively at once; the request goes out with the next batch
+      setNotifications((prev) =>
+        prev.filter((notif) => notif._id !== notificationId)
+      );
+      dismissInboxItem(notificationId).catch((error) =>
+        console.error("Error dismissing notification:", error)
+      );
+      return;
+    }
+
     try {
       const response = await dismissNotification(notificationId, token);
 
@@ -114,8 +174,45 @@ export const useNotifications = (token) => {
     }
   };
 
+  // Stored rows were only synced while notifications were on, so they can be
+  // shown before the profile has loaded; loading it doesn't re-run the sync
+  const inboxAllowed = !profile || notificationsEnabled;
+
+  // Native inbox: stored rows on mount, then a background sync
+  useEffect(() => {
+    if (!useInbox) return;
+    const account = getInboxAccount(profile);
+    if (!token || !account || !inboxAllowed) {
+      setNotifications([]);
+      return;
+    }
+
+    let active = true;
+    const readAt = inboxVersion.current;
+    readInbox(account)
+      .then((snapshot) => {
+        if (active && inboxVersion.current === readAt) {
+          setNotifications(snapshot.notifications);
+        }
+      })
+      .catch((err) => console.error("🔔 [Notifications] Inbox read failed:", err));
+    const unsubscribe = onInboxChanged((snapshot) => {
+      inboxVersion.current += 1;
+      if (active) setNotifications(snapshot.notifications);
+    });
+    syncNativeInbox();
+
+    return () => {
+      active = false;
+      unsubscribe();
+    };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [useInbox, token, inboxAllowed]);
+
   // Fetch notifications when token or notification preference changes
   useEffect(() => {
+    if (useInbox) return;
+
     // Wait a bit for profile to load if it's not available yet
     if (!profile) {
       const timer = setTimeout(() => {
@@ -1,4 +1,5 @@
 import { useState, useEffect, useCallback, useRef } from "react";
+import { serverNow, watchDeadline } from "@/lib/serverClock";
 
 export const useRealTimeCountdown = ({
   endTime = null,
@@ -10,7 +11,7 @@ export const useRealTimeCountdown = ({
   const [timeRemaining, setTimeRemaining] = useState(0);
   const [isExpired, setIsExpired] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
-  const intervalRef = useRef(null);
+  const unwatchRef = useRef(null);
   const endTimeRef = useRef(null);
 
   // Get or create end time
@@ -18,7 +19,7 @@ export const useRealTimeCountdown = ({
     try {
       let targetTime = null;
       let serverEndTime = null;
-      const now = Date.now();
+      const now = serverNow();
 
       // If endTime is provided from server, parse it
       if (endTime) {
@@ -65,78 +66,62 @@ export const useRealTimeCountdown = ({
     } catch (error) {
       console.error("Error getting/creating end time:", error);
       // Fallback: create new end time
-      const fallbackTime = Date.now() + defaultDuration * 1000;
+      const fallbackTime = serverNow() + defaultDuration * 1000;
       return fallbackTime;
     }
   }, [endTime, defaultDuration, persist, storageKey]);
 
-  // Calculate remaining time based on actual time difference
-  const calculateRemainingTime = useCallback((targetTime) => {
-    const now = Date.now();
-    const remaining = Math.max(0, Math.floor((targetTime - now) / 1000));
-    return {
-      remaining,
-      isExpired: remaining === 0,
-    };
-  }, []);
-
-  // Update timer state
-  const updateTimer = useCallback(() => {
-    if (!endTimeRef.current) return;
-
-    const result = calculateRemainingTime(endTimeRef.current);
-    setTimeRemaining(result.remaining);
-    setIsExpired(result.isExpired);
-
-    // Auto reset if expired and autoReset is enabled
-    if (result.isExpired && autoReset) {
-      const newEndTime = Date.now() + defaultDuration * 1000;
-      endTimeRef.current = newEndTime;
-      if (persist) {
-        localStorage.setItem(storageKey, newEndTime.toString());
+  // Follow an end time on the shared server clock (one native tick for every
+  // countdown, paused while the app is in the background)
+  const trackEndTime = useCallback(
+    (targetTime) => {
+      if (unwatchRef.current) {
+        unwatchRef.current();
+        unwatchRef.current = null;
       }
-      const newResult = calculateRemainingTime(newEndTime);
-      setTimeRemaining(newResult.remaining);
-      setIsExpired(newResult.isExpired);
-    }
-  }, [calculateRemainingTime, autoReset, defaultDuration, persist, storageKey]);
+      endTimeRef.current = targetTime;
+      unwatchRef.current = watchDeadline(targetTime, (remainingMs) => {
+        const remaining = Math.floor(remainingMs / 1000);
+        setTimeRemaining(remaining);
+        setIsExpired(remaining === 0);
+
+        // Auto reset if expired and autoReset is enabled. Deferred: watchDeadline
+        // calls this synchronously for an already-expired end time, before its
+        // unwatch handle is stored, and that store would replace the new watch
+        if (remainingMs === 0 && autoReset) {
+          queueMicrotask(() => {
+            if (endTimeRef.current !== targetTime) return;
+            const newEndTime = serverNow() + defaultDuration * 1000;
+            if (persist) {
+              localStorage.setItem(storageKey, newEndTime.toString());
+            }
+            trackEndTime(newEndTime);
+          });
+        }
+      });
+    },
+    [autoReset, defaultDuration, persist, storageKey]
+  );
 
   // Initialize timer
   useEffect(() => {
-    const initializeTimer = () => {
-      try {
-        setIsLoading(true);
-        const targetTime = getOrCreateEndTime();
-        endTimeRef.current = targetTime;
-
-        // Calculate initial state
-        const result = calculateRemainingTime(targetTime);
-        setTimeRemaining(result.remaining);
-        setIsExpired(result.isExpired);
-
-        // Clear any existing interval
-        if (intervalRef.current) {
-          clearInterval(intervalRef.current);
-        }
-
-        // Set up new interval
-        intervalRef.current = setInterval(updateTimer, 1000);
-        setIsLoading(false);
-      } catch (error) {
-        console.error("Error initializing timer:", error);
-        setIsLoading(false);
-      }
-    };
-
-    initializeTimer();
+    try {
+      setIsLoading(true);
+      trackEndTime(getOrCreateEndTime());
+    } catch (error) {
+      console.error("Error initializing timer:", error);
+    }
+    setIsLoading(false);
 
     // Cleanup on unmount
     return () => {
-      if (intervalRef.current) {
-        clearInterval(intervalRef.current);
+      if (unwatchRef.current) {
+        unwatchRef.current();
+        unwatchRef.current = null;
       }
+      endTimeRef.current = null;
     };
-  }, [getOrCreateEndTime, calculateRemainingTime, updateTimer]);
+  }, [getOrCreateEndTime, trackEndTime]);
 
   // Format time as HH:MM:SS
   const formatTime = useCallback((seconds) => {
@@ -151,23 +136,24 @@ export const useRealTimeCountdown = ({
 
   // Reset timer
   const resetTimer = useCallback(() => {
-    const newEndTime = Date.now() + defaultDuration * 1000;
-    endTimeRef.current = newEndTime;
+    const newEndTime = serverNow() + defaultDuration * 1000;
 
     if (persist) {
       localStorage.setItem(storageKey, newEndTime.toString());
     }
 
-    const result = calculateRemainingTime(newEndTime);
-    setTimeRemaining(result.remaining);
-    setIsExpired(result.isExpired);
-  }, [defaultDuration, persist, storageKey, calculateRemainingTime]);
+    trackEndTime(newEndTime);
+  }, [defaultDuration, persist, storageKey, trackEndTime]);
 
   // Clear timer
   const clearTimer = useCallback(() => {
     if (persist) {
       localStorage.removeItem(storageKey);
     }
+    if (unwatchRef.current) {
+      unwatchRef.current();
+      unwatchRef.current = null;
+    }
     endTimeRef.current = null;
     setTimeRemaining(0);
     setIsExpired(true);
@@ -178,18 +164,15 @@ export const useRealTimeCountdown = ({
     (additionalSeconds) => {
       if (endTimeRef.current) {
         const newEndTime = endTimeRef.current + additionalSeconds * 1000;
-        endTimeRef.current = newEndTime;
 
         if (persist) {
           localStorage.setItem(storageKey, newEndTime.toString());
         }
 
-        const result = calculateRemainingTime(newEndTime);
-        setTimeRemaining(result.remaining);
-        setIsExpired(result.isExpired);
+        trackEndTime(newEndTime);
       }
     },
-    [persist, storageKey, calculateRemainingTime]
+    [persist, storageKey, trackEndTime]
   );
 
   return {
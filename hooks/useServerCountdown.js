@@ -0,0 +1,30 @@
+import { useEffect, useState } from "react";
+import { serverNow, watchDeadline } from "@/lib/serverClock";
+
+/**
+ * Custom hook for a countdown to a server-time deadline
+ * Ticks on the one shared clock in lib/serverClock (native on Android, paused in
+ * the background) rather than an interval per component
+ *
+ * @param deadline Epoch ms in server time, or null for no countdown
+ * @param resolution "second", or "minute" for displays that only show minutes
+ * @returns Milliseconds left (0 once passed), or null without a deadline
+ */
+export const useServerCountdown = (deadline, resolution = "second") => {
+  const valid = typeof deadline === "number" && Number.isFinite(deadline);
+  const [remainingMs, setRemainingMs] = useState(() =>
+    valid ? Math.max(0, deadline - serverNow()) : null
+  );
+
+  useEffect(() => {
+    if (!valid) {
+      setRemainingMs(null);
+      return undefined;
+    }
+    return watchDeadline(deadline, (remaining) => setRemainingMs(remaining), {
+      resolution,
+    });
+  }, [deadline, resolution, valid]);
+
+  return remainingMs;
+};
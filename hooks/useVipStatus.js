@@ -31,7 +31,7 @@ export const useVipStatus = () => {
   const forceRefreshVipStatus = () => {
     if (token) {
       console.log("🔄 [useVipStatus] Force refreshing VIP status...");
-      dispatch(fetchVipStatus(token));
+      dispatch(fetchVipStatus({ token, force: true }));
     }
   };
 
@@ -1,6 +1,9 @@
 import { useEffect } from "react";
 import { useSelector, useDispatch } from "react-redux";
-import { fetchWalletScreen } from "@/lib/redux/slice/walletTransactionsSlice";
+import {
+  fetchWalletScreen,
+  applyWalletDelta,
+} from "@/lib/redux/slice/walletTransactionsSlice";
 
 /**
  * Custom hook to handle real-time wallet updates
@@ -22,8 +25,11 @@ export const useWalletUpdates = (token) => {
     );
   }, [walletScreen]);
 
-  // Function to refresh wallet data
-  const refreshWalletData = async () => {
+  // Function to refresh wallet data. A pushed balance / XP delta (lib/walletStream.ts)
+  // is applied locally; the wallet screen is only re-fetched when events were
+  // missed (delta.resync) or no delta is given. Reconnects of the stream trigger
+  // their own background fetch (AuthContext onResync).
+  const refreshWalletData = async (delta) => {
     if (!token) {
       console.warn(
         "⚠️ [useWalletUpdates] No token provided for wallet refresh"
@@ -31,10 +37,18 @@ export const useWalletUpdates = (token) => {
       return;
     }
 
+    if (delta && !delta.resync) {
+      dispatch(applyWalletDelta(delta));
+      return;
+    }
+
     try {
       console.log("🔄 [useWalletUpdates] Refreshing wallet data...");
-      // STALE-WHILE-REVALIDATE: Force refresh to get latest admin changes
-      await dispatch(fetchWalletScreen({ token, force: true }));
+      // balanceOnly: while the wallet stream is live Redux already has every
+      // delta, so this is answered without a request unless events were missed
+      await dispatch(
+        fetchWalletScreen({ token, force: true, balanceOnly: !delta?.resync })
+      );
       console.log("✅ [useWalletUpdates] Wallet data refreshed successfully");
     } catch (error) {
       console.error(
@@ -1,4 +1,12 @@
 import { getUserFromLocalStorage } from "./utils";
+import { nativeFetch } from "./nativeHttp";
+import {
+  createIdempotencyKey,
+  enqueueMutation,
+  isOutboxAvailable,
+  whenSettled,
+} from "./outbox";
+import { isMediaUploadAvailable, uploadImage } from "./mediaUpload";
 
 // A custom error class to hold structured API error data
 class ApiError extends Error {
@@ -39,14 +47,7 @@ const handleResponse = async (response) => {
   return responseData;
 };
 
-const apiRequest = async (
-  endpoint,
-  method = "GET",
-  body = null,
-  token = null,
-  isFormData = false,
-  options = {}
-) => {
+const buildHeaders = (endpoint, token, isFormData = false) => {
   const headers = {};
 
   // Only set Content-Type for non-FormData requests
@@ -76,7 +77,25 @@ const apiRequest = async (
     }
   }
 
+  return headers;
+};
+
+const apiRequest = async (
+  endpoint,
+  method = "GET",
+  body = null,
+  token = null,
+  isFormData = false,
+  options = {}
+) => {
+  const headers = { ...buildHeaders(endpoint, token, isFormData), ...options.headers };
+
   const config = { method, headers };
+  // fresh: skip any cached copy (native response cache or HTTP cache), e.g. a
+  // forced refresh right after a claim
+  if (options.fresh) {
+    config.cache = "no-cache";
+  }
   if (body) {
     if (isFormData) {
       config.body = body; // Use FormData directly
@@ -97,7 +116,8 @@ const apiRequest = async (
   });
 
   try {
-    const response = await fetch(`${BASE_URL}${endpoint}`, config);
+    // Native gateway on Android (pooled connections, coalesced GETs), fetch elsewhere
+    const response = await nativeFetch(`${BASE_URL}${endpoint}`, config);
 
     console.log(`[API] Response received for ${method} ${endpoint}:`, {
       status: response.status,
@@ -133,6 +153,88 @@ const apiRequest = async (
   }
 };
 
+/**
+ * Delivered or failed outbox item -> the same shape apiRequest resolves with
+ */
+const toOutboxResult = (item) => {
+  let responseData = null;
+  try {
+    responseData = item.data ? JSON.parse(item.data) : null;
+  } catch {
+    responseData = { message: item.data };
+  }
+  if (item.status === "done") {
+    return responseData || { success: true, data: null };
+  }
+  if (!item.httpStatus) {
+    return {
+      success: false,
+      error: "A network error occurred. Please try again.",
+    };
+  }
+  return {
+    success: false,
+    error:
+      responseData?.error ||
+      (responseData?.errors && responseData.errors[0]?.msg) ||
+      responseData?.message ||
+      `HTTP error! status: ${item.httpStatus}`,
+    status: item.httpStatus,
+    body: responseData,
+  };
+};
+
+/**
+ * Reward mutation through the native outbox (Android): persisted with an
+ * idempotency key, retried natively with backoff, and never double-applied.
+ * Resolves with the server response once delivered; if that takes longer than
+ * waitMs the mutation keeps going in the background and the result is an
+ * optimistic { success: true, queued: true, settled } so the UI can move on.
+ * `settled` resolves with the real response (or a later rejection such as a
+ * 4xx) when it arrives; callers must use it to confirm or roll back.
+ * Only for mutations whose response the UI can do without at first - not spins.
+ * Falls back to a plain apiRequest everywhere else.
+ */
+const outboxRequest = async (endpoint, body, token, { waitMs = 10000 } = {}) => {
+  if (!isOutboxAvailable()) {
+    return apiRequest(endpoint, "POST", body, token);
+  }
+
+  try {
+    const item = await enqueueMutation(
+      {
+        url: `${BASE_URL}${endpoint}`,
+        method: "POST",
+        headers: buildHeaders(endpoint, token),
+        data: JSON.stringify(body || {}),
+      },
+      waitMs
+    );
+    console.log(`[API] Outbox ${endpoint}:`, {
+      status: item.status,
+      httpStatus: item.httpStatus,
+      attempts: item.attempts,
+    });
+
+    if (item.status === "done" || item.status === "failed") {
+      return toOutboxResult(item);
+    }
+
+    // Still queued: delivery continues natively with the same idempotency key
+    return {
+      success: true,
+      queued: true,
+      idempotencyKey: item.idempotencyKey,
+      data: {},
+      message: "Saved - it will sync as soon as the connection is back.",
+      settled: whenSettled(item.idempotencyKey).then(toOutboxResult),
+    };
+  } catch (error) {
+    console.warn(`[API] Outbox unavailable for ${endpoint}, sending directly:`, error);
+    return apiRequest(endpoint, "POST", body, token);
+  }
+};
+
 // --- Authentication Endpoints ---
 export const sendOtp = (mobile) =>
   apiRequest("/api/auth/send-otp", "POST", { mobile });
@@ -207,10 +309,10 @@ export const getUserAchievements = (
   );
 
 // --- Profile Endpoints ---
-export const getProfile = (token) =>
-  apiRequest("/api/profile", "GET", null, token);
-export const getProfileStats = (token) =>
-  apiRequest("/api/profile/stats", "GET", null, token);
+export const getProfile = (token, { fresh = false } = {}) =>
+  apiRequest("/api/profile", "GET", null, token, false, { fresh });
+export const getProfileStats = (token, { fresh = false } = {}) =>
+  apiRequest("/api/profile/stats", "GET", null, token, false, { fresh });
 export const updateProfile = (profileData, token) =>
   apiRequest("/api/profile", "PUT", profileData, token);
 // --- Notification Endpoints ---
@@ -223,7 +325,21 @@ export const dismissNotification = (notificationId, token) =>
     null,
     token
   );
-export const uploadAvatar = async (avatarFile, token) => {
+// Where the native notification inbox syncs from (lib/notificationInbox.ts);
+// dismissals go to `${url}/${id}/dismiss`
+export const getNotificationsSyncTarget = (token) => ({
+  url: `${BASE_URL}/api/profile/notifications`,
+  headers: buildHeaders("/api/profile/notifications", token),
+});
+/**
+ * @param avatar A File from an <input type="file">, or (Android app) { path } of
+ *   a camera / gallery photo, which is resized and uploaded natively
+ */
+export const uploadAvatar = async (avatar, token) => {
+  if (avatar?.path && isMediaUploadAvailable()) {
+    return uploadAvatarNative(avatar.path, token);
+  }
+  const avatarFile = avatar;
   const formData = new FormData();
   formData.append("avatar", avatarFile);
   const headers = { "x-auth-token": token };
@@ -242,11 +358,49 @@ export const uploadAvatar = async (avatarFile, token) => {
   }
 };
 
+// Avatars are shown at most 132px; 512px leaves room for high-density screens
+const uploadAvatarNative = async (path, token) => {
+  let result;
+  try {
+    result = await uploadImage({
+      path,
+      url: `${BASE_URL}/api/profile/avatar`,
+      field: "avatar",
+      fileName: "avatar.jpg",
+      headers: { "x-auth-token": token },
+      maxWidth: 512,
+      maxHeight: 512,
+      format: "jpeg",
+      quality: 85,
+    });
+  } catch (error) {
+    console.error(`API request failed: POST /api/profile/avatar`, error);
+    throw new Error(
+      error.message || "A network error occurred. Please try again."
+    );
+  }
+  let responseData;
+  try {
+    responseData = result.body ? JSON.parse(result.body) : null;
+  } catch {
+    responseData = { message: result.body };
+  }
+  if (result.status < 200 || result.status >= 300) {
+    const errorMessage =
+      responseData?.error ||
+      (responseData?.errors && responseData.errors[0]?.msg) ||
+      responseData?.message ||
+      `HTTP error! status: ${result.status}`;
+    throw new ApiError(errorMessage, result.status, responseData);
+  }
+  return responseData ?? { success: true, data: null };
+};
+
 // --- VIP Endpoints ---
-export const getVipStatus = (token) =>
-  apiRequest("/api/vip/status", "GET", null, token);
-export const getHomeDashboard = (token) =>
-  apiRequest("/api/dashboard", "GET", null, token);
+export const getVipStatus = (token, { fresh = false } = {}) =>
+  apiRequest("/api/vip/status", "GET", null, token, false, { fresh });
+export const getHomeDashboard = (token, { fresh = false } = {}) =>
+  apiRequest("/api/dashboard", "GET", null, token, false, { fresh });
 
 export const forgotPassword = (email) =>
   apiRequest("/api/auth/forgot-password", "POST", { identifier: email });
@@ -311,24 +465,34 @@ export const confirmPayment = (data, token) => {
 };
 
 // --- WALLET TRANSACTIONS ENDPOINTS ---
-export const getWalletTransactions = (token, limit = 5) =>
-  apiRequest(`/api/wallet/transactions?limit=${limit}`, "GET", null, token);
+export const getWalletTransactions = (token, limit = 5, { fresh = false } = {}) =>
+  apiRequest(
+    `/api/wallet/transactions?limit=${limit}`,
+    "GET",
+    null,
+    token,
+    false,
+    { fresh }
+  );
 
 export const getFullWalletTransactions = (
   token,
   page = 1,
   limit = 20,
-  type = "all"
+  type = "all",
+  { fresh = false } = {}
 ) =>
   apiRequest(
     `/api/wallet/transactions?page=${page}&limit=${limit}&type=${type}`,
     "GET",
     null,
-    token
+    token,
+    false,
+    { fresh }
   );
 
-export const getWalletScreen = (token) =>
-  apiRequest("/api/wallet-screen", "GET", null, token);
+export const getWalletScreen = (token, { fresh = false } = {}) =>
+  apiRequest("/api/wallet-screen", "GET", null, token, false, { fresh });
 
 // --- WITHDRAWAL/PAYOUT ENDPOINTS ---
 export const getWithdrawalMethods = (token, queryParams = {}) => {
@@ -365,6 +529,25 @@ export const getWithdrawalHistory = (token, page = 1, limit = 20) =>
     token
   );
 
+/**
+ * List URL (page / limit are appended natively) and headers for
+ * lib/ledger.ts syncLedger
+ *
+ * @param kind "transaction" | "withdrawal"
+ */
+export const getLedgerSyncTarget = (kind, token) => {
+  if (kind === "withdrawal") {
+    return {
+      url: `${BASE_URL}/api/payout/history`,
+      headers: buildHeaders("/api/payout/history", token),
+    };
+  }
+  return {
+    url: `${BASE_URL}/api/wallet/transactions?type=all`,
+    headers: buildHeaders("/api/wallet/transactions", token),
+  };
+};
+
 export const getWithdrawalStatus = (orderId, token) =>
   apiRequest(`/api/payout/${orderId}/status`, "GET", null, token);
 
@@ -442,7 +625,7 @@ const besitosApiRequest = async (endpoint, method = "GET", body = null) => {
   });
 
   try {
-    const response = await fetch(`${BESITOS_BASE_URL}${endpoint}`, config);
+    const response = await nativeFetch(`${BESITOS_BASE_URL}${endpoint}`, config);
 
     // Log response for debugging
     console.log(`[BESITOS API] Response status:`, response.status);
@@ -1141,12 +1324,7 @@ export const completeChallenge = (conversionId, token) => {
     timestamp: new Date().toISOString(),
   });
 
-  return apiRequest(
-    "/api/daily-challenge/complete",
-    "POST",
-    { conversionId },
-    token
-  )
+  return outboxRequest("/api/daily-challenge/complete", { conversionId }, token)
     .then((response) => {
       console.log("✅ [DAILY CHALLENGE API] completeChallenge response:", {
         success: response?.success,
@@ -1259,7 +1437,7 @@ export const claimDailyReward = (dayNumber, token = null) => {
     hasToken: !!token,
   });
 
-  return apiRequest(endpoint, "POST", { dayNumber }, token);
+  return outboxRequest(endpoint, { dayNumber }, token);
 };
 
 /**
@@ -1331,9 +1509,8 @@ export const claimStreakMilestoneReward = (
     hasToken: !!token,
   });
 
-  return apiRequest(
+  return outboxRequest(
     "/api/streak/claim-reward",
-    "POST",
     {
       milestoneDay,
       rewardAmount,
@@ -1454,6 +1631,11 @@ export const transferGameEarnings = async (earningData, token) => {
     reason: earningData.reason,
   };
 
+  // Android: durable outbox (same host, Bearer auth via buildHeaders)
+  if (isOutboxAvailable()) {
+    return outboxRequest("/api/game/earn", payload, token, { waitMs: 5000 });
+  }
+
   const headers = {
     "Content-Type": "application/json",
     Authorization: `Bearer ${token}`,
@@ -1475,7 +1657,7 @@ export const transferGameEarnings = async (earningData, token) => {
   });
 
   try {
-    const response = await fetch(
+    const response = await nativeFetch(
       `${GAME_EARNINGS_BASE_URL}/api/game/earn`,
       config
     );
@@ -1551,7 +1733,14 @@ export const getSpinStatus = (token) =>
  * @returns {Promise} Spin result with reward, spinId, status
  */
 export const performSpin = (token) =>
-  apiRequest("/api/spin/spin", "POST", {}, token);
+  // Not through the outbox: the wheel needs the spinId to redeem, and a spin
+  // delivered after the screen gave up could never be redeemed. The key only
+  // lets the server drop a duplicate if the request is resent.
+  apiRequest("/api/spin/spin", "POST", {}, token, false, {
+    headers: isOutboxAvailable()
+      ? { "Idempotency-Key": createIdempotencyKey() }
+      : undefined,
+  });
 
 /**
  * Redeem a spin reward
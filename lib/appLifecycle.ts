@@ -0,0 +1,149 @@
+/**
+ * Native App Lifecycle Interface for Jackson App
+ *
+ * Connects to AppLifecyclePlugin.java on Android, which MainActivity feeds with
+ * onTrimMemory / onLowMemory, onStart / onStop and WebView renderer exits:
+ * - onMemoryPressure(): "moderate" | "low" | "critical", with whether the app
+ *   was on screen at the time
+ * - onVisibilityChange(): app moved to / from the background (also pauses
+ *   timers on the web via document visibility)
+ * - shouldShedCaches(): whether a pressure event warrants dropping refetchable
+ *   state (only "critical"; routine background trims do not)
+ *
+ * Natively, the renderer's priority is waived in the background and a crashed or
+ * killed renderer is replaced by recreating the activity; the new page receives
+ * "rendererRecovered" once.
+ *
+ * @module appLifecycle
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type MemoryPressure = "moderate" | "low" | "critical";
+
+export interface MemoryPressureEvent {
+  pressure: MemoryPressure;
+  /** Raw ComponentCallbacks2 trim level (80 for onLowMemory) */
+  level: number;
+  visible: boolean;
+}
+
+export interface RendererRecoveredEvent {
+  /** False when the OS killed the renderer to reclaim memory */
+  didCrash: boolean;
+  /** WebView.RENDERER_PRIORITY_* at exit (0 waived, 1 bound, 2 important) */
+  priorityAtExit: number;
+  at: number;
+}
+
+export interface AppLifecyclePlugin {
+  getState(): Promise<{ visible: boolean }>;
+  addListener(
+    eventName: "memoryPressure",
+    listener: (event: MemoryPressureEvent) => void
+  ): Promise<PluginListenerHandle>;
+  addListener(
+    eventName: "visibilityChange",
+    listener: (event: { visible: boolean }) => void
+  ): Promise<PluginListenerHandle>;
+  addListener(
+    eventName: "rendererRecovered",
+    listener: (event: RendererRecoveredEvent) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const AppLifecycle = registerPlugin<AppLifecyclePlugin>("AppLifecycle");
+
+export default AppLifecycle;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+let started = false;
+let visible = true;
+const pressureSubscribers = new Set<(event: MemoryPressureEvent) => void>();
+const visibilitySubscribers = new Set<(visible: boolean) => void>();
+
+function publishVisibility(nowVisible: boolean) {
+  if (nowVisible === visible) return;
+  visible = nowVisible;
+  visibilitySubscribers.forEach((subscriber) => subscriber(nowVisible));
+}
+
+function publishPressure(event: MemoryPressureEvent) {
+  if (process.env.NODE_ENV !== "production") {
+    console.log(`♻️ [AppLifecycle] Memory pressure: ${event.pressure} (level ${event.level})`);
+  }
+  pressureSubscribers.forEach((subscriber) => subscriber(event));
+}
+
+/**
+ * Subscribe to native lifecycle events (idempotent; called lazily by the helpers)
+ */
+export function startAppLifecycle(): void {
+  if (started || typeof window === "undefined") return;
+  started = true;
+  visible = document.visibilityState !== "hidden";
+  // Document visibility covers the browser and reaches the page before any native round trip
+  document.addEventListener("visibilitychange", () =>
+    publishVisibility(document.visibilityState !== "hidden")
+  );
+  if (!isAndroidNative()) return;
+  AppLifecycle.addListener("visibilityChange", (event) => publishVisibility(event.visible)).catch(
+    () => {}
+  );
+  AppLifecycle.addListener("memoryPressure", publishPressure).catch(() => {});
+  AppLifecycle.addListener("rendererRecovered", (event) => {
+    console.warn(
+      `⚠️ [AppLifecycle] Page restored after the renderer ${event.didCrash ? "crashed" : "was killed"}`
+    );
+  }).catch(() => {});
+}
+
+/**
+ * Whether the app is on screen
+ */
+export function isAppVisible(): boolean {
+  startAppLifecycle();
+  return visible;
+}
+
+/**
+ * @returns Unsubscribe function
+ */
+export function onVisibilityChange(subscriber: (visible: boolean) => void): () => void {
+  startAppLifecycle();
+  visibilitySubscribers.add(subscriber);
+  return () => visibilitySubscribers.delete(subscriber);
+}
+
+/**
+ * @returns Unsubscribe function (Android only; never fires elsewhere)
+ */
+export function onMemoryPressure(
+  subscriber: (event: MemoryPressureEvent) => void
+): () => void {
+  startAppLifecycle();
+  pressureSubscribers.add(subscriber);
+  return () => pressureSubscribers.delete(subscriber);
+}
+
+/**
+ * Drop refetchable state only under critical pressure, when the renderer is next
+ * in line to be killed; TRIM_MEMORY_BACKGROUND arrives on every trip to the
+ * background and is not a reason to lose state
+ */
+export function shouldShedCaches(event: MemoryPressureEvent): boolean {
+  return event.pressure === "critical";
+}
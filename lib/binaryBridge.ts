@@ -0,0 +1,319 @@
+/**
+ * Binary Bridge Channel Interface for Jackson App
+ *
+ * A second native channel next to the Capacitor plugin bridge, for payloads
+ * where JSON envelopes cost more than the work itself (game catalogs, wallet
+ * pages, image bytes). BinaryBridgeChannel.java injects
+ * window.JacksonBinaryBridge, which carries ArrayBuffers both ways:
+ * - Every message is one or more frames: a 16-byte header (version, type,
+ *   flags, request id, sequence, payload length) and the payload
+ * - A request names a method and carries raw bytes; the response is an
+ *   optional JSON meta, any number of body chunks and an end (or error) frame
+ * - Large chunks come deflated when this WebView has DecompressionStream, and
+ *   are inflated frame by frame as they arrive
+ *
+ * lib/nativeHttp.ts sends API requests over this channel when it is there, so
+ * response bodies reach handleResponse() as bytes instead of a string inside a
+ * plugin result. {@link benchmarkBinaryBridge} times both paths on the same
+ * payload.
+ *
+ * Outside the Android app, or on WebView builds without ArrayBuffer messages,
+ * {@link isBinaryBridgeAvailable} is false.
+ *
+ * @module binaryBridge
+ */
+
+import { registerPlugin } from "@capacitor/core";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+interface BinaryBridgeObject {
+  postMessage(message: ArrayBuffer | string): void;
+  onmessage: ((event: MessageEvent<ArrayBuffer | string>) => void) | null;
+}
+
+declare global {
+  interface Window {
+    JacksonBinaryBridge?: BinaryBridgeObject;
+  }
+}
+
+export interface BinaryResponse<Meta = unknown> {
+  /** Parsed META frame, null if the method sent none */
+  meta: Meta | null;
+  /** Whole body; empty when the chunks went to onChunk instead */
+  body: Uint8Array;
+}
+
+export interface BinaryRequestOptions {
+  /** Receive the body piece by piece instead of as one array */
+  onChunk?: (chunk: Uint8Array) => void;
+  /** Aborting tells native to stop sending */
+  signal?: AbortSignal;
+}
+
+export interface BinaryBridgeInfo {
+  installed: boolean;
+  requests?: number;
+  failures?: number;
+  active?: number;
+  bytesReceived?: number;
+  bytesSent?: number;
+  bytesSavedByDeflate?: number;
+}
+
+export interface BinaryBridgeBenchmarkRow {
+  bytes: number;
+  path: "plugin" | "binary";
+  /** Median of the runs, request until parsed objects */
+  medianMs: number;
+  minMs: number;
+  mbPerSec: number;
+}
+
+export interface BinaryBridgePlugin {
+  getInfo(): Promise<BinaryBridgeInfo>;
+  bench(options: { bytes: number }): Promise<{ data: string }>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const BinaryBridge = registerPlugin<BinaryBridgePlugin>("BinaryBridge");
+
+export default BinaryBridge;
+
+// ============================================================================
+// FRAME FORMAT (mirrors BinaryFrame.java)
+// ============================================================================
+
+const VERSION = 1;
+const HEADER_BYTES = 16;
+
+const TYPE_REQUEST = 1;
+const TYPE_META = 2;
+const TYPE_CHUNK = 3;
+const TYPE_END = 4;
+const TYPE_ERROR = 5;
+const TYPE_CANCEL = 6;
+
+const FLAG_DEFLATE = 1;
+const FLAG_ACCEPT_DEFLATE = 1 << 1;
+
+const encoder = new TextEncoder();
+const decoder = new TextDecoder();
+
+function encodeFrame(type: number, flags: number, id: number, payload: Uint8Array): ArrayBuffer {
+  const buffer = new ArrayBuffer(HEADER_BYTES + payload.length);
+  const view = new DataView(buffer);
+  view.setUint8(0, VERSION);
+  view.setUint8(1, type);
+  view.setUint8(2, flags);
+  view.setInt32(4, id);
+  view.setInt32(8, 0);
+  view.setInt32(12, payload.length);
+  new Uint8Array(buffer, HEADER_BYTES).set(payload);
+  return buffer;
+}
+
+async function inflate(payload: Uint8Array): Promise<Uint8Array> {
+  const stream = new Blob([payload]).stream().pipeThrough(new DecompressionStream("deflate"));
+  return new Uint8Array(await new Response(stream).arrayBuffer());
+}
+
+// ============================================================================
+// CHANNEL
+// ============================================================================
+
+interface PendingRequest {
+  meta: unknown;
+  chunks: Uint8Array[];
+  onChunk?: (chunk: Uint8Array) => void;
+  /** Frames are handled in order, even while one is being inflated */
+  tail: Promise<void>;
+  resolve: (response: BinaryResponse<any>) => void;
+  reject: (error: Error) => void;
+}
+
+const pending = new Map<number, PendingRequest>();
+let nextId = 1;
+let listening = false;
+
+export const isBinaryBridgeAvailable = (): boolean =>
+  typeof window !== "undefined" && typeof window.JacksonBinaryBridge?.postMessage === "function";
+
+function channel(): BinaryBridgeObject {
+  const port = window.JacksonBinaryBridge as BinaryBridgeObject;
+  if (!listening) {
+    port.onmessage = (event) => {
+      if (event.data instanceof ArrayBuffer) onMessage(event.data);
+    };
+    listening = true;
+  }
+  return port;
+}
+
+function onMessage(message: ArrayBuffer) {
+  const view = new DataView(message);
+  let offset = 0;
+  while (offset + HEADER_BYTES <= message.byteLength) {
+    const type = view.getUint8(offset + 1);
+    const flags = view.getUint8(offset + 2);
+    const id = view.getInt32(offset + 4);
+    const length = view.getInt32(offset + 12);
+    const payload = new Uint8Array(message, offset + HEADER_BYTES, length);
+    offset += HEADER_BYTES + length;
+
+    const request = pending.get(id);
+    if (!request) continue;
+    request.tail = request.tail.then(async () => {
+      const data = flags & FLAG_DEFLATE ? await inflate(payload) : payload;
+      handleFrame(id, request, type, data);
+    }).catch((error) => {
+      pending.delete(id);
+      request.reject(error instanceof Error ? error : new Error(String(error)));
+    });
+  }
+}
+
+function handleFrame(id: number, request: PendingRequest, type: number, data: Uint8Array) {
+  // Settled meanwhile (aborted or failed)
+  if (pending.get(id) !== request) return;
+  switch (type) {
+    case TYPE_META:
+      request.meta = JSON.parse(decoder.decode(data));
+      break;
+    case TYPE_CHUNK:
+      if (request.onChunk) request.onChunk(data);
+      else request.chunks.push(data);
+      break;
+    case TYPE_END: {
+      pending.delete(id);
+      let body = request.chunks[0] ?? new Uint8Array(0);
+      if (request.chunks.length > 1) {
+        body = new Uint8Array(request.chunks.reduce((sum, chunk) => sum + chunk.length, 0));
+        let at = 0;
+        for (const chunk of request.chunks) {
+          body.set(chunk, at);
+          at += chunk.length;
+        }
+      }
+      request.resolve({ meta: request.meta, body });
+      break;
+    }
+    case TYPE_ERROR:
+      pending.delete(id);
+      request.reject(new Error(decoder.decode(data) || "Binary bridge request failed"));
+      break;
+  }
+}
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Call a native method over the binary channel
+ *
+ * @param method Method registered in BinaryBridgeChannel.java, e.g. "http"
+ * @param body Request bytes; strings are sent as UTF-8
+ */
+export function binaryRequest<Meta = unknown>(
+  method: string,
+  body: Uint8Array | string = new Uint8Array(0),
+  options: BinaryRequestOptions = {}
+): Promise<BinaryResponse<Meta>> {
+  if (!isBinaryBridgeAvailable()) {
+    return Promise.reject(new Error("Binary bridge is not available"));
+  }
+  if (options.signal?.aborted) {
+    return Promise.reject(new DOMException("Aborted", "AbortError"));
+  }
+
+  const id = nextId;
+  nextId = nextId >= 0x7fffffff ? 1 : nextId + 1;
+  const name = encoder.encode(method);
+  const bytes = typeof body === "string" ? encoder.encode(body) : body;
+  const payload = new Uint8Array(2 + name.length + bytes.length);
+  new DataView(payload.buffer).setUint16(0, name.length);
+  payload.set(name, 2);
+  payload.set(bytes, 2 + name.length);
+  const flags = typeof DecompressionStream !== "undefined" ? FLAG_ACCEPT_DEFLATE : 0;
+
+  return new Promise<BinaryResponse<Meta>>((resolve, reject) => {
+    const request: PendingRequest = {
+      meta: null,
+      chunks: [],
+      onChunk: options.onChunk,
+      tail: Promise.resolve(),
+      resolve,
+      reject,
+    };
+    pending.set(id, request);
+    options.signal?.addEventListener(
+      "abort",
+      () => {
+        if (pending.get(id) !== request) return;
+        pending.delete(id);
+        channel().postMessage(encodeFrame(TYPE_CANCEL, 0, id, new Uint8Array(0)));
+        reject(new DOMException("Aborted", "AbortError"));
+      },
+      { once: true }
+    );
+    channel().postMessage(encodeFrame(TYPE_REQUEST, flags, id, payload));
+  });
+}
+
+export async function getBinaryBridgeInfo(): Promise<BinaryBridgeInfo> {
+  return BinaryBridge.getInfo();
+}
+
+/**
+ * Time the plugin bridge against the binary channel on the same offer-like
+ * JSON, from the request until the parsed objects; logs a table and returns it
+ *
+ * Run from the WebView devtools console of a debug build, e.g.
+ *   (await import("/lib/binaryBridge")).benchmarkBinaryBridge()
+ */
+export async function benchmarkBinaryBridge(
+  sizes: number[] = [16 * 1024, 256 * 1024, 2 * 1024 * 1024],
+  runs = 10
+): Promise<BinaryBridgeBenchmarkRow[]> {
+  if (!isBinaryBridgeAvailable()) {
+    console.warn("⚠️ [BinaryBridge] Channel not installed; nothing to compare");
+    return [];
+  }
+  const paths: Record<BinaryBridgeBenchmarkRow["path"], (bytes: number) => Promise<unknown>> = {
+    plugin: async (bytes) => JSON.parse((await BinaryBridge.bench({ bytes })).data),
+    binary: async (bytes) =>
+      JSON.parse(decoder.decode((await binaryRequest("bench", String(bytes))).body)),
+  };
+
+  const rows: BinaryBridgeBenchmarkRow[] = [];
+  for (const bytes of sizes) {
+    for (const path of ["plugin", "binary"] as const) {
+      // First call builds the payload natively and warms both paths up
+      await paths[path](bytes);
+      const times: number[] = [];
+      for (let i = 0; i < runs; i++) {
+        const start = performance.now();
+        await paths[path](bytes);
+        times.push(performance.now() - start);
+      }
+      times.sort((a, b) => a - b);
+      const medianMs = times[Math.floor(times.length / 2)];
+      rows.push({
+        bytes,
+        path,
+        medianMs: Math.round(medianMs * 100) / 100,
+        minMs: Math.round(times[0] * 100) / 100,
+        mbPerSec: Math.round((bytes / 1e6 / (medianMs / 1000)) * 10) / 10,
+      });
+    }
+  }
+  console.table(rows);
+  return rows;
+}
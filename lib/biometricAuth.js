@@ -17,10 +17,30 @@
 import { Capacitor } from "@capacitor/core";
 import { Device } from "@capacitor/device";
 import { NativeBiometric, BiometryType } from "capacitor-native-biometric";
+import {
+  initKeyValueStore,
+  kvGetBoolean,
+  kvGetString,
+  kvRemove,
+  kvSetMany,
+} from "./keyValue";
+import { clearBiometricSession } from "./nativeBiometricPrompt";
 
 // Server identifier for credential storage
 const CREDENTIAL_SERVER = "com.jackson.app";
 
+// Local biometric flags live in the native key-value store on Android (synchronous
+// mirror reads, no localStorage parse on every check)
+const BIOMETRIC_FLAG_KEYS = [
+  "biometricEnabled",
+  "biometricType",
+  "faceVerificationCompleted",
+];
+
+if (typeof window !== "undefined") {
+  initKeyValueStore(BIOMETRIC_FLAG_KEYS);
+}
+
 /**
  * Check if biometric authentication is available on this device
  * Following documentation: https://www.npmjs.com/package/capacitor-native-biometric
@@ -554,7 +574,7 @@ export async function hasBiometricCredentials() {
  */
 export function isBiometricEnabledLocally() {
   if (typeof window === "undefined") return false;
-  return localStorage.getItem("biometricEnabled") === "true";
+  return kvGetBoolean("biometricEnabled");
 }
 
 /**
@@ -563,7 +583,7 @@ export function isBiometricEnabledLocally() {
  */
 export function getBiometricType() {
   if (typeof window === "undefined") return null;
-  return localStorage.getItem("biometricType");
+  return kvGetString("biometricType");
 }
 
 /**
@@ -572,9 +592,11 @@ export function getBiometricType() {
  */
 export function enableBiometricLocally(type) {
   if (typeof window === "undefined") return;
-  localStorage.setItem("biometricEnabled", "true");
-  localStorage.setItem("biometricType", type);
-  localStorage.setItem("faceVerificationCompleted", "true");
+  kvSetMany({
+    biometricEnabled: "true",
+    biometricType: type,
+    faceVerificationCompleted: "true",
+  });
   console.log("✅ [BIOMETRIC-LIB] Biometric enabled locally:", type);
 }
 
@@ -586,12 +608,11 @@ export async function disableBiometricLocally() {
   if (typeof window === "undefined") return { success: false };
 
   // Clear local storage flags
-  localStorage.removeItem("biometricEnabled");
-  localStorage.removeItem("biometricType");
-  localStorage.removeItem("faceVerificationCompleted");
+  kvRemove(...BIOMETRIC_FLAG_KEYS);
 
-  // Delete stored credentials
+  // Delete stored credentials (and the sealed fast-resume session on Android)
   const result = await deleteCredentials();
+  await clearBiometricSession();
 
   console.log("✅ [BIOMETRIC-LIB] Biometric disabled locally");
   return result;
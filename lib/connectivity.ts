@@ -0,0 +1,165 @@
+/**
+ * Native Connectivity Interface for Jackson App
+ *
+ * Connects to ConnectivityPlugin.java on Android, which follows the default
+ * network through ConnectivityManager callbacks:
+ * - Real transport (wifi / cellular / ethernet), VPN, metered, Data Saver and the
+ *   platform's bandwidth estimate, instead of browser heuristics
+ * - A recommended request policy (timeout, max in-flight requests, retries,
+ *   prefetch on/off, image quality) that lib/nativeHttp.ts and lib/vpnUtils.js
+ *   apply, so bad links aren't overloaded and good ones aren't under-used
+ *
+ * Outside the Android app the policy is a fixed "good network" default.
+ *
+ * @module connectivity
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type NetworkQuality = "offline" | "poor" | "fair" | "good" | "excellent";
+
+export interface NetworkStatus {
+  connected: boolean;
+  transport: "none" | "wifi" | "cellular" | "ethernet" | "other";
+  vpn: boolean;
+  metered: boolean;
+  /** Internet access confirmed by the platform (no captive portal) */
+  validated: boolean;
+  downKbps: number;
+  upKbps: number;
+  dataSaver: boolean;
+}
+
+export interface NetworkPolicy {
+  quality: NetworkQuality;
+  timeoutMs: number;
+  maxInFlight: number;
+  retries: number;
+  /** First retry delay; later retries double it */
+  retryBaseMs: number;
+  prefetch: boolean;
+  imageQuality: "low" | "medium" | "high";
+}
+
+export interface NetworkState {
+  status: NetworkStatus;
+  policy: NetworkPolicy;
+}
+
+export interface ConnectivityPlugin {
+  getStatus(): Promise<NetworkState>;
+  addListener(
+    eventName: "networkChange",
+    listener: (event: NetworkState) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const Connectivity = registerPlugin<ConnectivityPlugin>("Connectivity");
+
+export default Connectivity;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/** Same values as NetworkPolicy.java's "good" tier */
+export const DEFAULT_NETWORK_POLICY: NetworkPolicy = {
+  quality: "good",
+  timeoutMs: 20000,
+  maxInFlight: 6,
+  retries: 3,
+  retryBaseMs: 1000,
+  prefetch: true,
+  imageQuality: "high",
+};
+
+let current: NetworkState | null = null;
+let started = false;
+const subscribers = new Set<(state: NetworkState) => void>();
+
+function publish(state: NetworkState) {
+  current = state;
+  subscribers.forEach((subscriber) => subscriber(state));
+}
+
+/**
+ * Subscribe to native network changes (idempotent; called lazily by the getters)
+ */
+export function startConnectivityMonitor(): void {
+  if (started || !isAndroidNative()) return;
+  started = true;
+  Connectivity.addListener("networkChange", publish).catch(() => {});
+  Connectivity.getStatus()
+    .then((state) => {
+      // A change event may already have arrived with newer data
+      if (!current) publish(state);
+    })
+    .catch((error) => {
+      console.warn("⚠️ [Connectivity] Status unavailable:", error);
+    });
+}
+
+/**
+ * Current network, or null when unknown (not Android, or not reported yet)
+ */
+export function getNetworkStatus(): NetworkStatus | null {
+  startConnectivityMonitor();
+  return current?.status ?? null;
+}
+
+/**
+ * Recommended request policy for the current network (synchronous)
+ */
+export function getNetworkPolicy(): NetworkPolicy {
+  startConnectivityMonitor();
+  return current?.policy ?? DEFAULT_NETWORK_POLICY;
+}
+
+/**
+ * @returns Unsubscribe function
+ */
+export function onNetworkChange(
+  subscriber: (state: NetworkState) => void
+): () => void {
+  startConnectivityMonitor();
+  subscribers.add(subscriber);
+  return () => subscribers.delete(subscriber);
+}
+
+// Requests waiting for a slot, served in order
+let inFlight = 0;
+const waiting: Array<() => void> = [];
+
+function releaseSlot() {
+  inFlight--;
+  while (waiting.length > 0 && inFlight < getNetworkPolicy().maxInFlight) {
+    inFlight++;
+    waiting.shift()!();
+  }
+}
+
+/**
+ * Run a request once fewer than policy.maxInFlight requests are running
+ */
+export async function withRequestSlot<T>(request: () => Promise<T>): Promise<T> {
+  if (inFlight >= getNetworkPolicy().maxInFlight) {
+    await new Promise<void>((resolve) => waiting.push(resolve));
+  } else {
+    inFlight++;
+  }
+  try {
+    return await request();
+  } finally {
+    releaseSlot();
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Native Frame Metrics Interface for Jackson App
+ *
+ * Connects to FrameMetricsPlugin.java on Android, which records the duration of
+ * every frame the activity window draws (the WebView included) and aggregates
+ * them per route: frames, janky frames (over the display deadline), frozen
+ * frames (700 ms+), dropped frames, p50 / p90 / p99 and worst frame time.
+ *
+ * - setFrameRoute(): called on every navigation by FrameRouteReporter
+ * - pushFrameScene(): tag an animation-heavy scene inside a route (spin wheel,
+ *   race modal) as "<route>#<scene>" until the returned function is called
+ * - getFrameSnapshot(): per-route stats plus jankyRatio, optionally starting a
+ *   new window
+ *
+ * @module frameMetrics
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface RouteFrameStats {
+  frames: number;
+  janky: number;
+  frozen: number;
+  /** Frames the platform dropped before reporting them (duration unknown) */
+  dropped: number;
+  p50Ms: number;
+  p90Ms: number;
+  p99Ms: number;
+  meanMicros: number;
+  worstMs: number;
+}
+
+export interface FrameSnapshot {
+  /** Time covered by this snapshot */
+  windowMs: number;
+  /** Route frames are currently attributed to */
+  route: string;
+  /** "*" is every frame; "(other)" collects routes past the tracking cap */
+  routes: Record<string, RouteFrameStats>;
+}
+
+export interface FrameMetricsPlugin {
+  setRoute(options: { route: string }): Promise<void>;
+  getSnapshot(options?: { reset?: boolean }): Promise<FrameSnapshot>;
+  reset(): Promise<void>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const FrameMetrics = registerPlugin<FrameMetricsPlugin>("FrameMetrics");
+
+export default FrameMetrics;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+let baseRoute = "";
+const scenes: string[] = [];
+
+function report() {
+  if (!isAndroidNative() || !baseRoute) return;
+  const scene = scenes[scenes.length - 1];
+  FrameMetrics.setRoute({ route: scene ? `${baseRoute}#${scene}` : baseRoute }).catch(() => {});
+}
+
+/**
+ * Attribute the following frames to a route (pathname)
+ */
+export function setFrameRoute(route: string): void {
+  if (route === baseRoute) return;
+  baseRoute = route;
+  report();
+}
+
+/**
+ * Attribute frames to a scene within the current route
+ *
+ * @returns Function that ends the scene
+ */
+export function pushFrameScene(scene: string): () => void {
+  scenes.push(scene);
+  report();
+  return () => {
+    const index = scenes.lastIndexOf(scene);
+    if (index === -1) return;
+    scenes.splice(index, 1);
+    report();
+  };
+}
+
+/**
+ * Per-route frame stats with jankyRatio added, or null off Android
+ */
+export async function getFrameSnapshot(
+  options: { reset?: boolean } = {}
+): Promise<
+  (Omit<FrameSnapshot, "routes"> & {
+    routes: Record<string, RouteFrameStats & { jankyRatio: number }>;
+  }) | null
+> {
+  if (!isAndroidNative()) return null;
+  try {
+    const snapshot = await FrameMetrics.getSnapshot(options);
+    const routes: Record<string, RouteFrameStats & { jankyRatio: number }> = {};
+    Object.entries(snapshot.routes).forEach(([route, stats]) => {
+      routes[route] = { ...stats, jankyRatio: stats.frames > 0 ? stats.janky / stats.frames : 0 };
+    });
+    return { ...snapshot, routes };
+  } catch (error) {
+    console.warn("⚠️ [FrameMetrics] Snapshot unavailable:", error);
+    return null;
+  }
+}
+
+/**
+ * Start a new measurement window
+ */
+export async function resetFrameStats(): Promise<void> {
+  if (!isAndroidNative()) return;
+  await FrameMetrics.reset();
+}
@@ -3,14 +3,17 @@
  * Simple, clean logic based on Besitos documentation
  */
 
+import { getStoredUser } from "./stateSnapshot";
+import { openResolvedOffer, prefetchOfferRedirects } from "./redirectResolver";
+
 /**
  * Get user ID from localStorage
  */
 export const getUserId = () => {
   try {
-    const user = localStorage.getItem("user");
-    if (user) {
-      const userData = JSON.parse(user);
+    // Parsed once per change instead of on every call
+    const userData = getStoredUser();
+    if (userData) {
       return userData.id || userData.userId || userData._id;
     }
     return (
@@ -55,6 +58,54 @@ export const debugBesitosUrl = (game) => {
   console.log("=== End Debug ===");
 };
 
+/**
+ * Build the tracked download URL for a game (partner_user_id and game_id added)
+ * Priority: besitosRawData.url > game.url > game.details?.downloadUrl > game.downloadUrl
+ */
+export const buildGameDownloadUrl = (game, userId = getUserId()) => {
+  const rawData = game.besitosRawData || {};
+  const finalUrl =
+    rawData.url || game.url || game.details?.downloadUrl || game.downloadUrl;
+
+  // Get game ID - use besitosRawData.id first, then game.id or game._id
+  const gameId = rawData.id || game.id || game._id || game.gameId;
+
+  if (!finalUrl || !userId) return finalUrl;
+
+  try {
+    const urlObj = new URL(finalUrl);
+
+    // Add partner_user_id (as per Besitos documentation)
+    urlObj.searchParams.set("partner_user_id", userId);
+
+    // Add game ID as query parameter if not already in URL path
+    const gameIdInPath = urlObj.pathname.includes(gameId);
+    if (gameId && !gameIdInPath) {
+      urlObj.searchParams.set("game_id", gameId);
+    }
+
+    return urlObj.toString();
+  } catch {
+    // If URL parsing fails, append as query string
+    const separator = finalUrl.includes("?") ? "&" : "?";
+    return `${finalUrl}${separator}partner_user_id=${userId}${
+      gameId ? `&game_id=${gameId}` : ""
+    }`;
+  }
+};
+
+/**
+ * Resolve the offer redirects of games about to be shown, so a tap can open the
+ * store directly (Android only, see lib/redirectResolver.ts)
+ */
+export const prefetchGameRedirects = (games) => {
+  const userId = getUserId();
+  if (!userId || !games?.length) return;
+  prefetchOfferRedirects(
+    games.filter(Boolean).map((game) => buildGameDownloadUrl(game, userId))
+  );
+};
+
 /**
  * Handle game download - Simple, clean logic based on Besitos documentation
  * Enhanced with VPN detection and optimization
@@ -62,67 +113,24 @@ export const debugBesitosUrl = (game) => {
 export const handleGameDownload = async (game) => {
   try {
     const userId = getUserId();
-    // OPTIMIZED: Use the correct download URL from the API response structure
-    // Priority: besitosRawData.url > game.url > game.details?.downloadUrl > game.downloadUrl
     const rawData = game.besitosRawData || {};
-    let finalUrl =
-      rawData.url || game.url || game.details?.downloadUrl || game.downloadUrl;
-
-    // Get game ID - use besitosRawData.id first, then game.id or game._id
     const gameId = rawData.id || game.id || game._id || game.gameId;
+    const finalUrl = buildGameDownloadUrl(game, userId);
 
     console.log("🔍 Debug Info:", {
-      originalUrl: finalUrl,
-      besitosRawDataUrl: rawData.url,
-      downloadUrl: game.details?.downloadUrl,
-      fallbackUrl: game.url,
+      originalUrl:
+        rawData.url || game.url || game.details?.downloadUrl || game.downloadUrl,
+      trackedUrl: finalUrl,
       userId,
       gameId: gameId,
       gameTitle: rawData.title || game.details?.name || game.title || game.name,
     });
 
-    // Add user ID and game ID to URL for tracking
-    if (finalUrl && userId) {
-      try {
-        const urlObj = new URL(finalUrl);
-
-        // Add partner_user_id (as per Besitos documentation)
-        urlObj.searchParams.set("partner_user_id", userId);
-
-        // Add game ID as query parameter if not already in URL path
-        // Check if game ID is already in the URL path
-        const urlPath = urlObj.pathname;
-        const gameIdInPath = urlPath.includes(gameId);
-
-        if (gameId && !gameIdInPath) {
-          urlObj.searchParams.set("game_id", gameId);
-          console.log("✅ Added game_id to URL:", gameId);
-        }
-
-        finalUrl = urlObj.toString();
-        console.log("✅ Added partner_user_id to URL:", finalUrl);
-      } catch (urlError) {
-        // If URL parsing fails, try to append as query string
-        console.warn(
-          "⚠️ URL parsing failed, appending as query string:",
-          urlError
-        );
-        const separator = finalUrl.includes("?") ? "&" : "?";
-        finalUrl = `${finalUrl}${separator}partner_user_id=${userId}${
-          gameId ? `&game_id=${gameId}` : ""
-        }`;
-        console.log(
-          "✅ Added partner_user_id and game_id to URL (fallback):",
-          finalUrl
-        );
-      }
-    } else {
-      if (!userId) {
-        console.warn("⚠️ No user ID found - using original URL");
-      }
-      if (!finalUrl) {
-        console.error("❌ No download URL found for game:", gameId);
-      }
+    if (!userId) {
+      console.warn("⚠️ No user ID found - using original URL");
+    }
+    if (!finalUrl) {
+      console.error("❌ No download URL found for game:", gameId);
     }
 
     // Add VPN detection and optimization
@@ -151,8 +159,12 @@ export const handleGameDownload = async (game) => {
     // Use Capacitor Browser plugin for mobile apps
     if (window.Capacitor && window.Capacitor.isNativePlatform()) {
       try {
-        const { Browser } = await import("@capacitor/browser");
-        await Browser.open({ url: finalUrl });
+        // Redirects already resolved in the background: straight to the store
+        const opened = await openResolvedOffer(finalUrl);
+        if (!opened) {
+          const { Browser } = await import("@capacitor/browser");
+          await Browser.open({ url: finalUrl });
+        }
 
         // Enhanced tracking for VPN users
         if (vpnDetection.isVpnLikely) {
@@ -0,0 +1,97 @@
+/**
+ * Native Image Cache Interface for Jackson App
+ *
+ * On Android, image requests from the WebView are answered by ImagePipeline.java:
+ * decoded off the UI thread, downsampled to display size, re-encoded as WebP and
+ * kept in a memory + disk cache. Images without a size hint are capped at the
+ * screen width; sizedImageUrl() passes the exact display width for list
+ * thumbnails and artwork.
+ *
+ * Outside the Android app sizedImageUrl() returns the source unchanged.
+ *
+ * @module imageCache
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface ImageCacheStats {
+  memoryHits: number;
+  diskHits: number;
+  misses: number;
+  /** Loads that joined an identical in-flight load */
+  sharedLoads: number;
+  failures: number;
+  bytesFetched: number;
+  /** Source bytes minus served bytes for downsampled images */
+  bytesSaved: number;
+  memoryBytes: number;
+  memoryEntries: number;
+  diskBytes: number;
+}
+
+export interface ImageCachePlugin {
+  getStats(): Promise<ImageCacheStats>;
+  clear(): Promise<void>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const ImageCache = registerPlugin<ImageCachePlugin>("ImageCache");
+
+export default ImageCache;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/** Path served by CachingWebViewClient, see ImagePipeline.LOCAL_PATH */
+const SIZED_IMAGE_PATH = "/_img";
+
+/**
+ * Image URL downsampled to the width it is drawn at
+ *
+ * Only use for images that come from runtime data (API responses), not for
+ * markup pre-rendered at build time, or hydration will see a different src.
+ *
+ * @param src - Remote image URL or path in the web bundle
+ * @param cssWidth - Display width in CSS pixels
+ */
+export function sizedImageUrl<T extends string | null | undefined>(src: T, cssWidth: number): T {
+  if (!src || !isAndroidNative()) return src;
+  if (!/^https?:\/\//i.test(src) && !src.startsWith("/")) return src;
+  const width = Math.ceil(cssWidth * (window.devicePixelRatio || 1));
+  return `${SIZED_IMAGE_PATH}?src=${encodeURIComponent(src)}&w=${width}` as T;
+}
+
+/**
+ * Cache counters plus the combined hit rate, or null off Android
+ */
+export async function getImageCacheStats(): Promise<
+  (ImageCacheStats & { hitRate: number }) | null
+> {
+  if (!isAndroidNative()) return null;
+  try {
+    const stats = await ImageCache.getStats();
+    const hits = stats.memoryHits + stats.diskHits;
+    const total = hits + stats.misses;
+    return { ...stats, hitRate: total > 0 ? hits / total : 0 };
+  } catch (error) {
+    console.warn("⚠️ [ImageCache] Stats unavailable:", error);
+    return null;
+  }
+}
+
+/**
+ * Drop every cached image (memory and disk)
+ */
+export async function clearImageCache(): Promise<void> {
+  if (!isAndroidNative()) return;
+  await ImageCache.clear();
+}
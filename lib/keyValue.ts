@@ -0,0 +1,157 @@
+/**
+ * Native Key-Value Store Interface for Jackson App
+ *
+ * Connects to KeyValuePlugin.java on Android (memory-mapped, append-only store):
+ * - One getAll() at startup fills an in-memory mirror; after that every read is a
+ *   synchronous Map lookup with no bridge round trip
+ * - Writes update the mirror immediately and are sent natively in one batched
+ *   setMany() per tick
+ * - Writes also go to localStorage, which stays the store on web / iOS and the
+ *   fallback for reads that happen before the mirror is ready
+ *
+ * @module keyValue
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type KeyValue = string | number | boolean;
+
+export interface KeyValueStats {
+  entries: number;
+  liveBytes: number;
+  logBytes: number;
+  fileBytes: number;
+  compactions: number;
+}
+
+export interface KeyValuePlugin {
+  getAll(): Promise<{ values: Record<string, KeyValue> }>;
+  get(options: { key: string }): Promise<{ value: KeyValue | null }>;
+  set(options: { key: string; value: KeyValue | null }): Promise<void>;
+  setMany(options: { entries: Record<string, KeyValue | null> }): Promise<void>;
+  remove(options: { keys: string[] }): Promise<void>;
+  compact(): Promise<KeyValueStats>;
+  getStats(): Promise<KeyValueStats>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const KeyValueStore = registerPlugin<KeyValuePlugin>("KeyValue");
+
+export default KeyValueStore;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+const mirror = new Map<string, KeyValue>();
+let mirrorReady = false;
+let loading: Promise<void> | null = null;
+
+let pending: Record<string, KeyValue | null> = {};
+let flushScheduled = false;
+
+/**
+ * Fill the mirror from the native store (once). Keys listed in migrateKeys that
+ * the native store does not have yet are copied over from localStorage.
+ */
+export function initKeyValueStore(migrateKeys: string[] = []): Promise<void> {
+  if (!isAndroidNative()) return Promise.resolve();
+  if (loading) return loading;
+  loading = KeyValueStore.getAll()
+    .then(({ values }) => {
+      for (const [key, value] of Object.entries(values)) {
+        // Writes made while loading are newer than what was on disk
+        if (!(key in pending)) mirror.set(key, value);
+      }
+      for (const key of migrateKeys) {
+        if (mirror.has(key) || key in pending) continue;
+        const legacy = localStorage.getItem(key);
+        if (legacy !== null) kvSet(key, legacy);
+      }
+      mirrorReady = true;
+    })
+    .catch((error) => {
+      console.warn("⚠️ [KV] Native store unavailable, using localStorage:", error);
+    });
+  return loading;
+}
+
+function scheduleFlush() {
+  if (flushScheduled) return;
+  flushScheduled = true;
+  queueMicrotask(() => {
+    flushScheduled = false;
+    const entries = pending;
+    pending = {};
+    KeyValueStore.setMany({ entries }).catch((error) => {
+      console.warn("⚠️ [KV] Failed to persist natively:", error);
+    });
+  });
+}
+
+/**
+ * Read a value synchronously (mirror first, localStorage until it is ready)
+ */
+export function kvGet(key: string): KeyValue | null {
+  if (mirrorReady || key in pending) {
+    return mirror.has(key) ? (mirror.get(key) as KeyValue) : null;
+  }
+  if (typeof window === "undefined") return null;
+  return localStorage.getItem(key);
+}
+
+export function kvGetString(key: string): string | null {
+  const value = kvGet(key);
+  return value === null ? null : String(value);
+}
+
+/**
+ * Booleans written through kvSet come back as booleans; legacy localStorage
+ * values are the strings "true" / "false"
+ */
+export function kvGetBoolean(key: string): boolean {
+  const value = kvGet(key);
+  return value === true || value === "true";
+}
+
+/**
+ * Write several values at once; null removes a key
+ */
+export function kvSetMany(entries: Record<string, KeyValue | null>): void {
+  if (typeof window === "undefined") return;
+  for (const [key, value] of Object.entries(entries)) {
+    if (value === null) {
+      mirror.delete(key);
+      localStorage.removeItem(key);
+    } else {
+      mirror.set(key, value);
+      localStorage.setItem(key, String(value));
+    }
+    if (isAndroidNative()) pending[key] = value;
+  }
+  if (isAndroidNative()) scheduleFlush();
+}
+
+export function kvSet(key: string, value: KeyValue | null): void {
+  kvSetMany({ [key]: value });
+}
+
+export function kvRemove(...keys: string[]): void {
+  kvSetMany(Object.fromEntries(keys.map((key) => [key, null])));
+}
+
+/**
+ * Native store counters, or null outside the Android app
+ */
+export async function getKeyValueStats(): Promise<KeyValueStats | null> {
+  if (!isAndroidNative()) return null;
+  return KeyValueStore.getStats();
+}
@@ -0,0 +1,136 @@
+/**
+ * Native Transaction Ledger Interface for Jackson App
+ *
+ * Connects to LedgerPlugin.java on Android, a SQLite copy of the user's wallet
+ * transactions and withdrawals:
+ * - syncLedger(): fetch new and changed rows in the background; a routine sync
+ *   stops at the first page it already has, the first one backfills everything
+ * - queryLedger(): only the rows a screen shows (offset / limit, newest first),
+ *   with filters, totals and a running total per row, so long histories never
+ *   sit in JS memory
+ * - onLedgerChanged(): a sync stored new or changed rows
+ *
+ * Outside the Android app {@link isLedgerAvailable} is false and the Wallet
+ * screens page through the API as before.
+ *
+ * @module ledger
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type LedgerKind = "transaction" | "withdrawal";
+
+export interface LedgerSyncResult {
+  /** HTTP status of the last page, 0 for a network error */
+  status: number;
+  pages: number;
+  added: number;
+  updated: number;
+  /** Every page has been stored at least once */
+  complete: boolean;
+  /** Rows stored for this kind */
+  count: number;
+}
+
+export interface LedgerQuery {
+  kind?: LedgerKind;
+  /** "credit" | "debit" */
+  type?: string;
+  status?: string;
+  /** "coins" | "xp" */
+  balanceType?: string;
+  /** Hide rows whose referenceId starts with this */
+  excludeReferencePrefix?: string;
+  /** Epoch ms, inclusive */
+  from?: number;
+  /** Epoch ms, exclusive */
+  until?: number;
+  offset?: number;
+  limit?: number;
+}
+
+export interface LedgerWindow<Row = Record<string, unknown>> {
+  /** Server JSON of each row, newest first */
+  rows: Row[];
+  /** Signed total from the newest matching row down to rows[i] */
+  running: number[];
+  offset: number;
+  /** All rows matching the filters */
+  total: number;
+  credits: number;
+  debits: number;
+}
+
+export interface LedgerPlugin {
+  sync(options: {
+    account: string;
+    kind?: LedgerKind;
+    url: string;
+    headers?: Record<string, string>;
+  }): Promise<LedgerSyncResult>;
+  query(options: LedgerQuery & { account: string }): Promise<LedgerWindow>;
+  addListener(
+    eventName: "ledgerChanged",
+    listener: (event: { kind: LedgerKind; added: number; updated: number }) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const Ledger = registerPlugin<LedgerPlugin>("Ledger");
+
+export default Ledger;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+export const isLedgerAvailable = (): boolean => isAndroidNative();
+
+/**
+ * Sync one kind with the server; new rows arrive through onLedgerChanged as well
+ *
+ * @param url List URL without page / limit (appended natively)
+ */
+export async function syncLedger(
+  account: string,
+  kind: LedgerKind,
+  url: string,
+  headers: Record<string, string>
+): Promise<LedgerSyncResult> {
+  const result = await Ledger.sync({ account, kind, url, headers });
+  if (result.status === 0 || result.status >= 400) {
+    console.warn(`⚠️ [Ledger] ${kind} sync failed (status ${result.status}); showing stored rows`);
+  }
+  return result;
+}
+
+/**
+ * One window of an account's stored rows (empty for any other account)
+ */
+export async function queryLedger<Row = Record<string, unknown>>(
+  account: string,
+  query: LedgerQuery
+): Promise<LedgerWindow<Row>> {
+  return (await Ledger.query({ account, ...query })) as LedgerWindow<Row>;
+}
+
+/**
+ * @returns Unsubscribe function
+ */
+export function onLedgerChanged(
+  subscriber: (event: { kind: LedgerKind; added: number; updated: number }) => void
+): () => void {
+  const handle = Ledger.addListener("ledgerChanged", subscriber);
+  return () => {
+    handle.then((h) => h.remove()).catch(() => {});
+  };
+}
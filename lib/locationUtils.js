@@ -1,18 +1,58 @@
+import { reverseGeocodeOffline } from "./offlineGeocoder";
+
+// The bundled place list is a GeoNames cities1000 extract (every place with
+// 1000+ people, see scripts/build-geo-assets.mjs), so country, region and
+// timezone always come from it. Only when the nearest bundled place is further
+// than this do the online services get asked, and then only for the city name.
+const OFFLINE_CITY_RADIUS_KM = 15;
+
 /**
  * Get city and country from coordinates using multiple reverse geocoding services
  * Enhanced for Android compatibility with proper timeout handling
+ * On Android the bundled offline index is authoritative (no network): its
+ * answer is final within a few km of a bundled place, and further out, or when
+ * `refine` is set, the online services may only replace the city name
  * @param {number} latitude - Latitude coordinate
  * @param {number} longitude - Longitude coordinate
+ * @param {Object} options - { refine: also ask the online services for the city }
  * @returns {Promise<{city: string, country: string, region: string, timezone: string}>} Location information
  */
-export const getCityAndCountry = async (latitude, longitude) => {
-  const defaultResult = {
-    city: "Unknown",
-    country: "Unknown",
-    region: "Unknown",
-    timezone: "Asia/Kolkata",
-  };
+export const getCityAndCountry = async (
+  latitude,
+  longitude,
+  { refine = false } = {}
+) => {
+  const offline = await reverseGeocodeOffline(latitude, longitude);
+  if (offline) {
+    const result = {
+      city: offline.city,
+      country: offline.country,
+      region: offline.region,
+      timezone: offline.timezone,
+    };
+    if (!refine && offline.distanceKm <= OFFLINE_CITY_RADIUS_KM) {
+      return result;
+    }
+    const online = await getCityAndCountryOnline(latitude, longitude);
+    return online ? { ...result, city: online.city } : result;
+  }
 
+  return (
+    (await getCityAndCountryOnline(latitude, longitude)) || {
+      city: "Unknown",
+      country: "Unknown",
+      region: "Unknown",
+      timezone: "Asia/Kolkata",
+    }
+  );
+};
+
+/**
+ * First answer from the online reverse geocoding services
+ * @returns {Promise<{city: string, country: string, region: string, timezone: string} | null>}
+ *   null when none of them respond with a city
+ */
+const getCityAndCountryOnline = async (latitude, longitude) => {
   try {
     // Android-optimized geocoding services with proper timeout handling
     const geocodingPromises = [
@@ -81,11 +121,10 @@ export const getCityAndCountry = async (latitude, longitude) => {
         region: region || "Unknown",
         timezone: timezone || "Asia/Kolkata",
       };
-    } else {
-      return defaultResult;
     }
+    return null;
   } catch (error) {
-    return defaultResult;
+    return null;
   }
 };
 
@@ -0,0 +1,157 @@
+/**
+ * Native Media Upload Interface for Jackson App
+ *
+ * Connects to MediaUploadPlugin.java on Android. Camera / gallery photos are
+ * passed by path (Camera.getPhoto with resultType "uri"), then resized, rotated
+ * per EXIF and compressed natively and uploaded straight from disk - the image
+ * never crosses the bridge as base64 and never sits in the WebView heap.
+ *
+ * - isMediaUploadAvailable(): native plugin present (Android app)
+ * - processImage(): processed copy on disk, e.g. to keep a local photo
+ * - uploadImage(): process + multipart POST with retries and progress events
+ * - onUploadProgress(): progress of every upload, by id
+ *
+ * @module mediaUpload
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type ImageFormat = "jpeg" | "webp";
+
+export interface ProcessOptions {
+  /** file:// or content:// URI, or an absolute path (Photo.path) */
+  path: string;
+  /** Bounds of the displayed (EXIF-oriented) image; never upscaled. Default 1280 */
+  maxWidth?: number;
+  maxHeight?: number;
+  format?: ImageFormat;
+  /** 1..100, default 82 */
+  quality?: number;
+}
+
+export interface ProcessedImage {
+  /** file:// URI of the processed copy */
+  path: string;
+  mimeType: string;
+  width: number;
+  height: number;
+  bytes: number;
+  processMs: number;
+}
+
+export interface UploadOptions extends ProcessOptions {
+  /** Absolute URL */
+  url: string;
+  /** Multipart field of the file, default "file" */
+  field?: string;
+  fileName?: string;
+  headers?: Record<string, string>;
+  /** Extra form fields */
+  fields?: Record<string, string>;
+  /** Id used in progress events; generated when omitted */
+  id?: string;
+}
+
+export interface UploadResult {
+  id: string;
+  status: number;
+  /** Raw response body */
+  body: string;
+  attempts: number;
+  width: number;
+  height: number;
+  bytes: number;
+  processMs: number;
+  uploadMs: number;
+}
+
+export interface UploadProgressEvent {
+  id: string;
+  phase: "processing" | "uploading" | "retrying";
+  sent: number;
+  total: number;
+  attempt: number;
+  /** Wait before the next attempt ("retrying" only) */
+  delayMs?: number;
+}
+
+export interface MediaUploadPlugin {
+  process(options: ProcessOptions & { directory?: "cache" | "data" }): Promise<ProcessedImage>;
+  upload(options: UploadOptions): Promise<UploadResult>;
+  addListener(
+    eventName: "uploadProgress",
+    listener: (event: UploadProgressEvent) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const MediaUpload = registerPlugin<MediaUploadPlugin>("MediaUpload");
+
+export default MediaUpload;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Whether images can be processed and uploaded natively
+ */
+export function isMediaUploadAvailable(): boolean {
+  return isAndroidNative();
+}
+
+/**
+ * Resize / orient / compress an image into app storage
+ *
+ * @param directory "data" keeps the copy across cache clears
+ */
+export async function processImage(
+  options: ProcessOptions,
+  directory: "cache" | "data" = "cache"
+): Promise<ProcessedImage> {
+  if (!isAndroidNative()) {
+    throw new Error("Native image processing is only available in the Android app");
+  }
+  return MediaUpload.process({ ...options, directory });
+}
+
+/**
+ * Process and upload an image; resolves with the final response whatever its
+ * status (network failures after every retry reject)
+ */
+export async function uploadImage(options: UploadOptions): Promise<UploadResult> {
+  if (!isAndroidNative()) {
+    throw new Error("Native uploads are only available in the Android app");
+  }
+  const result = await MediaUpload.upload(options);
+  if (process.env.NODE_ENV !== "production") {
+    console.log(
+      `📤 [MediaUpload] ${result.width}x${result.height}, ${Math.round(result.bytes / 1024)} KB: ` +
+        `processed in ${result.processMs} ms, uploaded in ${result.uploadMs} ms ` +
+        `(${result.attempts} attempt${result.attempts === 1 ? "" : "s"}, HTTP ${result.status})`
+    );
+  }
+  return result;
+}
+
+/**
+ * @returns Unsubscribe function (no-op off Android)
+ */
+export function onUploadProgress(
+  subscriber: (event: UploadProgressEvent) => void
+): () => void {
+  if (!isAndroidNative()) return () => {};
+  const handle = MediaUpload.addListener("uploadProgress", subscriber);
+  return () => {
+    handle.then((h) => h.remove()).catch(() => {});
+  };
+}
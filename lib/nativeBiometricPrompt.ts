@@ -19,6 +19,7 @@
 
 import { registerPlugin } from "@capacitor/core";
 import { Capacitor } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
 
 // ============================================================================
 // TYPE DEFINITIONS
@@ -75,7 +76,10 @@ export interface BiometricAvailabilityResult {
   
   /** Security patch level */
   securityPatch?: string;
-  
+
+  /** A biometric was enrolled or removed since the app last checked */
+  enrollmentChanged?: boolean;
+
   /** Exception type if error occurred */
   exceptionType?: string;
 }
@@ -150,6 +154,15 @@ export interface BiometricVerifyOptions {
   negativeButtonText?: string;
 }
 
+/**
+ * Result from resumeSession(); failures carry the same fields as verifyIdentity
+ * plus errorType "no_session" / "enrollment_changed"
+ */
+export interface BiometricSessionResult extends BiometricVerifyResult {
+  /** Session JSON sealed by enrollSession() */
+  payload?: string;
+}
+
 /**
  * Native BiometricPrompt Plugin Interface
  */
@@ -170,6 +183,23 @@ export interface NativeBiometricPromptPlugin {
    * @returns Promise with verification result
    */
   verifyIdentity(options: BiometricVerifyOptions): Promise<BiometricVerifyResult>;
+
+  /**
+   * Seal the session behind a keystore key that needs BIOMETRIC_STRONG to use
+   * (no prompt needed to seal)
+   */
+  enrollSession(options: { payload: string }): Promise<{ success: boolean; errorMessage?: string }>;
+
+  /** Whether a sealed session exists */
+  hasSession(): Promise<{ enrolled: boolean }>;
+
+  /** Discard the sealed session and its key */
+  clearSession(): Promise<void>;
+
+  /**
+   * Prompt once (CryptoObject-bound) and return the decrypted session
+   */
+  resumeSession(options: BiometricVerifyOptions): Promise<BiometricSessionResult>;
 }
 
 // ============================================================================
@@ -499,4 +529,71 @@ export function canRetryBiometric(result: BiometricVerifyResult): boolean {
   return false;
 }
 
+// ============================================================================
+// BIOMETRIC SESSION FAST-RESUME
+// ============================================================================
 
+/**
+ * Seal the signed-in session ({token, user} JSON) for biometric fast-resume.
+ * No-op off Android; failures (e.g. nothing enrolled) are logged and ignored.
+ */
+export async function enrollBiometricSession(payload: string): Promise<boolean> {
+  if (!isAndroidNative()) return false;
+  try {
+    const result = await NativeBiometricPrompt.enrollSession({ payload });
+    if (!result.success) {
+      console.warn("⚠️ [NATIVE-BIOMETRIC] Session not sealed:", result.errorMessage);
+    }
+    return result.success;
+  } catch (error) {
+    console.warn("⚠️ [NATIVE-BIOMETRIC] enrollSession failed:", error);
+    return false;
+  }
+}
+
+export async function hasBiometricSession(): Promise<boolean> {
+  if (!isAndroidNative()) return false;
+  try {
+    return (await NativeBiometricPrompt.hasSession()).enrolled;
+  } catch {
+    return false;
+  }
+}
+
+export async function clearBiometricSession(): Promise<void> {
+  if (!isAndroidNative()) return;
+  await NativeBiometricPrompt.clearSession().catch(() => {});
+}
+
+/**
+ * Unlock the sealed session with one CryptoObject-bound prompt; the caller can
+ * restore the session straight from the payload without a login request
+ */
+export async function resumeBiometricSession(
+  options?: BiometricVerifyOptions
+): Promise<BiometricSessionResult> {
+  if (!isAndroidNative()) {
+    return {
+      success: false,
+      errorCode: -2,
+      errorType: "wrong_platform",
+      errorMessage: "Biometric session resume only available on Android",
+    };
+  }
+  try {
+    const startTime = Date.now();
+    const result = await NativeBiometricPrompt.resumeSession(options || {});
+    console.log(
+      `🔐 [NATIVE-BIOMETRIC] resumeSession() ${result.success ? "unlocked" : result.errorType} in ${Date.now() - startTime}ms`
+    );
+    return result;
+  } catch (error) {
+    return {
+      success: false,
+      errorCode: -99,
+      errorType: "exception",
+      errorMessage: `Exception: ${error}`,
+      timestamp: Date.now(),
+    };
+  }
+}
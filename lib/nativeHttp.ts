@@ -0,0 +1,186 @@
+/**
+ * Native HTTP Gateway Plugin Interface for Jackson App
+ *
+ * Routes API requests through NativeHttpPlugin.java on Android instead of the
+ * WebView fetch stack:
+ * - One shared OkHttp connection pool (HTTP/2 multiplexed when available)
+ * - Identical in-flight GETs are merged into a single upstream call
+ * - Per-request timing (DNS, connect, TLS, TTFB, body size)
+ * - Timeout and concurrency follow the current network policy (lib/connectivity.ts)
+ * - Bodies come back as bytes over the binary channel (lib/binaryBridge.ts) when
+ *   it is installed, instead of as a string inside the plugin result
+ *
+ * On web / iOS everything falls back to window.fetch unchanged.
+ *
+ * @module nativeHttp
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { getNetworkPolicy, withRequestSlot } from "./connectivity";
+import { binaryRequest, isBinaryBridgeAvailable } from "./binaryBridge";
+import { isAndroidNative } from "./platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+/**
+ * Network timing for a single native request (milliseconds)
+ */
+export interface NativeRequestTiming {
+  dnsMs: number;
+  connectMs: number;
+  tlsMs: number;
+  /** Call start until first response byte */
+  ttfbMs: number;
+  totalMs: number;
+  bodyBytes: number;
+  /** True when a pooled connection was reused (no handshake) */
+  connectionReused: boolean;
+  /** Negotiated protocol, e.g. "h2" or "http/1.1" */
+  protocol: string;
+}
+
+/**
+ * Options for request()
+ */
+export interface NativeHttpRequestOptions {
+  url: string;
+  method?: string;
+  headers?: Record<string, string>;
+  /** Request body, already serialized */
+  data?: string;
+  /** Whole-call timeout in milliseconds */
+  timeout?: number;
+}
+
+/**
+ * Result from request()
+ */
+export interface NativeHttpResponse {
+  status: number;
+  /** Response headers with lower-cased names */
+  headers: Record<string, string>;
+  /** Response body as text */
+  data: string;
+  /** True when this call was merged into an identical in-flight GET */
+  coalesced: boolean;
+  /** "network", "cache" (fresh disk hit) or "stale" (disk hit, revalidating) */
+  source: "network" | "cache" | "stale";
+  timing: NativeRequestTiming;
+}
+
+/**
+ * Gateway counters from getStats()
+ */
+export interface NativeHttpStats {
+  requests: number;
+  upstream: number;
+  coalesced: number;
+  failures: number;
+  inFlight: number;
+  pooledConnections: number;
+  idleConnections: number;
+}
+
+export interface NativeHttpPlugin {
+  request(options: NativeHttpRequestOptions): Promise<NativeHttpResponse>;
+  getStats(): Promise<NativeHttpStats>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+/**
+ * Register the native plugin with Capacitor
+ * This connects to NativeHttpPlugin.java on Android
+ */
+const NativeHttp = registerPlugin<NativeHttpPlugin>("NativeHttp");
+
+export default NativeHttp;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Whether requests can be routed through the native gateway
+ */
+export function isNativeHttpAvailable(): boolean {
+  return isAndroidNative();
+}
+
+/**
+ * Drop-in replacement for fetch() used by lib/api.js
+ *
+ * Returns a standard Response so existing handleResponse() logic keeps working.
+ * Falls back to window.fetch when not on Android or when the body is not a
+ * string (FormData uploads still go through the WebView). init.cache of
+ * "no-cache", "reload" or "no-store" becomes a Cache-Control: no-cache header,
+ * which makes the native response cache go to the network.
+ *
+ * @param url - Absolute request URL
+ * @param init - fetch() style options
+ */
+export async function nativeFetch(
+  url: string,
+  init: RequestInit = {}
+): Promise<Response> {
+  if (
+    !isNativeHttpAvailable() ||
+    (init.body != null && typeof init.body !== "string")
+  ) {
+    return fetch(url, init);
+  }
+
+  const headers = { ...((init.headers as Record<string, string>) || {}) };
+  if (init.cache === "no-cache" || init.cache === "reload" || init.cache === "no-store") {
+    headers["Cache-Control"] = "no-cache";
+  }
+  const options: NativeHttpRequestOptions = {
+    url,
+    method: init.method || "GET",
+    headers,
+    data: (init.body as string | undefined) ?? undefined,
+    timeout: getNetworkPolicy().timeoutMs,
+  };
+  const binary = isBinaryBridgeAvailable();
+  const result = await withRequestSlot(() =>
+    binary ? requestBinary(options) : NativeHttp.request(options)
+  );
+
+  if (process.env.NODE_ENV !== "production") {
+    const t = result.timing;
+    console.log(
+      `[NATIVE-HTTP] ${init.method || "GET"} ${url} -> ${result.status}` +
+        ` (${t.totalMs}ms, ttfb ${t.ttfbMs}ms, dns ${t.dnsMs}ms, connect ${t.connectMs}ms,` +
+        ` ${t.bodyBytes}B, ${t.protocol}${t.connectionReused ? ", reused" : ""}` +
+        `${result.coalesced ? ", coalesced" : ""}, ${result.source}${binary ? ", binary" : ""})`
+    );
+  }
+
+  // 204/304 responses must not carry a body in the Response constructor
+  const body = result.status === 204 || result.status === 304 ? null : result.data;
+  return new Response(body, {
+    status: result.status,
+    headers: result.headers,
+  });
+}
+
+/**
+ * request() over the binary channel: the same gateway and cache natively, but
+ * the body arrives as bytes and is parsed once, by whoever reads the Response
+ */
+async function requestBinary(
+  options: NativeHttpRequestOptions
+): Promise<Omit<NativeHttpResponse, "data"> & { data: Uint8Array }> {
+  const { meta, body } = await binaryRequest<Omit<NativeHttpResponse, "data">>(
+    "http",
+    JSON.stringify(options)
+  );
+  if (!meta) {
+    throw new Error("Binary bridge http response without status");
+  }
+  return { ...meta, data: body };
+}
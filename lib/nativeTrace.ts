@@ -0,0 +1,95 @@
+/**
+ * Native Trace Plugin Interface for Jackson App
+ *
+ * Connects to TracePlugin.java on Android, which exposes the native ring buffer of
+ * structured trace events (NativeTrace.java) for diagnostics:
+ * - getNativeTraceEvents(): events since the last pull, oldest first
+ * - setNativeTraceLevel(): runtime level for the ring buffer and for logcat
+ *
+ * @module nativeTrace
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type NativeTraceLevel =
+  | "verbose"
+  | "debug"
+  | "info"
+  | "warn"
+  | "error"
+  | "off";
+
+export interface NativeTraceEvent {
+  seq: number;
+  /** How long ago the event was recorded */
+  ageMs: number;
+  level: NativeTraceLevel;
+  tag: string;
+  event: string;
+  /** Numeric arguments; meaning is documented next to each event id natively */
+  args: number[];
+}
+
+export interface NativeTraceEvents {
+  events: NativeTraceEvent[];
+  /** Pass as `since` on the next call */
+  nextSeq: number;
+  /** Events overwritten before they could be read */
+  dropped: number;
+}
+
+export interface NativeTraceLevels {
+  level: NativeTraceLevel;
+  logcat: NativeTraceLevel;
+  /** Lowest level compiled into this build; the runtime level cannot go below it */
+  compiled: NativeTraceLevel;
+}
+
+export interface TracePlugin {
+  getEvents(options?: { since?: number }): Promise<NativeTraceEvents>;
+  setLevel(options: {
+    level?: NativeTraceLevel;
+    logcat?: NativeTraceLevel;
+  }): Promise<NativeTraceLevels>;
+  getLevel(): Promise<NativeTraceLevels>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const Trace = registerPlugin<TracePlugin>("Trace");
+
+export default Trace;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+let cursor = 0;
+
+/**
+ * Pull the native events recorded since the previous call (empty off Android)
+ */
+export async function getNativeTraceEvents(): Promise<NativeTraceEvents> {
+  if (!isAndroidNative()) return { events: [], nextSeq: 0, dropped: 0 };
+  const result = await Trace.getEvents({ since: cursor });
+  cursor = result.nextSeq;
+  return result;
+}
+
+/**
+ * Change the native trace levels at runtime
+ */
+export async function setNativeTraceLevel(
+  level: NativeTraceLevel,
+  logcat?: NativeTraceLevel
+): Promise<NativeTraceLevels | null> {
+  if (!isAndroidNative()) return null;
+  return Trace.setLevel({ level, logcat });
+}
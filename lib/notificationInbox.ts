@@ -0,0 +1,119 @@
+/**
+ * Native Notification Inbox Interface for Jackson App
+ *
+ * Connects to NotificationInboxPlugin.java on Android, a SQLite-backed copy of
+ * the user's notifications:
+ * - readInbox(): what was stored last time, straight from disk, so a screen
+ *   can render notifications on mount before any request
+ * - syncInbox(): fetch changes since the last sync (?since= cursor) in the
+ *   background; rows are de-duplicated by _id and an unchanged response fires
+ *   no event
+ * - dismissInboxItem(): hide at once; dismissals are queued natively and sent
+ *   together a moment later, retried until the server has them
+ * - onInboxChanged(): every change to the visible list and unread count
+ *
+ * Outside the Android app {@link isInboxAvailable} is false and
+ * hooks/useNotifications.js talks to the API directly as before.
+ *
+ * @module notificationInbox
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface InboxNotification {
+  _id: string;
+  message?: string;
+  type?: string;
+  createdAt?: string;
+  read?: boolean;
+  [key: string]: unknown;
+}
+
+export interface InboxSnapshot {
+  /** Not dismissed, newest first */
+  notifications: InboxNotification[];
+  unreadCount: number;
+  /** 0 before the first successful sync */
+  syncedAt: number;
+}
+
+export interface InboxSyncResult {
+  /** HTTP status, 0 for a network error */
+  status: number;
+  received: number;
+  changed: number;
+  removed: number;
+  unreadCount: number;
+}
+
+export interface NotificationInboxPlugin {
+  getCached(options: { account: string }): Promise<InboxSnapshot>;
+  sync(options: {
+    account: string;
+    url: string;
+    headers?: Record<string, string>;
+  }): Promise<InboxSyncResult>;
+  dismiss(options: { id: string }): Promise<{ dismissed: boolean; unreadCount: number }>;
+  flush(): Promise<void>;
+  addListener(
+    eventName: "inboxChanged",
+    listener: (snapshot: InboxSnapshot) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const NotificationInbox = registerPlugin<NotificationInboxPlugin>("NotificationInbox");
+
+export default NotificationInbox;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+export const isInboxAvailable = (): boolean => isAndroidNative();
+
+/**
+ * Stored notifications of an account (empty for any other account)
+ */
+export async function readInbox(account: string): Promise<InboxSnapshot> {
+  return NotificationInbox.getCached({ account });
+}
+
+/**
+ * Sync with the server; changes arrive through onInboxChanged as well
+ */
+export async function syncInbox(
+  account: string,
+  url: string,
+  headers: Record<string, string>
+): Promise<InboxSyncResult> {
+  const result = await NotificationInbox.sync({ account, url, headers });
+  if (result.status === 0 || result.status >= 400) {
+    console.warn(`⚠️ [NotificationInbox] Sync failed (status ${result.status}); showing stored notifications`);
+  }
+  return result;
+}
+
+export async function dismissInboxItem(id: string): Promise<boolean> {
+  const { dismissed } = await NotificationInbox.dismiss({ id });
+  return dismissed;
+}
+
+/**
+ * @returns Unsubscribe function
+ */
+export function onInboxChanged(subscriber: (snapshot: InboxSnapshot) => void): () => void {
+  const handle = NotificationInbox.addListener("inboxChanged", subscriber);
+  return () => {
+    handle.then((h) => h.remove()).catch(() => {});
+  };
+}
@@ -0,0 +1,66 @@
+/**
+ * Native Offline Geocoder Interface for Jackson App
+ *
+ * Connects to OfflineGeocoderPlugin.java on Android, which answers reverse
+ * geocoding from a spatial index of bundled places (memory-mapped, no network):
+ * - City, region, country and timezone for GPS coordinates in microseconds
+ * - distanceKm tells how far the nearest bundled place is, so callers can decide
+ *   whether an online lookup is worth it as a refinement
+ *
+ * Returns null outside the Android app or if the index is unavailable.
+ *
+ * @module offlineGeocoder
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface OfflinePlace {
+  city: string;
+  region: string;
+  country: string;
+  countryCode: string;
+  timezone: string;
+  /** Coordinates of the bundled place */
+  latitude: number;
+  longitude: number;
+  /** Distance from the query point to that place */
+  distanceKm: number;
+  lookupUs: number;
+}
+
+export interface OfflineGeocoderPlugin {
+  reverseGeocode(options: { latitude: number; longitude: number }): Promise<OfflinePlace>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const OfflineGeocoder = registerPlugin<OfflineGeocoderPlugin>("OfflineGeocoder");
+
+export default OfflineGeocoder;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Nearest bundled place, or null when offline geocoding isn't available
+ */
+export async function reverseGeocodeOffline(
+  latitude: number,
+  longitude: number
+): Promise<OfflinePlace | null> {
+  if (!isAndroidNative()) return null;
+  try {
+    return await OfflineGeocoder.reverseGeocode({ latitude, longitude });
+  } catch (error) {
+    console.warn("⚠️ [OfflineGeocoder] Lookup failed:", error);
+    return null;
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * Native Mutation Outbox Interface for Jackson App
+ *
+ * Connects to OutboxPlugin.java on Android, a SQLite-backed queue for reward
+ * mutations (daily reward, spin, challenge, streak milestone, game earnings):
+ * - Each mutation is persisted with a client-generated idempotency key before it
+ *   is sent, and survives the app being killed
+ * - The native flusher retries with backoff and the same Idempotency-Key header,
+ *   so a retry over a flaky or VPN connection can't credit a reward twice
+ * - Callers wait a bounded time for the server's answer; after that the mutation
+ *   keeps going in the background, the UI can move on, and {@link whenSettled}
+ *   delivers the answer when it comes
+ *
+ * Outside the Android app {@link isOutboxAvailable} is false and lib/api.js sends
+ * these requests directly as before.
+ *
+ * @module outbox
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type OutboxStatus = "pending" | "sending" | "done" | "failed";
+
+export interface OutboxItem {
+  idempotencyKey: string;
+  status: OutboxStatus;
+  attempts: number;
+  /** Last HTTP status (0 = network error) */
+  httpStatus: number;
+  nextAttemptAt: number;
+  createdAt: number;
+  /** Raw response body, once done or failed */
+  data?: string;
+}
+
+export interface OutboxRequest {
+  url: string;
+  method?: string;
+  headers?: Record<string, string>;
+  /** Request body, already JSON.stringify'd */
+  data?: string;
+  /** Reuse to make a repeated call the same mutation (default: random) */
+  idempotencyKey?: string;
+}
+
+export interface OutboxPlugin {
+  enqueue(options: OutboxRequest & { idempotencyKey: string }): Promise<OutboxItem>;
+  get(options: { idempotencyKey: string }): Promise<OutboxItem>;
+  list(): Promise<{ items: OutboxItem[] }>;
+  flush(): Promise<void>;
+  clear(): Promise<{ removed: number }>;
+  addListener(
+    eventName: "outboxItem",
+    listener: (item: OutboxItem) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const Outbox = registerPlugin<OutboxPlugin>("Outbox");
+
+export default Outbox;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+export const isOutboxAvailable = (): boolean => isAndroidNative();
+
+const isTerminal = (item: OutboxItem) =>
+  item.status === "done" || item.status === "failed";
+
+const waiters = new Map<string, (item: OutboxItem) => void>();
+let listenerReady: Promise<PluginListenerHandle> | null = null;
+
+function ensureListener(): Promise<PluginListenerHandle> {
+  if (!listenerReady) {
+    listenerReady = Outbox.addListener("outboxItem", (item) => {
+      if (!isTerminal(item)) return;
+      const resolve = waiters.get(item.idempotencyKey);
+      if (resolve) {
+        waiters.delete(item.idempotencyKey);
+        resolve(item);
+      }
+    });
+  }
+  return listenerReady;
+}
+
+export function createIdempotencyKey(): string {
+  if (typeof crypto !== "undefined" && typeof crypto.randomUUID === "function") {
+    return crypto.randomUUID();
+  }
+  return `${Date.now().toString(36)}-${Math.random().toString(36).slice(2, 12)}`;
+}
+
+/**
+ * Queue a mutation and wait up to waitMs for it to be delivered
+ *
+ * @returns The delivered (or failed) item, or the still-queued item when waitMs
+ *   elapses first; delivery continues in the background either way
+ */
+export async function enqueueMutation(
+  request: OutboxRequest,
+  waitMs = 10000
+): Promise<OutboxItem> {
+  const idempotencyKey = request.idempotencyKey || createIdempotencyKey();
+  await ensureListener();
+
+  // Registered before enqueue so a fast delivery can't be missed
+  const delivered = new Promise<OutboxItem>((resolve) =>
+    waiters.set(idempotencyKey, resolve)
+  );
+
+  let queued: OutboxItem;
+  try {
+    queued = await Outbox.enqueue({ ...request, idempotencyKey });
+  } catch (error) {
+    waiters.delete(idempotencyKey);
+    throw error;
+  }
+  if (isTerminal(queued)) {
+    waiters.delete(idempotencyKey);
+    return queued;
+  }
+
+  let timer: ReturnType<typeof setTimeout> | undefined;
+  const timedOut = new Promise<OutboxItem>((resolve) => {
+    timer = setTimeout(() => {
+      waiters.delete(idempotencyKey);
+      resolve(queued);
+    }, waitMs);
+  });
+  const result = await Promise.race([delivered, timedOut]);
+  clearTimeout(timer);
+  return result;
+}
+
+/**
+ * Wait for a mutation that outlived enqueueMutation's waitMs
+ *
+ * Resolves with the item once it is delivered or fails for good; never
+ * resolves if the app is closed first (the outbox still delivers it).
+ */
+export function whenSettled(idempotencyKey: string): Promise<OutboxItem> {
+  return new Promise<OutboxItem>((resolve) => {
+    ensureListener()
+      .then(() => {
+        waiters.set(idempotencyKey, resolve);
+        // It may have settled between the caller's timeout and now
+        return Outbox.get({ idempotencyKey });
+      })
+      .then((item) => {
+        if (isTerminal(item) && waiters.get(idempotencyKey) === resolve) {
+          waiters.delete(idempotencyKey);
+          resolve(item);
+        }
+      })
+      .catch(() => {});
+  });
+}
+
+/**
+ * Mutations not yet delivered (for a "syncing" indicator)
+ */
+export async function getPendingMutations(): Promise<OutboxItem[]> {
+  if (!isOutboxAvailable()) return [];
+  try {
+    const { items } = await Outbox.list();
+    return items.filter((item) => !isTerminal(item));
+  } catch {
+    return [];
+  }
+}
+
+/**
+ * Drop every queued mutation on sign-out. Items carry the auth headers they were
+ * queued with, so anything left behind would replay under the previous user.
+ */
+export function clearOutbox(): void {
+  if (!isOutboxAvailable()) return;
+  Outbox.clear().catch((error) => {
+    console.warn("⚠️ [Outbox] Failed to clear queued mutations:", error);
+  });
+}
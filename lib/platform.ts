@@ -0,0 +1,20 @@
+/**
+ * Platform Checks for Jackson App
+ *
+ * The one place the native wrappers in lib/ ask whether they are running in the
+ * Android app, where the Jackson plugins are registered. Import this instead of
+ * repeating the Capacitor checks, so the wrappers can't drift apart.
+ *
+ * @module platform
+ */
+
+import { Capacitor } from "@capacitor/core";
+
+/**
+ * Whether this is the Android app (false during server rendering, on the web
+ * and on iOS)
+ */
+export const isAndroidNative = (): boolean =>
+  typeof window !== "undefined" &&
+  Capacitor.isNativePlatform() &&
+  Capacitor.getPlatform() === "android";
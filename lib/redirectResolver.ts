@@ -0,0 +1,111 @@
+/**
+ * Offer Redirect Resolver Interface for Jackson App
+ *
+ * Connects to OfferRedirectPlugin.java on Android, which follows offer tracking
+ * redirects ahead of time:
+ * - prefetchOfferRedirects(): resolve the chains of the offers on screen in the
+ *   background (cached for 10 minutes, a few at a time)
+ * - openResolvedOffer(): on tap, open the cached Play Store target directly
+ *   instead of waiting for the browser to walk every redirect
+ * - resolveBesitosRedirect() / testRedirectResolution(): used by
+ *   components/BesitosRedirectTester.jsx
+ *
+ * The WebView cannot see cross-origin redirects, so off Android nothing is
+ * prefetched and offers open through the browser as before.
+ *
+ * @module redirectResolver
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface RedirectChain {
+  offerUrl: string;
+  /** Last URL of the chain */
+  targetUrl: string;
+  /** True when targetUrl is a Play Store listing */
+  storeTarget: boolean;
+  /** Every URL visited, offer first */
+  hops: string[];
+  /** Duration of each hop's request (ms) */
+  hopMs: number[];
+  totalMs: number;
+  resolvedAt: number;
+  /** Served from the native cache */
+  cached: boolean;
+}
+
+export interface OfferRedirectPlugin {
+  prefetch(options: { urls: string[] }): Promise<{ queued: number; skipped: boolean }>;
+  resolve(options: { url: string }): Promise<RedirectChain>;
+  open(options: {
+    url: string;
+  }): Promise<{ opened: boolean; targetUrl?: string; savedMs?: number }>;
+  getStats(): Promise<Record<string, number>>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const OfferRedirect = registerPlugin<OfferRedirectPlugin>("OfferRedirect");
+
+export default OfferRedirect;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Start resolving offer URLs in display order (fire and forget)
+ */
+export function prefetchOfferRedirects(urls: Array<string | null | undefined>): void {
+  if (!isAndroidNative()) return;
+  const valid = urls.filter((url): url is string => !!url);
+  if (valid.length === 0) return;
+  OfferRedirect.prefetch({ urls: valid }).catch(() => {});
+}
+
+/**
+ * Open the offer's resolved store target if one is cached
+ *
+ * @returns true when the store was opened; false means open the offer URL as usual
+ */
+export async function openResolvedOffer(url: string): Promise<boolean> {
+  if (!isAndroidNative() || !url) return false;
+  try {
+    const result = await OfferRedirect.open({ url });
+    if (result.opened) {
+      console.log(
+        `🔀 [OfferRedirect] Opened resolved target, skipped ${result.savedMs}ms of redirects`
+      );
+    }
+    return result.opened;
+  } catch (error) {
+    console.warn("⚠️ [OfferRedirect] Open failed:", error);
+    return false;
+  }
+}
+
+/**
+ * Full redirect chain with per-hop timing
+ */
+export async function testRedirectResolution(url: string): Promise<RedirectChain> {
+  if (!isAndroidNative()) {
+    throw new Error("Redirect resolution needs the Android app");
+  }
+  return OfferRedirect.resolve({ url });
+}
+
+/**
+ * Final URL of the offer's redirect chain (the offer URL itself off Android)
+ */
+export async function resolveBesitosRedirect(url: string): Promise<string> {
+  if (!isAndroidNative()) return url;
+  const chain = await OfferRedirect.resolve({ url });
+  return chain.targetUrl;
+}
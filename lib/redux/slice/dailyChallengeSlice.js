@@ -329,7 +329,7 @@ export const startTodayChallenge = createAsyncThunk(
  */
 export const completeTodayChallenge = createAsyncThunk(
   "dailyChallenge/complete",
-  async ({ conversionId, token }, { rejectWithValue }) => {
+  async ({ conversionId, token }, { rejectWithValue, dispatch }) => {
     console.log("✅ [REDUX] completeTodayChallenge thunk called:", {
       conversionId,
       hasToken: !!token,
@@ -343,6 +343,14 @@ export const completeTodayChallenge = createAsyncThunk(
       });
       if (!response.success)
         throw new Error(response.error || "Complete challenge error");
+      // Android outbox: accepted optimistically; report the real outcome and
+      // reload today's state from the server when it arrives
+      if (response.queued) {
+        response.settled?.then((settled) => {
+          dispatch(queuedCompletionSettled(settled.success ? null : settled.error));
+          dispatch(fetchToday({ token, force: true }));
+        });
+      }
       console.log("✅ [REDUX] completeTodayChallenge fulfilled:", {
         rewards: response.data?.rewards,
         streak: response.data?.streak,
@@ -456,6 +464,17 @@ const dailyChallengeSlice = createSlice({
   name: "dailyChallenge",
   initialState,
   reducers: {
+    /**
+     * A completion accepted while offline was confirmed (error null) or rejected
+     */
+    queuedCompletionSettled: (state, action) => {
+      if (action.payload) {
+        state.completionStatus = "failed";
+        state.error = action.payload;
+      } else {
+        state.completionStatus = "succeeded";
+      }
+    },
     /**
      * Reset daily challenge state
      */
@@ -660,7 +679,11 @@ const dailyChallengeSlice = createSlice({
 // EXPORTS
 // ============================================================================
 
-export const { resetDailyChallengeState, setModalOpen, clearError } =
-  dailyChallengeSlice.actions;
+export const {
+  resetDailyChallengeState,
+  setModalOpen,
+  clearError,
+  queuedCompletionSettled,
+} = dailyChallengeSlice.actions;
 
 export default dailyChallengeSlice.reducer;
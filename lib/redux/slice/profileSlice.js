@@ -30,9 +30,13 @@ const initialState = {
 
 export const fetchHomeDashboard = createAsyncThunk(
   "profile/fetchHomeDashboard",
-  async (token, { rejectWithValue }) => {
+  async (tokenOrParams, { rejectWithValue }) => {
     try {
-      return await getHomeDashboard(token);
+      // Support both: fetchHomeDashboard(token) and fetchHomeDashboard({ token, force: true })
+      const token =
+        typeof tokenOrParams === "string" ? tokenOrParams : tokenOrParams?.token;
+      const force = typeof tokenOrParams === "object" && !!tokenOrParams?.force;
+      return await getHomeDashboard(token, { fresh: force });
     } catch (error) {
       return rejectWithValue(error.message);
     }
@@ -49,8 +53,9 @@ export const fetchUserProfile = createAsyncThunk(
         typeof tokenOrParams === "string"
           ? tokenOrParams
           : tokenOrParams?.token || tokenOrParams;
+      const force = typeof tokenOrParams === "object" && !!tokenOrParams?.force;
 
-      return await getProfile(token);
+      return await getProfile(token, { fresh: force });
     } catch (error) {
       return rejectWithValue(error.message);
     }
@@ -135,7 +140,8 @@ export const fetchProfileStats = createAsyncThunk(
       }
 
       // Fetch fresh data from API
-      const response = await getProfileStats(token);
+      // Forced: skip the native cache too
+      const response = await getProfileStats(token, { fresh: force });
       return {
         ...response,
         fromCache: false,
@@ -151,9 +157,13 @@ export const fetchProfileStats = createAsyncThunk(
 //  Fetch user's VIP status
 export const fetchVipStatus = createAsyncThunk(
   "profile/fetchVipStatus",
-  async (token, { rejectWithValue }) => {
+  async (tokenOrParams, { rejectWithValue }) => {
     try {
-      return await getVipStatus(token);
+      // Support both: fetchVipStatus(token) and fetchVipStatus({ token, force: true })
+      const token =
+        typeof tokenOrParams === "string" ? tokenOrParams : tokenOrParams?.token;
+      const force = typeof tokenOrParams === "object" && !!tokenOrParams?.force;
+      return await getVipStatus(token, { fresh: force });
     } catch (error) {
       return rejectWithValue(error.message);
     }
@@ -3,7 +3,11 @@ import {
   getWalletTransactions,
   getFullWalletTransactions,
   getWalletScreen,
+  getLedgerSyncTarget,
 } from "@/lib/api";
+import { getUserFromLocalStorage } from "@/lib/utils";
+import { isWalletStreamLive, seedWalletStream } from "@/lib/walletStream";
+import { isLedgerAvailable, syncLedger } from "@/lib/ledger";
 
 const initialState = {
   transactions: [],
@@ -27,9 +31,9 @@ const initialState = {
 // Fetch wallet transactions
 export const fetchWalletTransactions = createAsyncThunk(
   "walletTransactions/fetchWalletTransactions",
-  async ({ token, limit = 5 }, { rejectWithValue }) => {
+  async ({ token, limit = 5, force = false }, { rejectWithValue }) => {
     try {
-      const response = await getWalletTransactions(token, limit);
+      const response = await getWalletTransactions(token, limit, { fresh: force });
       const transformedTransactions = response
         .map((transaction, index) => {
           // Set coins and XP based on balanceType
@@ -90,19 +94,98 @@ export const fetchWalletTransactions = createAsyncThunk(
   }
 );
 
+// Ledger rows belong to one user
+export const getLedgerAccount = () => {
+  const user = getUserFromLocalStorage();
+  return user?._id || user?.id || null;
+};
+
+// Filter out the second daily challenge spin transaction
+// Hide transactions with referenceId starting with "SPIN-DC-"
+// This is the duplicate spin transaction that should not be shown
+export const HIDDEN_REFERENCE_PREFIX = "SPIN-DC-";
+
+/**
+ * API / native ledger transaction -> the shape HighestTransctionCard expects
+ */
+export const toFullTransaction = (transaction) => {
+  // Set coins and XP based on balanceType
+  const isCoins = transaction.balanceType === "coins";
+  const isXp = transaction.balanceType === "xp";
+
+  // Extract XP values from metadata if available (for Daily Rewards and other transactions)
+  const metadataXp = transaction.metadata?.xp || null;
+  const finalXp = transaction.metadata?.finalXp || null;
+  const baseXp =
+    transaction.metadata?.baseXp || transaction.metadata?.baseXP || null;
+  const xpEarned = transaction.metadata?.xpEarned || null;
+
+  // Priority: metadata.xp > finalXp > transaction amount for XP
+  // Use metadata.xp if available (for Daily Rewards), otherwise use finalXp, or transaction amount for XP transactions
+  let xpValue =
+    metadataXp !== null
+      ? metadataXp
+      : isXp
+      ? transaction.amount
+      : finalXp || 0;
+
+  // If xpValue is zero, use xpEarned from metadata if available
+  if (xpValue === 0 && xpEarned !== null && xpEarned !== undefined) {
+    xpValue = xpEarned;
+  }
+
+  return {
+    id: transaction._id,
+    gameName: getGameNameFromDescription(transaction.description),
+    gameType: transaction.type === "credit" ? "Reward" : "Purchase",
+    coins: isCoins ? transaction.amount : 0,
+    xpBonus: xpValue,
+    xp: metadataXp, // Store metadata.xp for display
+    finalXp: finalXp, // Store finalXp separately for display
+    baseXp: baseXp, // Store baseXp from metadata for transaction log
+    gameLogoSrc: getDefaultGameImage(),
+    status: transaction.status,
+    description: transaction.description,
+    referenceId: transaction.referenceId,
+    createdAt: transaction.createdAt,
+    updatedAt: transaction.updatedAt,
+    metadata: transaction.metadata, // Include full metadata for reference
+  };
+};
+
 // Fetch full wallet transactions with pagination
 export const fetchFullWalletTransactions = createAsyncThunk(
   "walletTransactions/fetchFullWalletTransactions",
   async (
-    { token, page = 1, limit = 20, type = "all" },
+    { token, page = 1, limit = 20, type = "all", force = false },
     { rejectWithValue }
   ) => {
     try {
+      // Android: the native ledger keeps the whole history in SQLite and the
+      // history screen queries only what is visible (hooks/useLedgerWindow.js),
+      // so a refresh here is a background sync, not another array in Redux
+      const account = getLedgerAccount();
+      if (isLedgerAvailable() && account) {
+        const { url, headers } = getLedgerSyncTarget("transaction", token);
+        const result = await syncLedger(account, "transaction", url, headers);
+        return {
+          transactions: [],
+          fromLedger: true,
+          pagination: {
+            currentPage: 1,
+            totalPages: 1,
+            totalItems: result.count,
+            hasMore: false,
+          },
+        };
+      }
+
       const response = await getFullWalletTransactions(
         token,
         page,
         limit,
-        type
+        type,
+        { fresh: force }
       );
 
       console.log("🔍 [fetchFullWalletTransactions] API Response:", response);
@@ -110,59 +193,10 @@ export const fetchFullWalletTransactions = createAsyncThunk(
       // Transform the API response to match the component's expected format
       // API returns array directly, not wrapped in data object
       const transformedTransactions = response
-        .map((transaction) => {
-          // Set coins and XP based on balanceType
-          const isCoins = transaction.balanceType === "coins";
-          const isXp = transaction.balanceType === "xp";
-
-          // Extract XP values from metadata if available (for Daily Rewards and other transactions)
-          const metadataXp = transaction.metadata?.xp || null;
-          const finalXp = transaction.metadata?.finalXp || null;
-          const baseXp =
-            transaction.metadata?.baseXp || transaction.metadata?.baseXP || null;
-          const xpEarned = transaction.metadata?.xpEarned || null;
-
-          // Priority: metadata.xp > finalXp > transaction amount for XP
-          // Use metadata.xp if available (for Daily Rewards), otherwise use finalXp, or transaction amount for XP transactions
-          let xpValue =
-            metadataXp !== null
-              ? metadataXp
-              : isXp
-              ? transaction.amount
-              : finalXp || 0;
-
-          // If xpValue is zero, use xpEarned from metadata if available
-          if (xpValue === 0 && xpEarned !== null && xpEarned !== undefined) {
-            xpValue = xpEarned;
-          }
-
-          return {
-            id: transaction._id,
-            gameName: getGameNameFromDescription(transaction.description),
-            gameType: transaction.type === "credit" ? "Reward" : "Purchase",
-            coins: isCoins ? transaction.amount : 0,
-            xpBonus: xpValue,
-            xp: metadataXp, // Store metadata.xp for display
-            finalXp: finalXp, // Store finalXp separately for display
-            baseXp: baseXp, // Store baseXp from metadata for transaction log
-            gameLogoSrc: getDefaultGameImage(),
-            status: transaction.status,
-            description: transaction.description,
-            referenceId: transaction.referenceId,
-            createdAt: transaction.createdAt,
-            updatedAt: transaction.updatedAt,
-            metadata: transaction.metadata, // Include full metadata for reference
-          };
-        })
-        .filter((transaction) => {
-          // Filter out the second daily challenge spin transaction
-          // Hide transactions with referenceId starting with "SPIN-DC-"
-          // This is the duplicate spin transaction that should not be shown
-          if (transaction.referenceId && transaction.referenceId.startsWith("SPIN-DC-")) {
-            return false;
-          }
-          return true;
-        });
+        .filter(
+          (transaction) => !transaction.referenceId?.startsWith(HIDDEN_REFERENCE_PREFIX)
+        )
+        .map(toFullTransaction);
 
       console.log(
         "🔍 [fetchFullWalletTransactions] Transformed Transactions:",
@@ -188,10 +222,26 @@ export const fetchFullWalletTransactions = createAsyncThunk(
 export const fetchWalletScreen = createAsyncThunk(
   "walletTransactions/fetchWalletScreen",
   async (
-    { token, force = false, background = false } = {},
+    { token, force = false, background = false, balanceOnly = false } = {},
     { rejectWithValue, getState }
   ) => {
     try {
+      // PUSH: while the native wallet stream is live, balance / XP changes arrive
+      // as deltas (applyWalletDelta), so a forced refresh for balanceOnly callers
+      // would only re-download what Redux already has. Everything else (user,
+      // highestEarningGames) is not streamed, so other forced refreshes fetch.
+      if (force && balanceOnly && !background && isWalletStreamLive()) {
+        const cachedWalletScreen = getState().walletTransactions.walletScreen;
+        if (cachedWalletScreen) {
+          console.log("[Redux] Wallet stream live, skipping forced wallet screen fetch");
+          return {
+            ...cachedWalletScreen,
+            fromCache: true,
+            cacheAge: 0,
+          };
+        }
+      }
+
       // STALE-WHILE-REVALIDATE: Check cache if not forcing refresh
       if (!force && !background) {
         const state = getState();
@@ -263,7 +313,8 @@ export const fetchWalletScreen = createAsyncThunk(
       }
 
       // Fetch fresh data from API
-      const response = await getWalletScreen(token);
+      // Forced: the caller just changed the balance, so skip the native cache too
+      const response = await getWalletScreen(token, { fresh: force });
       const walletScreenData = {
         user: response.data.user,
         wallet: response.data.wallet,
@@ -278,6 +329,7 @@ export const fetchWalletScreen = createAsyncThunk(
           views: "5.6 K",
         })),
       };
+      seedWalletStream(walletScreenData);
       return {
         ...walletScreenData,
         fromCache: false,
@@ -342,6 +394,21 @@ const walletTransactionsSlice = createSlice({
       // Append new transactions to existing ones for pagination
       state.fullTransactions = [...state.fullTransactions, ...action.payload];
     },
+    applyWalletDelta: (state, action) => {
+      // Balance / XP change pushed by the native wallet stream (lib/walletStream.ts);
+      // absolute values win over deltas when the server sends them
+      const screen = state.walletScreen;
+      if (!screen) return;
+      const { balance, balanceDelta = 0, xp, xpDelta = 0, level } = action.payload;
+      if (screen.wallet) {
+        screen.wallet.balance =
+          balance ?? (screen.wallet.balance || 0) + balanceDelta;
+      }
+      if (screen.xp) {
+        screen.xp.current = xp ?? (screen.xp.current || 0) + xpDelta;
+        if (level !== undefined) screen.xp.level = level;
+      }
+    },
   },
   extraReducers: (builder) => {
     builder
@@ -450,6 +517,7 @@ export const {
   clearWalletTransactions,
   addNewTransaction,
   loadMoreTransactions,
+  applyWalletDelta,
 } = walletTransactionsSlice.actions;
 
 export default walletTransactionsSlice.reducer;
@@ -1,6 +1,9 @@
 import { configureStore } from "@reduxjs/toolkit";
 import { persistStore, persistReducer } from "redux-persist";
-import storage from "redux-persist/lib/storage";
+import {
+  snapshotStorage as storage,
+  snapshotDeserialize,
+} from "../stateSnapshot";
 import { combineReducers } from "@reduxjs/toolkit";
 import profileReducer from "./slice/profileSlice";
 import onboardingReducer from "./slice/onboardingSlice";
@@ -18,6 +21,8 @@ import surveysReducer from "./slice/surveysSlice";
 const persistConfig = {
   key: "root",
   storage,
+  // Snapshot storage hands back pre-parsed values on cold start (see lib/stateSnapshot.ts)
+  deserialize: snapshotDeserialize,
   // OPTIMIZED: Only persist essential data to avoid performance issues
   whitelist: [
     "profile", // User profile data
@@ -39,12 +44,14 @@ const persistConfig = {
 const profilePersistConfig = {
   key: "profile",
   storage,
+  deserialize: snapshotDeserialize,
   whitelist: ["details", "stats", "dashboardData", "statsCacheTimestamp"], // Persist cache timestamps for stale-while-revalidate
 };
 
 const gamesPersistConfig = {
   key: "games",
   storage,
+  deserialize: snapshotDeserialize,
   whitelist: [
     "userData",
     "gamesBySection",
@@ -59,12 +66,14 @@ const gamesPersistConfig = {
 const walletPersistConfig = {
   key: "walletTransactions",
   storage,
+  deserialize: snapshotDeserialize,
   whitelist: ["walletScreen", "transactions", "walletScreenCacheTimestamp"], // Persist cache timestamps for stale-while-revalidate
 };
 
 const streakPersistConfig = {
   key: "streak",
   storage,
+  deserialize: snapshotDeserialize,
   whitelist: ["currentStreak"], // Persist streak data
 };
 
@@ -86,9 +95,30 @@ const rootReducer = combineReducers({
   surveys: surveysReducer,
 });
 
+// Dispatched on native memory pressure (see lib/appLifecycle.ts)
+export const MEMORY_TRIM = "app/memoryTrim";
+export const memoryTrim = () => ({ type: MEMORY_TRIM });
+
+// Unpersisted slices whose screens refetch them on mount / when back to idle.
+// Not vip (an in-flight purchase lives there while the user is in the browser)
+// or accountOverview (only fetched at login).
+const TRIMMABLE_SLICES = ["dailyChallenge", "surveys"];
+
+// Trimmed slices are passed as undefined so their reducers start from initialState
+const trimmableReducer = (state, action) => {
+  if (action.type !== MEMORY_TRIM || !state) {
+    return rootReducer(state, action);
+  }
+  const trimmed = { ...state };
+  TRIMMABLE_SLICES.forEach((slice) => {
+    trimmed[slice] = undefined;
+  });
+  return rootReducer(trimmed, action);
+};
+
 // OPTIMIZED: Configure store with persistence
 export const store = configureStore({
-  reducer: persistReducer(persistConfig, rootReducer),
+  reducer: persistReducer(persistConfig, trimmableReducer),
   middleware: (getDefaultMiddleware) =>
     getDefaultMiddleware({
       serializableCheck: {
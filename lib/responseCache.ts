@@ -0,0 +1,79 @@
+/**
+ * Native Response Cache Plugin Interface for Jackson App
+ *
+ * Reads counters from, and evicts entries in, the disk-backed
+ * stale-while-revalidate cache implemented by ResponseCachePlugin.java.
+ * The cache itself is transparent: API GETs made through lib/api.js are
+ * answered from it automatically on Android.
+ *
+ * @module responseCache
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+/**
+ * Cache counters from getStats()
+ */
+export interface ResponseCacheStats {
+  /** Served fresh from disk */
+  hits: number;
+  /** Served stale from disk while revalidating in the background */
+  staleHits: number;
+  /** Went to the network */
+  misses: number;
+  bytesServed: number;
+  revalidations: number;
+  /** Revalidations answered 304 Not Modified */
+  notModified: number;
+  evictions: number;
+  entries: number;
+  sizeBytes: number;
+  maxBytes: number;
+}
+
+export interface ResponseCachePlugin {
+  getStats(): Promise<ResponseCacheStats>;
+  evictUser(options: { token: string | null }): Promise<{ removed: number }>;
+  clear(): Promise<void>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const ResponseCache = registerPlugin<ResponseCachePlugin>("ResponseCache");
+
+export default ResponseCache;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Drop the signed-out user's cached API responses
+ * Safe to call on any platform - no-op outside the Android app
+ *
+ * @param token - Auth token of the user being signed out
+ */
+export async function evictCachedResponses(token: string | null): Promise<void> {
+  if (!isAndroidNative()) return;
+  try {
+    const { removed } = await ResponseCache.evictUser({ token });
+    console.log(`🧹 [RESPONSE-CACHE] Evicted ${removed} cached responses`);
+  } catch (error) {
+    console.warn("⚠️ [RESPONSE-CACHE] Failed to evict cached responses:", error);
+  }
+}
+
+/**
+ * Read cache counters, or null outside the Android app
+ */
+export async function getResponseCacheStats(): Promise<ResponseCacheStats | null> {
+  if (!isAndroidNative()) return null;
+  return ResponseCache.getStats();
+}
@@ -0,0 +1,230 @@
+/**
+ * Native Server Clock Interface for Jackson App
+ *
+ * Connects to ServerClockPlugin.java on Android, which keeps one offset to the
+ * API's clock (bounded from the Date header of every native API response, then
+ * refined with a few probes) and one shared tick for every countdown:
+ * - serverNow(): server time in epoch ms; use it instead of Date.now() for
+ *   anything compared with a server timestamp
+ * - watchDeadline(): calls back on each second (or minute, or not at all) until
+ *   a deadline, then once more with 0 remaining; all watches share the native tick
+ * - syncServerClock(): refine the offset now (called automatically on first use)
+ *
+ * Ticks stop while the app is in the background or the screen is off and
+ * resume with an immediate catch-up tick. On the web there is no server offset
+ * and one shared interval, paused the same way, stands in for the native tick.
+ *
+ * @module serverClock
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAppVisible, onVisibilityChange } from "@/lib/appLifecycle";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+/** How often a countdown needs a callback; "deadline" is only when it passes */
+export type TickResolution = "second" | "minute" | "deadline";
+
+export interface ServerTime {
+  /** Server time in epoch ms */
+  now: number;
+  /** Server time minus the device clock */
+  skewMs: number;
+  /** How far now may be off; -1 until synced */
+  uncertaintyMs: number;
+  synced: boolean;
+}
+
+export interface TickEvent {
+  now: number;
+  skewMs: number;
+  /** Watch ids whose deadline passed on this tick */
+  expired: string[];
+}
+
+export interface ServerClockPlugin {
+  getTime(): Promise<ServerTime>;
+  sync(): Promise<ServerTime>;
+  watch(options: {
+    id: string;
+    deadline: number;
+    resolution?: TickResolution;
+  }): Promise<ServerTime>;
+  unwatch(options: { id: string }): Promise<{ removed: boolean }>;
+  addListener(
+    eventName: "tick",
+    listener: (event: TickEvent) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+/**
+ * @param remainingMs Time left until the deadline (0 once reached)
+ * @param now Server time of this tick
+ */
+export type DeadlineListener = (remainingMs: number, now: number) => void;
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const ServerClock = registerPlugin<ServerClockPlugin>("ServerClock");
+
+export default ServerClock;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+const MINUTE_MS = 60_000;
+const WEB_TICK_MS = 1_000;
+
+interface Watch {
+  deadline: number;
+  resolution: TickResolution;
+  listener: DeadlineListener;
+  /** Minutes left as last delivered, so minute watches only hear about changes */
+  lastMinute: number;
+}
+
+let skewMs = 0;
+let started = false;
+let nextWatchId = 0;
+const watches = new Map<string, Watch>();
+let webTimer: ReturnType<typeof setInterval> | null = null;
+
+export const isServerClockAvailable = (): boolean => isAndroidNative();
+
+/**
+ * Server time in epoch ms (the device clock until the first native sync)
+ */
+export function serverNow(): number {
+  return Date.now() + skewMs;
+}
+
+function applyTime(time: ServerTime | TickEvent) {
+  if (typeof time?.skewMs === "number") skewMs = time.skewMs;
+}
+
+function deliver(now: number, expired?: string[]) {
+  watches.forEach((watch, id) => {
+    const remainingMs = Math.max(0, watch.deadline - now);
+    const done = remainingMs === 0 || (expired !== undefined && expired.includes(id));
+    if (!done && watch.resolution === "deadline") return;
+    if (!done && watch.resolution === "minute") {
+      const minute = Math.ceil(remainingMs / MINUTE_MS);
+      if (minute === watch.lastMinute) return;
+      watch.lastMinute = minute;
+    }
+    if (done) watches.delete(id);
+    try {
+      watch.listener(done ? 0 : remainingMs, now);
+    } catch (error) {
+      console.warn("⚠️ [ServerClock] Deadline listener failed:", error);
+    }
+  });
+  if (watches.size === 0) stopWebTimer();
+}
+
+function stopWebTimer() {
+  if (webTimer) {
+    clearInterval(webTimer);
+    webTimer = null;
+  }
+}
+
+function startWebTimer() {
+  if (webTimer || watches.size === 0 || typeof window === "undefined" || !isAppVisible()) return;
+  webTimer = setInterval(() => deliver(serverNow()), WEB_TICK_MS);
+}
+
+/**
+ * Hook up the shared tick (idempotent; called lazily by the helpers)
+ */
+function startServerClock(): void {
+  if (started || typeof window === "undefined") return;
+  started = true;
+  if (isAndroidNative()) {
+    ServerClock.addListener("tick", (event) => {
+      applyTime(event);
+      deliver(event.now, event.expired);
+    }).catch(() => {});
+    ServerClock.getTime().then(applyTime).catch(() => {});
+    return;
+  }
+  onVisibilityChange((visible) => {
+    stopWebTimer();
+    if (visible && watches.size > 0) {
+      deliver(serverNow());
+      startWebTimer();
+    }
+  });
+}
+
+/**
+ * Refine the server offset with a few probes of the API
+ *
+ * @returns The clock state, or null off Android or on failure
+ */
+export async function syncServerClock(): Promise<ServerTime | null> {
+  if (!isAndroidNative()) return null;
+  startServerClock();
+  try {
+    const time = await ServerClock.sync();
+    applyTime(time);
+    return time;
+  } catch (error) {
+    console.warn("⚠️ [ServerClock] Sync failed:", error);
+    return null;
+  }
+}
+
+/**
+ * Call back with the time left until a server-time deadline, on the shared tick
+ *
+ * The listener runs once right away, then on each tick of the given
+ * resolution, and a last time with 0 when the deadline passes; after that the
+ * watch is gone.
+ *
+ * @param deadline Epoch ms in server time
+ * @returns Unsubscribe function
+ */
+export function watchDeadline(
+  deadline: number,
+  listener: DeadlineListener,
+  { resolution = "second" }: { resolution?: TickResolution } = {}
+): () => void {
+  if (!Number.isFinite(deadline)) return () => {};
+  startServerClock();
+  const id = `deadline-${++nextWatchId}`;
+  const now = serverNow();
+  const remainingMs = Math.max(0, deadline - now);
+  listener(remainingMs, now);
+  if (remainingMs === 0) return () => {};
+
+  watches.set(id, {
+    deadline,
+    resolution,
+    listener,
+    lastMinute: Math.ceil(remainingMs / MINUTE_MS),
+  });
+  if (isAndroidNative()) {
+    ServerClock.watch({ id, deadline: Math.round(deadline), resolution })
+      .then(applyTime)
+      .catch(() => {});
+  } else {
+    startWebTimer();
+  }
+
+  return () => {
+    if (!watches.delete(id)) return;
+    if (isAndroidNative()) {
+      ServerClock.unwatch({ id }).catch(() => {});
+    } else if (watches.size === 0) {
+      stopWebTimer();
+    }
+  };
+}
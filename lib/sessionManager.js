@@ -5,6 +5,8 @@
  * Prevents fraud and ensures one-time reward claims.
  */
 
+import { serverNow, watchDeadline } from "./serverClock";
+
 class SessionManager {
   constructor() {
     this.activeSessions = new Map();
@@ -12,7 +14,9 @@ class SessionManager {
     this.cleanupInterval = 5 * 60 * 1000; // 5 minutes
     this.storageKey = "jackson_rewards_sessions";
 
-    // Start cleanup interval
+    // Start cleanup interval on the shared clock, which is paused while the app
+    // is in the background and fires a due cleanup as soon as it is back
+    this.cleanupTimer = null;
     this.startCleanupInterval();
 
     // Load existing sessions from storage
@@ -318,9 +322,26 @@ class SessionManager {
    * Start cleanup interval
    */
   startCleanupInterval() {
-    setInterval(() => {
-      this.cleanupExpiredSessions();
-    }, this.cleanupInterval);
+    if (this.cleanupTimer) return;
+    this.cleanupTimer = watchDeadline(
+      serverNow() + this.cleanupInterval,
+      (remainingMs) => {
+        if (remainingMs > 0) return;
+        this.cleanupTimer = null;
+        this.cleanupExpiredSessions();
+        this.startCleanupInterval();
+      },
+      { resolution: "deadline" }
+    );
+  }
+
+  /**
+   * Stop cleanup interval
+   */
+  stopCleanupInterval() {
+    if (!this.cleanupTimer) return;
+    this.cleanupTimer();
+    this.cleanupTimer = null;
   }
 
   /**
@@ -0,0 +1,240 @@
+/**
+ * Native Sound Effects Interface for Jackson App
+ *
+ * Connects to SoundEffectsPlugin.java on Android, which decodes the app's short
+ * effects once into a SoundPool. Each play is a single native call on
+ * already-decoded samples: no media pipeline restart, no play() rejection, and
+ * overlapping plays up to each effect's maxVoices.
+ *
+ * - preloadSoundEffects(): decode the registered effects (idempotent)
+ * - playSoundEffect(): fire and forget; falls back to an <audio> element on the
+ *   web and while the native effect is still loading
+ * - measureSoundLatency(): native path vs. <audio> path on this device
+ *
+ * @module soundEffects
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface SoundEffectDefinition {
+  /** Path in the web bundle (public/) */
+  path: string;
+  /** Overlapping plays allowed; the oldest voice is replaced past this */
+  maxVoices: number;
+  /** Default volume, 0..1 */
+  volume: number;
+}
+
+export interface SoundEffectStats {
+  sounds: number;
+  ready: number;
+  loadMs: number;
+  plays: number;
+  /** Plays requested while the effect was still decoding */
+  notReady: number;
+  replacedVoices: number;
+  meanDispatchMicros: number;
+  maxDispatchMicros: number;
+}
+
+export interface LatencySummary {
+  runs: number;
+  meanMs: number;
+  maxMs: number;
+  failures: number;
+}
+
+export interface SoundEffectsPlugin {
+  preload(options: {
+    sounds: Array<{ id: string } & Partial<SoundEffectDefinition> & { path: string }>;
+  }): Promise<{ failed: string[] }>;
+  play(options: {
+    id: string;
+    rate?: number;
+    volume?: number;
+  }): Promise<{ streamId: number; dispatchMicros: number }>;
+  stop(options: { id: string }): Promise<void>;
+  getStats(): Promise<SoundEffectStats>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const SoundEffects = registerPlugin<SoundEffectsPlugin>("SoundEffects");
+
+export default SoundEffects;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+export const SOUND_EFFECTS = {
+  coin: { path: "/spinning-coin-on-table-352448.mp3", maxVoices: 3, volume: 1 },
+} satisfies Record<string, SoundEffectDefinition>;
+
+export type SoundEffectId = keyof typeof SOUND_EFFECTS;
+
+let preloading: Promise<void> | null = null;
+const nativeReady = new Set<SoundEffectId>();
+const elements = new Map<SoundEffectId, HTMLAudioElement>();
+
+function audioElement(id: SoundEffectId): HTMLAudioElement {
+  let element = elements.get(id);
+  if (!element) {
+    element = new Audio(SOUND_EFFECTS[id].path);
+    element.preload = "auto";
+    elements.set(id, element);
+  }
+  return element;
+}
+
+function playElement(id: SoundEffectId, volume: number): Promise<void> {
+  const element = audioElement(id);
+  element.volume = volume;
+  element.currentTime = 0;
+  return element.play();
+}
+
+/**
+ * Decode every registered effect natively (or warm <audio> elements on the web)
+ */
+export function preloadSoundEffects(): Promise<void> {
+  if (typeof window === "undefined") return Promise.resolve();
+  if (preloading) return preloading;
+  const ids = Object.keys(SOUND_EFFECTS) as SoundEffectId[];
+  if (!isAndroidNative()) {
+    ids.forEach((id) => audioElement(id).load());
+    preloading = Promise.resolve();
+    return preloading;
+  }
+  preloading = SoundEffects.preload({
+    sounds: ids.map((id) => ({ id, ...SOUND_EFFECTS[id] })),
+  })
+    .then(({ failed }) => {
+      ids.filter((id) => !failed.includes(id)).forEach((id) => nativeReady.add(id));
+      if (failed.length > 0) {
+        console.warn("⚠️ [SoundEffects] Not preloaded:", failed);
+      }
+    })
+    .catch((error) => {
+      console.warn("⚠️ [SoundEffects] Preload failed:", error);
+    });
+  return preloading;
+}
+
+/**
+ * Play an effect without waiting for it
+ *
+ * @param options.volume - 0..1, defaults to the effect's volume
+ */
+export function playSoundEffect(
+  id: SoundEffectId,
+  options: { volume?: number; rate?: number } = {}
+): void {
+  if (typeof window === "undefined") return;
+  const volume = options.volume ?? SOUND_EFFECTS[id].volume;
+  const fallback = () =>
+    playElement(id, volume).catch((error) => {
+      console.log("Audio play failed:", error);
+    });
+  if (!isAndroidNative() || !nativeReady.has(id)) {
+    preloadSoundEffects();
+    fallback();
+    return;
+  }
+  SoundEffects.play({ id, volume, rate: options.rate })
+    .then(({ streamId }) => {
+      // Still decoding
+      if (streamId === 0) fallback();
+    })
+    .catch(fallback);
+}
+
+function summarize(samples: number[], failures: number): LatencySummary {
+  const total = samples.reduce((sum, sample) => sum + sample, 0);
+  return {
+    runs: samples.length,
+    meanMs: samples.length > 0 ? Math.round((total / samples.length) * 10) / 10 : 0,
+    maxMs: samples.length > 0 ? Math.round(Math.max(...samples) * 10) / 10 : 0,
+    failures,
+  };
+}
+
+/**
+ * Start latency of the native path (call to SoundPool.play() returning) vs. the
+ * <audio> path (play() to its "playing" event), played silently
+ *
+ * Neither includes the device's audio output buffer, which both paths share.
+ */
+export async function measureSoundLatency(
+  id: SoundEffectId = "coin",
+  runs = 5
+): Promise<{ native: LatencySummary | null; audioElement: LatencySummary }> {
+  await preloadSoundEffects();
+
+  let native: LatencySummary | null = null;
+  if (isAndroidNative() && nativeReady.has(id)) {
+    const samples: number[] = [];
+    let failures = 0;
+    for (let i = 0; i < runs; i++) {
+      const start = performance.now();
+      try {
+        const { streamId } = await SoundEffects.play({ id, volume: 0 });
+        if (streamId === 0) failures++;
+        else samples.push(performance.now() - start);
+      } catch {
+        failures++;
+      }
+      await new Promise((resolve) => setTimeout(resolve, 150));
+    }
+    await SoundEffects.stop({ id }).catch(() => {});
+    native = summarize(samples, failures);
+  }
+
+  const samples: number[] = [];
+  let failures = 0;
+  const element = audioElement(id);
+  for (let i = 0; i < runs; i++) {
+    const start = performance.now();
+    try {
+      await new Promise<void>((resolve, reject) => {
+        const timeout = setTimeout(() => reject(new Error("timeout")), 2000);
+        element.addEventListener(
+          "playing",
+          () => {
+            clearTimeout(timeout);
+            resolve();
+          },
+          { once: true }
+        );
+        playElement(id, 0).catch((error) => {
+          clearTimeout(timeout);
+          reject(error);
+        });
+      });
+      samples.push(performance.now() - start);
+    } catch {
+      failures++;
+    }
+    element.pause();
+    await new Promise((resolve) => setTimeout(resolve, 150));
+  }
+
+  return { native, audioElement: summarize(samples, failures) };
+}
+
+export async function getSoundEffectStats(): Promise<SoundEffectStats | null> {
+  if (!isAndroidNative()) return null;
+  try {
+    return await SoundEffects.getStats();
+  } catch (error) {
+    console.warn("⚠️ [SoundEffects] Stats unavailable:", error);
+    return null;
+  }
+}
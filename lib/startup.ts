@@ -0,0 +1,146 @@
+/**
+ * Native Startup Plugin Interface for Jackson App
+ *
+ * Connects to StartupPlugin.java on Android:
+ * - Mirrors the signed-in session natively so the next cold start can prefetch
+ *   the dashboard, wallet screen and VIP status while the splash is showing
+ * - Exposes the splash-time warm-up responses
+ * - Records and reads the cold-start timeline; {@link logStartupTimeline} logs
+ *   both once per launch in development builds
+ *
+ * Every helper is a no-op outside the Android app.
+ *
+ * @module startup
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export interface WarmupResult {
+  status: number;
+  /** "network", "cache" or "stale" */
+  source: string;
+  data: unknown;
+}
+
+export interface WarmupResults {
+  dashboard?: WarmupResult;
+  walletScreen?: WarmupResult;
+  vipStatus?: WarmupResult;
+}
+
+/**
+ * Cold-start milestones in ms since process start. Native marks are
+ * processStart, activityCreate, webViewReady, dataReady, splashHidden and
+ * firstPaint; JS adds its own through markStartup().
+ */
+export interface StartupTimeline {
+  marks: Record<string, number>;
+  maxSplashMs: number;
+}
+
+export interface StartupPlugin {
+  setSession(options: {
+    token: string;
+    /** JSON.stringify(user) - byte-identical to localStorage "user" */
+    userJson?: string | null;
+  }): Promise<void>;
+  clearSession(): Promise<void>;
+  getWarmupResults(): Promise<WarmupResults>;
+  getTimeline(): Promise<StartupTimeline>;
+  mark(options: { name: string }): Promise<void>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const Startup = registerPlugin<StartupPlugin>("Startup");
+
+export default Startup;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+/**
+ * Mirror the session natively (call after login and when a stored session loads)
+ */
+export async function syncNativeSession(
+  token: string | null,
+  user: object | null
+): Promise<void> {
+  if (!isAndroidNative() || !token) return;
+  try {
+    // Send the same string AuthContext stores, so the injected state snapshot can
+    // be matched against localStorage "user" by plain comparison
+    await Startup.setSession({ token, userJson: user ? JSON.stringify(user) : null });
+  } catch (error) {
+    console.warn("⚠️ [STARTUP] Failed to mirror session natively:", error);
+  }
+}
+
+/**
+ * Forget the native session copy (call on sign-out)
+ */
+export async function clearNativeSession(): Promise<void> {
+  if (!isAndroidNative()) return;
+  try {
+    await Startup.clearSession();
+  } catch (error) {
+    console.warn("⚠️ [STARTUP] Failed to clear native session:", error);
+  }
+}
+
+/**
+ * Record a JS-side startup milestone (first call per name wins)
+ */
+export function markStartup(name: string): void {
+  if (!isAndroidNative()) return;
+  Startup.mark({ name }).catch(() => {});
+}
+
+/**
+ * Read the cold-start timeline, or null outside the Android app
+ */
+export async function getStartupTimeline(): Promise<StartupTimeline | null> {
+  if (!isAndroidNative()) return null;
+  return Startup.getTimeline();
+}
+
+/**
+ * Read the splash-time warm-up responses, or an empty object
+ */
+export async function getWarmupResults(): Promise<WarmupResults> {
+  if (!isAndroidNative()) return {};
+  return Startup.getWarmupResults();
+}
+
+let timelineLogged = false;
+
+/**
+ * Log the cold-start timeline with the source of each splash-time warm-up
+ * response (call once the first screen shows real data). Development builds
+ * only: the warm-up results carry full response bodies over the bridge.
+ */
+export async function logStartupTimeline(): Promise<void> {
+  if (!isAndroidNative() || timelineLogged || process.env.NODE_ENV === "production") return;
+  timelineLogged = true;
+  try {
+    const [timeline, warmup] = await Promise.all([getStartupTimeline(), getWarmupResults()]);
+    const marks = Object.entries(timeline?.marks || {})
+      .sort(([, a], [, b]) => a - b)
+      .map(([name, ms]) => `${name}=${ms}ms`)
+      .join(" ");
+    const warmups = Object.entries(warmup)
+      .map(([name, result]) => `${name}=${result?.source}/${result?.status}`)
+      .join(" ");
+    console.log(`[STARTUP] ${marks} | warm-up: ${warmups || "none"}`);
+  } catch (error) {
+    console.warn("⚠️ [STARTUP] Failed to read startup timeline:", error);
+  }
+}
@@ -0,0 +1,288 @@
+/**
+ * Native State Snapshot Interface for Jackson App
+ *
+ * Connects to StateSnapshotPlugin.java on Android, which injects
+ * window.__JACKSON_STATE__ at document start - before any page script runs - with
+ * the session user and the persisted Redux slices already parsed:
+ * - snapshotStorage: redux-persist storage engine that rehydrates from the
+ *   snapshot (no localStorage read, no JSON.parse) and mirrors writes natively
+ * - snapshotDeserialize: passes pre-parsed values through redux-persist untouched
+ * - getStoredUser(): parsed localStorage "user", parsed at most once per change
+ *
+ * The snapshot is only trusted while its revision matches the one kept in
+ * localStorage, so anything written after the last native sync (or cleared on
+ * sign-out) falls back to localStorage exactly as before. Off Android, or on a
+ * WebView without document-start scripts, there is simply no snapshot.
+ *
+ * @module stateSnapshot
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+/**
+ * Shape of window.__JACKSON_STATE__ as injected by StateSnapshotStore.java
+ */
+export interface InjectedState {
+  capturedAt: number;
+  rev: string | null;
+  user: Record<string, unknown> | null;
+  /** The exact string the user object was built from, to compare with localStorage */
+  userJson: string | null;
+  /** redux-persist storage key → persisted fields, already parsed */
+  persist: Record<string, PreparsedEntry>;
+}
+
+/** One persisted key from the snapshot; the marker tells it apart from stored JSON */
+export interface PreparsedEntry {
+  __parsed: Record<string, unknown>;
+}
+
+export interface StateSnapshotInfo {
+  supported: boolean;
+  injected: boolean;
+  scriptBytes: number;
+  buildMs: number;
+}
+
+export interface StateSnapshotPlugin {
+  write(options: {
+    entries: Record<string, string | null>;
+    rev: string;
+  }): Promise<void>;
+  clear(options: { rev: string }): Promise<void>;
+  getInfo(): Promise<StateSnapshotInfo>;
+}
+
+declare global {
+  interface Window {
+    __JACKSON_STATE__?: InjectedState;
+  }
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const StateSnapshot = registerPlugin<StateSnapshotPlugin>("StateSnapshot");
+
+export default StateSnapshot;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+const REV_KEY = "jackson:stateRev";
+const FLUSH_DELAY_MS = 1000;
+
+let trustedState: InjectedState | null | undefined;
+let snapshotHits = 0;
+let snapshotMisses = 0;
+
+/**
+ * The injected snapshot, or null when absent or out of date
+ */
+export function getInjectedState(): InjectedState | null {
+  if (trustedState !== undefined) return trustedState;
+  trustedState = null;
+  if (typeof window === "undefined" || !window.__JACKSON_STATE__) {
+    return trustedState;
+  }
+  try {
+    const injected = window.__JACKSON_STATE__;
+    if (injected.rev && injected.rev === localStorage.getItem(REV_KEY)) {
+      trustedState = injected;
+    }
+  } catch {
+    // localStorage unavailable - treat as no snapshot
+  }
+  return trustedState;
+}
+
+const newRev = () =>
+  `${Date.now().toString(36)}-${Math.random().toString(36).slice(2, 8)}`;
+
+const bumpRev = (): string => {
+  const rev = newRev();
+  localStorage.setItem(REV_KEY, rev);
+  return rev;
+};
+
+// Writes waiting to be mirrored natively, flushed together after a short delay
+// and whenever the app is backgrounded
+let pendingEntries: Record<string, string | null> = {};
+let pendingRev: string | null = null;
+let flushTimer: ReturnType<typeof setTimeout> | null = null;
+
+function flushToNative() {
+  if (flushTimer) {
+    clearTimeout(flushTimer);
+    flushTimer = null;
+  }
+  if (!pendingRev) return;
+  const entries = pendingEntries;
+  const rev = pendingRev;
+  pendingEntries = {};
+  pendingRev = null;
+  StateSnapshot.write({ entries, rev }).catch((error) => {
+    console.warn("⚠️ [STATE-SNAPSHOT] Failed to mirror state natively:", error);
+  });
+}
+
+function queueNativeWrite(key: string, value: string | null, rev: string) {
+  if (!isAndroidNative()) return;
+  pendingEntries[key] = value;
+  pendingRev = rev;
+  if (!flushTimer) {
+    flushTimer = setTimeout(flushToNative, FLUSH_DELAY_MS);
+  }
+}
+
+if (typeof document !== "undefined") {
+  document.addEventListener("visibilitychange", () => {
+    if (document.visibilityState === "hidden") flushToNative();
+  });
+}
+
+/**
+ * redux-persist storage engine backed by localStorage plus the native snapshot
+ *
+ * getItem resolves with the pre-parsed object from the snapshot when it is
+ * trusted; pair it with snapshotDeserialize so redux-persist accepts that.
+ */
+export const snapshotStorage = {
+  getItem(key: string): Promise<unknown> {
+    // Static export prerender: nothing to rehydrate
+    if (typeof window === "undefined") return Promise.resolve(null);
+    const state = getInjectedState();
+    if (state && state.persist[key] !== undefined) {
+      snapshotHits++;
+      const value = state.persist[key];
+      // Only the first rehydration may use it; later reads must see current data
+      delete state.persist[key];
+      return Promise.resolve(value);
+    }
+    snapshotMisses++;
+    try {
+      return Promise.resolve(localStorage.getItem(key));
+    } catch (error) {
+      return Promise.reject(error);
+    }
+  },
+
+  setItem(key: string, value: string): Promise<void> {
+    if (typeof window === "undefined") return Promise.resolve();
+    try {
+      localStorage.setItem(key, value);
+      queueNativeWrite(key, value, bumpRev());
+      return Promise.resolve();
+    } catch (error) {
+      return Promise.reject(error);
+    }
+  },
+
+  removeItem(key: string): Promise<void> {
+    if (typeof window === "undefined") return Promise.resolve();
+    try {
+      localStorage.removeItem(key);
+      queueNativeWrite(key, null, bumpRev());
+      return Promise.resolve();
+    } catch (error) {
+      return Promise.reject(error);
+    }
+  },
+};
+
+/** A field value that came pre-parsed, so a string field is not JSON.parsed again */
+class Preparsed {
+  constructor(readonly value: unknown) {}
+}
+
+const isPreparsedEntry = (value: unknown): value is PreparsedEntry =>
+  typeof value === "object" && value !== null && "__parsed" in value;
+
+/**
+ * redux-persist deserializer: strings are JSON.parsed as usual, values that came
+ * pre-parsed from the snapshot pass through
+ *
+ * redux-persist calls it once for the whole key and then once per field, so a
+ * snapshot entry's fields are marked on the first call and unwrapped on the second.
+ */
+export function snapshotDeserialize(value: unknown): unknown {
+  if (value instanceof Preparsed) return value.value;
+  if (isPreparsedEntry(value)) {
+    const fields: Record<string, Preparsed> = {};
+    Object.keys(value.__parsed).forEach((field) => {
+      fields[field] = new Preparsed(value.__parsed[field]);
+    });
+    return fields;
+  }
+  return typeof value === "string" ? JSON.parse(value) : value;
+}
+
+/**
+ * Invalidate the snapshot on sign-out (both the native copy and any injected one)
+ */
+export function clearStateSnapshot(): void {
+  if (typeof window === "undefined") return;
+  try {
+    const rev = bumpRev();
+    pendingEntries = {};
+    pendingRev = null;
+    trustedState = null;
+    if (isAndroidNative()) {
+      StateSnapshot.clear({ rev }).catch(() => {});
+    }
+  } catch {
+    // localStorage unavailable - nothing to invalidate
+  }
+}
+
+let cachedUserJson: string | null = null;
+let cachedUser: Record<string, unknown> | null = null;
+
+/**
+ * Parsed localStorage "user", re-parsed only when the stored string changes
+ *
+ * The first call is usually answered by the injected snapshot's ready-parsed user.
+ * Callers get a shared object and must not mutate it.
+ */
+export function getStoredUser(): Record<string, unknown> | null {
+  if (typeof window === "undefined") return null;
+  const userJson = localStorage.getItem("user");
+  if (!userJson) return null;
+  if (userJson === cachedUserJson) return cachedUser;
+
+  const state = getInjectedState();
+  if (state && state.user && state.userJson === userJson) {
+    cachedUser = state.user;
+  } else {
+    cachedUser = JSON.parse(userJson);
+  }
+  cachedUserJson = userJson;
+  return cachedUser;
+}
+
+/**
+ * Snapshot usage for this page load, for the startup timing log
+ */
+export function getSnapshotUsage() {
+  return {
+    injected: typeof window !== "undefined" && !!window.__JACKSON_STATE__,
+    trusted: !!getInjectedState(),
+    hits: snapshotHits,
+    misses: snapshotMisses,
+  };
+}
+
+/**
+ * Native injection details, or null outside the Android app
+ */
+export async function getStateSnapshotInfo(): Promise<StateSnapshotInfo | null> {
+  if (!isAndroidNative()) return null;
+  return StateSnapshot.getInfo();
+}
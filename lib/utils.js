@@ -1,5 +1,6 @@
 import { clsx } from "clsx";
 import { twMerge } from "tailwind-merge";
+import { getStoredUser } from "./stateSnapshot";
 
 export function cn(...inputs) {
   return twMerge(clsx(inputs));
@@ -48,10 +49,10 @@ export const getUserFromLocalStorage = () => {
   if (typeof window === "undefined") return null;
 
   try {
-    // Try to get user from localStorage key "user"
-    const userString = localStorage.getItem("user");
-    if (userString) {
-      const user = JSON.parse(userString);
+    // Try to get user from localStorage key "user" (parsed once per change, or
+    // taken ready-parsed from the native state snapshot)
+    const user = getStoredUser();
+    if (user) {
       // Validate it's a proper user object
       if (
         user &&
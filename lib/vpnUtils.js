@@ -1,13 +1,27 @@
 /**
  * VPN Detection and Network Optimization Utilities
  * Handles VPN-specific issues with API requests and progress tracking
+ *
+ * On Android the answers come from the native connectivity monitor
+ * (lib/connectivity.ts); the browser heuristics below are the web fallback.
  */
 
+import { getNetworkPolicy, getNetworkStatus } from "./connectivity";
+
 /**
  * Detect if user is likely using VPN
  * @returns {Object} VPN detection result with confidence level
  */
 export const detectVpnUsage = () => {
+  const nativeStatus = getNetworkStatus();
+  if (nativeStatus) {
+    return {
+      isVpnLikely: nativeStatus.vpn,
+      confidence: nativeStatus.vpn ? 100 : 0,
+      reasons: nativeStatus.vpn ? ["VPN transport reported by the OS"] : [],
+    };
+  }
+
   const connection = navigator.connection;
   const userAgent = navigator.userAgent;
 
@@ -96,13 +110,30 @@ export const getVpnOptimizedConfig = (baseConfig = {}) => {
  */
 export const vpnAwareFetch = async (url, options = {}) => {
   const vpnDetection = detectVpnUsage();
-  const maxRetries = vpnDetection.isVpnLikely ? 5 : 3;
-  const retryDelay = vpnDetection.isVpnLikely ? 3000 : 1000;
+  const nativeStatus = getNetworkStatus();
+  // Native policy already accounts for VPN; heuristics only on web
+  const policy = getNetworkPolicy();
+  const maxRetries = nativeStatus
+    ? policy.retries + 1
+    : vpnDetection.isVpnLikely
+    ? 5
+    : 3;
+  const retryDelay = nativeStatus
+    ? policy.retryBaseMs
+    : vpnDetection.isVpnLikely
+    ? 3000
+    : 1000;
+  // Exponential backoff: retryDelay, 2x, 4x ...
+  const backoff = (attempt) => retryDelay * 2 ** (attempt - 1);
 
   for (let attempt = 1; attempt <= maxRetries; attempt++) {
     try {
       const controller = new AbortController();
-      const timeout = vpnDetection.isVpnLikely ? 90000 : 30000;
+      const timeout = nativeStatus
+        ? policy.timeoutMs
+        : vpnDetection.isVpnLikely
+        ? 90000
+        : 30000;
 
       const timeoutId = setTimeout(() => controller.abort(), timeout);
 
@@ -120,9 +151,7 @@ export const vpnAwareFetch = async (url, options = {}) => {
       // If not the last attempt, wait before retry
       if (attempt < maxRetries) {
         console.log(`🔄 VPN-aware retry ${attempt}/${maxRetries} for ${url}`);
-        await new Promise((resolve) =>
-          setTimeout(resolve, retryDelay * attempt)
-        );
+        await new Promise((resolve) => setTimeout(resolve, backoff(attempt)));
       }
     } catch (error) {
       if (attempt === maxRetries) {
@@ -132,7 +161,7 @@ export const vpnAwareFetch = async (url, options = {}) => {
       }
 
       console.log(`⚠️ Attempt ${attempt} failed, retrying...`);
-      await new Promise((resolve) => setTimeout(resolve, retryDelay * attempt));
+      await new Promise((resolve) => setTimeout(resolve, backoff(attempt)));
     }
   }
 };
@@ -161,6 +190,27 @@ export const getVpnTroubleshootingMessage = () => {
  * @returns {Object} Network quality assessment
  */
 export const assessNetworkQuality = () => {
+  const nativeStatus = getNetworkStatus();
+  if (nativeStatus) {
+    const { quality } = getNetworkPolicy();
+    const suggestions = [];
+    if (!nativeStatus.validated && nativeStatus.connected) {
+      suggestions.push("Network has no internet access - check Wi-Fi sign-in");
+    }
+    if (nativeStatus.vpn && (quality === "poor" || quality === "fair")) {
+      suggestions.push("Slow VPN link - try switching VPN servers");
+    }
+    if (nativeStatus.dataSaver) {
+      suggestions.push("Data Saver is on - downloads may be slower");
+    }
+    return {
+      quality,
+      rtt: null,
+      downlink: nativeStatus.downKbps / 1000,
+      suggestions,
+    };
+  }
+
   const connection = navigator.connection;
 
   if (!connection) {
@@ -0,0 +1,180 @@
+/**
+ * Native Wallet Stream Interface for Jackson App
+ *
+ * Connects to WalletStreamPlugin.java on Android, a background Server-Sent Events
+ * connection that receives only balance / XP deltas:
+ * - Deltas are handed to the caller (AuthContext applies them to Redux) instead of
+ *   re-downloading the whole wallet screen after every earning, spin or reward
+ * - While the stream is live, forced wallet-screen refreshes are answered from
+ *   Redux (see fetchWalletScreen); a missed event, or the stream reconnecting,
+ *   triggers one background fetch
+ * - The native side pauses the connection while the app is in the background
+ *
+ * Every helper is a no-op outside the Android app, and if the server has no
+ * stream endpoint the app keeps its full-refresh behavior.
+ *
+ * @module walletStream
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import type { PluginListenerHandle } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type WalletStreamState =
+  | "idle"
+  | "connecting"
+  | "open"
+  | "backoff"
+  | "paused"
+  | "unauthorized"
+  | "unsupported"
+  | "stopped";
+
+export interface WalletSnapshot {
+  rev: number;
+  balance: number;
+  xp: number;
+  level: number;
+  /** Absolute values are known, not just changes since connecting */
+  complete: boolean;
+  updatedAt: number;
+}
+
+export interface WalletDelta {
+  rev: number;
+  balanceDelta: number;
+  xpDelta: number;
+  /** Absolute values win over the deltas when present */
+  balance?: number;
+  xp?: number;
+  level?: number;
+  /** e.g. "game_earning", "spin", "daily_reward" */
+  reason?: string;
+  /** Events were missed; do one full fetch */
+  resync: boolean;
+  snapshot: WalletSnapshot;
+}
+
+export interface WalletStreamPlugin {
+  start(options?: { token?: string }): Promise<{ state: WalletStreamState; snapshot: WalletSnapshot }>;
+  stop(): Promise<void>;
+  seed(options: { balance: number; xp: number; level: number }): Promise<void>;
+  getSnapshot(): Promise<{ state: WalletStreamState; snapshot: WalletSnapshot }>;
+  addListener(
+    eventName: "walletDelta",
+    listener: (event: WalletDelta) => void
+  ): Promise<PluginListenerHandle>;
+  addListener(
+    eventName: "walletStreamState",
+    listener: (event: { state: WalletStreamState; retryInMs: number }) => void
+  ): Promise<PluginListenerHandle>;
+}
+
+export interface WalletStreamHandlers {
+  onDelta: (delta: WalletDelta) => void;
+  onResync: () => void;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const WalletStream = registerPlugin<WalletStreamPlugin>("WalletStream");
+
+export default WalletStream;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+let streamState: WalletStreamState = "idle";
+let hasOpened = false;
+/** The connection failed since it was last open (connecting again after backoff) */
+let dropped = false;
+let handles: PluginListenerHandle[] = [];
+
+/**
+ * Whether deltas are flowing (or will be replayed on reconnect), so a forced
+ * wallet-screen refresh would only re-download what Redux already has
+ */
+export function isWalletStreamLive(): boolean {
+  return (
+    hasOpened &&
+    (streamState === "open" ||
+      streamState === "connecting" ||
+      streamState === "paused")
+  );
+}
+
+async function removeHandles(): Promise<void> {
+  const current = handles;
+  handles = [];
+  await Promise.all(current.map((handle) => handle.remove()));
+}
+
+/**
+ * Connect with the session token and route deltas to the handlers
+ */
+export async function startWalletStream(
+  token: string,
+  handlers: WalletStreamHandlers
+): Promise<void> {
+  if (!isAndroidNative() || !token) return;
+  await removeHandles();
+  hasOpened = false;
+  dropped = false;
+  try {
+    handles = await Promise.all([
+      WalletStream.addListener("walletDelta", (delta) => {
+        handlers.onDelta(delta);
+        if (delta.resync) handlers.onResync();
+      }),
+      WalletStream.addListener("walletStreamState", ({ state }) => {
+        // Reopened after a dropped connection: the server may not have replayed
+        // everything since Last-Event-ID, so catch up once. (Coming back from
+        // "paused" is covered by the foreground refresh in AuthContext.)
+        if (state === "backoff") dropped = true;
+        if (state === "open" && hasOpened && dropped) handlers.onResync();
+        streamState = state;
+        if (state === "open") {
+          hasOpened = true;
+          dropped = false;
+        }
+        if (state === "unsupported" || state === "unauthorized") hasOpened = false;
+      }),
+    ]);
+    streamState = (await WalletStream.start({ token })).state;
+  } catch (error) {
+    console.warn("⚠️ [WalletStream] Not started:", error);
+  }
+}
+
+/**
+ * Disconnect and forget the native snapshot (sign-out)
+ */
+export async function stopWalletStream(): Promise<void> {
+  if (!isAndroidNative()) return;
+  hasOpened = false;
+  streamState = "stopped";
+  await removeHandles();
+  await WalletStream.stop().catch(() => {});
+}
+
+/**
+ * Hand absolute values from a full wallet-screen fetch to the native snapshot
+ */
+export function seedWalletStream(walletScreen: {
+  wallet?: { balance?: number };
+  xp?: { current?: number; level?: number };
+}): void {
+  if (!isAndroidNative() || walletScreen?.wallet?.balance === undefined) return;
+  WalletStream.seed({
+    balance: walletScreen.wallet.balance,
+    xp: walletScreen.xp?.current || 0,
+    level: walletScreen.xp?.level || 1,
+  }).catch(() => {});
+}
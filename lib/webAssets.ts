@@ -0,0 +1,95 @@
+/**
+ * Native Web Asset Serving Interface for Jackson App
+ *
+ * Connects to WebAssetsPlugin.java on Android. The app's own JS chunks, CSS and
+ * fonts are served from memory-mapped, uncompressed APK entries with content-hash
+ * ETags (immutable for /_next/static/) instead of Capacitor's default asset path.
+ *
+ * - getWebAssetStats(): what the mapped store served this process
+ * - setAssetServingMode(): "mapped" or "legacy" for the next cold start
+ * - getColdStartComparison(): firstPaint per mode over recorded cold starts; switch
+ *   modes for a few launches each to compare both serving paths on a device
+ *
+ * @module webAssets
+ */
+
+import { registerPlugin } from "@capacitor/core";
+import { isAndroidNative } from "@/lib/platform";
+
+// ============================================================================
+// TYPE DEFINITIONS
+// ============================================================================
+
+export type AssetServingMode = "mapped" | "legacy";
+
+export interface WebAssetStats {
+  mode: AssetServingMode;
+  /** Files in the build manifest (absent without a manifest or in legacy mode) */
+  entries?: number;
+  served?: number;
+  notModified?: number;
+  bytesServed?: number;
+  /** Assets mapped so far and the total time spent mapping them */
+  mapped?: number;
+  mapMs?: number;
+  /** Assets that turned out to be stored compressed and were inflated */
+  compressedFallbacks: number;
+}
+
+export interface ColdStartSummary {
+  runs: number;
+  medianFirstPaintMs?: number;
+  meanFirstPaintMs?: number;
+}
+
+export interface ColdStartComparison {
+  mapped: ColdStartSummary;
+  legacy: ColdStartSummary;
+  activeMode: AssetServingMode;
+}
+
+export interface WebAssetsPlugin {
+  getStats(): Promise<WebAssetStats>;
+  setMode(options: { mode: AssetServingMode }): Promise<void>;
+  getColdStartComparison(): Promise<ColdStartComparison>;
+}
+
+// ============================================================================
+// PLUGIN REGISTRATION
+// ============================================================================
+
+const WebAssets = registerPlugin<WebAssetsPlugin>("WebAssets");
+
+export default WebAssets;
+
+// ============================================================================
+// HELPER FUNCTIONS
+// ============================================================================
+
+export async function getWebAssetStats(): Promise<WebAssetStats | null> {
+  if (!isAndroidNative()) return null;
+  try {
+    return await WebAssets.getStats();
+  } catch (error) {
+    console.warn("⚠️ [WebAssets] Stats unavailable:", error);
+    return null;
+  }
+}
+
+/**
+ * Takes effect on the next cold start
+ */
+export async function setAssetServingMode(mode: AssetServingMode): Promise<void> {
+  if (!isAndroidNative()) return;
+  await WebAssets.setMode({ mode });
+}
+
+export async function getColdStartComparison(): Promise<ColdStartComparison | null> {
+  if (!isAndroidNative()) return null;
+  try {
+    return await WebAssets.getColdStartComparison();
+  } catch (error) {
+    console.warn("⚠️ [WebAssets] Comparison unavailable:", error);
+    return null;
+  }
+}
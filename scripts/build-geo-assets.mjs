@@ -0,0 +1,101 @@
+#!/usr/bin/env node
+/**
+ * Build the offline geocoder's place list from a GeoNames dump
+ *
+ * Writes android/app/src/main/assets/geo/cities.tsv and countries.tsv in the
+ * format GeoIndex.pack reads, from these files of https://download.geonames.org/export/dump/
+ * (CC BY 4.0, credit GeoNames):
+ * - cities1000.txt (unzipped cities1000.zip): every place with 1000+ people
+ * - admin1CodesASCII.txt: state / province names
+ * - countryInfo.txt: country names
+ *
+ * Usage: node scripts/build-geo-assets.mjs <dir with the three files>
+ */
+
+import { readFileSync, writeFileSync } from "node:fs";
+import { join } from "node:path";
+
+const OUT_DIR = "android/app/src/main/assets/geo";
+
+// Neighbourhoods (PPLX) would name a district instead of its city; historical,
+// abandoned and destroyed places are not where anyone is
+const SKIPPED_FEATURES = new Set(["PPLX", "PPLH", "PPLQ", "PPLW"]);
+
+const dir = process.argv[2];
+if (!dir) {
+  console.error("Usage: node scripts/build-geo-assets.mjs <geonames dump dir>");
+  process.exit(1);
+}
+
+const rows = (file) =>
+  readFileSync(join(dir, file), "utf8")
+    .split("\n")
+    .filter((line) => line && !line.startsWith("#"))
+    .map((line) => line.split("\t"));
+
+// Tabs and newlines can't appear in a TSV field
+const clean = (value) => (value || "").replace(/[\t\r\n]+/g, " ").trim();
+
+const countries = new Map();
+for (const fields of rows("countryInfo.txt")) {
+  countries.set(fields[0], clean(fields[4]));
+}
+
+const regions = new Map();
+for (const fields of rows("admin1CodesASCII.txt")) {
+  regions.set(fields[0], clean(fields[1]));
+}
+
+const places = [];
+let skipped = 0;
+for (const fields of rows("cities1000.txt")) {
+  const [, name, , , lat, lon, , featureCode, countryCode] = fields;
+  const timezone = fields[17];
+  if (SKIPPED_FEATURES.has(featureCode) || !countries.has(countryCode) || !timezone) {
+    skipped++;
+    continue;
+  }
+  places.push({
+    name: clean(name),
+    region: regions.get(`${countryCode}.${fields[10]}`) || "",
+    countryCode,
+    lat: Number(lat).toFixed(4),
+    lon: Number(lon).toFixed(4),
+    timezone,
+    population: Number(fields[14]) || 0,
+  });
+}
+
+// Stable output, so a refreshed dump gives a readable diff
+places.sort(
+  (a, b) =>
+    a.countryCode.localeCompare(b.countryCode) ||
+    b.population - a.population ||
+    a.name.localeCompare(b.name)
+);
+
+const usedCountries = [...new Set(places.map((place) => place.countryCode))].sort();
+
+writeFileSync(
+  join(OUT_DIR, "cities.tsv"),
+  [
+    "# Reverse-geocoding places for OfflineGeocoder (packed into a spatial index on first use)",
+    "# Generated by scripts/build-geo-assets.mjs from GeoNames cities1000 (CC BY 4.0, geonames.org)",
+    "# name\tregion\tcountry code\tlatitude\tlongitude\ttimezone",
+    ...places.map((p) => [p.name, p.region, p.countryCode, p.lat, p.lon, p.timezone].join("\t")),
+    "",
+  ].join("\n")
+);
+
+writeFileSync(
+  join(OUT_DIR, "countries.tsv"),
+  [
+    "# ISO 3166-1 alpha-2 code\tEnglish name",
+    ...usedCountries.map((code) => `${code}\t${countries.get(code)}`),
+    "",
+  ].join("\n")
+);
+
+console.log(
+  `✅ ${places.length} places in ${usedCountries.length} countries (${skipped} skipped)`
+);